@@ -6,14 +6,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.net.URI;
 import java.net.URL;
 import java.net.URLClassLoader;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
-import java.nio.file.FileVisitResult;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
@@ -64,6 +58,7 @@ import com.devonfw.cobigen.eclipse.common.tools.PlatformUIUtil;
 import com.devonfw.cobigen.eclipse.common.tools.ResourcesPluginUtil;
 import com.devonfw.cobigen.eclipse.generator.entity.ComparableIncrement;
 import com.devonfw.cobigen.impl.config.entity.Trigger;
+import com.devonfw.cobigen.impl.util.TemplateUtilClassIndex;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
@@ -219,11 +214,11 @@ public abstract class CobiGenWrapper extends AbstractCobiGenWrapper {
                 report = cobiGen.generate(inputs.get(0), templates, Paths.get(generationTargetUri), false, utilClasses,
                     model);
             } else {
-                report = new GenerationReportTo();
+                Map<Object, List<TemplateTo>> templatesByInput = Maps.newLinkedHashMap();
                 for (Object input : inputs) {
-                    report.aggregate(
-                        cobiGen.generate(input, templates, Paths.get(generationTargetUri), false, utilClasses));
+                    templatesByInput.put(input, templates);
                 }
+                report = cobiGen.generate(templatesByInput, Paths.get(generationTargetUri), false, utilClasses);
             }
 
             proj.getProject().refreshLocal(IResource.DEPTH_INFINITE, new NullProgressMonitor());
@@ -283,32 +278,11 @@ public abstract class CobiGenWrapper extends AbstractCobiGenWrapper {
             try {
                 // Get the URI of the jar from the URL of the contained context.xml
                 URI jarUri = URI.create(contextConfigurationLocation.toString().split("!")[0]);
-                FileSystem jarfs = FileSystems.getFileSystem(jarUri);
 
-                // walk the jar file
+                // load the class names from the index instead of walking the jar file
                 LOG.debug("Searching for classes in " + jarUri.toString());
-                Files.walkFileTree(jarfs.getPath("/"), new SimpleFileVisitor<Path>() {
-
-                    @Override
-                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                        if (file.toString().endsWith(".class")) {
-                            LOG.debug("    * Found class file " + file.toString());
-                            // remove the leading '/' and the trailing '.class'
-                            String fileName = file.toString().substring(1, file.toString().length() - 6);
-                            // replace the path separator '/' with package separator '.' and add it to the
-                            // list of found files
-                            foundClasses.add(fileName.replace("/", "."));
-                        }
-                        return FileVisitResult.CONTINUE;
-                    }
-
-                    @Override
-                    public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
-                        // Log errors but do not throw an exception
-                        LOG.warn(exc.getMessage());
-                        return FileVisitResult.CONTINUE;
-                    }
-                });
+                File jarFile = Paths.get(URI.create(jarUri.getRawSchemeSpecificPart())).toFile();
+                foundClasses.addAll(TemplateUtilClassIndex.getClassNames(jarFile));
             } catch (IOException e) {
                 LOG.error("An exception occurred while processing Jar files to create CobiGen_Templates folder", e);
                 PlatformUIUtil.openErrorDialog(
@@ -1,8 +1,8 @@
 package com.devonfw.cobigen.eclipse.generator.java;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -81,21 +81,28 @@ public class JavaInputGeneratorWrapper extends CobiGenWrapper {
     }
 
     /**
-     * Removes all fields from the model which have been flagged to be ignored
+     * Removes all fields from the model which have been flagged to be ignored. As the model of the java plug-in
+     * is immutable and shared, the model root and the fields are copied instead of being modified.
      * @param model
      *            in which the ignored fields should be removed
      */
     private void removeIgnoredFieldsFromModel(Map<String, Object> model) {
 
+        if (ignoreFields.isEmpty()) {
+            return;
+        }
+        Map<String, Object> modelRoot = new HashMap<>(JavaModelUtil.getRoot(model));
         List<Map<String, Object>> fields = JavaModelUtil.getFields(model);
-        for (Iterator<Map<String, Object>> it = fields.iterator(); it.hasNext();) {
-            Map<String, Object> next = it.next();
-            for (String ignoredField : ignoreFields) {
-                if (next.get(ModelConstant.NAME).equals(ignoredField)) {
-                    it.remove();
-                    break;
-                }
+        List<Map<String, Object>> remainingFields = new ArrayList<>(fields.size());
+        for (Map<String, Object> field : fields) {
+            if (!ignoreFields.contains(field.get(ModelConstant.NAME))) {
+                remainingFields.add(field);
             }
         }
+        modelRoot.put(ModelConstant.FIELDS, remainingFields);
+        if (modelRoot.get(ModelConstant.FIELDS_DEPRECATED) == fields) {
+            modelRoot.put(ModelConstant.FIELDS_DEPRECATED, remainingFields);
+        }
+        model.put(ModelConstant.MODEL_ROOT, modelRoot);
     }
 }
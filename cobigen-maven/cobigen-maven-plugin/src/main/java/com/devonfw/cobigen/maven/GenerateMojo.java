@@ -9,8 +9,6 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -22,6 +20,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.regex.Matcher;
@@ -55,12 +54,16 @@ import com.devonfw.cobigen.api.CobiGen;
 import com.devonfw.cobigen.api.exception.CobiGenRuntimeException;
 import com.devonfw.cobigen.api.exception.InputReaderException;
 import com.devonfw.cobigen.api.to.GenerableArtifact;
+import com.devonfw.cobigen.api.to.GenerationOptionsTo;
 import com.devonfw.cobigen.api.to.GenerationReportTo;
 import com.devonfw.cobigen.api.to.IncrementTo;
 import com.devonfw.cobigen.api.to.TemplateTo;
 import com.devonfw.cobigen.impl.CobiGenFactory;
+import com.devonfw.cobigen.impl.util.TemplateUtilClassIndex;
+import com.devonfw.cobigen.maven.utils.GenerationFingerprint;
 import com.devonfw.cobigen.maven.validation.InputPreProcessor;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 /**
@@ -113,16 +116,68 @@ public class GenerateMojo extends AbstractMojo {
     @Parameter(defaultValue = "${basedir}")
     private File destinationRoot;
 
-    /** Determines whether the maven build should fail if nothing has been generated on execution */
+    /**
+     * Determines whether the maven build should fail if nothing has been generated on execution. As all inputs
+     * are generated at once, the build just fails if nothing has been generated for all inputs together, i.e.
+     * single inputs not resulting in any generated file will not be detected.
+     */
     @Parameter(defaultValue = "false")
     private boolean failOnNothingGenerated;
 
+    /**
+     * States, whether the generation should be incremental. If so, a fingerprint of the plug-in configuration
+     * including the state of the project's dependencies, the templates and each input including its compiled
+     * classes will be stored in the project's build directory after each successful generation. Subsequent
+     * executions will skip the generation if nothing changed or just generate the changed inputs if the
+     * configuration and the templates did not change. Generated files deleted meanwhile will thus not be
+     * restored unless the build directory is cleaned. Furthermore, generated files will just be written if
+     * their contents changed, such that a regeneration does not touch unchanged files.
+     */
+    @Parameter(property = "cobigen.incremental", defaultValue = "false")
+    private boolean incremental;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
 
-        CobiGen cobiGen = createCobiGenInstance();
+        File templatesLocation = getTemplatesLocation();
+        List<String> selectedInputPackages = inputPackages;
+        List<File> selectedInputFiles = inputFiles;
+        GenerationFingerprint fingerprint = null;
+        if (incremental) {
+            fingerprint = createFingerprint(templatesLocation);
+            GenerationFingerprint previousFingerprint = loadPreviousFingerprint();
+            if (fingerprint != null && previousFingerprint != null
+                && fingerprint.hasSameConfiguration(previousFingerprint)) {
+                Set<String> changedInputs = fingerprint.getChangedInputs(previousFingerprint);
+                if (changedInputs.isEmpty()) {
+                    getLog().info("Configuration, templates and inputs did not change since the last generation."
+                        + " Skipping generation.");
+                    getLog().info("");
+                    return;
+                }
+                getLog().info("Generating " + changedInputs.size() + " changed input(s) only.");
+                selectedInputPackages = Lists.newLinkedList();
+                if (inputPackages != null) {
+                    for (String inputPackage : inputPackages) {
+                        if (changedInputs.contains(getPackageInputKey(inputPackage))) {
+                            selectedInputPackages.add(inputPackage);
+                        }
+                    }
+                }
+                selectedInputFiles = Lists.newLinkedList();
+                if (inputFiles != null) {
+                    for (File inputFile : inputFiles) {
+                        if (changedInputs.contains(getFileInputKey(inputFile))) {
+                            selectedInputFiles.add(inputFile);
+                        }
+                    }
+                }
+            }
+        }
+
+        CobiGen cobiGen = createCobiGenInstance(templatesLocation);
 
-        List<Object> inputs = collectInputs(cobiGen);
+        List<Object> inputs = collectInputs(cobiGen, selectedInputPackages, selectedInputFiles);
         if (inputs.isEmpty()) {
             getLog().info("No inputs specified for generation!");
             getLog().info("");
@@ -137,23 +192,26 @@ public class GenerateMojo extends AbstractMojo {
         generableArtifacts.addAll(collectTemplates(cobiGen, inputs));
 
         try {
+            Map<Object, List<GenerableArtifact>> generableArtifactsByInput = Maps.newLinkedHashMap();
             for (Object input : inputs) {
-                getLog().debug("Invoke CobiGen for input " + input);
-                List<Class<?>> utilClasses = resolveUtilClasses();
-                GenerationReportTo report = cobiGen.generate(input, generableArtifacts,
-                    Paths.get(destinationRoot.toURI()), forceOverride, utilClasses);
-
-                if (!report.isSuccessful()) {
-                    for (Throwable e : report.getErrors()) {
-                        getLog().error(e.getMessage(), e);
-                    }
-                    throw new MojoFailureException("Generation not successfull", report.getErrors().get(0));
+                generableArtifactsByInput.put(input, generableArtifacts);
+            }
+            getLog().debug("Invoke CobiGen for inputs " + inputs);
+            List<Class<?>> utilClasses = resolveUtilClasses();
+            GenerationReportTo report = cobiGen.generate(generableArtifactsByInput,
+                Paths.get(destinationRoot.toURI()), forceOverride, utilClasses);
+
+            if (!report.isSuccessful()) {
+                for (Throwable e : report.getErrors()) {
+                    getLog().error(e.getMessage(), e);
                 }
+                throw new MojoFailureException("Generation not successfull", report.getErrors().get(0));
+            }
 
-                if (report.getGeneratedFiles().isEmpty() && failOnNothingGenerated) {
-                    throw new MojoFailureException("The execution '" + execution.getExecutionId()
-                        + "' of cobigen-maven-plugin resulted in no file to be generated!");
-                }
+            if (report.getGeneratedFiles().isEmpty() && report.getSkippedFiles().isEmpty()
+                && failOnNothingGenerated) {
+                throw new MojoFailureException("The execution '" + execution.getExecutionId()
+                    + "' of cobigen-maven-plugin resulted in no file to be generated for any input!");
             }
         } catch (CobiGenRuntimeException e) {
             getLog().error(e.getMessage(), e);
@@ -164,24 +222,175 @@ public class GenerateMojo extends AbstractMojo {
             getLog().error("An error occured while executing CobiGen: " + e.getMessage(), e);
             throw new MojoFailureException("An error occured while executing CobiGen: " + e.getMessage(), e);
         }
+
+        if (fingerprint != null) {
+            try {
+                fingerprint.store(getFingerprintFile());
+            } catch (IOException e) {
+                getLog().warn("Could not store the generation fingerprint. The next execution will not be skipped.",
+                    e);
+            }
+        }
     }
 
     /**
-     * Creates an instance of {@link CobiGen} based on a given configuration project or configuration jar.
-     * @return the initialized {@link CobiGen} instance
-     * @throws MojoExecutionException
-     *             if the configuration could not be read
+     * Calculates the fingerprint of the current plug-in configuration, templates and inputs.
+     * @param templatesLocation
+     *            the templates folder or archive
+     * @return the current {@link GenerationFingerprint} or <code>null</code> if any of the inputs or the
+     *         templates could not be read. In the latter case, the generation will just not be incremental.
+     * @throws MojoFailureException
+     *             if the maven project dependencies could not be resolved
+     */
+    private GenerationFingerprint createFingerprint(File templatesLocation) throws MojoFailureException {
+        List<Object> configuration = Lists.newArrayList();
+        configuration.add(pluginDescriptor.getVersion());
+        configuration.add(increments);
+        configuration.add(templates);
+        configuration.add(inputPackages);
+        configuration.add(inputFiles);
+        configuration.add(forceOverride);
+        configuration.add(destinationRoot);
+        configuration.add(failOnNothingGenerated);
+        configuration.add(templatesLocation);
+        // input objects are read via reflection from the project's class path
+        List<String> classpathElements = Lists.newArrayList();
+        try {
+            classpathElements.addAll(project.getCompileClasspathElements());
+            classpathElements.addAll(project.getTestClasspathElements());
+        } catch (DependencyResolutionRequiredException e) {
+            getLog().error("Dependency resolution failed", e);
+            throw new MojoFailureException("Dependency resolution failed", e);
+        }
+        configuration.add(classpathElements);
+
+        try {
+            // classes referenced by the inputs might have changed. The project's own output directories are
+            // left out as they change with each compilation of the generated sources. The compiled input
+            // classes are part of the input hashes instead.
+            List<String> dependencyElements = Lists.newArrayList(classpathElements);
+            for (Path outputDirectory : getOutputDirectories()) {
+                Iterator<String> it = dependencyElements.iterator();
+                while (it.hasNext()) {
+                    if (Paths.get(it.next()).toAbsolutePath().normalize().equals(outputDirectory)) {
+                        it.remove();
+                    }
+                }
+            }
+            configuration.add(GenerationFingerprint.hashModificationState(dependencyElements));
+            GenerationFingerprint fingerprint = new GenerationFingerprint(GenerationFingerprint.hash(configuration),
+                GenerationFingerprint.hash(templatesLocation.toPath()));
+            if (inputPackages != null) {
+                for (String inputPackage : inputPackages) {
+                    List<Object> packageHashes = Lists.newArrayList();
+                    for (Path sourcePath : getPackageSourcePaths(inputPackage)) {
+                        if (isDirectory(sourcePath)) {
+                            packageHashes.add(sourcePath);
+                            packageHashes.add(GenerationFingerprint.hash(sourcePath));
+                            packageHashes.add(hashCompiledClasses(sourcePath));
+                        }
+                    }
+                    fingerprint.putInput(getPackageInputKey(inputPackage), GenerationFingerprint.hash(packageHashes));
+                }
+            }
+            if (inputFiles != null) {
+                for (File inputFile : inputFiles) {
+                    fingerprint.putInput(getFileInputKey(inputFile), GenerationFingerprint.hash(
+                        Lists.newArrayList(GenerationFingerprint.hash(inputFile.toPath()),
+                            hashCompiledClasses(inputFile.toPath()))));
+                }
+            }
+            return fingerprint;
+        } catch (IOException e) {
+            getLog().warn("Could not calculate the generation fingerprint. Generating all inputs.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Calculates the hash of the classes compiled from the given Java source file or folder of the current
+     * project.
+     * @param source
+     *            Java source file or folder containing Java source files
+     * @return the hash of the compiled classes or <code>null</code> if the source is not located in any source
+     *         root of the current project
+     * @throws IOException
+     *             if the sources or compiled classes could not be read
+     */
+    private String hashCompiledClasses(Path source) throws IOException {
+        Path absoluteSource = source.toAbsolutePath().normalize();
+        for (String sourceRoot : getSourceRoots()) {
+            Path sourceRootPath = Paths.get(sourceRoot).toAbsolutePath().normalize();
+            if (absoluteSource.startsWith(sourceRootPath)) {
+                return GenerationFingerprint.hashCompiledClasses(absoluteSource, sourceRootPath,
+                    getOutputDirectories());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the output directories of the current project the main and test sources are compiled to.
+     * @return the normalized absolute paths of the output directories
+     */
+    private List<Path> getOutputDirectories() {
+        List<Path> outputDirectories = Lists.newArrayList();
+        outputDirectories.add(Paths.get(project.getBuild().getOutputDirectory()).toAbsolutePath().normalize());
+        outputDirectories.add(Paths.get(project.getBuild().getTestOutputDirectory()).toAbsolutePath().normalize());
+        return outputDirectories;
+    }
+
+    /**
+     * Loads the fingerprint stored by the last successful generation of this execution.
+     * @return the previous {@link GenerationFingerprint} or <code>null</code> if there is none
+     */
+    private GenerationFingerprint loadPreviousFingerprint() {
+        try {
+            return GenerationFingerprint.load(getFingerprintFile());
+        } catch (IOException e) {
+            getLog().warn("Could not read the previous generation fingerprint. Generating all inputs.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the file the generation fingerprint of this execution is stored in.
+     * @return the fingerprint file within the project's build directory
+     */
+    private Path getFingerprintFile() {
+        return Paths.get(project.getBuild().getDirectory(), "cobigen", execution.getExecutionId() + ".fingerprint");
+    }
+
+    /**
+     * Returns the key of an input package within the {@link GenerationFingerprint}
+     * @param inputPackage
+     *            the input package
+     * @return the input key
+     */
+    private String getPackageInputKey(String inputPackage) {
+        return "package." + inputPackage;
+    }
+
+    /**
+     * Returns the key of an input file within the {@link GenerationFingerprint}
+     * @param inputFile
+     *            the input file
+     * @return the input key
+     */
+    private String getFileInputKey(File inputFile) {
+        return "file." + inputFile.getAbsoluteFile().toURI();
+    }
+
+    /**
+     * Determines the templates to be used, i.e. the configuration folder or the templates artifact injected as
+     * plug-in dependency.
+     * @return the configuration folder or the file of the templates artifact
      * @throws MojoFailureException
      *             if no configuration is given
      */
-    private CobiGen createCobiGenInstance() throws MojoExecutionException, MojoFailureException {
-        CobiGen cobiGen;
+    private File getTemplatesLocation() throws MojoFailureException {
         if (configurationFolder != null) {
-            try {
-                cobiGen = CobiGenFactory.create(configurationFolder.toURI());
-            } catch (IOException e) {
-                throw new MojoExecutionException("The configured configuration folder could not be read.", e);
-            }
+            return configurationFolder;
         } else {
             List<Dependency> dependencies =
                 execution.getMojoDescriptor().getPluginDescriptor().getPlugin().getDependencies();
@@ -190,19 +399,37 @@ public class GenerateMojo extends AbstractMojo {
                 Dependency dependency = dependencies.iterator().next();
                 Artifact templatesArtifact = execution.getMojoDescriptor().getPluginDescriptor().getArtifactMap()
                     .get(dependency.getGroupId() + ":" + dependency.getArtifactId());
-                try {
-                    cobiGen = CobiGenFactory.create(templatesArtifact.getFile().toURI());
-                } catch (IOException e) {
-                    throw new MojoExecutionException("The templates artifact could not be read in location '"
-                        + templatesArtifact.getFile().toURI() + "'.", e);
-                }
+                return templatesArtifact.getFile();
             } else {
                 throw new MojoFailureException(
                     "No configuration injected. Please inject a 'configurationFolder' to a local folder"
                         + " or inject an archive as plugin dependency.");
             }
         }
-        return cobiGen;
+    }
+
+    /**
+     * Creates an instance of {@link CobiGen} based on a given configuration project or configuration jar.
+     * @param templatesLocation
+     *            the configuration folder or the file of the templates artifact
+     * @return the initialized {@link CobiGen} instance
+     * @throws MojoExecutionException
+     *             if the configuration could not be read
+     */
+    private CobiGen createCobiGenInstance(File templatesLocation) throws MojoExecutionException {
+        GenerationOptionsTo generationOptions = new GenerationOptionsTo();
+        // keep the modification time of unchanged files to not trigger their recompilation
+        generationOptions.setWriteOnlyIfChanged(incremental);
+        try {
+            return CobiGenFactory.create(templatesLocation.toURI(), generationOptions);
+        } catch (IOException e) {
+            if (configurationFolder != null) {
+                throw new MojoExecutionException("The configured configuration folder could not be read.", e);
+            } else {
+                throw new MojoExecutionException(
+                    "The templates artifact could not be read in location '" + templatesLocation.toURI() + "'.", e);
+            }
+        }
     }
 
     /**
@@ -246,32 +473,11 @@ public class GenerateMojo extends AbstractMojo {
             try {
                 // Get the URI of the jar from the URL of the contained context.xml
                 URI jarUri = URI.create(contextConfigurationLocation.toString().split("!")[0]);
-                FileSystem jarfs = FileSystems.getFileSystem(jarUri);
 
-                // walk the jar file
+                // load the class names from the index instead of walking the jar file
                 getLog().debug("Searching for classes in " + jarUri.toString());
-                Files.walkFileTree(jarfs.getPath("/"), new SimpleFileVisitor<Path>() {
-
-                    @Override
-                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                        if (file.toString().endsWith(".class")) {
-                            getLog().debug("    * Found class file " + file.toString());
-                            // remove the leading '/' and the trailing '.class'
-                            String fileName = file.toString().substring(1, file.toString().length() - 6);
-                            // replace the path separator '/' with package separator '.' and add it to the
-                            // list of found files
-                            foundClasses.add(fileName.replace("/", "."));
-                        }
-                        return FileVisitResult.CONTINUE;
-                    }
-
-                    @Override
-                    public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
-                        // Log errors but do not throw an exception
-                        getLog().warn(exc);
-                        return FileVisitResult.CONTINUE;
-                    }
-                });
+                File jarFile = Paths.get(URI.create(jarUri.getRawSchemeSpecificPart())).toFile();
+                foundClasses.addAll(TemplateUtilClassIndex.getClassNames(jarFile));
             } catch (IOException e) {
                 getLog().error(e);
             }
@@ -391,34 +597,31 @@ public class GenerateMojo extends AbstractMojo {
     }
 
     /**
-     * Collects/Converts all inputs from {@link #inputPackages} and {@link #inputFiles} into CobiGen
+     * Collects/Converts the given inputs, usually {@link #inputPackages} and {@link #inputFiles}, into CobiGen
      * compatible formats
      * @param cobigen
      *            to interpret input objects
+     * @param packages
+     *            input packages to be collected. Might be <code>null</code>
+     * @param files
+     *            input files to be collected. Might be <code>null</code>
      * @return the list of CobiGen compatible inputs
      * @throws MojoFailureException
      *             if the project {@link ClassLoader} could not be retrieved
      */
-    private List<Object> collectInputs(CobiGen cobigen) throws MojoFailureException {
+    private List<Object> collectInputs(CobiGen cobigen, List<String> packages, List<File> files)
+        throws MojoFailureException {
         getLog().debug("Collect inputs...");
         List<Object> inputs = Lists.newLinkedList();
 
         ClassLoader cl = getProjectClassLoader();
-        if (inputPackages != null && !inputPackages.isEmpty()) {
-            for (String inputPackage : inputPackages) {
+        if (packages != null && !packages.isEmpty()) {
+            for (String inputPackage : packages) {
                 getLog().debug("Resolve package '" + inputPackage + "'");
 
-                // collect all source roots to resolve input paths
-                List<String> sourceRoots = Lists.newLinkedList();
-                sourceRoots.addAll(project.getCompileSourceRoots());
-                sourceRoots.addAll(project.getTestCompileSourceRoots());
-
                 boolean sourceFound = false;
                 List<Path> sourcePathsObserved = Lists.newLinkedList();
-                for (String sourceRoot : sourceRoots) {
-                    String packagePath =
-                        inputPackage.replaceAll("\\.", Matcher.quoteReplacement(System.getProperty("file.separator")));
-                    Path sourcePath = Paths.get(sourceRoot, packagePath);
+                for (Path sourcePath : getPackageSourcePaths(inputPackage)) {
                     getLog().debug("Checking source path " + sourcePath);
                     if (exists(sourcePath) && isReadable(sourcePath) && isDirectory(sourcePath)) {
                         Object packageFolder;
@@ -444,8 +647,8 @@ public class GenerateMojo extends AbstractMojo {
             }
         }
 
-        if (inputFiles != null && !inputFiles.isEmpty()) {
-            for (File file : inputFiles) {
+        if (files != null && !files.isEmpty()) {
+            for (File file : files) {
                 getLog().debug("Resolve file '" + file.toURI().toString() + "'");
                 Object input = InputPreProcessor.process(cobigen, file, cl);
                 inputs.add(input);
@@ -455,6 +658,33 @@ public class GenerateMojo extends AbstractMojo {
         return inputs;
     }
 
+    /**
+     * Resolves the paths of the given package within all source roots of the current project.
+     * @param inputPackage
+     *            the package to be resolved
+     * @return the package paths within all source roots, which do not necessarily exist
+     */
+    private List<Path> getPackageSourcePaths(String inputPackage) {
+        List<Path> sourcePaths = Lists.newLinkedList();
+        String packagePath =
+            inputPackage.replaceAll("\\.", Matcher.quoteReplacement(System.getProperty("file.separator")));
+        for (String sourceRoot : getSourceRoots()) {
+            sourcePaths.add(Paths.get(sourceRoot, packagePath));
+        }
+        return sourcePaths;
+    }
+
+    /**
+     * Returns all main and test source roots of the current project.
+     * @return the source roots to resolve input paths with
+     */
+    private List<String> getSourceRoots() {
+        List<String> sourceRoots = Lists.newLinkedList();
+        sourceRoots.addAll(project.getCompileSourceRoots());
+        sourceRoots.addAll(project.getTestCompileSourceRoots());
+        return sourceRoots;
+    }
+
     /**
      * Generates all increments for each input.
      * @param cobiGen
@@ -0,0 +1,343 @@
+package com.devonfw.cobigen.maven.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.devonfw.cobigen.maven.GenerateMojo;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+/**
+ * Fingerprint of a {@link GenerateMojo} execution consisting of content hashes of the plug-in configuration,
+ * the templates and each input. Comparing the fingerprint of the current build with the one stored by the
+ * last successful generation allows to skip the generation or narrow it down to the changed inputs.
+ */
+public class GenerationFingerprint {
+
+    /** Key of the configuration hash */
+    private static final String CONFIGURATION_KEY = "configuration";
+
+    /** Key of the templates hash */
+    private static final String TEMPLATES_KEY = "templates";
+
+    /** Key prefix of all input hashes */
+    private static final String INPUT_KEY_PREFIX = "input.";
+
+    /** Hash algorithm to be used */
+    private static final String HASH_ALGORITHM = "SHA-1";
+
+    /** Hash of the plug-in configuration */
+    private String configurationHash;
+
+    /** Hash of the templates */
+    private String templatesHash;
+
+    /** Hashes of all inputs mapped by an unique key of the input */
+    private Map<String, String> inputHashes = new TreeMap<>();
+
+    /**
+     * Creates a new {@link GenerationFingerprint} without any input
+     * @param configurationHash
+     *            hash of the plug-in configuration
+     * @param templatesHash
+     *            hash of the templates
+     */
+    public GenerationFingerprint(String configurationHash, String templatesHash) {
+        this.configurationHash = configurationHash;
+        this.templatesHash = templatesHash;
+    }
+
+    /**
+     * Adds the hash of an input
+     * @param inputKey
+     *            unique key of the input
+     * @param hash
+     *            hash of the input
+     */
+    public void putInput(String inputKey, String hash) {
+        inputHashes.put(inputKey, hash);
+    }
+
+    /**
+     * Checks whether the plug-in configuration as well as the templates are the same as of the given
+     * fingerprint.
+     * @param previous
+     *            fingerprint to compare with
+     * @return <code>true</code> if configuration and templates did not change, <code>false</code> otherwise
+     */
+    public boolean hasSameConfiguration(GenerationFingerprint previous) {
+        return configurationHash.equals(previous.configurationHash) && templatesHash.equals(previous.templatesHash);
+    }
+
+    /**
+     * Determines all inputs, which are new or have been changed compared to the given fingerprint
+     * @param previous
+     *            fingerprint to compare with
+     * @return the keys of all new or changed inputs
+     */
+    public Set<String> getChangedInputs(GenerationFingerprint previous) {
+        Set<String> changedInputs = Sets.newTreeSet();
+        for (Map.Entry<String, String> input : inputHashes.entrySet()) {
+            if (!input.getValue().equals(previous.inputHashes.get(input.getKey()))) {
+                changedInputs.add(input.getKey());
+            }
+        }
+        return changedInputs;
+    }
+
+    /**
+     * Loads a fingerprint previously stored by {@link #store(Path)}
+     * @param file
+     *            the fingerprint has been stored to
+     * @return the loaded fingerprint or <code>null</code> if the file does not exist or is no valid fingerprint
+     * @throws IOException
+     *             if the file could not be read
+     */
+    public static GenerationFingerprint load(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        String configurationHash = properties.getProperty(CONFIGURATION_KEY);
+        String templatesHash = properties.getProperty(TEMPLATES_KEY);
+        if (configurationHash == null || templatesHash == null) {
+            return null;
+        }
+
+        GenerationFingerprint fingerprint = new GenerationFingerprint(configurationHash, templatesHash);
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(INPUT_KEY_PREFIX)) {
+                fingerprint.putInput(key.substring(INPUT_KEY_PREFIX.length()), properties.getProperty(key));
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Stores the fingerprint to the given file. Missing parent folders will be created.
+     * @param file
+     *            the fingerprint should be stored to
+     * @throws IOException
+     *             if the file could not be written
+     */
+    public void store(Path file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(CONFIGURATION_KEY, configurationHash);
+        properties.setProperty(TEMPLATES_KEY, templatesHash);
+        for (Map.Entry<String, String> input : inputHashes.entrySet()) {
+            properties.setProperty(INPUT_KEY_PREFIX + input.getKey(), input.getValue());
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            properties.store(out, "CobiGen generation fingerprint");
+        }
+    }
+
+    /**
+     * Calculates the hash of the given values in order
+     * @param values
+     *            to be hashed. <code>null</code> values are allowed
+     * @return the hash of the values
+     */
+    public static String hash(List<?> values) {
+        MessageDigest digest = newDigest();
+        for (Object value : values) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            // separate the values to not hash ["ab", "c"] and ["a", "bc"] equally
+            digest.update((byte) 0);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Calculates the hash of the contents of the given path. Folders will be hashed recursively including the
+     * relative paths of all contained files.
+     * @param path
+     *            file or folder to be hashed
+     * @return the hash of the contents
+     * @throws IOException
+     *             if the path does not exist or could not be read
+     */
+    public static String hash(final Path path) throws IOException {
+        final MessageDigest digest = newDigest();
+        if (Files.isDirectory(path)) {
+            final List<Path> files = Lists.newArrayList();
+            Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    files.add(file);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            // the walking order is not specified, thus sort to get a stable hash
+            Collections.sort(files);
+            for (Path file : files) {
+                digest.update(path.relativize(file).toString().replace('\\', '/').getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                update(digest, file);
+            }
+        } else {
+            update(digest, path);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Calculates the hash of the modification state, i.e. last modification time and size, of all files
+     * within the given class path elements. Hashing the modification state instead of the contents keeps the
+     * fingerprint cheap for large class paths, whereas each recompiled or updated class or archive still
+     * changes the hash.
+     * @param classpathElements
+     *            class path folders and archives. Elements not existing are allowed
+     * @return the hash of the modification state of all class path elements
+     * @throws IOException
+     *             if a class path folder could not be read
+     */
+    public static String hashModificationState(List<String> classpathElements) throws IOException {
+        final MessageDigest digest = newDigest();
+        for (String classpathElement : classpathElements) {
+            final Path path = Paths.get(classpathElement);
+            digest.update(classpathElement.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            if (Files.isDirectory(path)) {
+                final List<String> states = Lists.newArrayList();
+                Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                        states.add(path.relativize(file).toString().replace('\\', '/') + ":"
+                            + attrs.lastModifiedTime().toMillis() + ":" + attrs.size());
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+                // the walking order is not specified, thus sort to get a stable hash
+                Collections.sort(states);
+                digest.update(hash(states).getBytes(StandardCharsets.UTF_8));
+            } else if (Files.isRegularFile(path)) {
+                BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                String state = attrs.lastModifiedTime().toMillis() + ":" + attrs.size();
+                digest.update(state.getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) 0);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Calculates the hash of the contents of the classes compiled from the given Java source file or from all
+     * Java source files within the given folder, including their nested classes.
+     * @param source
+     *            Java source file or folder containing Java source files
+     * @param sourceRoot
+     *            source root the given source is located in
+     * @param outputDirectories
+     *            output directories the sources of the source root are compiled to. Directories not existing
+     *            are allowed
+     * @return the hash of the compiled classes
+     * @throws IOException
+     *             if the sources or compiled classes could not be read
+     */
+    public static String hashCompiledClasses(Path source, final Path sourceRoot, final List<Path> outputDirectories)
+        throws IOException {
+        final List<Path> classFiles = Lists.newArrayList();
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(".java")) {
+                    String className = fileName.substring(0, fileName.length() - ".java".length());
+                    Path packagePath = sourceRoot.relativize(file.getParent());
+                    for (Path outputDirectory : outputDirectories) {
+                        Path classFolder = outputDirectory.resolve(packagePath);
+                        if (Files.isDirectory(classFolder)) {
+                            try (DirectoryStream<Path> classes =
+                                Files.newDirectoryStream(classFolder, className + "{.class,$*.class}")) {
+                                for (Path classFile : classes) {
+                                    classFiles.add(classFile);
+                                }
+                            }
+                        }
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        // the walking order is not specified, thus sort to get a stable hash
+        Collections.sort(classFiles);
+
+        MessageDigest digest = newDigest();
+        for (Path classFile : classFiles) {
+            digest.update(classFile.toString().replace('\\', '/').getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            update(digest, classFile);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Updates the digest with the contents of the given file
+     * @param digest
+     *            to be updated
+     * @param file
+     *            to be read
+     * @throws IOException
+     *             if the file could not be read
+     */
+    private static void update(MessageDigest digest, Path file) throws IOException {
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    /**
+     * Creates a new {@link MessageDigest} for the {@link #HASH_ALGORITHM}
+     * @return the new {@link MessageDigest}
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // each Java platform has to support SHA-1
+            throw new IllegalStateException(HASH_ALGORITHM + " is not supported by the Java platform.", e);
+        }
+    }
+
+    /**
+     * Converts the given bytes to their hexadecimal representation
+     * @param bytes
+     *            to be converted
+     * @return the hexadecimal representation
+     */
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
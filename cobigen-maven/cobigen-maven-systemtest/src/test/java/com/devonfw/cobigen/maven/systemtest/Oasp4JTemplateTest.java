@@ -3,7 +3,10 @@ package com.devonfw.cobigen.maven.systemtest;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 
 import org.apache.maven.shared.invoker.DefaultInvocationRequest;
@@ -93,6 +96,39 @@ public class Oasp4JTemplateTest extends AbstractMavenTest {
         assertThat(testProjectRoot.toPath().resolve("Sample.txt")).hasContent("Test InputEntity asdf");
     }
 
+    /**
+     * Tests that an incremental generation is skipped if neither the configuration, nor the templates, nor the
+     * inputs changed and is executed again as soon as an input changed.
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testIncrementalGenerationSkipsUnchangedInputs() throws Exception {
+        File testProject = new File(TEST_RESOURCES_ROOT + "TestIncrementalGeneration/");
+        File testTemplatesProject = new File(TEST_RESOURCES_ROOT + "templates-classloading-testclasses/");
+        File testProjectRoot = runMavenInvoker(testProject, testTemplatesProject, MavenMetadata.LOCAL_REPO);
+
+        Path generatedFile = testProjectRoot.toPath().resolve("Sample.txt");
+        assertThat(generatedFile).hasContent("Test InputEntity asdf");
+        assertThat(testProjectRoot.toPath().resolve("target/cobigen/generate.fingerprint")).exists();
+
+        // nothing changed, thus the deleted file should not be generated again
+        Files.delete(generatedFile);
+        runMavenInvoker(testProjectRoot, testTemplatesProject, MavenMetadata.LOCAL_REPO, false);
+        assertThat(generatedFile).doesNotExist();
+
+        // classes compiled from other sources, e.g. generated ones, do not affect the input
+        Files.write(testProjectRoot.toPath().resolve("target/classes/Generated.class"), new byte[] { 1 });
+        runMavenInvoker(testProjectRoot, testTemplatesProject, MavenMetadata.LOCAL_REPO, false);
+        assertThat(generatedFile).doesNotExist();
+
+        // the input changed, thus it should be generated again
+        Files.write(testProjectRoot.toPath().resolve("src/main/java/InputEntity.java"),
+            "// changed".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        runMavenInvoker(testProjectRoot, testTemplatesProject, MavenMetadata.LOCAL_REPO, false);
+        assertThat(generatedFile).hasContent("Test InputEntity asdf");
+    }
+
     /**
      * Test class loading for a configuration folder with java util classes as well as test classes
      * @throws Exception
@@ -154,5 +190,4 @@ public class Oasp4JTemplateTest extends AbstractMavenTest {
         // service imp = 18
         assertThat(numFilesInTarget).isEqualTo(33);
     }
-
 }
@@ -0,0 +1,4 @@
+
+public class InputEntity {
+    
+}
@@ -81,10 +81,34 @@ public class AbstractMavenTest {
      *             if anything fails
      */
     protected File runMavenInvoker(File testProject, File templatesProject, String localRepoPath) throws Exception {
+        return runMavenInvoker(testProject, templatesProject, localRepoPath, true);
+    }
+
+    /**
+     * Runs the maven invoker with goal package and the default devon settings file. Makes sure, that the
+     * local repository of the executing maven process is used.
+     * @param testProject
+     *            the test project to build
+     * @param templatesProject
+     *            the templates project to be used for generation. May be {@code null}
+     * @param localRepoPath
+     *            local repository path of the current execution
+     * @param copyProject
+     *            whether the build should be executed in a temporary copy of the test project. Pass
+     *            {@code false} to build a project once more, which has been copied by a previous invocation.
+     * @return the temporary copy of the test project or the test project itself, the build was executed in
+     * @throws Exception
+     *             if anything fails
+     */
+    protected File runMavenInvoker(File testProject, File templatesProject, String localRepoPath,
+        boolean copyProject) throws Exception {
         assertThat(testProject).exists();
 
-        File testProjectRoot = tmpFolder.newFolder();
-        FileUtils.copyDirectoryStructure(testProject, testProjectRoot);
+        File testProjectRoot = testProject;
+        if (copyProject) {
+            testProjectRoot = tmpFolder.newFolder();
+            FileUtils.copyDirectoryStructure(testProject, testProjectRoot);
+        }
 
         InvocationRequest request = new DefaultInvocationRequest();
         request.setBaseDirectory(testProjectRoot);
@@ -3,9 +3,12 @@ package com.devonfw.cobigen.api;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.devonfw.cobigen.api.annotation.ExceptionFacade;
+import com.devonfw.cobigen.api.extension.GenerationEventListener;
 import com.devonfw.cobigen.api.extension.ModelBuilder;
+import com.devonfw.cobigen.api.to.CacheStatisticsTo;
 import com.devonfw.cobigen.api.to.GenerableArtifact;
 import com.devonfw.cobigen.api.to.GenerationReportTo;
 
@@ -99,6 +102,106 @@ public interface CobiGen extends ConfigurationInterpreter, InputInterpreter {
     public GenerationReportTo generate(Object input, List<? extends GenerableArtifact> generableArtifacts,
         Path targetRootPath, boolean forceOverride, List<Class<?>> logicClasses, Map<String, Object> rawModel);
 
+    /**
+     * Generates code for multiple inputs at once by processing the {@link List} of {@link GenerableArtifact}s
+     * mapped to each input. In contrast to a generation per input, all inputs share the staging of the
+     * generated contents, the logic class instances as well as the models of equal input objects. The
+     * templates of all inputs are processed concurrently as configured by the generation options and the
+     * generated contents are committed once if the generation of all inputs succeeded.
+     *
+     * @param generableArtifactsByInput
+     *            the {@link List} of artifacts to be generated mapped by the generator input object. The
+     *            iteration order of the {@link Map} determines the order of processing and reporting.
+     * @param targetRootPath
+     *            target root path to generate to (to be used to resolve the dependent template destination
+     *            paths)
+     * @return The aggregated {@link GenerationReportTo generation report} of all inputs covering the actual
+     *         status of success, a list of warnings, as well as a list of error messages.
+     */
+    public GenerationReportTo generate(Map<?, ? extends List<? extends GenerableArtifact>> generableArtifactsByInput,
+        Path targetRootPath);
+
+    /**
+     * Generates code for multiple inputs at once by processing the {@link List} of {@link GenerableArtifact}s
+     * mapped to each input. In contrast to a generation per input, all inputs share the staging of the
+     * generated contents, the logic class instances as well as the models of equal input objects. The
+     * templates of all inputs are processed concurrently as configured by the generation options and the
+     * generated contents are committed once if the generation of all inputs succeeded.
+     *
+     * @param generableArtifactsByInput
+     *            the {@link List} of artifacts to be generated mapped by the generator input object. The
+     *            iteration order of the {@link Map} determines the order of processing and reporting.
+     * @param targetRootPath
+     *            target root path to generate to (to be used to resolve the dependent template destination
+     *            paths)
+     * @param forceOverride
+     *            if <code>true</code> and the destination path is already existent, the contents will be
+     *            overwritten by the generated ones iff there is no merge strategy defined by the templates
+     *            configuration. (default: {@code false})
+     * @param logicClasses
+     *            a {@link List} of java class files, which will be included as accessible beans in the
+     *            template model. Such classes can be used to implement more complex template logic.
+     * @return The aggregated {@link GenerationReportTo generation report} of all inputs covering the actual
+     *         status of success, a list of warnings, as well as a list of error messages.
+     */
+    public GenerationReportTo generate(Map<?, ? extends List<? extends GenerableArtifact>> generableArtifactsByInput,
+        Path targetRootPath, boolean forceOverride, List<Class<?>> logicClasses);
+
+    /**
+     * Generates code for multiple inputs asynchronously like
+     * {@link #generate(Map, Path, boolean, List) the batch generation}. The progress of the generation is
+     * reported to the given {@link GenerationEventListener}. The generation can be cancelled by
+     * {@link CompletableFuture#cancel(boolean) cancelling} the returned future as long as the generated contents
+     * have not yet been committed. A cancelled generation leaves the target files untouched.
+     *
+     * @param generableArtifactsByInput
+     *            the {@link List} of artifacts to be generated mapped by the generator input object. The
+     *            iteration order of the {@link Map} determines the order of processing and reporting.
+     * @param targetRootPath
+     *            target root path to generate to (to be used to resolve the dependent template destination
+     *            paths)
+     * @param eventListener
+     *            {@link GenerationEventListener} to be notified about the progress of the generation or
+     *            {@code null}
+     * @return a {@link CompletableFuture} of the aggregated {@link GenerationReportTo generation report} of all
+     *         inputs. {@link CompletableFuture#cancel(boolean) Cancelling} will fail once the generated contents
+     *         are being committed.
+     */
+    public CompletableFuture<GenerationReportTo> generateAsync(
+        Map<?, ? extends List<? extends GenerableArtifact>> generableArtifactsByInput, Path targetRootPath,
+        GenerationEventListener eventListener);
+
+    /**
+     * Generates code for multiple inputs asynchronously like
+     * {@link #generate(Map, Path, boolean, List) the batch generation}. The progress of the generation is
+     * reported to the given {@link GenerationEventListener}. The generation can be cancelled by
+     * {@link CompletableFuture#cancel(boolean) cancelling} the returned future as long as the generated contents
+     * have not yet been committed. A cancelled generation leaves the target files untouched.
+     *
+     * @param generableArtifactsByInput
+     *            the {@link List} of artifacts to be generated mapped by the generator input object. The
+     *            iteration order of the {@link Map} determines the order of processing and reporting.
+     * @param targetRootPath
+     *            target root path to generate to (to be used to resolve the dependent template destination
+     *            paths)
+     * @param forceOverride
+     *            if <code>true</code> and the destination path is already existent, the contents will be
+     *            overwritten by the generated ones iff there is no merge strategy defined by the templates
+     *            configuration. (default: {@code false})
+     * @param logicClasses
+     *            a {@link List} of java class files, which will be included as accessible beans in the
+     *            template model. Such classes can be used to implement more complex template logic.
+     * @param eventListener
+     *            {@link GenerationEventListener} to be notified about the progress of the generation or
+     *            {@code null}
+     * @return a {@link CompletableFuture} of the aggregated {@link GenerationReportTo generation report} of all
+     *         inputs. {@link CompletableFuture#cancel(boolean) Cancelling} will fail once the generated contents
+     *         are being committed.
+     */
+    public CompletableFuture<GenerationReportTo> generateAsync(
+        Map<?, ? extends List<? extends GenerableArtifact>> generableArtifactsByInput, Path targetRootPath,
+        boolean forceOverride, List<Class<?>> logicClasses, GenerationEventListener eventListener);
+
     /**
      * Generates code by processing the {@link GenerableArtifact} for the given input.
      *
@@ -204,4 +307,12 @@ public interface CobiGen extends ConfigurationInterpreter, InputInterpreter {
      * @return a new {@link ModelBuilder} instance
      */
     public ModelBuilder getModelBuilder(Object generatorInput, String triggerId);
+
+    /**
+     * Returns the statistics of the caches serving repeated requests on the same input, e.g. for determining
+     * the matching triggers or templates. The statistics are accumulated over the lifetime of this instance.
+     *
+     * @return a snapshot of the hit, miss, and eviction counts of all caches of this instance
+     */
+    public CacheStatisticsTo getCacheStatistics();
 }
@@ -0,0 +1,17 @@
+package com.devonfw.cobigen.api.constants;
+
+/**
+ * This enumeration states the types of events reported while a generation is in progress.
+ */
+public enum GenerationEventType {
+    /** if the processing of a template for an input object has been started */
+    TEMPLATE_STARTED,
+    /** if the processing of a template for an input object has been finished, successfully or not */
+    TEMPLATE_FINISHED,
+    /** if a processed template has been merged into the contents of its target file */
+    FILE_MERGED,
+    /** if generated or merged contents have been written to the staging area */
+    FILE_WRITTEN,
+    /** if the generation has been stopped due to a cancellation without touching any target file */
+    GENERATION_CANCELLED
+}
@@ -0,0 +1,20 @@
+package com.devonfw.cobigen.api.constants;
+
+/**
+ * This enumeration states the phases of a generation, which are measured separately to profile the
+ * generation.
+ */
+public enum GenerationPhase {
+    /** if the input is read and resolved to the input objects to be generated for */
+    INPUT_READING,
+    /** if the model of an input object is built and enriched by the context variables */
+    MODEL_BUILDING,
+    /** if a template is processed by its template engine */
+    TEMPLATE_PROCESSING,
+    /** if a processed template is merged into an existing file */
+    MERGING,
+    /** if generated or merged contents are written to the staging area */
+    WRITING,
+    /** if the staged contents are committed to their target destinations */
+    COMMIT
+}
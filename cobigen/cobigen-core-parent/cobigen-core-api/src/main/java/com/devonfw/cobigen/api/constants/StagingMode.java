@@ -0,0 +1,18 @@
+package com.devonfw.cobigen.api.constants;
+
+/**
+ * This enumeration states, where generated contents are staged before being committed to their target
+ * destinations.
+ */
+public enum StagingMode {
+    /**
+     * if all target files should be copied to a temporary directory, processed there, and copied back to their
+     * target destinations once the generation succeeded
+     */
+    TEMPORARY_DIRECTORY,
+    /**
+     * if generated and merged contents should be kept in memory (spilling to disk above a threshold) and
+     * committed to their target destinations by atomic moves once the generation succeeded
+     */
+    IN_MEMORY
+}
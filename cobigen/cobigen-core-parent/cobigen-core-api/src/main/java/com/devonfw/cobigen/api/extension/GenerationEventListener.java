@@ -0,0 +1,20 @@
+package com.devonfw.cobigen.api.extension;
+
+import com.devonfw.cobigen.api.CobiGen;
+import com.devonfw.cobigen.api.to.GenerationEventTo;
+
+/**
+ * This interface should be inherited to follow the progress of an
+ * {@link CobiGen#generateAsync(java.util.Map, java.nio.file.Path, GenerationEventListener) asynchronous
+ * generation}. In case of a parallel generation, the listener will be notified by multiple threads
+ * concurrently and thus has to be thread-safe. Exceptions thrown by a listener will be logged and ignored.
+ */
+public interface GenerationEventListener {
+
+    /**
+     * Will be called for each event of the generation.
+     * @param event
+     *            the {@link GenerationEventTo} describing the event
+     */
+    public void eventOccurred(GenerationEventTo event);
+}
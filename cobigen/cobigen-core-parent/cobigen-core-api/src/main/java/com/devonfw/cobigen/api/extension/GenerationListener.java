@@ -0,0 +1,36 @@
+package com.devonfw.cobigen.api.extension;
+
+import com.devonfw.cobigen.api.constants.GenerationPhase;
+import com.devonfw.cobigen.api.to.GenerationOptionsTo;
+import com.devonfw.cobigen.api.to.GenerationReportTo;
+
+/**
+ * This interface should be inherited to observe generations, e.g. to profile them. A {@link GenerationListener}
+ * can be registered via the {@link GenerationOptionsTo#addListener(GenerationListener) generation options}. In
+ * case of a parallel generation, the listener will be notified by multiple threads concurrently and thus has
+ * to be thread-safe. Exceptions thrown by a listener will be logged and ignored.
+ */
+public interface GenerationListener {
+
+    /**
+     * Will be called each time a {@link GenerationPhase} has been executed.
+     * @param phase
+     *            the executed {@link GenerationPhase}
+     * @param templateId
+     *            ID of the template the phase has been executed for or {@code null} if the phase does not
+     *            relate to a single template, e.g. the {@link GenerationPhase#COMMIT commit}
+     * @param durationNanos
+     *            duration of the execution in nanoseconds
+     * @param allocatedBytes
+     *            bytes allocated on the heap by the execution or a negative value if the Java virtual machine
+     *            does not support measuring the allocated memory per thread
+     */
+    public void phaseExecuted(GenerationPhase phase, String templateId, long durationNanos, long allocatedBytes);
+
+    /**
+     * Will be called once the generation has been finished, also if it has been cancelled or failed.
+     * @param report
+     *            the {@link GenerationReportTo} of the generation
+     */
+    public void generationFinished(GenerationReportTo report);
+}
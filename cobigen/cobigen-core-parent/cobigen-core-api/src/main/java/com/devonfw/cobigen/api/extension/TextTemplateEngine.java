@@ -42,10 +42,48 @@ public interface TextTemplateEngine {
      */
     public void process(TextTemplate template, Map<String, Object> model, Writer out, String outputEncoding);
 
+    /**
+     * Processes the passed template of the given template folder with the passed model as input and writes the
+     * generated result to the output writer with the given output encoding. In contrast to
+     * {@link #setTemplateFolder(Path)} followed by {@link #process(TextTemplate, Map, Writer, String)}, this
+     * method can be called concurrently for different template folders. The default implementation serializes
+     * all calls on this engine, such that template engines supporting concurrent processing should override
+     * it.
+     * @param templateFolderPath
+     *            the root folder of all templates to resolve the relative template path on
+     * @param template
+     *            to be processed
+     * @param model
+     *            input for template processing
+     * @param out
+     *            output writer
+     * @param outputEncoding
+     *            output encoding
+     */
+    public default void process(Path templateFolderPath, TextTemplate template, Map<String, Object> model,
+        Writer out, String outputEncoding) {
+        synchronized (this) {
+            setTemplateFolder(templateFolderPath);
+            process(template, model, out, outputEncoding);
+        }
+    }
+
     /**
      * Sets the root folder of all templates to resolve relative template paths on.
      * @param templateFolderPath
      *            the root folder of all templates.
      */
     public void setTemplateFolder(Path templateFolderPath);
+
+    /**
+     * Invalidates all information cached for the templates of the given template folder, e.g. parsed
+     * templates. Will be called whenever the contents of a template folder have been changed while
+     * {@link com.devonfw.cobigen.api.to.GenerationOptionsTo#setWatchConfiguration(boolean) watching} the
+     * configuration.
+     * @param templateFolderPath
+     *            the root folder of the changed templates or {@code null} to invalidate all cached information
+     */
+    public default void invalidateCache(Path templateFolderPath) {
+        // template engines do not cache any information by default
+    }
 }
@@ -0,0 +1,71 @@
+package com.devonfw.cobigen.api.to;
+
+/** Statistics of the caches serving repeated requests, e.g. for matching triggers of the same input. */
+public class CacheStatisticsTo {
+
+    /** @see #getHitCount() */
+    private long hitCount;
+
+    /** @see #getMissCount() */
+    private long missCount;
+
+    /** @see #getEvictionCount() */
+    private long evictionCount;
+
+    /**
+     * Creates new {@link CacheStatisticsTo}
+     * @param hitCount
+     *            number of requests served by a cache
+     * @param missCount
+     *            number of requests, which could not be served by a cache
+     * @param evictionCount
+     *            number of cached results evicted due to the size limit
+     */
+    public CacheStatisticsTo(long hitCount, long missCount, long evictionCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Aggregates the statistics of the given instance within {@code this} instance.
+     * @param statistics
+     *            {@link CacheStatisticsTo} to be aggregated
+     */
+    public void aggregate(CacheStatisticsTo statistics) {
+        hitCount += statistics.hitCount;
+        missCount += statistics.missCount;
+        evictionCount += statistics.evictionCount;
+    }
+
+    /**
+     * Returns the number of requests served by a cache.
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of requests, which could not be served by a cache and thus have been computed.
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of cached results evicted due to the size limit of a cache. Results discarded due
+     * to the garbage collection of their input or due to configuration changes are not counted.
+     * @return the number of evicted results
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[hitCount=" + hitCount + ", missCount=" + missCount
+            + ", evictionCount=" + evictionCount + "]";
+    }
+}
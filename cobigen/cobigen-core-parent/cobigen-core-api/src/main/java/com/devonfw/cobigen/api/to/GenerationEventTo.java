@@ -0,0 +1,109 @@
+package com.devonfw.cobigen.api.to;
+
+import java.nio.file.Path;
+
+import com.devonfw.cobigen.api.constants.GenerationEventType;
+
+/** Event reported while a generation is in progress. */
+public class GenerationEventTo {
+
+    /** @see #getType() */
+    private final GenerationEventType type;
+
+    /** @see #getTemplateId() */
+    private final String templateId;
+
+    /** @see #getTargetFile() */
+    private final Path targetFile;
+
+    /** @see #getBytes() */
+    private final long bytes;
+
+    /** @see #getFinishedTemplates() */
+    private final int finishedTemplates;
+
+    /** @see #getTotalTemplates() */
+    private final int totalTemplates;
+
+    /**
+     * Creates a new {@link GenerationEventTo} with the given properties
+     * @param type
+     *            {@link GenerationEventType} of the event
+     * @param templateId
+     *            ID of the template the event relates to or {@code null}
+     * @param targetFile
+     *            target file the event relates to or {@code null}
+     * @param bytes
+     *            number of bytes written or {@code -1} if nothing has been written
+     * @param finishedTemplates
+     *            number of templates finished so far
+     * @param totalTemplates
+     *            total number of templates to be processed
+     */
+    public GenerationEventTo(GenerationEventType type, String templateId, Path targetFile, long bytes,
+        int finishedTemplates, int totalTemplates) {
+        this.type = type;
+        this.templateId = templateId;
+        this.targetFile = targetFile;
+        this.bytes = bytes;
+        this.finishedTemplates = finishedTemplates;
+        this.totalTemplates = totalTemplates;
+    }
+
+    /**
+     * Returns the type of the event.
+     * @return the {@link GenerationEventType}
+     */
+    public GenerationEventType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the ID of the template the event relates to.
+     * @return the template ID or {@code null} if the event does not relate to a single template, e.g. a
+     *         {@link GenerationEventType#GENERATION_CANCELLED cancellation}
+     */
+    public String getTemplateId() {
+        return templateId;
+    }
+
+    /**
+     * Returns the target file the event relates to. Target files are not touched before all templates have
+     * been processed successfully.
+     * @return the target file or {@code null} if the event does not relate to a file
+     */
+    public Path getTargetFile() {
+        return targetFile;
+    }
+
+    /**
+     * Returns the number of bytes written to the staging area by a {@link GenerationEventType#FILE_WRITTEN}
+     * event.
+     * @return the number of bytes written or {@code -1} if nothing has been written
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the number of (template, input object) pairs finished so far to report the progress.
+     * @return the number of finished templates
+     */
+    public int getFinishedTemplates() {
+        return finishedTemplates;
+    }
+
+    /**
+     * Returns the total number of (template, input object) pairs to be processed.
+     * @return the total number of templates
+     */
+    public int getTotalTemplates() {
+        return totalTemplates;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[type=" + type + ", templateId=" + templateId + ", targetFile="
+            + targetFile + ", bytes=" + bytes + ", progress=" + finishedTemplates + "/" + totalTemplates + "]";
+    }
+}
@@ -0,0 +1,172 @@
+package com.devonfw.cobigen.api.to;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.devonfw.cobigen.api.constants.StagingMode;
+import com.devonfw.cobigen.api.extension.GenerationListener;
+import com.google.common.collect.Lists;
+
+/** The transfer object for options tuning the generation process */
+public class GenerationOptionsTo {
+
+    /** Default value of {@link #getSpillThreshold()}, i.e. 32 MiB */
+    public static final long DEFAULT_SPILL_THRESHOLD = 32L * 1024 * 1024;
+
+    /** @see #getParallelism() */
+    private int parallelism = 1;
+
+    /** @see #getStagingMode() */
+    private StagingMode stagingMode = StagingMode.TEMPORARY_DIRECTORY;
+
+    /** @see #getSpillThreshold() */
+    private long spillThreshold = DEFAULT_SPILL_THRESHOLD;
+
+    /** @see #isWriteOnlyIfChanged() */
+    private boolean writeOnlyIfChanged;
+
+    /** @see #isWatchConfiguration() */
+    private boolean watchConfiguration;
+
+    /** @see #getListeners() */
+    private List<GenerationListener> listeners = Lists.newCopyOnWriteArrayList();
+
+    /**
+     * Returns the number of worker threads used to process the (template, input) pairs of one generation. A
+     * value of {@code 1} (default) processes all templates sequentially in the calling thread.
+     * @return the number of worker threads
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @see #getParallelism()
+     * @param parallelism
+     *            number of worker threads, at least {@code 1}
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism has to be at least 1, but was " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the {@link StagingMode} determining where generated contents are kept until they are committed
+     * to their target destinations. Defaults to {@link StagingMode#TEMPORARY_DIRECTORY}.
+     * @return the {@link StagingMode}
+     */
+    public StagingMode getStagingMode() {
+        return stagingMode;
+    }
+
+    /**
+     * @see #getStagingMode()
+     * @param stagingMode
+     *            the {@link StagingMode} to be used
+     */
+    public void setStagingMode(StagingMode stagingMode) {
+        if (stagingMode == null) {
+            throw new IllegalArgumentException("The staging mode must not be null");
+        }
+        this.stagingMode = stagingMode;
+    }
+
+    /**
+     * Returns the maximum number of characters kept in memory by {@link StagingMode#IN_MEMORY in-memory
+     * staging}. Further contents will be spilled to a temporary directory. Defaults to
+     * {@link #DEFAULT_SPILL_THRESHOLD}.
+     * @return the maximum number of characters kept in memory
+     */
+    public long getSpillThreshold() {
+        return spillThreshold;
+    }
+
+    /**
+     * @see #getSpillThreshold()
+     * @param spillThreshold
+     *            maximum number of characters kept in memory, at least {@code 0}
+     */
+    public void setSpillThreshold(long spillThreshold) {
+        if (spillThreshold < 0) {
+            throw new IllegalArgumentException("The spill threshold must not be negative, but was " + spillThreshold);
+        }
+        this.spillThreshold = spillThreshold;
+    }
+
+    /**
+     * Returns whether target files should just be written if their contents changed. If enabled, unchanged
+     * files will neither be written nor touched and thus be reported as
+     * {@link GenerationReportTo#getSkippedFiles() skipped files}. Defaults to {@code false}.
+     * @return {@code true} if unchanged files should not be written, {@code false} otherwise
+     */
+    public boolean isWriteOnlyIfChanged() {
+        return writeOnlyIfChanged;
+    }
+
+    /**
+     * @see #isWriteOnlyIfChanged()
+     * @param writeOnlyIfChanged
+     *            {@code true} if unchanged files should not be written, {@code false} otherwise
+     */
+    public void setWriteOnlyIfChanged(boolean writeOnlyIfChanged) {
+        this.writeOnlyIfChanged = writeOnlyIfChanged;
+    }
+
+    /**
+     * Returns whether the configuration folder should be watched for changes. If enabled, changed
+     * configurations will be read again on next access instead of being cached for the lifetime of the CobiGen
+     * instance. Just configurations located in the default file system can be watched. Defaults to
+     * {@code false}.
+     * @return {@code true} if the configuration should be watched for changes, {@code false} otherwise
+     */
+    public boolean isWatchConfiguration() {
+        return watchConfiguration;
+    }
+
+    /**
+     * @see #isWatchConfiguration()
+     * @param watchConfiguration
+     *            {@code true} if the configuration should be watched for changes, {@code false} otherwise
+     */
+    public void setWatchConfiguration(boolean watchConfiguration) {
+        this.watchConfiguration = watchConfiguration;
+    }
+
+    /**
+     * Returns the {@link GenerationListener}s to be notified about the phases executed by each generation.
+     * @return the unmodifiable {@link List} of registered {@link GenerationListener}s
+     */
+    public List<GenerationListener> getListeners() {
+        return Collections.unmodifiableList(listeners);
+    }
+
+    /**
+     * @see #getListeners()
+     * @param listener
+     *            {@link GenerationListener} to be registered
+     */
+    public void addListener(GenerationListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("The listener must not be null");
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * @see #getListeners()
+     * @param listener
+     *            {@link GenerationListener} to be unregistered
+     */
+    public void removeListener(GenerationListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[parallelism=" + parallelism + ", stagingMode=" + stagingMode
+            + ", spillThreshold=" + spillThreshold + ", writeOnlyIfChanged=" + writeOnlyIfChanged
+            + ", watchConfiguration=" + watchConfiguration + ", listeners=" + listeners + "]";
+    }
+}
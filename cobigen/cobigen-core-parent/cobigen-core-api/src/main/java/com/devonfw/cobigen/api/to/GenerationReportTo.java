@@ -2,11 +2,15 @@ package com.devonfw.cobigen.api.to;
 
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
 
+import com.devonfw.cobigen.api.constants.GenerationPhase;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
@@ -26,6 +30,15 @@ public class GenerationReportTo {
     /** @see #getGeneratedFiles() */
     private Set<Path> generatedFiles = new TreeSet<>();
 
+    /** @see #getSkippedFiles() */
+    private Set<Path> skippedFiles = new TreeSet<>();
+
+    /** @see #getPhaseMetrics() */
+    private Map<GenerationPhase, PhaseMetricsTo> phaseMetrics = new EnumMap<>(GenerationPhase.class);
+
+    /** @see #getTemplateMetrics() */
+    private Map<String, TemplateMetricsTo> templateMetrics = Maps.newTreeMap();
+
     /**
      * @see #getGeneratedFiles()
      * @param file
@@ -52,6 +65,33 @@ public class GenerationReportTo {
         return generatedFiles;
     }
 
+    /**
+     * @see #getSkippedFiles()
+     * @param file
+     *            file, which has not been written as its contents did not change
+     */
+    public void addSkippedFile(Path file) {
+        skippedFiles.add(file);
+    }
+
+    /**
+     * @see #getSkippedFiles()
+     * @param files
+     *            a collection of files, which have not been written as their contents did not change
+     */
+    private void addAllSkippedFiles(Collection<Path> files) {
+        skippedFiles.addAll(files);
+    }
+
+    /**
+     * The sorted set of files, which have been generated but not written as their contents did not change.
+     * Skipped files are not part of the {@link #getGeneratedFiles() generated files}.
+     * @return a {@link TreeSet} of {@link Path}s
+     */
+    public Set<Path> getSkippedFiles() {
+        return skippedFiles;
+    }
+
     /**
      * Adds a new error message to the report.
      * @param cause
@@ -90,6 +130,85 @@ public class GenerationReportTo {
         }
     }
 
+    /**
+     * Adds a single execution of a {@link GenerationPhase} to the metrics of the report. This method may be
+     * called by multiple threads concurrently.
+     * @param phase
+     *            the executed {@link GenerationPhase}
+     * @param templateId
+     *            ID of the template the phase has been executed for or {@code null} if the phase does not
+     *            relate to a single template
+     * @param durationNanos
+     *            duration of the execution in nanoseconds
+     * @param allocatedBytes
+     *            bytes allocated by the execution or a negative value if not measured
+     */
+    public synchronized void addPhaseMetrics(GenerationPhase phase, String templateId, long durationNanos,
+        long allocatedBytes) {
+        getOrCreatePhaseMetrics(phase).add(durationNanos, allocatedBytes);
+        if (templateId != null) {
+            getOrCreateTemplateMetrics(templateId).add(phase, durationNanos, allocatedBytes);
+        }
+    }
+
+    /**
+     * Returns the metrics of the given phase, creating them if not yet measured.
+     * @param phase
+     *            the {@link GenerationPhase}
+     * @return the {@link PhaseMetricsTo} of the phase
+     */
+    private PhaseMetricsTo getOrCreatePhaseMetrics(GenerationPhase phase) {
+        PhaseMetricsTo metrics = phaseMetrics.get(phase);
+        if (metrics == null) {
+            metrics = new PhaseMetricsTo();
+            phaseMetrics.put(phase, metrics);
+        }
+        return metrics;
+    }
+
+    /**
+     * Returns the metrics of the given template, creating them if not yet measured.
+     * @param templateId
+     *            ID of the template
+     * @return the {@link TemplateMetricsTo} of the template
+     */
+    private TemplateMetricsTo getOrCreateTemplateMetrics(String templateId) {
+        TemplateMetricsTo metrics = templateMetrics.get(templateId);
+        if (metrics == null) {
+            metrics = new TemplateMetricsTo(templateId);
+            templateMetrics.put(templateId, metrics);
+        }
+        return metrics;
+    }
+
+    /**
+     * Returns the metrics of all executed {@link GenerationPhase}s aggregated over all templates. The
+     * {@link PhaseMetricsTo#getCount() counts} state e.g. how many models have been built or how many files
+     * have been merged.
+     * @return the unmodifiable {@link Map} of {@link PhaseMetricsTo} by {@link GenerationPhase}
+     */
+    public synchronized Map<GenerationPhase, PhaseMetricsTo> getPhaseMetrics() {
+        return Collections.unmodifiableMap(new EnumMap<>(phaseMetrics));
+    }
+
+    /**
+     * Returns the metrics of the given {@link GenerationPhase} aggregated over all templates.
+     * @param phase
+     *            the {@link GenerationPhase}
+     * @return the {@link PhaseMetricsTo} or {@code null} if the phase has not been executed
+     */
+    public synchronized PhaseMetricsTo getPhaseMetrics(GenerationPhase phase) {
+        return phaseMetrics.get(phase);
+    }
+
+    /**
+     * Returns the metrics of all processed templates sorted by template ID.
+     * @return the unmodifiable {@link Map} of {@link TemplateMetricsTo} by template ID
+     */
+    public synchronized Map<String, TemplateMetricsTo> getTemplateMetrics() {
+        return Collections.unmodifiableMap(new TreeMap<>(templateMetrics));
+    }
+
     /**
      * Returns the temporary {@link Path} pointing to the incomplete generation result iff
      * {@link #isSuccessful() isSuccessful() == false}. Otherwise, the directory will have been deleted after
@@ -117,10 +236,17 @@ public class GenerationReportTo {
      * @param report
      *            {@link GenerationReportTo} to be aggregated
      */
-    public void aggregate(GenerationReportTo report) {
+    public synchronized void aggregate(GenerationReportTo report) {
         addAllErrors(report.getErrors());
         addAllWarnings(report.getWarnings());
         addAllGeneratedFiles(report.getGeneratedFiles());
+        addAllSkippedFiles(report.getSkippedFiles());
+        for (Map.Entry<GenerationPhase, PhaseMetricsTo> entry : report.getPhaseMetrics().entrySet()) {
+            getOrCreatePhaseMetrics(entry.getKey()).aggregate(entry.getValue());
+        }
+        for (TemplateMetricsTo metrics : report.getTemplateMetrics().values()) {
+            getOrCreateTemplateMetrics(metrics.getTemplateId()).aggregate(metrics);
+        }
         if (report.getTemporaryWorkingDirectory() != null) {
             temporaryWorkingDirectory = report.getTemporaryWorkingDirectory();
         }
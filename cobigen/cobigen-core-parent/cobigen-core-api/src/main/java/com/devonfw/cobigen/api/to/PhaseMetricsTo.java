@@ -0,0 +1,74 @@
+package com.devonfw.cobigen.api.to;
+
+import com.devonfw.cobigen.api.constants.GenerationPhase;
+
+/** Aggregated metrics of all executions of a {@link GenerationPhase}. */
+public class PhaseMetricsTo {
+
+    /** @see #getCount() */
+    private long count;
+
+    /** @see #getDurationNanos() */
+    private long durationNanos;
+
+    /** @see #getAllocatedBytes() */
+    private long allocatedBytes;
+
+    /**
+     * Adds a single execution of the phase.
+     * @param duration
+     *            duration of the execution in nanoseconds
+     * @param allocated
+     *            bytes allocated by the execution or a negative value if not measured
+     */
+    public void add(long duration, long allocated) {
+        count++;
+        durationNanos += duration;
+        if (allocated > 0) {
+            allocatedBytes += allocated;
+        }
+    }
+
+    /**
+     * Aggregates the metrics of the given instance within {@code this} instance.
+     * @param metrics
+     *            {@link PhaseMetricsTo} to be aggregated
+     */
+    public void aggregate(PhaseMetricsTo metrics) {
+        count += metrics.count;
+        durationNanos += metrics.durationNanos;
+        allocatedBytes += metrics.allocatedBytes;
+    }
+
+    /**
+     * Returns the number of executions of the phase.
+     * @return the number of executions
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the total duration of all executions of the phase. In case of a parallel generation, the
+     * durations of all worker threads are summed up.
+     * @return the total duration in nanoseconds
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Returns the total number of bytes allocated on the heap by all executions of the phase. Will be
+     * {@code 0} if the Java virtual machine does not support measuring the allocated memory per thread.
+     * @return the total number of allocated bytes
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[count=" + count + ", durationNanos=" + durationNanos
+            + ", allocatedBytes=" + allocatedBytes + "]";
+    }
+}
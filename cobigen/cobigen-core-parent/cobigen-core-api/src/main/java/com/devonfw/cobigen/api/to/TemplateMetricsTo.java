@@ -0,0 +1,108 @@
+package com.devonfw.cobigen.api.to;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.devonfw.cobigen.api.constants.GenerationPhase;
+
+/** Metrics of all {@link GenerationPhase}s executed for a single template. */
+public class TemplateMetricsTo {
+
+    /** @see #getTemplateId() */
+    private String templateId;
+
+    /** Metrics mapped by the measured phase */
+    private Map<GenerationPhase, PhaseMetricsTo> phaseMetrics = new EnumMap<>(GenerationPhase.class);
+
+    /**
+     * Creates a new {@link TemplateMetricsTo} without any measurement
+     * @param templateId
+     *            ID of the template
+     */
+    public TemplateMetricsTo(String templateId) {
+        this.templateId = templateId;
+    }
+
+    /**
+     * Adds a single execution of the given phase.
+     * @param phase
+     *            the executed {@link GenerationPhase}
+     * @param duration
+     *            duration of the execution in nanoseconds
+     * @param allocated
+     *            bytes allocated by the execution or a negative value if not measured
+     */
+    public void add(GenerationPhase phase, long duration, long allocated) {
+        getOrCreate(phase).add(duration, allocated);
+    }
+
+    /**
+     * Aggregates the metrics of the given instance within {@code this} instance.
+     * @param metrics
+     *            {@link TemplateMetricsTo} to be aggregated
+     */
+    public void aggregate(TemplateMetricsTo metrics) {
+        for (Map.Entry<GenerationPhase, PhaseMetricsTo> entry : metrics.phaseMetrics.entrySet()) {
+            getOrCreate(entry.getKey()).aggregate(entry.getValue());
+        }
+    }
+
+    /**
+     * Returns the metrics of the given phase, creating them if not yet measured.
+     * @param phase
+     *            the {@link GenerationPhase}
+     * @return the {@link PhaseMetricsTo} of the phase
+     */
+    private PhaseMetricsTo getOrCreate(GenerationPhase phase) {
+        PhaseMetricsTo metrics = phaseMetrics.get(phase);
+        if (metrics == null) {
+            metrics = new PhaseMetricsTo();
+            phaseMetrics.put(phase, metrics);
+        }
+        return metrics;
+    }
+
+    /**
+     * Returns the ID of the template.
+     * @return the template ID
+     */
+    public String getTemplateId() {
+        return templateId;
+    }
+
+    /**
+     * Returns the metrics of the given phase.
+     * @param phase
+     *            the {@link GenerationPhase}
+     * @return the {@link PhaseMetricsTo} or {@code null} if the phase has not been executed for the template
+     */
+    public PhaseMetricsTo getPhaseMetrics(GenerationPhase phase) {
+        return phaseMetrics.get(phase);
+    }
+
+    /**
+     * Returns the metrics of all phases executed for the template.
+     * @return the unmodifiable {@link Map} of {@link PhaseMetricsTo} by {@link GenerationPhase}
+     */
+    public Map<GenerationPhase, PhaseMetricsTo> getPhaseMetrics() {
+        return Collections.unmodifiableMap(phaseMetrics);
+    }
+
+    /**
+     * Returns the total duration of all phases executed for the template.
+     * @return the total duration in nanoseconds
+     */
+    public long getDurationNanos() {
+        long durationNanos = 0;
+        for (PhaseMetricsTo metrics : phaseMetrics.values()) {
+            durationNanos += metrics.getDurationNanos();
+        }
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[templateId=" + templateId + ", phaseMetrics=" + phaseMetrics + "]";
+    }
+}
@@ -0,0 +1,209 @@
+package com.devonfw.cobigen.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import com.devonfw.cobigen.api.CobiGen;
+import com.devonfw.cobigen.templates.devon4j.utils.DevonUtil;
+import com.devonfw.cobigen.templates.devon4j.utils.IDGenerator;
+import com.devonfw.cobigen.templates.devon4j.utils.JavaUtil;
+import com.devonfw.cobigen.templates.devon4j.utils.OpenApiUtil;
+import com.devonfw.cobigen.templates.devon4j.utils.documentation.DocumentationUtil;
+import com.devonfw.cobigen.templates.devon4j.utils.documentation.JavaDocumentationUtil;
+import com.devonfw.cobigen.templates.devon4j.utils.documentation.OpenApiDocumentationUtil;
+import com.devonfw.cobigen.templates.devon4j.utils.uml.UmlUtil;
+
+/**
+ * Shared setup of all benchmarks, i.e. the bundled devon4j templates and synthetic inputs of arbitrary size.
+ */
+public final class BenchmarkEnvironment {
+
+    /** System property to point the benchmarks to another templates folder */
+    public static final String TEMPLATES_PROPERTY = "devon4j.templates";
+
+    /** Location of the bundled devon4j templates relative to this module */
+    private static final String DEFAULT_TEMPLATES = "../../../cobigen-templates/templates-devon4j/src/main/templates";
+
+    /** Charset of all synthetic inputs */
+    public static final Charset CHARSET = StandardCharsets.UTF_8;
+
+    /** Number of components the synthetic entities are distributed to */
+    private static final int COMPONENTS = 10;
+
+    /** Hide constructor of utility class */
+    private BenchmarkEnvironment() {
+    }
+
+    /**
+     * Returns the location of the devon4j templates to run the benchmarks against.
+     * @return the {@link URI} of the templates folder
+     */
+    public static URI getTemplatesLocation() {
+        Path templates = Paths.get(System.getProperty(TEMPLATES_PROPERTY, DEFAULT_TEMPLATES));
+        if (!Files.isDirectory(templates)) {
+            throw new IllegalStateException("Templates folder " + templates.toAbsolutePath()
+                + " not found. Please specify it by -D" + TEMPLATES_PROPERTY + "=<path>");
+        }
+        return templates.toAbsolutePath().normalize().toUri();
+    }
+
+    /**
+     * Returns the utility classes of the devon4j templates to be passed as logic classes on generation.
+     * @return the utility classes
+     */
+    public static List<Class<?>> getLogicClasses() {
+        List<Class<?>> logicClasses = new ArrayList<>();
+        logicClasses.add(DevonUtil.class);
+        logicClasses.add(JavaUtil.class);
+        logicClasses.add(IDGenerator.class);
+        logicClasses.add(OpenApiUtil.class);
+        logicClasses.add(UmlUtil.class);
+        logicClasses.add(DocumentationUtil.class);
+        logicClasses.add(JavaDocumentationUtil.class);
+        logicClasses.add(OpenApiDocumentationUtil.class);
+        return logicClasses;
+    }
+
+    /**
+     * Writes the given number of synthetic entities matching the devon4j CRUD triggers to the given source
+     * folder.
+     * @param sourceRoot
+     *            source folder to write the entities to
+     * @param count
+     *            number of entities
+     * @return the entity source files in order of creation
+     * @throws IOException
+     *             if an entity could not be written
+     */
+    public static List<Path> createEntities(Path sourceRoot, int count) throws IOException {
+        List<Path> entityFiles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String component = "component" + (i % COMPONENTS);
+            String entityName = "Sample" + i;
+            Path packageFolder = sourceRoot.resolve("com/devonfw/benchmark/" + component + "/dataaccess/api");
+            Files.createDirectories(packageFolder);
+            Path entityFile = packageFolder.resolve(entityName + "Entity.java");
+            Files.write(entityFile, createEntitySource(component, entityName).getBytes(CHARSET));
+            entityFiles.add(entityFile);
+        }
+        return entityFiles;
+    }
+
+    /**
+     * Compiles the given sources, as the devon4j templates also rely on reflection of their inputs.
+     * @param sourceFiles
+     *            java source files to be compiled
+     * @param classesFolder
+     *            folder to write the class files to
+     * @return the {@link URLClassLoader} loading the compiled classes, to be closed by the caller
+     * @throws IOException
+     *             if the classes folder could not be created
+     */
+    public static URLClassLoader compile(List<Path> sourceFiles, Path classesFolder) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No java compiler available. Please run the benchmarks with a JDK.");
+        }
+        Files.createDirectories(classesFolder);
+        List<String> arguments = new ArrayList<>();
+        arguments.add("-d");
+        arguments.add(classesFolder.toString());
+        for (Path sourceFile : sourceFiles) {
+            arguments.add(sourceFile.toString());
+        }
+        if (compiler.run(null, null, null, arguments.toArray(new String[arguments.size()])) != 0) {
+            throw new IllegalStateException("Synthetic inputs could not be compiled.");
+        }
+        return new URLClassLoader(new URL[] { classesFolder.toUri().toURL() },
+            BenchmarkEnvironment.class.getClassLoader());
+    }
+
+    /**
+     * Reads the given source files as CobiGen inputs.
+     * @param cobigen
+     *            {@link CobiGen} instance to read the inputs with
+     * @param sourceFiles
+     *            java source files to be read
+     * @param classLoader
+     *            {@link ClassLoader} loading the compiled sources
+     * @return the inputs in order of the given source files
+     */
+    public static List<Object> readInputs(CobiGen cobigen, List<Path> sourceFiles, ClassLoader classLoader) {
+        List<Object> inputs = new ArrayList<>(sourceFiles.size());
+        for (Path sourceFile : sourceFiles) {
+            inputs.add(cobigen.read("java", sourceFile, CHARSET, classLoader));
+        }
+        return inputs;
+    }
+
+    /**
+     * Creates the source of a synthetic entity.
+     * @param component
+     *            name of the component the entity belongs to
+     * @param entityName
+     *            name of the entity without entity suffix
+     * @return the entity's source
+     */
+    private static String createEntitySource(String component, String entityName) {
+        String[][] fields = { { "String", "name" }, { "String", "description" }, { "Integer", "amount" },
+            { "java.math.BigDecimal", "price" }, { "java.time.Instant", "creationDate" }, { "boolean", "active" } };
+        StringBuilder source = new StringBuilder();
+        source.append("package com.devonfw.benchmark.").append(component).append(".dataaccess.api;\n\n");
+        source.append("/** Synthetic benchmark entity */\n");
+        source.append("public class ").append(entityName).append("Entity {\n\n");
+        for (String[] field : fields) {
+            source.append("    private ").append(field[0]).append(' ').append(field[1]).append(";\n\n");
+        }
+        for (String[] field : fields) {
+            String property = Character.toUpperCase(field[1].charAt(0)) + field[1].substring(1);
+            source.append("    public ").append(field[0]).append(" get").append(property).append("() {\n");
+            source.append("        return ").append(field[1]).append(";\n    }\n\n");
+            source.append("    public void set").append(property).append('(').append(field[0]).append(' ')
+                .append(field[1]).append(") {\n");
+            source.append("        this.").append(field[1]).append(" = ").append(field[1]).append(";\n    }\n\n");
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+
+    /**
+     * Deletes the given directory including all its contents if existent.
+     * @param directory
+     *            to be deleted
+     * @throws IOException
+     *             if the directory could not be deleted
+     */
+    public static void deleteDirectory(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
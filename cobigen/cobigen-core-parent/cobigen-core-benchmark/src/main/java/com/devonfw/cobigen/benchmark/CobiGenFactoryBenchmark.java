@@ -0,0 +1,56 @@
+package com.devonfw.cobigen.benchmark;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devonfw.cobigen.api.CobiGen;
+import com.devonfw.cobigen.impl.CobiGenFactory;
+
+/**
+ * Benchmarks the creation of a {@link CobiGen} instance including reading the context configuration of the
+ * devon4j templates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CobiGenFactoryBenchmark {
+
+    /** Location of the templates */
+    private URI templatesLocation;
+
+    /**
+     * Resolves the templates location.
+     */
+    @Setup
+    public void setup() {
+        templatesLocation = BenchmarkEnvironment.getTemplatesLocation();
+    }
+
+    /**
+     * Creates a new {@link CobiGen} instance.
+     * @return the created instance
+     * @throws Exception
+     *             if the configuration could not be read
+     */
+    @Benchmark
+    public CobiGen create() throws Exception {
+        CobiGen cobigen = CobiGenFactory.create(templatesLocation);
+        // the context configuration is read lazily, thus trigger reading it
+        cobigen.getMatchingTriggerIds(new Object());
+        return cobigen;
+    }
+}
@@ -0,0 +1,226 @@
+package com.devonfw.cobigen.benchmark;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.devonfw.cobigen.api.CobiGen;
+import com.devonfw.cobigen.api.to.GenerationReportTo;
+import com.devonfw.cobigen.api.to.TemplateTo;
+import com.devonfw.cobigen.impl.CobiGenFactory;
+
+/**
+ * Benchmarks the stages of the generation pipeline on the devon4j CRUD templates for synthetic entity inputs
+ * of varying size. Each operation processes all inputs of the input set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationPipelineBenchmark {
+
+    /** Trigger of the templates to be generated */
+    private static final String TRIGGER_ID = "crud_java_server_app";
+
+    /** Number of entities in the input set */
+    @Param({ "1", "10", "50" })
+    public int inputCount;
+
+    /** {@link CobiGen} instance based on the devon4j templates */
+    private CobiGen cobigen;
+
+    /** Temporary folder containing the input sources and the generation targets */
+    private Path workingFolder;
+
+    /** Source files of the synthetic entities */
+    private List<Path> entityFiles;
+
+    /** {@link ClassLoader} loading the compiled synthetic entities */
+    private URLClassLoader classLoader;
+
+    /** Synthetic entity inputs */
+    private List<Object> inputs;
+
+    /** Templates to be generated per input, in order of {@link #inputs} */
+    private List<List<TemplateTo>> templates;
+
+    /** Utility classes of the devon4j templates */
+    private List<Class<?>> logicClasses;
+
+    /**
+     * Creates the {@link CobiGen} instance and the input set and checks that the inputs can be generated.
+     * @throws Exception
+     *             if the setup fails
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        cobigen = CobiGenFactory.create(BenchmarkEnvironment.getTemplatesLocation());
+        logicClasses = BenchmarkEnvironment.getLogicClasses();
+        workingFolder = Files.createTempDirectory("cobigen-benchmark-");
+        entityFiles = BenchmarkEnvironment.createEntities(workingFolder.resolve("src/main/java"), inputCount);
+        classLoader = BenchmarkEnvironment.compile(entityFiles, workingFolder.resolve("classes"));
+        inputs = BenchmarkEnvironment.readInputs(cobigen, entityFiles, classLoader);
+
+        templates = new ArrayList<>(inputs.size());
+        for (Object input : inputs) {
+            List<TemplateTo> inputTemplates = new ArrayList<>();
+            for (TemplateTo template : cobigen.getMatchingTemplates(input)) {
+                if (TRIGGER_ID.equals(template.getTriggerId())) {
+                    inputTemplates.add(template);
+                }
+            }
+            if (inputTemplates.isEmpty()) {
+                throw new IllegalStateException("No templates of trigger " + TRIGGER_ID + " match " + input);
+            }
+            templates.add(inputTemplates);
+        }
+
+        Path checkTarget = workingFolder.resolve("check");
+        generateAll(checkTarget);
+        BenchmarkEnvironment.deleteDirectory(checkTarget);
+    }
+
+    /**
+     * Deletes all temporary files.
+     * @throws IOException
+     *             if the files could not be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        classLoader.close();
+        BenchmarkEnvironment.deleteDirectory(workingFolder);
+    }
+
+    /**
+     * Inputs read freshly before each invocation, as matching results are cached per input object.
+     */
+    @State(Scope.Thread)
+    public static class FreshInputs {
+
+        /** Freshly read inputs */
+        private List<Object> inputs;
+
+        /**
+         * Re-reads the synthetic inputs.
+         * @param pipeline
+         *            benchmark state providing the input set
+         */
+        @Setup(Level.Invocation)
+        public void read(GenerationPipelineBenchmark pipeline) {
+            inputs = BenchmarkEnvironment.readInputs(pipeline.cobigen, pipeline.entityFiles, pipeline.classLoader);
+        }
+    }
+
+    /**
+     * Empty target folder created before each invocation, such that each generation writes all files anew.
+     */
+    @State(Scope.Thread)
+    public static class TargetFolder {
+
+        /** Empty target folder */
+        private Path path;
+
+        /**
+         * Recreates the target folder.
+         * @param pipeline
+         *            benchmark state providing the working folder
+         * @throws IOException
+         *             if the target folder could not be recreated
+         */
+        @Setup(Level.Invocation)
+        public void recreate(GenerationPipelineBenchmark pipeline) throws IOException {
+            path = pipeline.workingFolder.resolve("target");
+            BenchmarkEnvironment.deleteDirectory(path);
+            Files.createDirectories(path);
+        }
+    }
+
+    /**
+     * Determines the matching triggers of all inputs.
+     * @param freshInputs
+     *            inputs not yet cached
+     * @param blackhole
+     *            to consume the results
+     */
+    @Benchmark
+    public void getMatchingTriggerIds(FreshInputs freshInputs, Blackhole blackhole) {
+        for (Object input : freshInputs.inputs) {
+            blackhole.consume(cobigen.getMatchingTriggerIds(input));
+        }
+    }
+
+    /**
+     * Determines the matching increments of all inputs.
+     * @param freshInputs
+     *            inputs not yet cached
+     * @param blackhole
+     *            to consume the results
+     */
+    @Benchmark
+    public void getMatchingIncrements(FreshInputs freshInputs, Blackhole blackhole) {
+        for (Object input : freshInputs.inputs) {
+            blackhole.consume(cobigen.getMatchingIncrements(input));
+        }
+    }
+
+    /**
+     * Resolves the destination paths of all templates to be generated for all inputs.
+     * @param blackhole
+     *            to consume the results
+     */
+    @Benchmark
+    public void resolveTemplateDestinationPath(Blackhole blackhole) {
+        Path targetRoot = workingFolder.resolve("target");
+        for (int i = 0; i < inputs.size(); i++) {
+            for (TemplateTo template : templates.get(i)) {
+                blackhole.consume(cobigen.resolveTemplateDestinationPath(targetRoot, template, inputs.get(i)));
+            }
+        }
+    }
+
+    /**
+     * Generates all templates for all inputs to an empty target folder.
+     * @param target
+     *            empty target folder
+     */
+    @Benchmark
+    public void generate(TargetFolder target) {
+        generateAll(target.path);
+    }
+
+    /**
+     * Generates all templates for all inputs to the given target folder.
+     * @param targetRoot
+     *            target folder
+     */
+    private void generateAll(Path targetRoot) {
+        for (int i = 0; i < inputs.size(); i++) {
+            GenerationReportTo report =
+                cobigen.generate(inputs.get(i), templates.get(i), targetRoot, false, logicClasses);
+            if (!report.isSuccessful()) {
+                throw new IllegalStateException("Generation failed: " + report.getErrors());
+            }
+        }
+    }
+}
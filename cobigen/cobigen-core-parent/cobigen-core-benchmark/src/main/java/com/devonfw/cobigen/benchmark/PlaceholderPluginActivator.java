@@ -0,0 +1,117 @@
+package com.devonfw.cobigen.benchmark;
+
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.devonfw.cobigen.api.exception.InputReaderException;
+import com.devonfw.cobigen.api.extension.GeneratorPluginActivator;
+import com.devonfw.cobigen.api.extension.InputReader;
+import com.devonfw.cobigen.api.extension.MatcherInterpreter;
+import com.devonfw.cobigen.api.extension.Merger;
+import com.devonfw.cobigen.api.extension.TriggerInterpreter;
+import com.devonfw.cobigen.api.to.MatcherTo;
+import com.devonfw.cobigen.api.to.VariableAssignmentTo;
+
+/**
+ * Registers placeholders for trigger types of the devon4j templates, which plug-ins are not part of the
+ * benchmark. As triggers of unknown types fail matching, the placeholders simply reject any input.
+ */
+public class PlaceholderPluginActivator implements GeneratorPluginActivator {
+
+    /** Trigger types of the devon4j templates not covered by any plug-in on the benchmark's class path */
+    private static final String[] PLACEHOLDER_TYPES = { "openapi" };
+
+    @Override
+    public List<Merger> bindMerger() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<TriggerInterpreter> bindTriggerInterpreter() {
+        List<TriggerInterpreter> triggerInterpreters = new ArrayList<>();
+        for (String type : PLACEHOLDER_TYPES) {
+            triggerInterpreters.add(new PlaceholderTriggerInterpreter(type));
+        }
+        return triggerInterpreters;
+    }
+
+    /**
+     * {@link TriggerInterpreter} not accepting any input.
+     */
+    private static class PlaceholderTriggerInterpreter implements TriggerInterpreter, InputReader, MatcherInterpreter {
+
+        /** Trigger type */
+        private final String type;
+
+        /**
+         * Creates a new {@link PlaceholderTriggerInterpreter}
+         * @param type
+         *            trigger type
+         */
+        PlaceholderTriggerInterpreter(String type) {
+            this.type = type;
+        }
+
+        @Override
+        public String getType() {
+            return type;
+        }
+
+        @Override
+        public InputReader getInputReader() {
+            return this;
+        }
+
+        @Override
+        public MatcherInterpreter getMatcher() {
+            return this;
+        }
+
+        @Override
+        public boolean isValidInput(Object input) {
+            return false;
+        }
+
+        @Override
+        public boolean matches(MatcherTo matcher) {
+            return false;
+        }
+
+        @Override
+        public Map<String, String> resolveVariables(MatcherTo matcher,
+            List<VariableAssignmentTo> variableAssignments) {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Map<String, Object> createModel(Object input) {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public List<Object> getInputObjects(Object input, Charset inputCharset) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<Object> getInputObjectsRecursively(Object input, Charset inputCharset) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        @Deprecated
+        public Map<String, Object> getTemplateMethods(Object input) {
+            return Collections.emptyMap();
+        }
+
+        @Override
+        public Object read(Path path, Charset inputCharset, Object... additionalArguments)
+            throws InputReaderException {
+            throw new InputReaderException("No " + type + " plug-in available to read " + path);
+        }
+    }
+}
@@ -15,20 +15,37 @@ import java.io.FileWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.junit.Test;
 
 import com.devonfw.cobigen.api.CobiGen;
+import com.devonfw.cobigen.api.constants.GenerationEventType;
+import com.devonfw.cobigen.api.constants.GenerationPhase;
+import com.devonfw.cobigen.api.constants.StagingMode;
+import com.devonfw.cobigen.api.extension.GenerationEventListener;
+import com.devonfw.cobigen.api.extension.GenerationListener;
 import com.devonfw.cobigen.api.extension.InputReader;
 import com.devonfw.cobigen.api.extension.MatcherInterpreter;
 import com.devonfw.cobigen.api.extension.TriggerInterpreter;
+import com.devonfw.cobigen.api.to.GenerationEventTo;
+import com.devonfw.cobigen.api.to.GenerationOptionsTo;
 import com.devonfw.cobigen.api.to.GenerationReportTo;
 import com.devonfw.cobigen.api.to.IncrementTo;
 import com.devonfw.cobigen.api.to.MatcherTo;
+import com.devonfw.cobigen.api.to.PhaseMetricsTo;
 import com.devonfw.cobigen.api.to.TemplateTo;
 import com.devonfw.cobigen.impl.CobiGenFactory;
 import com.devonfw.cobigen.impl.extension.PluginRegistry;
@@ -70,6 +87,396 @@ public class GenerationTest extends AbstractApiTest {
         assertThat(target).hasContent("overwritten");
     }
 
+    /**
+     * Tests that a parallel generation generates all templates and applies templates with the same
+     * destination path in a deterministic order.
+     * @throws Exception
+     *             test fails.
+     */
+    @Test
+    public void testParallelGeneration() throws Exception {
+        Object input = PluginMockFactory.createSimpleJavaConfigurationMock();
+
+        File folder = tmpFolder.newFolder("GenerationTest");
+
+        GenerationOptionsTo options = new GenerationOptionsTo();
+        options.setParallelism(4);
+        CobiGen cobigen = CobiGenFactory.create(new File(testFileRootPath + "parallelGeneration").toURI(), options);
+        List<IncrementTo> increments = cobigen.getMatchingIncrements(input);
+        assertThat(increments).hasSize(1);
+
+        GenerationReportTo report = cobigen.generate(input, increments, Paths.get(folder.toURI()));
+
+        assertThat(report).isSuccessful();
+        assertThat(report.getGeneratedFiles()).hasSize(7);
+        for (int i = 1; i <= 6; i++) {
+            assertThat(new File(folder, "generated" + i + ".txt")).hasContent("t" + i);
+        }
+        assertThat(new File(folder, "shared.txt")).hasContent("t8");
+    }
+
+    /**
+     * Tests that in-memory staging generates all templates, spills contents exceeding the threshold to disk,
+     * and does not leave any temporary files next to the generated files.
+     * @throws Exception
+     *             test fails.
+     */
+    @Test
+    public void testInMemoryStaging() throws Exception {
+        Object input = PluginMockFactory.createSimpleJavaConfigurationMock();
+
+        File folder = tmpFolder.newFolder("GenerationTest");
+        File shared = new File(folder, "shared.txt");
+        FileUtils.write(shared, "base");
+
+        GenerationOptionsTo options = new GenerationOptionsTo();
+        options.setStagingMode(StagingMode.IN_MEMORY);
+        // keep just some of the contents in memory
+        options.setSpillThreshold(5);
+        CobiGen cobigen = CobiGenFactory.create(new File(testFileRootPath + "parallelGeneration").toURI(), options);
+        List<IncrementTo> increments = cobigen.getMatchingIncrements(input);
+
+        GenerationReportTo report = cobigen.generate(input, increments, Paths.get(folder.toURI()));
+
+        assertThat(report).isSuccessful();
+        assertThat(report.getTemporaryWorkingDirectory()).isNull();
+        assertThat(report.getGeneratedFiles()).hasSize(7);
+        for (int i = 1; i <= 6; i++) {
+            assertThat(new File(folder, "generated" + i + ".txt")).hasContent("t" + i);
+        }
+        assertThat(shared).hasContent("t8");
+        assertThat(folder.list()).hasSize(7);
+    }
+
+    /**
+     * Tests that existing files, which are neither overridden nor merged, are neither touched nor reported as
+     * generated regardless of the {@link StagingMode}.
+     * @throws Exception
+     *             test fails.
+     */
+    @Test
+    public void testExistingFilesUntouchedInAllStagingModes() throws Exception {
+        Object input = PluginMockFactory.createSimpleJavaConfigurationMock();
+
+        for (StagingMode stagingMode : StagingMode.values()) {
+            File folder = tmpFolder.newFolder("GenerationTest_" + stagingMode);
+            File existing = new File(folder, "generated1.txt");
+            FileUtils.write(existing, "existing");
+            assertThat(existing.setLastModified(1000)).isTrue();
+
+            GenerationOptionsTo options = new GenerationOptionsTo();
+            options.setStagingMode(stagingMode);
+            // spill some of the contents to disk to also cover committing spilled files
+            options.setSpillThreshold(5);
+            CobiGen cobigen =
+                CobiGenFactory.create(new File(testFileRootPath + "parallelGeneration").toURI(), options);
+            List<IncrementTo> increments = cobigen.getMatchingIncrements(input);
+
+            GenerationReportTo report = cobigen.generate(input, increments, Paths.get(folder.toURI()));
+
+            assertThat(report).as(stagingMode.toString()).isSuccessful();
+            assertThat(report.getGeneratedFiles()).as(stagingMode.toString()).hasSize(6)
+                .doesNotContain(existing.toPath());
+            assertThat(existing).as(stagingMode.toString()).hasContent("existing");
+            assertThat(existing.lastModified()).as(stagingMode.toString()).isEqualTo(1000);
+            assertThat(folder.list()).as(stagingMode.toString()).hasSize(7);
+        }
+    }
+
+    /**
+     * Tests that unchanged files are neither written nor touched but reported as skipped if writing only
+     * changed files has been enabled.
+     * @throws Exception
+     *             test fails.
+     */
+    @Test
+    public void testWriteOnlyIfChanged() throws Exception {
+        Object input = PluginMockFactory.createSimpleJavaConfigurationMock();
+
+        File folder = tmpFolder.newFolder("GenerationTest");
+
+        GenerationOptionsTo options = new GenerationOptionsTo();
+        options.setWriteOnlyIfChanged(true);
+        CobiGen cobigen = CobiGenFactory.create(new File(testFileRootPath + "parallelGeneration").toURI(), options);
+        List<IncrementTo> increments = cobigen.getMatchingIncrements(input);
+
+        GenerationReportTo report = cobigen.generate(input, increments, Paths.get(folder.toURI()));
+        assertThat(report).isSuccessful();
+        assertThat(report.getGeneratedFiles()).hasSize(7);
+        assertThat(report.getSkippedFiles()).isEmpty();
+
+        File unchanged = new File(folder, "generated1.txt");
+        assertThat(unchanged.setLastModified(1000)).isTrue();
+        File changed = new File(folder, "generated2.txt");
+        FileUtils.write(changed, "changed");
+
+        report = cobigen.generate(input, increments, Paths.get(folder.toURI()), true);
+        assertThat(report).isSuccessful();
+        assertThat(report.getGeneratedFiles()).containsExactly(changed.toPath());
+        assertThat(report.getSkippedFiles()).hasSize(6).contains(unchanged.toPath());
+        assertThat(unchanged.lastModified()).isEqualTo(1000);
+        assertThat(changed).hasContent("t2");
+    }
+
+    /**
+     * Tests that the duration of each generation phase is reported per template as well as aggregated and
+     * propagated to the registered listeners.
+     * @throws Exception
+     *             test fails.
+     */
+    @Test
+    public void testGenerationMetrics() throws Exception {
+        Object input = PluginMockFactory.createSimpleJavaConfigurationMock();
+
+        File folder = tmpFolder.newFolder("GenerationTest");
+
+        final AtomicInteger executedPhases = new AtomicInteger();
+        final AtomicReference<GenerationReportTo> finishedReport = new AtomicReference<>();
+        GenerationOptionsTo options = new GenerationOptionsTo();
+        options.setParallelism(4);
+        options.addListener(new GenerationListener() {
+            @Override
+            public void phaseExecuted(GenerationPhase phase, String templateId, long durationNanos,
+                long allocatedBytes) {
+                executedPhases.incrementAndGet();
+            }
+
+            @Override
+            public void generationFinished(GenerationReportTo report) {
+                finishedReport.set(report);
+            }
+        });
+        CobiGen cobigen = CobiGenFactory.create(new File(testFileRootPath + "parallelGeneration").toURI(), options);
+        List<IncrementTo> increments = cobigen.getMatchingIncrements(input);
+
+        GenerationReportTo report = cobigen.generate(input, increments, Paths.get(folder.toURI()));
+
+        assertThat(report).isSuccessful();
+        assertThat(finishedReport.get()).isSameAs(report);
+        assertThat(report.getTemplateMetrics()).hasSize(8).containsKeys("t1", "t8");
+        assertThat(report.getTemplateMetrics().get("t1").getPhaseMetrics(GenerationPhase.TEMPLATE_PROCESSING)
+            .getCount()).isEqualTo(1);
+        assertThat(report.getPhaseMetrics(GenerationPhase.INPUT_READING).getCount()).isEqualTo(8);
+        assertThat(report.getPhaseMetrics(GenerationPhase.MODEL_BUILDING).getCount()).isEqualTo(8);
+        assertThat(report.getPhaseMetrics(GenerationPhase.TEMPLATE_PROCESSING).getCount()).isEqualTo(8);
+        assertThat(report.getPhaseMetrics(GenerationPhase.COMMIT).getCount()).isEqualTo(1);
+        assertThat(report.getPhaseMetrics(GenerationPhase.MERGING)).isNull();
+
+        long totalCount = 0;
+        for (PhaseMetricsTo metrics : report.getPhaseMetrics().values()) {
+            totalCount += metrics.getCount();
+            assertThat(metrics.getDurationNanos()).isGreaterThanOrEqualTo(0);
+        }
+        assertThat(executedPhases.get()).isEqualTo((int) totalCount);
+    }
+
+    /**
+     * Tests that multiple inputs can be generated by a single call, which commits all generated contents at
+     * once and applies templates of different inputs with the same destination path in input order.
+     * @throws Exception
+     *             test fails.
+     */
+    @Test
+    public void testBatchGeneration() throws Exception {
+        Object inputA = new Object();
+        Object inputB = new Object();
+
+        TriggerInterpreter triggerInterpreter = mock(TriggerInterpreter.class);
+        MatcherInterpreter matcher = mock(MatcherInterpreter.class);
+        InputReader inputReader = mock(InputReader.class);
+
+        when(triggerInterpreter.getType()).thenReturn("mockplugin");
+        when(triggerInterpreter.getMatcher()).thenReturn(matcher);
+        when(triggerInterpreter.getInputReader()).thenReturn(inputReader);
+
+        when(inputReader.isValidInput(any())).thenReturn(true);
+        when(matcher.matches(any(MatcherTo.class))).thenReturn(true);
+        HashMap<String, String> variablesA = new HashMap<>(1);
+        variablesA.put("name", "A");
+        when(matcher.resolveVariables(argThat(new MatcherToMatcher(equalTo("fqn"), ANY, sameInstance(inputA))),
+            any(List.class))).thenReturn(variablesA);
+        HashMap<String, String> variablesB = new HashMap<>(1);
+        variablesB.put("name", "B");
+        when(matcher.resolveVariables(argThat(new MatcherToMatcher(equalTo("fqn"), ANY, sameInstance(inputB))),
+            any(List.class))).thenReturn(variablesB);
+
+        PluginRegistry.registerTriggerInterpreter(triggerInterpreter);
+
+        File folder = tmpFolder.newFolder("GenerationTest");
+
+        GenerationOptionsTo options = new GenerationOptionsTo();
+        options.setParallelism(4);
+        CobiGen cobigen = CobiGenFactory.create(new File(testFileRootPath + "batchGeneration").toURI(), options);
+        List<IncrementTo> increments = cobigen.getMatchingIncrements(inputA);
+
+        Map<Object, List<IncrementTo>> incrementsByInput = new LinkedHashMap<>();
+        incrementsByInput.put(inputA, increments);
+        incrementsByInput.put(inputB, increments);
+        GenerationReportTo report = cobigen.generate(incrementsByInput, Paths.get(folder.toURI()));
+
+        assertThat(report).isSuccessful();
+        assertThat(report.getGeneratedFiles()).hasSize(3);
+        assertThat(new File(folder, "A.txt")).hasContent("A");
+        assertThat(new File(folder, "B.txt")).hasContent("B");
+        assertThat(new File(folder, "shared.txt")).hasContent("B");
+        assertThat(report.getPhaseMetrics(GenerationPhase.COMMIT).getCount()).isEqualTo(1);
+    }
+
+    /**
+     * Tests that an asynchronous generation reports its progress to the event listener and completes with the
+     * generation report.
+     * @throws Exception
+     *             test fails.
+     */
+    @Test
+    public void testAsyncGeneration() throws Exception {
+        Object input = PluginMockFactory.createSimpleJavaConfigurationMock();
+
+        File folder = tmpFolder.newFolder("GenerationTest");
+
+        GenerationOptionsTo options = new GenerationOptionsTo();
+        options.setParallelism(4);
+        CobiGen cobigen = CobiGenFactory.create(new File(testFileRootPath + "parallelGeneration").toURI(), options);
+        List<IncrementTo> increments = cobigen.getMatchingIncrements(input);
+
+        final List<GenerationEventTo> events = new CopyOnWriteArrayList<>();
+        CompletableFuture<GenerationReportTo> future = cobigen.generateAsync(
+            Collections.singletonMap(input, increments), Paths.get(folder.toURI()), new GenerationEventListener() {
+                @Override
+                public void eventOccurred(GenerationEventTo event) {
+                    events.add(event);
+                }
+            });
+        GenerationReportTo report = future.get(30, TimeUnit.SECONDS);
+
+        assertThat(report).isSuccessful();
+        assertThat(report.getGeneratedFiles()).hasSize(7);
+        assertThat(new File(folder, "shared.txt")).hasContent("t8");
+
+        Map<GenerationEventType, Integer> eventCounts = new HashMap<>();
+        for (GenerationEventTo event : events) {
+            Integer count = eventCounts.get(event.getType());
+            eventCounts.put(event.getType(), count == null ? 1 : count + 1);
+            assertThat(event.getTotalTemplates()).isEqualTo(8);
+            assertThat(event.getFinishedTemplates()).isBetween(0, 8);
+            if (event.getType() == GenerationEventType.FILE_WRITTEN) {
+                assertThat(event.getBytes()).isGreaterThan(0);
+                assertThat(event.getTargetFile()).isNotNull();
+            }
+        }
+        assertThat(eventCounts.get(GenerationEventType.TEMPLATE_STARTED)).isEqualTo(8);
+        assertThat(eventCounts.get(GenerationEventType.TEMPLATE_FINISHED)).isEqualTo(8);
+        assertThat(eventCounts.get(GenerationEventType.FILE_WRITTEN)).isEqualTo(8);
+        assertThat(eventCounts).doesNotContainKey(GenerationEventType.GENERATION_CANCELLED);
+    }
+
+    /**
+     * Tests that a cancelled asynchronous generation stops processing the templates, leaves the target folder
+     * untouched, and still notifies the generation listeners about its end.
+     * @throws Exception
+     *             test fails.
+     */
+    @Test
+    public void testAsyncGenerationCancelled() throws Exception {
+        Object input = PluginMockFactory.createSimpleJavaConfigurationMock();
+
+        File folder = tmpFolder.newFolder("GenerationTest");
+
+        final CountDownLatch finished = new CountDownLatch(1);
+        GenerationOptionsTo options = new GenerationOptionsTo();
+        options.addListener(new GenerationListener() {
+            @Override
+            public void phaseExecuted(GenerationPhase phase, String templateId, long durationNanos,
+                long allocatedBytes) {
+                // not of interest
+            }
+
+            @Override
+            public void generationFinished(GenerationReportTo report) {
+                finished.countDown();
+            }
+        });
+        CobiGen cobigen = CobiGenFactory.create(new File(testFileRootPath + "parallelGeneration").toURI(), options);
+        List<IncrementTo> increments = cobigen.getMatchingIncrements(input);
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch resume = new CountDownLatch(1);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        final AtomicInteger startedTemplates = new AtomicInteger();
+        CompletableFuture<GenerationReportTo> future = cobigen.generateAsync(
+            Collections.singletonMap(input, increments), Paths.get(folder.toURI()), new GenerationEventListener() {
+                @Override
+                public void eventOccurred(GenerationEventTo event) {
+                    if (event.getType() == GenerationEventType.TEMPLATE_STARTED
+                        && startedTemplates.incrementAndGet() == 1) {
+                        started.countDown();
+                        try {
+                            resume.await(30, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    } else if (event.getType() == GenerationEventType.GENERATION_CANCELLED) {
+                        cancelled.countDown();
+                    }
+                }
+            });
+
+        assertThat(started.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(future.cancel(true)).isTrue();
+        resume.countDown();
+
+        assertThat(cancelled.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(finished.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(future.isCancelled()).isTrue();
+        assertThat(startedTemplates.get()).isEqualTo(1);
+        assertThat(folder.list()).isEmpty();
+    }
+
+    /**
+     * Tests that two asynchronous generations based on different template folders can run concurrently without
+     * processing the templates of the other generation.
+     * @throws Exception
+     *             test fails.
+     */
+    @Test
+    public void testConcurrentAsyncGenerationsOnDifferentTemplateFolders() throws Exception {
+        Object input = PluginMockFactory.createSimpleJavaConfigurationMock();
+
+        File folderA = tmpFolder.newFolder("GenerationTestA");
+        File folderB = tmpFolder.newFolder("GenerationTestB");
+
+        CobiGen cobigenA = CobiGenFactory.create(new File(testFileRootPath + "concurrentGenerationA").toURI());
+        CobiGen cobigenB = CobiGenFactory.create(new File(testFileRootPath + "concurrentGenerationB").toURI());
+
+        // let both generations start their template processing before any of them continues
+        final CountDownLatch started = new CountDownLatch(2);
+        GenerationEventListener listener = new GenerationEventListener() {
+            @Override
+            public void eventOccurred(GenerationEventTo event) {
+                if (event.getType() == GenerationEventType.TEMPLATE_STARTED) {
+                    started.countDown();
+                    try {
+                        started.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        };
+        CompletableFuture<GenerationReportTo> futureA = cobigenA.generateAsync(
+            Collections.singletonMap(input, cobigenA.getMatchingIncrements(input)), Paths.get(folderA.toURI()),
+            listener);
+        CompletableFuture<GenerationReportTo> futureB = cobigenB.generateAsync(
+            Collections.singletonMap(input, cobigenB.getMatchingIncrements(input)), Paths.get(folderB.toURI()),
+            listener);
+
+        assertThat(futureA.get(30, TimeUnit.SECONDS)).isSuccessful();
+        assertThat(futureB.get(30, TimeUnit.SECONDS)).isSuccessful();
+        assertThat(started.getCount()).isEqualTo(0);
+        assertThat(new File(folderA, "generated.txt")).hasContent("A");
+        assertThat(new File(folderB, "generated.txt")).hasContent("B");
+    }
+
     /**
      * Tests whether the generation of external increments works properly.
      * @throws Exception
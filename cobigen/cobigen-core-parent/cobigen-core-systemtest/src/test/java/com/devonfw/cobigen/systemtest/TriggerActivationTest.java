@@ -12,8 +12,13 @@ import static org.mockito.Mockito.when;
 import static org.mockito.internal.matchers.Any.ANY;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Test;
 
 import com.devonfw.cobigen.systemtest.common.AbstractApiTest;
@@ -22,6 +27,7 @@ import com.devonfw.cobigen.api.CobiGen;
 import com.devonfw.cobigen.api.extension.InputReader;
 import com.devonfw.cobigen.api.extension.MatcherInterpreter;
 import com.devonfw.cobigen.api.extension.TriggerInterpreter;
+import com.devonfw.cobigen.api.to.GenerationOptionsTo;
 import com.devonfw.cobigen.impl.CobiGenFactory;
 import com.devonfw.cobigen.impl.extension.PluginRegistry;
 
@@ -304,4 +310,62 @@ public class TriggerActivationTest extends AbstractApiTest {
 
         assertThat(matchingTriggerIds, hasItem("triggerId2"));
     }
+
+    /**
+     * Tests that a changed trigger is matched without restarting CobiGen if the configuration is watched,
+     * i.e. that previously cached matching results are discarded.
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testChangedTriggerMatchedWhileWatching() throws Exception {
+
+        Object input = new Object();
+
+        // Pre-processing: Mocking
+        TriggerInterpreter triggerInterpreter = mock(TriggerInterpreter.class);
+        MatcherInterpreter matcher = mock(MatcherInterpreter.class);
+        InputReader inputReader = mock(InputReader.class);
+
+        when(triggerInterpreter.getType()).thenReturn("test");
+        when(triggerInterpreter.getMatcher()).thenReturn(matcher);
+        when(triggerInterpreter.getInputReader()).thenReturn(inputReader);
+
+        when(inputReader.isValidInput(any())).thenReturn(true);
+        when(matcher.matches(argThat(new MatcherToMatcher(equalTo("and1"), ANY, sameInstance(input)))))
+            .thenReturn(false);
+        when(matcher.matches(argThat(new MatcherToMatcher(equalTo("and2"), ANY, sameInstance(input)))))
+            .thenReturn(false);
+        when(matcher.matches(argThat(new MatcherToMatcher(equalTo("or"), ANY, sameInstance(input))))).thenReturn(true);
+        when(matcher.matches(argThat(new MatcherToMatcher(equalTo("not"), ANY, sameInstance(input)))))
+            .thenReturn(false);
+
+        PluginRegistry.registerTriggerInterpreter(triggerInterpreter);
+
+        File configFolder = tmpFolder.newFolder("templates");
+        FileUtils.copyDirectory(new File(testFileRootPath + "templates"), configFolder);
+
+        // execution
+        GenerationOptionsTo options = new GenerationOptionsTo();
+        options.setWatchConfiguration(true);
+        CobiGen cobigen = CobiGenFactory.create(configFolder.toURI(), options);
+        assertThat(cobigen.getMatchingTriggerIds(input), hasItem("triggerId2"));
+
+        Path contextXml = configFolder.toPath().resolve("context.xml");
+        String content = new String(Files.readAllBytes(contextXml), StandardCharsets.UTF_8);
+        Path changedContextXml = tmpFolder.newFile().toPath();
+        Files.write(changedContextXml,
+            content.replace("triggerId2", "changedTriggerId").getBytes(StandardCharsets.UTF_8));
+        Files.move(changedContextXml, contextXml, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+
+        long deadline = System.currentTimeMillis() + 30000;
+        List<String> matchingTriggerIds = cobigen.getMatchingTriggerIds(input);
+        while (!matchingTriggerIds.contains("changedTriggerId") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            matchingTriggerIds = cobigen.getMatchingTriggerIds(input);
+        }
+        assertThat(matchingTriggerIds, hasItem("changedTriggerId"));
+        assertThat(matchingTriggerIds, not(hasItem("triggerId2")));
+    }
 }
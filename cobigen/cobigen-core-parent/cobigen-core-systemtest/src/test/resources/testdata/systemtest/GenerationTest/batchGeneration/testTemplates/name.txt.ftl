@@ -0,0 +1 @@
+${variables.name}
\ No newline at end of file
@@ -0,0 +1 @@
+A
\ No newline at end of file
@@ -0,0 +1 @@
+B
\ No newline at end of file
@@ -0,0 +1 @@
+t1
\ No newline at end of file
@@ -0,0 +1 @@
+t2
\ No newline at end of file
@@ -0,0 +1 @@
+t3
\ No newline at end of file
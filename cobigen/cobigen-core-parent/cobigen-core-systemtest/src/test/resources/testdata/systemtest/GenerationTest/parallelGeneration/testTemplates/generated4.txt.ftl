@@ -0,0 +1 @@
+t4
\ No newline at end of file
@@ -0,0 +1 @@
+t5
\ No newline at end of file
@@ -0,0 +1 @@
+t6
\ No newline at end of file
@@ -0,0 +1 @@
+t7
\ No newline at end of file
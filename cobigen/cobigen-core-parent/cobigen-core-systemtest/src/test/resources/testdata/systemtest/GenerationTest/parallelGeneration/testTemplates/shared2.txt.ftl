@@ -0,0 +1 @@
+t8
\ No newline at end of file
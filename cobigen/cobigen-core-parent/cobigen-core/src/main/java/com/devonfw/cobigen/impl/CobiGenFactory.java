@@ -8,6 +8,7 @@ import java.util.Objects;
 import com.devonfw.cobigen.api.CobiGen;
 import com.devonfw.cobigen.api.HealthCheck;
 import com.devonfw.cobigen.api.exception.InvalidConfigurationException;
+import com.devonfw.cobigen.api.to.GenerationOptionsTo;
 import com.devonfw.cobigen.impl.aop.BeanFactory;
 import com.devonfw.cobigen.impl.aop.ProxyFactory;
 import com.devonfw.cobigen.impl.config.ConfigurationHolder;
@@ -37,14 +38,46 @@ public class CobiGenFactory {
      *             if the context configuration could not be read properly.
      */
     public static CobiGen create(URI configFileOrFolder) throws InvalidConfigurationException, IOException {
+        return create(configFileOrFolder, new GenerationOptionsTo());
+    }
+
+    /**
+     * Creates a new {@link CobiGen} with a given {@link ContextConfiguration} and the given options tuning
+     * the generation process.
+     *
+     * @param configFileOrFolder
+     *            the root folder containing the context.xml and all templates, configurations etc.
+     * @param generationOptions
+     *            {@link GenerationOptionsTo options} to be applied to each generation
+     * @return a new instance of {@link CobiGen}
+     * @throws IOException
+     *             if the {@link URI} points to a file or folder, which could not be read.
+     * @throws InvalidConfigurationException
+     *             if the context configuration could not be read properly.
+     */
+    public static CobiGen create(URI configFileOrFolder, GenerationOptionsTo generationOptions)
+        throws InvalidConfigurationException, IOException {
         Objects.requireNonNull(configFileOrFolder, "The URI pointing to the configuration could not be null.");
+        Objects.requireNonNull(generationOptions, "The generation options could not be null.");
 
         Path configFolder = FileSystemUtil.createFileSystemDependentPath(configFileOrFolder);
 
         ConfigurationHolder configurationHolder = new ConfigurationHolder(configFolder);
-        BeanFactory beanFactory = new BeanFactory();
+        final BeanFactory beanFactory = new BeanFactory();
+        beanFactory.addManuallyInitializedBean(beanFactory);
         beanFactory.addManuallyInitializedBean(configurationHolder);
+        beanFactory.addManuallyInitializedBean(generationOptions);
         CobiGen createBean = beanFactory.createBean(CobiGen.class);
+        if (generationOptions.isWatchConfiguration()) {
+            // matching results are derived from the configuration and thus have to be discarded on changes
+            configurationHolder.addEvictionListener(new Runnable() {
+                @Override
+                public void run() {
+                    beanFactory.invalidateCaches();
+                }
+            });
+            configurationHolder.startWatching();
+        }
         return createBean;
     }
 
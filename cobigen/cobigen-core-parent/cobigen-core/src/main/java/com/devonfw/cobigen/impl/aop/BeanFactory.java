@@ -1,13 +1,15 @@
 package com.devonfw.cobigen.impl.aop;
 
 import java.lang.reflect.Field;
-import java.util.HashMap;
+import java.lang.reflect.Proxy;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.inject.Inject;
 
 import com.devonfw.cobigen.api.exception.CobiGenRuntimeException;
+import com.devonfw.cobigen.api.to.CacheStatisticsTo;
 import com.devonfw.cobigen.impl.generator.CobiGenImpl;
 import com.devonfw.cobigen.impl.generator.ConfigurationInterpreterImpl;
 import com.devonfw.cobigen.impl.generator.GenerationProcessorImpl;
@@ -29,7 +31,7 @@ public class BeanFactory {
         TriggerMatchingEvaluatorImpl.class, CobiGenImpl.class);
 
     /** All Beans are singletons and therefore registered on their class name */
-    private Map<String, Object> registry = new HashMap<>();
+    private Map<String, Object> registry = new ConcurrentHashMap<>();
 
     /**
      * Creates or returns a new bean matching the interface given as a parameter. The returned instance is
@@ -117,4 +119,31 @@ public class BeanFactory {
         registry.put(bean.getClass().getCanonicalName(), bean);
     }
 
+    /**
+     * Discards the results cached by all beans proxied with a {@link CachedInterceptor}, e.g. after the
+     * configuration the results have been derived from has been changed.
+     */
+    public void invalidateCaches() {
+        for (Object bean : registry.values()) {
+            if (Proxy.isProxyClass(bean.getClass())
+                && Proxy.getInvocationHandler(bean) instanceof CachedInterceptor) {
+                ((CachedInterceptor) Proxy.getInvocationHandler(bean)).invalidateAll();
+            }
+        }
+    }
+
+    /**
+     * Returns the statistics aggregated over all beans proxied with a {@link CachedInterceptor}.
+     * @return the aggregated {@link CacheStatisticsTo}
+     */
+    public CacheStatisticsTo getCacheStatistics() {
+        CacheStatisticsTo statistics = new CacheStatisticsTo(0, 0, 0);
+        for (Object bean : registry.values()) {
+            if (Proxy.isProxyClass(bean.getClass())
+                && Proxy.getInvocationHandler(bean) instanceof CachedInterceptor) {
+                statistics.aggregate(((CachedInterceptor) Proxy.getInvocationHandler(bean)).getStatistics());
+            }
+        }
+        return statistics;
+    }
 }
@@ -1,31 +1,76 @@
 package com.devonfw.cobigen.impl.aop;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
-import java.util.WeakHashMap;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.devonfw.cobigen.api.annotation.Cached;
+import com.devonfw.cobigen.api.exception.CobiGenRuntimeException;
+import com.devonfw.cobigen.api.to.CacheStatisticsTo;
 import com.devonfw.cobigen.impl.util.ExceptionUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.cache.Weigher;
 
 /**
- * The {@link CachedInterceptor} enables caching of several requests on the same method. Therefore, the cache
- * relies on the assumption, that the input objects will be hold in memory as long as they are referenced. Due
- * to the fact, that this cache is just utilizing a {@link WeakHashMap}, it will automatically discard entries
- * which are collected by the GC. This class serves as an interceptor for the {@link Cached @Cached}
- * annotation.
+ * The {@link CachedInterceptor} enables caching of several requests on the same method. The cache holds the
+ * input object (first argument) just weakly and compares it by identity, such that the cached results neither
+ * keep the input nor e.g. its class loader alive and are discarded as soon as the input has been collected by
+ * the GC. All further arguments are compared by equality. The number of cached results is bounded as
+ * configured by {@value #MAX_CACHED_RESULTS_PROPERTY}, evicting the least recently used inputs first. This
+ * class serves as an interceptor for the {@link Cached @Cached} annotation and is thread-safe.
  */
 public class CachedInterceptor extends AbstractInterceptor {
 
     /** Logger instance. */
     private static final Logger LOG = LoggerFactory.getLogger(CachedInterceptor.class);
 
-    /** Mapping of input object to method name to method result */
-    private Map<Object, Map<Method, Object>> _cache = new HashMap<>();
+    /** System property to configure the maximum number of method results cached per interceptor */
+    public static final String MAX_CACHED_RESULTS_PROPERTY = "cobigen.cache.maxResults";
+
+    /** Default maximum number of method results cached per interceptor */
+    public static final long DEFAULT_MAX_CACHED_RESULTS = 10000;
+
+    /** Cache key for methods without any arguments or a {@code null} input */
+    private static final Object NO_INPUT = new Object();
+
+    /** Cache value representing a {@code null} return value */
+    private static final Object NULL = new Object();
+
+    /** Number of method calls served by the cache */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /** Number of method calls, which could not be served by the cache */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /** Number of method results evicted due to the size limit */
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /** Mapping of input object to method call to method result */
+    private final Cache<Object, ConcurrentMap<MethodCall, Object>> cache = CacheBuilder.newBuilder().weakKeys()
+        .maximumWeight(getMaxCachedResults()).weigher(new Weigher<Object, ConcurrentMap<MethodCall, Object>>() {
+            @Override
+            public int weigh(Object key, ConcurrentMap<MethodCall, Object> value) {
+                return Math.max(1, value.size());
+            }
+        }).removalListener(new RemovalListener<Object, ConcurrentMap<MethodCall, Object>>() {
+            @Override
+            public void onRemoval(RemovalNotification<Object, ConcurrentMap<MethodCall, Object>> notification) {
+                if (notification.getCause() == RemovalCause.SIZE && notification.getValue() != null) {
+                    evictionCount.addAndGet(notification.getValue().size());
+                }
+            }
+        }).build();
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
@@ -37,65 +82,131 @@ public class CachedInterceptor extends AbstractInterceptor {
             return ExceptionUtil.invokeTarget(getTargetObject(), method, args);
         }
 
-        // Ask cache
-        // int keyHash = UUID.randomUUID().toString().hashCode();// Arrays.toString(args).hashCode()
-        int keyHash;
-        if (args.length > 1) {
-            keyHash = Objects.hash(args[0], args[1]);
-        } else if (args.length > 0) {
-            keyHash = args[0].hashCode();
-        } else {
-            keyHash = "default".hashCode();
-        }
+        Object input = args != null && args.length > 0 && args[0] != null ? args[0] : NO_INPUT;
+        MethodCall methodCall = new MethodCall(method, args);
 
-        Object returnValue = askCache(keyHash, method);
+        // Ask cache
+        ConcurrentMap<MethodCall, Object> methodResults = getMethodResults(input);
+        Object returnValue = methodResults.get(methodCall);
         if (returnValue != null) {
-            return returnValue;
+            hitCount.incrementAndGet();
+            LOG.debug("Value for method {}#{} retrieved from cache.", method.getDeclaringClass().getName(),
+                method.getName());
+            return returnValue == NULL ? null : returnValue;
         }
+        missCount.incrementAndGet();
 
         // execute target implementation
         returnValue = ExceptionUtil.invokeTarget(getTargetObject(), method, args);
 
         // persist cache
-        persistCache(keyHash, method, returnValue);
+        methodResults.putIfAbsent(methodCall, returnValue == null ? NULL : returnValue);
+        // re-insert to update the weight of the entry
+        cache.put(input, methodResults);
 
         return returnValue;
     }
 
     /**
-     * Asks the cache for an already available value for the given input and the given Method
-     * @param paramHash
-     *            hash value of the parameters to serve as a key for caching
-     * @param method
-     *            {@link Method} to be called
-     * @return the cached return value or {@code null} if the cache does not contain this value.
+     * Returns the cached method results for the given input object or creates a new entry if not yet present.
+     * @param input
+     *            the input object (first argument) of the method call
+     * @return the mapping of method call to method result for the given input
      */
-    private Object askCache(int paramHash, Method method) {
-        if (_cache.containsKey(paramHash)) {
-            if (_cache.get(paramHash).containsKey(method)) {
-                LOG.debug("Value for method {}#{} retrieved from cache.", method.getClass().getName(),
-                    method.getName());
-                return _cache.get(paramHash).get(method);
-            }
+    private ConcurrentMap<MethodCall, Object> getMethodResults(Object input) {
+        try {
+            return cache.get(input, new Callable<ConcurrentMap<MethodCall, Object>>() {
+                @Override
+                public ConcurrentMap<MethodCall, Object> call() {
+                    // setting initial size to 4 as memory optimization due to the fact, that the cache is
+                    // currently mostly used for ConfigurationInterpreter, which just has four public methods.
+                    return new ConcurrentHashMap<>(4);
+                }
+            });
+        } catch (ExecutionException e) {
+            // cannot happen as the loader does not throw any checked exception
+            throw new CobiGenRuntimeException("Could not access the cache. This is a bug!", e);
         }
-        return null;
     }
 
     /**
-     * Persists the given return value for the given method call with the given input parameter in the cache.
-     * @param paramHash
-     *            hash value of the parameters to serve as a key for caching
-     * @param method
-     *            {@link Method} to be called
-     * @param returnValue
-     *            to be cached
+     * Discards all cached method results, e.g. after the underlying configuration has been changed.
      */
-    private void persistCache(int paramHash, Method method, Object returnValue) {
-        if (!_cache.containsKey(paramHash)) {
-            // setting initial size to 4 as memory optimization due to the fact, that the cache is currently
-            // just used for ConfigurationInterpreter, which just has four public methods.
-            _cache.put(paramHash, new HashMap<Method, Object>(4));
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns the statistics of this interceptor. Hits and misses are counted per method call, evictions per
+     * method result evicted due to the size limit.
+     * @return a snapshot of the {@link CacheStatisticsTo}
+     */
+    public CacheStatisticsTo getStatistics() {
+        return new CacheStatisticsTo(hitCount.get(), missCount.get(), evictionCount.get());
+    }
+
+    /**
+     * Determines the maximum number of cached method results as configured by
+     * {@value #MAX_CACHED_RESULTS_PROPERTY}.
+     * @return the maximum number of cached method results
+     */
+    private static long getMaxCachedResults() {
+        String configuredSize = System.getProperty(MAX_CACHED_RESULTS_PROPERTY);
+        if (configuredSize == null) {
+            return DEFAULT_MAX_CACHED_RESULTS;
+        }
+        try {
+            return Long.parseLong(configuredSize.trim());
+        } catch (NumberFormatException e) {
+            LOG.warn("Invalid value '{}' of {}. Using default size of {} results.", configuredSize,
+                MAX_CACHED_RESULTS_PROPERTY, DEFAULT_MAX_CACHED_RESULTS);
+            return DEFAULT_MAX_CACHED_RESULTS;
+        }
+    }
+
+    /**
+     * Identifies a method call on the same input object by the method and all further arguments.
+     */
+    private static class MethodCall {
+
+        /** Called method */
+        private final Method method;
+
+        /** All arguments except the input object */
+        private final Object[] arguments;
+
+        /** Pre-calculated hash code */
+        private final int hashCode;
+
+        /**
+         * Creates a new {@link MethodCall}
+         * @param method
+         *            called method
+         * @param args
+         *            all arguments of the call including the input object or {@code null}
+         */
+        MethodCall(Method method, Object[] args) {
+            this.method = method;
+            arguments = args != null && args.length > 1 ? Arrays.copyOfRange(args, 1, args.length) : new Object[0];
+            hashCode = 31 * method.hashCode() + Arrays.deepHashCode(arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof MethodCall)) {
+                return false;
+            }
+            MethodCall other = (MethodCall) obj;
+            return hashCode == other.hashCode && method.equals(other.method)
+                && Arrays.deepEquals(arguments, other.arguments);
         }
-        _cache.get(paramHash).put(method, returnValue);
     }
 }
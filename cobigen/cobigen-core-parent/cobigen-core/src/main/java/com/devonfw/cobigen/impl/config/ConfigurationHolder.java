@@ -1,27 +1,62 @@
 package com.devonfw.cobigen.impl.config;
 
+import java.io.IOException;
+import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.devonfw.cobigen.api.constants.ConfigurationConstants;
+import com.devonfw.cobigen.api.exception.CobiGenRuntimeException;
 import com.devonfw.cobigen.api.exception.InvalidConfigurationException;
 import com.devonfw.cobigen.impl.config.entity.Trigger;
+import com.devonfw.cobigen.impl.extension.TemplateEngineRegistry;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Queues;
+import com.google.common.collect.Sets;
 
 /**
- * Cached in-memory CobiGen configuration.
+ * Cached in-memory CobiGen configuration. By default, the cached configuration will be kept forever. If
+ * {@link #startWatching() watching} is enabled, the configuration folder will be watched for changes and only
+ * the affected configurations will be evicted from the cache to be read again on next access. The templates
+ * cached by the {@link TemplateEngineRegistry template engines} will be invalidated accordingly.
  */
 public class ConfigurationHolder {
 
+    /** Logger instance */
+    private static final Logger LOG = LoggerFactory.getLogger(ConfigurationHolder.class);
+
     /** Cached templates configurations. Configuration File URI -> Trigger ID -> configuration instance */
     private Map<Path, Map<String, TemplatesConfiguration>> templatesConfigurations = Maps.newHashMap();
 
+    /**
+     * Template folders of the templates configurations, which referenced the templates configuration of a
+     * template folder while being read. Referenced template folder -> referencing template folders
+     */
+    private Map<Path, Set<Path>> referencingTemplateFolders = Maps.newHashMap();
+
+    /** Template folders of the templates configurations currently being read, the innermost first */
+    private Deque<Path> templateFoldersInProgress = Queues.newArrayDeque();
+
     /** Cached context configuration */
     private ContextConfiguration contextConfiguration;
 
     /** Root path of the configuration */
     private Path configurationPath;
 
+    /** {@link ConfigurationWatcher} evicting changed configurations or {@code null} if not watching */
+    private ConfigurationWatcher watcher;
+
+    /** Listeners to be notified after any configuration has been evicted */
+    private List<Runnable> evictionListeners = Lists.newCopyOnWriteArrayList();
+
     /**
      * Creates a new {@link ConfigurationHolder} which serves as a cache for CobiGen's external configuration.
      * @param configurationPath
@@ -39,14 +74,30 @@ public class ConfigurationHolder {
      * @throws InvalidConfigurationException
      *             if the configuration is not valid
      */
-    public TemplatesConfiguration readTemplatesConfiguration(Trigger trigger) {
+    public synchronized TemplatesConfiguration readTemplatesConfiguration(Trigger trigger) {
 
         Path templateFolder = Paths.get(trigger.getTemplateFolder());
+        // remember external references to evict the referencing configuration as well if the referenced changes
+        Path referencingTemplateFolder = templateFoldersInProgress.peek();
+        if (referencingTemplateFolder != null && !referencingTemplateFolder.equals(templateFolder)) {
+            Set<Path> referencing = referencingTemplateFolders.get(templateFolder);
+            if (referencing == null) {
+                referencing = Sets.newHashSet();
+                referencingTemplateFolders.put(templateFolder, referencing);
+            }
+            referencing.add(referencingTemplateFolder);
+        }
+
         if (!templatesConfigurations.containsKey(templateFolder)) {
             templatesConfigurations.put(templateFolder, Maps.<String, TemplatesConfiguration> newHashMap());
 
-            TemplatesConfiguration config = new TemplatesConfiguration(configurationPath, trigger, this);
-            templatesConfigurations.get(templateFolder).put(trigger.getId(), config);
+            templateFoldersInProgress.push(templateFolder);
+            try {
+                TemplatesConfiguration config = new TemplatesConfiguration(configurationPath, trigger, this);
+                templatesConfigurations.get(templateFolder).put(trigger.getId(), config);
+            } finally {
+                templateFoldersInProgress.pop();
+            }
         }
 
         return templatesConfigurations.get(templateFolder).get(trigger.getId());
@@ -58,10 +109,134 @@ public class ConfigurationHolder {
      * @throws InvalidConfigurationException
      *             if the configuration is not valid
      */
-    public ContextConfiguration readContextConfiguration() {
+    public synchronized ContextConfiguration readContextConfiguration() {
         if (contextConfiguration == null) {
             contextConfiguration = new ContextConfiguration(configurationPath);
         }
         return contextConfiguration;
     }
+
+    /**
+     * Starts watching the configuration folder for changes. A changed context configuration evicts the whole
+     * cache, whereas a changed templates configuration or template file just evicts the templates
+     * configuration of the affected template folder and the ones referencing it. Configurations, which are
+     * not located in the default file system (e.g. in a jar), cannot be watched and will be cached forever.
+     * @throws CobiGenRuntimeException
+     *             if the configuration folder could not be registered for watching
+     */
+    public synchronized void startWatching() {
+        if (watcher != null) {
+            return;
+        }
+        if (configurationPath.getFileSystem() != FileSystems.getDefault()) {
+            LOG.warn("Configuration {} is not located in the default file system and thus cannot be watched.",
+                configurationPath.toUri());
+            return;
+        }
+
+        try {
+            watcher = new ConfigurationWatcher(this, configurationPath);
+        } catch (IOException e) {
+            throw new CobiGenRuntimeException("Could not watch the configuration folder " + configurationPath, e);
+        }
+        watcher.start();
+    }
+
+    /**
+     * Stops watching the configuration folder for changes if {@link #startWatching() watching} has been
+     * started before. The cached configuration will be kept forever afterwards.
+     */
+    public synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.stop();
+            watcher = null;
+        }
+    }
+
+    /**
+     * Registers a listener to be notified after any cached configuration has been evicted, e.g. to discard
+     * results derived from the evicted configuration.
+     * @param listener
+     *            to be run after each eviction
+     */
+    public void addEvictionListener(Runnable listener) {
+        evictionListeners.add(listener);
+    }
+
+    /**
+     * Evicts all cached configurations affected by a change of the given path.
+     * @param changedPath
+     *            absolute path of the created, modified or deleted file or folder
+     */
+    synchronized void evict(Path changedPath) {
+        Path root = configurationPath.toAbsolutePath().normalize();
+        Path changed = changedPath.toAbsolutePath().normalize();
+
+        Path changedFolder = changed.getParent();
+        if (changed.getFileName().toString().equals(ConfigurationConstants.CONTEXT_CONFIG_FILENAME)
+            && (root.equals(changedFolder)
+                || root.resolve(ConfigurationConstants.TEMPLATE_RESOURCE_FOLDER).equals(changedFolder))) {
+            // the triggers and thus the template folders might have changed
+            evictAll();
+            return;
+        }
+
+        boolean evicted = false;
+        for (Path templateFolder : Lists.newArrayList(templatesConfigurations.keySet())) {
+            if (changed.startsWith(root.resolve(templateFolder)) || changed
+                .startsWith(root.resolve(ConfigurationConstants.TEMPLATE_RESOURCE_FOLDER).resolve(templateFolder))) {
+                evictTemplatesConfiguration(templateFolder);
+                evicted = true;
+            }
+        }
+        if (evicted) {
+            notifyEvictionListeners();
+        }
+    }
+
+    /**
+     * Evicts the cached templates configurations of the given template folder as well as of all template
+     * folders referencing it.
+     * @param templateFolder
+     *            template folder as used as cache key
+     */
+    private void evictTemplatesConfiguration(Path templateFolder) {
+        if (templatesConfigurations.remove(templateFolder) != null) {
+            LOG.info("Templates configuration of {} changed. Evicting it from cache.", templateFolder);
+        }
+        // the template engines cache the templates by the template folder resolved from the context
+        TemplateEngineRegistry.invalidateCaches(contextConfiguration != null
+            ? contextConfiguration.getConfigurationPath().resolve(templateFolder) : null);
+        Set<Path> referencing = referencingTemplateFolders.remove(templateFolder);
+        if (referencing != null) {
+            for (Path referencingTemplateFolder : referencing) {
+                evictTemplatesConfiguration(referencingTemplateFolder);
+            }
+        }
+    }
+
+    /**
+     * Evicts all cached configurations.
+     */
+    synchronized void evictAll() {
+        LOG.info("Configuration {} changed. Evicting all configurations from cache.", configurationPath);
+        contextConfiguration = null;
+        templatesConfigurations.clear();
+        referencingTemplateFolders.clear();
+        TemplateEngineRegistry.invalidateCaches(null);
+        notifyEvictionListeners();
+    }
+
+    /**
+     * Notifies all registered eviction listeners. Exceptions thrown by a listener will be logged and ignored.
+     */
+    private void notifyEvictionListeners() {
+        for (Runnable listener : evictionListeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                LOG.warn("Configuration eviction listener {} failed. Ignoring it.", listener, e);
+            }
+        }
+    }
 }
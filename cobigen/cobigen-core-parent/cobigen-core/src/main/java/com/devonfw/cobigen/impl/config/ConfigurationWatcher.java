@@ -0,0 +1,169 @@
+package com.devonfw.cobigen.impl.config;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Watches a configuration folder recursively by a {@link WatchService} and reports each changed path to a
+ * {@link ConfigurationHolder} to evict the affected configurations. The watching daemon thread just keeps a
+ * weak reference to the {@link ConfigurationHolder} and terminates as soon as the holder has been garbage
+ * collected or the watcher has been {@link #stop() stopped}.
+ */
+class ConfigurationWatcher implements Runnable {
+
+    /** Logger instance */
+    private static final Logger LOG = LoggerFactory.getLogger(ConfigurationWatcher.class);
+
+    /** Timeout in milliseconds to wait for changes before checking whether to terminate */
+    private static final long POLL_TIMEOUT = 1000;
+
+    /** {@link ConfigurationHolder} to report changes to */
+    private final WeakReference<ConfigurationHolder> holder;
+
+    /** {@link WatchService} all folders of the configuration are registered to */
+    private final WatchService watchService;
+
+    /** Registered folders mapped by their {@link WatchKey} */
+    private final Map<WatchKey, Path> watchedFolders = Maps.newHashMap();
+
+    /** Thread processing the changes */
+    private final Thread thread;
+
+    /** States whether the watcher has been stopped */
+    private volatile boolean stopped;
+
+    /**
+     * Creates a new {@link ConfigurationWatcher} and registers all folders of the configuration.
+     * @param holder
+     *            {@link ConfigurationHolder} to report changes to
+     * @param configurationPath
+     *            root folder of the configuration
+     * @throws IOException
+     *             if the folders could not be registered
+     */
+    ConfigurationWatcher(ConfigurationHolder holder, Path configurationPath) throws IOException {
+        this.holder = new WeakReference<>(holder);
+        watchService = configurationPath.getFileSystem().newWatchService();
+        try {
+            register(configurationPath.toAbsolutePath().normalize());
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+        thread = new Thread(this, "cobigen-configuration-watcher");
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Starts processing the changes.
+     */
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Stops processing the changes. The {@link WatchService} will be closed asynchronously.
+     */
+    void stop() {
+        stopped = true;
+        thread.interrupt();
+    }
+
+    /**
+     * Registers the given folder and all its sub folders.
+     * @param folder
+     *            the folder to be registered
+     * @throws IOException
+     *             if a folder could not be registered
+     */
+    private void register(Path folder) throws IOException {
+        Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                WatchKey key = dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                watchedFolders.put(key, dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!stopped) {
+                WatchKey key = watchService.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+                ConfigurationHolder configurationHolder = holder.get();
+                if (configurationHolder == null) {
+                    break;
+                }
+                if (key != null) {
+                    processEvents(key, configurationHolder);
+                }
+            }
+        } catch (InterruptedException e) {
+            // stopped
+        } finally {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                LOG.warn("Could not close the watch service of the configuration.", e);
+            }
+        }
+    }
+
+    /**
+     * Reports all changes of the given {@link WatchKey} to the {@link ConfigurationHolder} and registers
+     * created folders.
+     * @param key
+     *            the signalled {@link WatchKey}
+     * @param configurationHolder
+     *            {@link ConfigurationHolder} to report changes to
+     */
+    private void processEvents(WatchKey key, ConfigurationHolder configurationHolder) {
+        Path folder = watchedFolders.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || folder == null) {
+                // changes have been lost
+                configurationHolder.evictAll();
+                continue;
+            }
+
+            Path changed = folder.resolve((Path) event.context());
+            LOG.debug("Configuration change {} of {}", event.kind().name(), changed);
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(changed, LinkOption.NOFOLLOW_LINKS)) {
+                try {
+                    register(changed);
+                } catch (IOException e) {
+                    LOG.warn("Could not watch the created folder {}. Further changes will not be detected.", changed,
+                        e);
+                }
+            }
+            configurationHolder.evict(changed);
+        }
+        if (!key.reset()) {
+            // the folder is not accessible anymore
+            watchedFolders.remove(key);
+        }
+    }
+}
@@ -24,6 +24,12 @@ public class Template implements TextTemplate {
      */
     private String unresolvedTemplatePath;
 
+    /** Compiled {@link #getUnresolvedTargetPath()}, lazily initialized */
+    private volatile VariableExpression targetPathExpression;
+
+    /** Compiled {@link #getUnresolvedTemplatePath()}, lazily initialized */
+    private volatile VariableExpression templatePathExpression;
+
     /** Charset of the target file */
     private String targetCharset;
 
@@ -117,6 +123,19 @@ public class Template implements TextTemplate {
      */
     public void setUnresolvedTargetPath(String unresolvedTargetPath) {
         this.unresolvedTargetPath = unresolvedTargetPath;
+        targetPathExpression = null;
+    }
+
+    /**
+     * @return the compiled {@link #getUnresolvedTargetPath()} or {@code null} if there is no target path
+     */
+    public VariableExpression getTargetPathExpression() {
+        VariableExpression expression = targetPathExpression;
+        if (expression == null && unresolvedTargetPath != null) {
+            expression = VariableExpression.compile(unresolvedTargetPath);
+            targetPathExpression = expression;
+        }
+        return expression;
     }
 
     /**
@@ -125,6 +144,7 @@ public class Template implements TextTemplate {
      */
     public void setUnresolvedTemplatePath(String unresolvedTemplatePath) {
         this.unresolvedTemplatePath = unresolvedTemplatePath;
+        templatePathExpression = null;
     }
 
     /**
@@ -135,6 +155,18 @@ public class Template implements TextTemplate {
         return unresolvedTemplatePath;
     }
 
+    /**
+     * @return the compiled {@link #getUnresolvedTemplatePath()} or {@code null} if there is no template path
+     */
+    public VariableExpression getTemplatePathExpression() {
+        VariableExpression expression = templatePathExpression;
+        if (expression == null && unresolvedTemplatePath != null) {
+            expression = VariableExpression.compile(unresolvedTemplatePath);
+            templatePathExpression = expression;
+        }
+        return expression;
+    }
+
     /**
      * @return the absolute file path to the template
      */
@@ -0,0 +1,374 @@
+package com.devonfw.cobigen.impl.config.entity;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import net.sf.mmm.util.lang.api.CaseSyntax;
+
+import com.devonfw.cobigen.api.exception.UnknownExpressionException;
+import com.devonfw.cobigen.api.util.StringUtil;
+import com.devonfw.cobigen.impl.exceptions.UnknownContextVariableException;
+import com.google.common.collect.Lists;
+
+/**
+ * Compiled form of a {@link String} containing variables (e.g. <code>${variableName#uncapfirst}</code> or
+ * <code>$_VariableName_$</code>) to be {@link #evaluate(Variables, char) evaluated} repeatedly against
+ * different {@link Variables}. The expression is parsed once into literal and variable segments, such that
+ * each evaluation just has to look up the variables and to concatenate the segments. The result is the same
+ * as of {@link Variables#resolve(String, char)}.
+ */
+public class VariableExpression {
+
+    /** The expression as given */
+    private final String expression;
+
+    /**
+     * Segments of the variables in dollar syntax or {@code null} if the expression does not contain any. In
+     * the latter case, the {@link #caseSegments} have been compiled from the expression itself.
+     */
+    private final List<Segment> dollarSegments;
+
+    /**
+     * Segments of the variables in case syntax or {@code null} if they cannot be compiled in advance, as the
+     * expression contains variables in dollar syntax, which are resolved first.
+     */
+    private final List<Segment> caseSegments;
+
+    /**
+     * Creates a new {@link VariableExpression}
+     * @param expression
+     *            the expression as given
+     * @param dollarSegments
+     *            segments of the variables in dollar syntax or {@code null} if there are none
+     * @param caseSegments
+     *            segments of the variables in case syntax or {@code null} if not compiled in advance
+     */
+    private VariableExpression(String expression, List<Segment> dollarSegments, List<Segment> caseSegments) {
+        this.expression = expression;
+        this.dollarSegments = dollarSegments;
+        this.caseSegments = caseSegments;
+    }
+
+    /**
+     * Compiles the given expression.
+     * @param expression
+     *            the {@link String} containing variables
+     * @return the compiled {@link VariableExpression}
+     */
+    public static VariableExpression compile(String expression) {
+        List<Segment> dollarSegments = parse(expression, Variables.PATTERN_VARIABLE_DOLLAR_SYNTAX, false);
+        if (dollarSegments != null) {
+            return new VariableExpression(expression, dollarSegments, null);
+        }
+        List<Segment> caseSegments = parse(expression, Variables.PATTERN_VARIABLE_CASE_SYNTAX, true);
+        return new VariableExpression(expression, null, caseSegments);
+    }
+
+    /**
+     * Parses the variables of the given syntax within the given string.
+     * @param string
+     *            the string to parse
+     * @param pattern
+     *            the {@link Pattern} with the variable syntax
+     * @param supportCase
+     *            {@code true} for the case syntax, {@code false} for the dollar syntax
+     * @return the segments or {@code null} if the string does not contain any variable of the given syntax
+     */
+    private static List<Segment> parse(String string, Pattern pattern, boolean supportCase) {
+        Matcher m = pattern.matcher(string);
+        List<Segment> segments = null;
+        int end = 0;
+        while (m.find()) {
+            if (segments == null) {
+                segments = Lists.newArrayList();
+            }
+            if (m.start() > end) {
+                segments.add(new Segment(string.substring(end, m.start())));
+            }
+            String variableKey = m.group(1);
+            if (supportCase) {
+                segments.add(new Segment(variableKey, null));
+            } else {
+                if (variableKey.startsWith(Variables.PREFIX_VARIABLES)) {
+                    variableKey = variableKey.substring(Variables.PREFIX_VARIABLES.length());
+                }
+                segments.add(new Segment(variableKey, parseModifiers(m.group(2))));
+            }
+            end = m.end();
+        }
+        if (segments != null && end < string.length()) {
+            segments.add(new Segment(string.substring(end)));
+        }
+        return segments;
+    }
+
+    /**
+     * Parses the legacy freemarker function syntax of a variable in dollar syntax.
+     * @param function
+     *            the freemarker function(s) to simulate
+     * @return the modifiers in order of application
+     */
+    private static Modifier[] parseModifiers(String function) {
+        if (function == null || function.isEmpty()) {
+            return new Modifier[0];
+        }
+        String[] names = Variables.PATTERN_MODIFIER_SEPARATOR.split(function);
+        // ignore first as always empty due to beginning '?'
+        Modifier[] modifiers = new Modifier[names.length - 1];
+        for (int i = 1; i < names.length; i++) {
+            modifiers[i - 1] = new Modifier(names[i]);
+        }
+        return modifiers;
+    }
+
+    /**
+     * Evaluates the expression with the given {@link Variables}.
+     * @param variables
+     *            the {@link Variables} to resolve the expression with
+     * @param replacementForDot
+     *            the character used as replacement for the dot character ('.') or '\0' for no replacement
+     *            (remove dots according to case syntax).
+     * @return the expression with all variables replaced with those defined by the given {@link Variables}.
+     * @throws UnknownContextVariableException
+     *             if a variable is not defined
+     * @throws UnknownExpressionException
+     *             if there is an unknown variable modifier
+     * @see Variables#resolve(String, char)
+     */
+    public String evaluate(Variables variables, char replacementForDot) {
+        if (dollarSegments == null) {
+            if (caseSegments == null) {
+                return expression;
+            }
+            String resolved = evaluate(caseSegments, variables, false, replacementForDot);
+            if (resolved == null) {
+                return variables.resolveCaseSyntax(expression, replacementForDot);
+            }
+            return resolved;
+        }
+
+        String resolved = evaluate(dollarSegments, variables, true, replacementForDot);
+        if (resolved == null) {
+            return variables.resolve(expression, replacementForDot);
+        }
+        // resolved values might introduce variables in case syntax
+        if (resolved.contains("$_")) {
+            return variables.resolveCaseSyntax(resolved, replacementForDot);
+        }
+        return resolved;
+    }
+
+    /**
+     * Concatenates the given segments.
+     * @param segments
+     *            the segments to concatenate
+     * @param variables
+     *            the {@link Variables} to resolve the variable segments with
+     * @param dollarSyntax
+     *            {@code true} if the segments are in dollar syntax, {@code false} for the case syntax
+     * @param replacementForDot
+     *            the character used as replacement for the dot character ('.') or '\0' for no replacement.
+     * @return the concatenated segments or {@code null} if a variable value contains characters with special
+     *         meaning in a {@link Matcher#appendReplacement(StringBuffer, String) regex replacement}. In this
+     *         case, the variables have to be resolved by regex to get the same result.
+     */
+    private static String evaluate(List<Segment> segments, Variables variables, boolean dollarSyntax,
+        char replacementForDot) {
+        StringBuilder out = new StringBuilder(64);
+        for (Segment segment : segments) {
+            if (segment.literal != null) {
+                out.append(segment.literal);
+                continue;
+            }
+
+            // a variable like ${detail} can be explicitly set to null
+            // this is considered as the empty string but null instead of "" is required for free-marker
+            if (!variables.containsKey(segment.variableKey, segment.normalizedKey)) {
+                throw new UnknownContextVariableException(segment.variableKey);
+            }
+            String variableValue = variables.get(segment.variableKey, segment.normalizedKey);
+            if (variableValue != null) {
+                boolean containsDot = variableValue.indexOf('.') >= 0;
+                if (dollarSyntax) {
+                    if (containsDot && (replacementForDot != '\0')) {
+                        variableValue = variableValue.replace('.', replacementForDot);
+                    }
+                    for (Modifier modifier : segment.modifiers) {
+                        variableValue = modifier.apply(variableValue);
+                    }
+                } else {
+                    if (containsDot && (replacementForDot != '\0')) {
+                        // the dummy letters are kept as done by Variables#resolve
+                        variableValue = variableValue.replace('.', Variables.DUMMY_LETTER_FOR_DOT);
+                    }
+                    variableValue = segment.getCaseSyntax().convert(variableValue);
+                }
+                if (variableValue.indexOf('$') >= 0 || variableValue.indexOf('\\') >= 0) {
+                    return null;
+                }
+                out.append(variableValue);
+            }
+        }
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    /**
+     * Literal text or variable of a {@link VariableExpression}.
+     */
+    private static class Segment {
+
+        /** Literal text or {@code null} if this segment is a variable */
+        private final String literal;
+
+        /** Key of the variable */
+        private final String variableKey;
+
+        /** Normalized key of the variable, see {@link CaseSyntax#normalizeExample(String)} */
+        private final String normalizedKey;
+
+        /** Modifiers of a variable in dollar syntax */
+        private final Modifier[] modifiers;
+
+        /** {@link CaseSyntax} of a variable in case syntax, lazily determined */
+        private volatile CaseSyntax caseSyntax;
+
+        /**
+         * Creates a new literal {@link Segment}
+         * @param literal
+         *            literal text
+         */
+        Segment(String literal) {
+            this.literal = literal;
+            variableKey = null;
+            normalizedKey = null;
+            modifiers = null;
+        }
+
+        /**
+         * Creates a new variable {@link Segment}
+         * @param variableKey
+         *            key of the variable
+         * @param modifiers
+         *            modifiers of a variable in dollar syntax or {@code null} for a variable in case syntax
+         */
+        Segment(String variableKey, Modifier[] modifiers) {
+            literal = null;
+            this.variableKey = variableKey;
+            normalizedKey = CaseSyntax.normalizeExample(variableKey);
+            this.modifiers = modifiers;
+        }
+
+        /**
+         * @return the {@link CaseSyntax} of a variable in case syntax
+         */
+        CaseSyntax getCaseSyntax() {
+            CaseSyntax syntax = caseSyntax;
+            if (syntax == null) {
+                syntax = CaseSyntax.ofExample(variableKey, true);
+                caseSyntax = syntax;
+            }
+            return syntax;
+        }
+    }
+
+    /**
+     * {@link String} modifier defined by ?modifier behind a variable reference in dollar syntax.
+     */
+    private static class Modifier {
+
+        /** Name of the modifier including its parameters */
+        private final String name;
+
+        /** First parameter of the modifier, if any */
+        private final String parameter;
+
+        /** Second parameter of the modifier, if any */
+        private final String secondParameter;
+
+        /** Compiled regex of the replace modifier */
+        private final Pattern replacePattern;
+
+        /** Syntax error of the regex of the replace modifier to be thrown on application */
+        private final PatternSyntaxException replacePatternError;
+
+        /**
+         * Creates a new {@link Modifier}
+         * @param name
+         *            name of the modifier including its parameters
+         */
+        Modifier(String name) {
+            this.name = name;
+            Pattern pattern = null;
+            PatternSyntaxException patternError = null;
+            String first = null;
+            String second = null;
+            Matcher m = Variables.PATTERN_MODIFIER_REPLACE.matcher(name);
+            if (m.matches()) {
+                first = m.group(1);
+                second = m.group(2);
+                try {
+                    pattern = Pattern.compile(first);
+                } catch (PatternSyntaxException e) {
+                    patternError = e;
+                }
+            } else {
+                m = Variables.PATTERN_MODIFIER_REMOVE_SUFFIX.matcher(name);
+                if (!m.matches()) {
+                    m = Variables.PATTERN_MODIFIER_REMOVE_PREFIX.matcher(name);
+                }
+                if (m.matches()) {
+                    first = m.group(1);
+                }
+            }
+            parameter = first;
+            secondParameter = second;
+            replacePattern = pattern;
+            replacePatternError = patternError;
+        }
+
+        /**
+         * Applies the modifier on the given {@link String}
+         * @param string
+         *            {@link String} the modifier should be applied on
+         * @return the modified {@link String}
+         * @throws UnknownExpressionException
+         *             if the modifier is unknown or cannot be applied
+         */
+        String apply(String string) throws UnknownExpressionException {
+            // simple operators
+            if (name.equals("cap_first")) {
+                return StringUtil.capFirst(string);
+            } else if (name.equals("uncap_first")) {
+                return StringUtil.uncapFirst(string);
+            } else if (name.equals("lower_case")) {
+                return string.toLowerCase();
+            } else if (name.equals("upper_case")) {
+                return string.toUpperCase();
+            }
+
+            if (secondParameter != null) {
+                if (replacePatternError != null) {
+                    throw replacePatternError;
+                }
+                return replacePattern.matcher(string).replaceAll(secondParameter);
+            } else if (parameter != null) {
+                if (name.startsWith("removeSuffix")) {
+                    if (string.endsWith(parameter)) {
+                        return string.substring(0, string.length() - parameter.length());
+                    }
+                } else if (string.startsWith(parameter)) {
+                    return string.substring(parameter.length(), string.length());
+                }
+            }
+
+            throw new UnknownExpressionException("?" + name);
+        }
+    }
+}
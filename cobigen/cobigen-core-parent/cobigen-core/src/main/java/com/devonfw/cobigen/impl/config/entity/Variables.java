@@ -29,20 +29,36 @@ import com.devonfw.cobigen.impl.model.ModelBuilderImpl;
 public class Variables {
 
     /** The variables prefix. */
-    private static final String PREFIX_VARIABLES = ModelBuilderImpl.NS_VARIABLES + ".";
+    static final String PREFIX_VARIABLES = ModelBuilderImpl.NS_VARIABLES + ".";
 
     /**
      * A {@link Character#isLetter(char) letter} character that is not to be expected to occur in regular
      * input values.
      */
-    private static final char DUMMY_LETTER_FOR_DOT = 'ʵ';
+    static final char DUMMY_LETTER_FOR_DOT = 'ʵ';
 
     /** Regex {@link Pattern} for variable in dollar syntax (<code>${...}</code>). */
-    private static final Pattern PATTERN_VARIABLE_DOLLAR_SYNTAX =
+    static final Pattern PATTERN_VARIABLE_DOLLAR_SYNTAX =
         Pattern.compile("\\$\\{([^?#}]+)(((\\?|#)[^}?#]+)*)\\}");
 
     /** Regex {@link Pattern} for variable in underscore syntax (<code>__...__</code>). */
-    private static final Pattern PATTERN_VARIABLE_CASE_SYNTAX = Pattern.compile("\\$_(([^$]|\\$(?!_))+)_\\$");
+    static final Pattern PATTERN_VARIABLE_CASE_SYNTAX = Pattern.compile("\\$_(([^$]|\\$(?!_))+)_\\$");
+
+    /** Regex of a parameter of a variable modifier */
+    private static final String PARAMETER_REGEX = "\\s*'([^']*)'\\s*";
+
+    /** Regex {@link Pattern} of the <code>replace(String regex, String replacement)</code> modifier */
+    static final Pattern PATTERN_MODIFIER_REPLACE =
+        Pattern.compile("replace\\(" + PARAMETER_REGEX + "," + PARAMETER_REGEX + "\\)");
+
+    /** Regex {@link Pattern} of the <code>removeSuffix(String suffix)</code> modifier */
+    static final Pattern PATTERN_MODIFIER_REMOVE_SUFFIX = Pattern.compile("removeSuffix\\(" + PARAMETER_REGEX + "\\)");
+
+    /** Regex {@link Pattern} of the <code>removePrefix(String prefix)</code> modifier */
+    static final Pattern PATTERN_MODIFIER_REMOVE_PREFIX = Pattern.compile("removePrefix\\(" + PARAMETER_REGEX + "\\)");
+
+    /** Regex {@link Pattern} splitting the modifiers of a variable */
+    static final Pattern PATTERN_MODIFIER_SEPARATOR = Pattern.compile("(\\?|#)");
 
     /** The parent {@link Variables} to inherit or {@code null}. */
     private final Variables parent;
@@ -141,6 +157,25 @@ public class Variables {
         return containsKeyInternal(normalizeKey);
     }
 
+    /**
+     * @see #containsKey(String)
+     *
+     * @param key
+     *            the key to check.
+     * @param normalizeKey
+     *            the already normalized {@code key}.
+     * @return {@code true} if this {@link Variables} contain the given {@code key}, {@code false} otherwise.
+     */
+    boolean containsKey(String key, String normalizeKey) {
+        if (containsKeyInternal(key)) {
+            return true;
+        }
+        if (normalizeKey.equals(key)) {
+            return false;
+        }
+        return containsKeyInternal(normalizeKey);
+    }
+
     /**
      * @see #getInternal(String)
      *
@@ -175,6 +210,23 @@ public class Variables {
         return value;
     }
 
+    /**
+     * @see #get(String)
+     *
+     * @param key
+     *            the key to get.
+     * @param normalizeKey
+     *            the already normalized {@code key}.
+     * @return the value of the variable with the given {@code key}. May be {@code null}.
+     */
+    String get(String key, String normalizeKey) {
+        String value = getInternal(key);
+        if (value == null && !normalizeKey.equals(key)) {
+            value = getInternal(normalizeKey);
+        }
+        return value;
+    }
+
     /**
      * @see Map#put(Object, Object)
      *
@@ -277,8 +329,22 @@ public class Variables {
      */
     public String resolve(String string, char replacementForDot) {
         String resolvedString = resolveVariables(string, PATTERN_VARIABLE_DOLLAR_SYNTAX, false, replacementForDot);
-        resolvedString = resolveVariables(resolvedString, PATTERN_VARIABLE_CASE_SYNTAX, true, replacementForDot);
-        return resolvedString;
+        return resolveCaseSyntax(resolvedString, replacementForDot);
+    }
+
+    /**
+     * Resolves all variables in case syntax (e.g. <code>$_VariableName_$</code>) from the given
+     * {@code string}.
+     *
+     * @param string
+     *            the {@link String} where to resolve the variables.
+     * @param replacementForDot
+     *            the character used as replacement for the dot character ('.') or '\0' for no replacement.
+     * @return the given {@code string} with all variables in case syntax resolved.
+     * @see VariableExpression
+     */
+    String resolveCaseSyntax(String string, char replacementForDot) {
+        return resolveVariables(string, PATTERN_VARIABLE_CASE_SYNTAX, true, replacementForDot);
     }
 
     /**
@@ -351,7 +417,7 @@ public class Variables {
     private String resolveFunction(String value, String function) {
         if (function != null) {
             boolean first = true;
-            for (String modifier : function.split("(\\?|#)")) {
+            for (String modifier : PATTERN_MODIFIER_SEPARATOR.split(function)) {
                 if (first) {
                     first = false;
                     continue; // ignore first as always empty due to beginning '?'
@@ -386,27 +452,22 @@ public class Variables {
             return string.toUpperCase();
         }
 
-        String parameterRegex = "\\s*'([^']*)'\\s*";
-
         // ?replace(String regex, String replacement)
-        Pattern p = Pattern.compile("replace\\(" + parameterRegex + "," + parameterRegex + "\\)");
-        Matcher m = p.matcher(modifierName);
+        Matcher m = PATTERN_MODIFIER_REPLACE.matcher(modifierName);
 
         if (m.matches()) {
             return string.replaceAll(m.group(1), m.group(2));
         }
 
         // ?removeSuffix(String suffix)
-        p = Pattern.compile("removeSuffix\\(" + parameterRegex + "\\)");
-        m = p.matcher(modifierName);
+        m = PATTERN_MODIFIER_REMOVE_SUFFIX.matcher(modifierName);
 
         if (m.matches() && string.endsWith(m.group(1))) {
             return string.substring(0, string.length() - m.group(1).length());
         }
 
         // ?removePrefix(String prefix)
-        p = Pattern.compile("removePrefix\\(" + parameterRegex + "\\)");
-        m = p.matcher(modifierName);
+        m = PATTERN_MODIFIER_REMOVE_PREFIX.matcher(modifierName);
 
         if (m.matches() && string.startsWith(m.group(1))) {
             return string.substring(m.group(1).length(), string.length());
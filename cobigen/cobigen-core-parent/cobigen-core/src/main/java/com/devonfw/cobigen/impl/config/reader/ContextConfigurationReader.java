@@ -10,14 +10,10 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
-import javax.xml.XMLConstants;
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.UnmarshalException;
 import javax.xml.bind.Unmarshaller;
-import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
@@ -34,6 +30,7 @@ import com.devonfw.cobigen.impl.config.entity.io.ContextConfiguration;
 import com.devonfw.cobigen.impl.config.versioning.VersionValidator;
 import com.devonfw.cobigen.impl.config.versioning.VersionValidator.Type;
 import com.devonfw.cobigen.impl.util.ExceptionUtil;
+import com.devonfw.cobigen.impl.util.JaxbUtil;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
@@ -80,7 +77,7 @@ public class ContextConfigurationReader {
      */
     private void readConfiguration() {
         try {
-            Unmarshaller unmarschaller = JAXBContext.newInstance(ContextConfiguration.class).createUnmarshaller();
+            Unmarshaller unmarschaller = JaxbUtil.createUnmarshaller(ContextConfiguration.class);
 
             // Unmarshal without schema checks for getting the version attribute of the root node.
             // This is necessary to provide an automatic upgrade client later on
@@ -103,14 +100,11 @@ public class ContextConfigurationReader {
             // If we reach this point, the configuration version and root node has been validated.
             // Unmarshal with schema checks for checking the correctness and give the user more hints to
             // correct his failures
-            SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
             ContextConfigurationVersion latestConfigurationVersion = ContextConfigurationVersion.getLatest();
-            try (
-                InputStream schemaStream = getClass()
-                    .getResourceAsStream("/schema/" + latestConfigurationVersion + "/contextConfiguration.xsd");
-                InputStream configInputStream = Files.newInputStream(contextFile)) {
+            try (InputStream configInputStream = Files.newInputStream(contextFile)) {
 
-                Schema schema = schemaFactory.newSchema(new StreamSource(schemaStream));
+                Schema schema =
+                    JaxbUtil.getSchema("/schema/" + latestConfigurationVersion + "/contextConfiguration.xsd");
                 unmarschaller.setSchema(schema);
                 rootNode = unmarschaller.unmarshal(configInputStream);
                 contextNode = (ContextConfiguration) rootNode;
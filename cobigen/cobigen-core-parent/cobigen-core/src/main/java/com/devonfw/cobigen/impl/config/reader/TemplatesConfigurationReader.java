@@ -16,14 +16,10 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
-import javax.xml.XMLConstants;
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.UnmarshalException;
 import javax.xml.bind.Unmarshaller;
-import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 
 import org.apache.commons.jxpath.JXPathContext;
 import org.apache.commons.lang3.StringUtils;
@@ -57,6 +53,7 @@ import com.devonfw.cobigen.impl.config.versioning.VersionValidator.Type;
 import com.devonfw.cobigen.impl.exceptions.UnknownContextVariableException;
 import com.devonfw.cobigen.impl.extension.TemplateEngineRegistry;
 import com.devonfw.cobigen.impl.util.ExceptionUtil;
+import com.devonfw.cobigen.impl.util.JaxbUtil;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
@@ -158,7 +155,7 @@ public class TemplatesConfigurationReader {
      */
     private void readConfiguration() {
         try {
-            Unmarshaller unmarschaller = JAXBContext.newInstance(TemplatesConfiguration.class).createUnmarshaller();
+            Unmarshaller unmarschaller = JaxbUtil.createUnmarshaller(TemplatesConfiguration.class);
 
             // Unmarshal without schema checks for getting the version attribute of the root node.
             // This is necessary to provide an automatic upgrade client later on
@@ -181,14 +178,11 @@ public class TemplatesConfigurationReader {
             // If we reach this point, the configuration version and root node has been validated.
             // Unmarshal with schema checks for checking the correctness and give the user more hints to
             // correct his failures
-            SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
             TemplatesConfigurationVersion latestConfigurationVersion = TemplatesConfigurationVersion.getLatest();
-            try (
-                InputStream schemaStream = getClass()
-                    .getResourceAsStream("/schema/" + latestConfigurationVersion + "/templatesConfiguration.xsd");
-                InputStream configInputStream = Files.newInputStream(configFilePath)) {
+            try (InputStream configInputStream = Files.newInputStream(configFilePath)) {
 
-                Schema schema = schemaFactory.newSchema(new StreamSource(schemaStream));
+                Schema schema =
+                    JaxbUtil.getSchema("/schema/" + latestConfigurationVersion + "/templatesConfiguration.xsd");
                 unmarschaller.setSchema(schema);
                 rootNode = unmarschaller.unmarshal(configInputStream);
                 configNode = (TemplatesConfiguration) rootNode;
@@ -1,6 +1,9 @@
 package com.devonfw.cobigen.impl.config.resolver;
 
+import java.util.regex.Pattern;
+
 import com.devonfw.cobigen.impl.config.ContextConfiguration;
+import com.devonfw.cobigen.impl.config.entity.VariableExpression;
 import com.devonfw.cobigen.impl.config.entity.Variables;
 import com.devonfw.cobigen.impl.exceptions.UnknownContextVariableException;
 
@@ -10,6 +13,9 @@ import com.devonfw.cobigen.impl.exceptions.UnknownContextVariableException;
  */
 public class PathExpressionResolver {
 
+    /** Regex {@link Pattern} of empty path segments */
+    private static final Pattern PATTERN_EMPTY_PATH_SEGMENTS = Pattern.compile("/+");
+
     /**
      * Pointer to the {@link ContextConfiguration} which provides all values for the variables to be resolved
      */
@@ -42,8 +48,41 @@ public class PathExpressionResolver {
             return null;
         }
         String resolvedPath = variables.resolve(relativeUnresolvedPath, '/');
-        // Cleanup empty path segments
-        return resolvedPath.replaceAll("/+", "/");
+        return cleanupEmptyPathSegments(resolvedPath);
+    }
+
+    /**
+     * Evaluates a compiled variable expression, e.g. of a template's path. This should be preferred over
+     * {@link #evaluateExpressions(String)} for expressions evaluated repeatedly.
+     *
+     * @param relativeUnresolvedPath
+     *            compiled virtual target folder path to be resolved
+     * @return the given expression where all variable expressions are replaced by its values
+     * @throws UnknownContextVariableException
+     *             if a context variable could not be resolved
+     */
+    public String evaluateExpressions(VariableExpression relativeUnresolvedPath)
+        throws UnknownContextVariableException {
+
+        if (relativeUnresolvedPath == null) {
+            return null;
+        }
+        String resolvedPath = relativeUnresolvedPath.evaluate(variables, '/');
+        return cleanupEmptyPathSegments(resolvedPath);
+    }
+
+    /**
+     * Removes empty path segments
+     *
+     * @param path
+     *            the path to clean up
+     * @return the path without empty segments
+     */
+    private String cleanupEmptyPathSegments(String path) {
+        if (path.indexOf("//") < 0) {
+            return path;
+        }
+        return PATTERN_EMPTY_PATH_SEGMENTS.matcher(path).replaceAll("/");
     }
 
 }
@@ -11,15 +11,11 @@ import java.nio.file.StandardCopyOption;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import javax.xml.XMLConstants;
 import javax.xml.bind.JAXB;
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.UnmarshalException;
 import javax.xml.bind.Unmarshaller;
-import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -33,6 +29,7 @@ import com.devonfw.cobigen.api.exception.InvalidConfigurationException;
 import com.devonfw.cobigen.api.exception.NotYetSupportedException;
 import com.devonfw.cobigen.impl.exceptions.BackupFailedException;
 import com.devonfw.cobigen.impl.util.ExceptionUtil;
+import com.devonfw.cobigen.impl.util.JaxbUtil;
 
 /**
  * This class encompasses all logic for upgrading CobiGen configurations including
@@ -338,10 +335,8 @@ public abstract class AbstractConfigurationUpgrader<VERSIONS_TYPE extends Enum<?
      */
     private Object unmarshallConfiguration(Path configurationFile, VERSIONS_TYPE lv, Class<?> jaxbConfigurationClass)
         throws JAXBException, SAXException, IOException {
-        Unmarshaller unmarschaller = JAXBContext.newInstance(jaxbConfigurationClass).createUnmarshaller();
-        SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-        Schema schema = schemaFactory.newSchema(new StreamSource(
-            getClass().getResourceAsStream("/schema/" + lv.toString() + "/" + configurationXsdFilename)));
+        Unmarshaller unmarschaller = JaxbUtil.createUnmarshaller(jaxbConfigurationClass);
+        Schema schema = JaxbUtil.getSchema("/schema/" + lv.toString() + "/" + configurationXsdFilename);
         unmarschaller.setSchema(schema);
         Object rootNode;
         try (InputStream in = Files.newInputStream(configurationFile)) {
@@ -1,5 +1,6 @@
 package com.devonfw.cobigen.impl.extension;
 
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.Map;
 
@@ -71,4 +72,22 @@ public class TemplateEngineRegistry {
 
         return ProxyFactory.getProxy(templateEngine);
     }
+
+    /**
+     * Invalidates the information cached by all registered {@link TextTemplateEngine template engines} for the
+     * given template folder, e.g. after the templates have been changed.
+     * @param templateFolderPath
+     *            the root folder of the changed templates or {@code null} to invalidate all cached information
+     */
+    public static void invalidateCaches(Path templateFolderPath) {
+        synchronized (registeredEngines) {
+            for (TextTemplateEngine engine : registeredEngines.values()) {
+                try {
+                    engine.invalidateCache(templateFolderPath);
+                } catch (RuntimeException e) {
+                    LOG.warn("Could not invalidate the cache of template engine '{}'.", engine.getName(), e);
+                }
+            }
+        }
+    }
 }
@@ -5,6 +5,11 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.inject.Inject;
 
@@ -14,11 +19,15 @@ import com.devonfw.cobigen.api.InputInterpreter;
 import com.devonfw.cobigen.api.exception.CobiGenRuntimeException;
 import com.devonfw.cobigen.api.exception.InputReaderException;
 import com.devonfw.cobigen.api.exception.InvalidConfigurationException;
+import com.devonfw.cobigen.api.extension.GenerationEventListener;
 import com.devonfw.cobigen.api.extension.ModelBuilder;
+import com.devonfw.cobigen.api.to.CacheStatisticsTo;
 import com.devonfw.cobigen.api.to.GenerableArtifact;
+import com.devonfw.cobigen.api.to.GenerationOptionsTo;
 import com.devonfw.cobigen.api.to.GenerationReportTo;
 import com.devonfw.cobigen.api.to.IncrementTo;
 import com.devonfw.cobigen.api.to.TemplateTo;
+import com.devonfw.cobigen.impl.aop.BeanFactory;
 import com.devonfw.cobigen.impl.config.ConfigurationHolder;
 import com.devonfw.cobigen.impl.config.entity.Trigger;
 import com.devonfw.cobigen.impl.generator.api.InputResolver;
@@ -30,6 +39,23 @@ import com.google.common.collect.Lists;
  */
 public class CobiGenImpl implements CobiGen {
 
+    /**
+     * Executor of all asynchronous generations. Its threads are daemons, such that pending generations do not
+     * keep the JVM alive, and are reused for subsequent generations until idle for a minute.
+     */
+    private static final ExecutorService ASYNC_GENERATION_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+
+        /** Number of threads created so far */
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "cobigen-generation-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
     /** CobiGen Configuration Cache */
     @Inject
     private ConfigurationHolder configurationHolder;
@@ -49,6 +75,14 @@ public class CobiGenImpl implements CobiGen {
     @Inject
     private InputResolver inputResolver;
 
+    /** Options tuning the generation process */
+    @Inject
+    private GenerationOptionsTo generationOptions;
+
+    /** {@link BeanFactory} having created this instance, providing the statistics of all cached beans */
+    @Inject
+    private BeanFactory beanFactory;
+
     @Override
     public GenerationReportTo generate(Object input, List<? extends GenerableArtifact> generableArtifacts,
         Path targetRootPath) {
@@ -79,8 +113,83 @@ public class CobiGenImpl implements CobiGen {
         }
         Objects.requireNonNull(generableArtifacts, "List of Artifacts to be generated");
         Objects.requireNonNull(targetRootPath, "targetRootPath");
-        return new GenerationProcessorImpl(configurationHolder, inputResolver).generate(input, generableArtifacts,
-            targetRootPath, forceOverride, logicClasses, rawModel);
+        return new GenerationProcessorImpl(configurationHolder, inputResolver, generationOptions).generate(input,
+            generableArtifacts, targetRootPath, forceOverride, logicClasses, rawModel);
+    }
+
+    @Override
+    public GenerationReportTo generate(Map<?, ? extends List<? extends GenerableArtifact>> generableArtifactsByInput,
+        Path targetRootPath) {
+        return generate(generableArtifactsByInput, targetRootPath, false, null);
+    }
+
+    @Override
+    public GenerationReportTo generate(Map<?, ? extends List<? extends GenerableArtifact>> generableArtifactsByInput,
+        Path targetRootPath, boolean forceOverride, List<Class<?>> logicClasses) {
+        validateBatch(generableArtifactsByInput, targetRootPath);
+        return new GenerationProcessorImpl(configurationHolder, inputResolver, generationOptions)
+            .generate(generableArtifactsByInput, targetRootPath, forceOverride, logicClasses);
+    }
+
+    @Override
+    public CompletableFuture<GenerationReportTo> generateAsync(
+        Map<?, ? extends List<? extends GenerableArtifact>> generableArtifactsByInput, Path targetRootPath,
+        GenerationEventListener eventListener) {
+        return generateAsync(generableArtifactsByInput, targetRootPath, false, null, eventListener);
+    }
+
+    @Override
+    public CompletableFuture<GenerationReportTo> generateAsync(
+        final Map<?, ? extends List<? extends GenerableArtifact>> generableArtifactsByInput,
+        final Path targetRootPath, final boolean forceOverride, final List<Class<?>> logicClasses,
+        GenerationEventListener eventListener) {
+        validateBatch(generableArtifactsByInput, targetRootPath);
+        final GenerationProcessorImpl processor =
+            new GenerationProcessorImpl(configurationHolder, inputResolver, generationOptions);
+        processor.setEventListener(eventListener);
+
+        // cancelling the future cooperatively cancels the processing, which fails once committing has started
+        final CompletableFuture<GenerationReportTo> future = new CompletableFuture<GenerationReportTo>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                return processor.cancel() && super.cancel(mayInterruptIfRunning);
+            }
+        };
+        ASYNC_GENERATION_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    future.complete(
+                        processor.generate(generableArtifactsByInput, targetRootPath, forceOverride, logicClasses));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Validates the arguments of a generation of multiple inputs.
+     * @param generableArtifactsByInput
+     *            the {@link List} of artifacts to be generated mapped by the generator input object
+     * @param targetRootPath
+     *            target root path to generate to
+     */
+    private void validateBatch(Map<?, ? extends List<? extends GenerableArtifact>> generableArtifactsByInput,
+        Path targetRootPath) {
+        Objects.requireNonNull(generableArtifactsByInput, "Map of Artifacts to be generated by Input");
+        for (Map.Entry<?, ? extends List<? extends GenerableArtifact>> entry : generableArtifactsByInput
+            .entrySet()) {
+            Objects.requireNonNull(entry.getKey(), "Input");
+            Objects.requireNonNull(entry.getValue(), "List of Artifacts to be generated");
+            if (entry.getValue().contains(null)) {
+                throw new CobiGenRuntimeException(
+                    "A collection of artifacts to be generated has been passed containing null values. "
+                        + "Aborting generation, as this has probably not been intended.");
+            }
+        }
+        Objects.requireNonNull(targetRootPath, "targetRootPath");
     }
 
     @Override
@@ -106,7 +215,7 @@ public class CobiGenImpl implements CobiGen {
         Objects.requireNonNull(input, "Input");
         Objects.requireNonNull(generableArtifact, "Artifact to be generated");
         Objects.requireNonNull(targetRootPath, "targetRootPath");
-        return new GenerationProcessorImpl(configurationHolder, inputResolver).generate(input,
+        return new GenerationProcessorImpl(configurationHolder, inputResolver, generationOptions).generate(input,
             Lists.newArrayList(generableArtifact), targetRootPath, forceOverride, logicClasses, rawModel);
     }
 
@@ -129,6 +238,11 @@ public class CobiGenImpl implements CobiGen {
         return new ModelBuilderImpl(generatorInput, trigger);
     }
 
+    @Override
+    public CacheStatisticsTo getCacheStatistics() {
+        return beanFactory.getCacheStatistics();
+    }
+
     @Override
     public boolean combinesMultipleInputs(Object input) {
         return inputInterpreter.combinesMultipleInputs(input);
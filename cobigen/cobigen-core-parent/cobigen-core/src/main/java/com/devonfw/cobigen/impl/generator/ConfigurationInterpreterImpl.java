@@ -104,7 +104,7 @@ public class ConfigurationInterpreterImpl implements ConfigurationInterpreter {
         Template templateEty = configurationHolder.readTemplatesConfiguration(trigger).getTemplate(template.getId());
         try {
             String resolvedDestinationPath =
-                new PathExpressionResolver(variables).evaluateExpressions(templateEty.getUnresolvedTargetPath());
+                new PathExpressionResolver(variables).evaluateExpressions(templateEty.getTargetPathExpression());
             return targetRootPath.resolve(resolvedDestinationPath).normalize();
         } catch (UnknownContextVariableException e) {
             throw new CobiGenRuntimeException("Could not resolve path '" + templateEty.getUnresolvedTargetPath()
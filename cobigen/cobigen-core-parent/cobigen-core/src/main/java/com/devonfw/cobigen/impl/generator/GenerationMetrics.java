@@ -0,0 +1,158 @@
+package com.devonfw.cobigen.impl.generator;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.devonfw.cobigen.api.constants.GenerationPhase;
+import com.devonfw.cobigen.api.extension.GenerationListener;
+import com.devonfw.cobigen.api.to.GenerationReportTo;
+import com.devonfw.cobigen.api.to.PhaseMetricsTo;
+
+/**
+ * Measures the duration and the allocated heap memory of the {@link GenerationPhase}s of a single generation.
+ * Each measurement is added to the {@link GenerationReportTo} and propagated to the registered
+ * {@link GenerationListener}s. The allocated memory is measured per thread and thus just accurate if a phase
+ * is executed by a single thread from start to end.
+ */
+class GenerationMetrics {
+
+    /** Logger instance. */
+    private static final Logger LOG = LoggerFactory.getLogger(GenerationMetrics.class);
+
+    /** Bean to measure the allocated memory per thread */
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    /** States whether the JVM supports measuring the allocated memory per thread */
+    private static final boolean ALLOCATED_MEMORY_SUPPORTED = isAllocatedMemorySupported();
+
+    /** Report to add the measurements to */
+    private final GenerationReportTo report;
+
+    /** Listeners to be notified about each measurement */
+    private final List<GenerationListener> listeners;
+
+    /**
+     * Creates a new {@link GenerationMetrics} instance
+     * @param report
+     *            {@link GenerationReportTo} to add the measurements to
+     * @param listeners
+     *            {@link GenerationListener}s to be notified about each measurement
+     */
+    GenerationMetrics(GenerationReportTo report, List<GenerationListener> listeners) {
+        this.report = report;
+        this.listeners = listeners;
+    }
+
+    /**
+     * Determines whether the JVM supports measuring the allocated memory per thread. The
+     * {@code com.sun.management} extension is just referenced here and in {@link #getAllocatedBytes()} if
+     * supported, such that this class also works on JVMs not providing it.
+     * @return {@code true} if the allocated memory per thread can be measured, {@code false} otherwise
+     */
+    private static boolean isAllocatedMemorySupported() {
+        try {
+            if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+                return threadMXBean.isThreadAllocatedMemorySupported()
+                    && threadMXBean.isThreadAllocatedMemoryEnabled();
+            }
+        } catch (LinkageError | RuntimeException e) {
+            LOG.debug("Measuring the allocated memory per thread is not supported.", e);
+        }
+        return false;
+    }
+
+    /**
+     * Starts the measurement of a phase executed by the current thread.
+     * @return the started {@link Measurement}
+     */
+    Measurement start() {
+        return new Measurement(System.nanoTime(), getAllocatedBytes());
+    }
+
+    /**
+     * Finishes the given measurement of a phase executed by the current thread.
+     * @param phase
+     *            the executed {@link GenerationPhase}
+     * @param templateId
+     *            ID of the template the phase has been executed for or {@code null} if the phase does not
+     *            relate to a single template
+     * @param measurement
+     *            the {@link Measurement} {@link #start() started} before executing the phase
+     */
+    void record(GenerationPhase phase, String templateId, Measurement measurement) {
+        long durationNanos = System.nanoTime() - measurement.startNanos;
+        long allocatedBytes = -1;
+        if (measurement.startAllocatedBytes >= 0) {
+            allocatedBytes = getAllocatedBytes() - measurement.startAllocatedBytes;
+        }
+
+        report.addPhaseMetrics(phase, templateId, durationNanos, allocatedBytes);
+        for (GenerationListener listener : listeners) {
+            try {
+                listener.phaseExecuted(phase, templateId, durationNanos, allocatedBytes);
+            } catch (RuntimeException e) {
+                LOG.warn("Generation listener {} failed. Ignoring it.", listener, e);
+            }
+        }
+    }
+
+    /**
+     * Notifies the listeners about the finished generation.
+     */
+    void finished() {
+        if (LOG.isDebugEnabled()) {
+            for (Map.Entry<GenerationPhase, PhaseMetricsTo> entry : report.getPhaseMetrics().entrySet()) {
+                LOG.debug("Generation phase {}: {}", entry.getKey(), entry.getValue());
+            }
+        }
+        for (GenerationListener listener : listeners) {
+            try {
+                listener.generationFinished(report);
+            } catch (RuntimeException e) {
+                LOG.warn("Generation listener {} failed. Ignoring it.", listener, e);
+            }
+        }
+    }
+
+    /**
+     * Determines the bytes allocated by the current thread so far.
+     * @return the allocated bytes or {@code -1} if not supported
+     */
+    private static long getAllocatedBytes() {
+        if (!ALLOCATED_MEMORY_SUPPORTED) {
+            return -1;
+        }
+        return ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN)
+            .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Start values of a measurement.
+     */
+    static final class Measurement {
+
+        /** Value of {@link System#nanoTime()} at start */
+        private final long startNanos;
+
+        /** Bytes allocated by the thread at start or {@code -1} if not measured */
+        private final long startAllocatedBytes;
+
+        /**
+         * Creates a new {@link Measurement}
+         * @param startNanos
+         *            value of {@link System#nanoTime()} at start
+         * @param startAllocatedBytes
+         *            bytes allocated by the thread at start or {@code -1} if not measured
+         */
+        Measurement(long startNanos, long startAllocatedBytes) {
+            this.startNanos = startNanos;
+            this.startAllocatedBytes = startAllocatedBytes;
+        }
+    }
+}
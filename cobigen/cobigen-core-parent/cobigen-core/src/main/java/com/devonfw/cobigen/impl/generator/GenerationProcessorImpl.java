@@ -4,18 +4,21 @@ import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
-import java.nio.file.FileVisitResult;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.SimpleFileVisitor;
-import java.nio.file.StandardCopyOption;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Formatter;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Properties;
 import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
@@ -23,15 +26,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.devonfw.cobigen.api.constants.ConfigurationConstants;
+import com.devonfw.cobigen.api.constants.GenerationEventType;
+import com.devonfw.cobigen.api.constants.GenerationPhase;
 import com.devonfw.cobigen.api.exception.CobiGenRuntimeException;
 import com.devonfw.cobigen.api.exception.InvalidConfigurationException;
 import com.devonfw.cobigen.api.exception.MergeException;
 import com.devonfw.cobigen.api.exception.PluginNotAvailableException;
+import com.devonfw.cobigen.api.extension.GenerationEventListener;
 import com.devonfw.cobigen.api.extension.InputReader;
 import com.devonfw.cobigen.api.extension.Merger;
 import com.devonfw.cobigen.api.extension.TextTemplateEngine;
 import com.devonfw.cobigen.api.extension.TriggerInterpreter;
 import com.devonfw.cobigen.api.to.GenerableArtifact;
+import com.devonfw.cobigen.api.to.GenerationEventTo;
+import com.devonfw.cobigen.api.to.GenerationOptionsTo;
 import com.devonfw.cobigen.api.to.GenerationReportTo;
 import com.devonfw.cobigen.api.to.IncrementTo;
 import com.devonfw.cobigen.api.to.TemplateTo;
@@ -40,19 +48,32 @@ import com.devonfw.cobigen.impl.config.TemplatesConfiguration;
 import com.devonfw.cobigen.impl.config.entity.Template;
 import com.devonfw.cobigen.impl.config.entity.Trigger;
 import com.devonfw.cobigen.impl.config.entity.Variables;
+import com.devonfw.cobigen.impl.config.reader.CobiGenPropertiesReader;
 import com.devonfw.cobigen.impl.config.resolver.PathExpressionResolver;
 import com.devonfw.cobigen.impl.exceptions.PluginProcessingException;
 import com.devonfw.cobigen.impl.exceptions.UnknownTemplateException;
 import com.devonfw.cobigen.impl.extension.PluginRegistry;
 import com.devonfw.cobigen.impl.extension.TemplateEngineRegistry;
+import com.devonfw.cobigen.impl.generator.GenerationMetrics.Measurement;
 import com.devonfw.cobigen.impl.generator.api.GenerationProcessor;
 import com.devonfw.cobigen.impl.generator.api.InputResolver;
+import com.devonfw.cobigen.impl.generator.staging.StagedFile;
+import com.devonfw.cobigen.impl.generator.staging.StagingArea;
 import com.devonfw.cobigen.impl.model.ModelBuilderImpl;
+import com.devonfw.cobigen.impl.model.OverlayModel;
 import com.devonfw.cobigen.impl.validator.InputValidator;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
 /**
- * Generation processor. Caches calculations and thus should be newly created on each request.
+ * Generation processor. Caches calculations and thus should be newly created on each request. Depending on
+ * the {@link GenerationOptionsTo#getParallelism() parallelism}, the (template, input) pairs are processed by
+ * multiple worker threads, whereas all pairs targeting the same file are still written in a deterministic
+ * order. All contents are kept in a {@link StagingArea} as configured by the
+ * {@link GenerationOptionsTo#getStagingMode() staging mode} and just committed if the generation succeeded.
+ * The duration and allocated memory of each {@link GenerationPhase} is added to the generation report. The
+ * progress is reported to an optional {@link GenerationEventListener} and the generation can be
+ * {@link #cancel() cancelled} cooperatively until the staged contents are committed.
  */
 public class GenerationProcessorImpl implements GenerationProcessor {
 
@@ -65,20 +86,26 @@ public class GenerationProcessorImpl implements GenerationProcessor {
     /** States, whether existing contents should be overwritten by generation */
     private boolean forceOverride;
 
-    /** Input to process generation for */
-    private Object input;
-
     /** Singletons of the Java classes to be served by the model implementing template logic */
     private Map<String, Object> logicClassesModel;
 
     /** Externally provided model to be used for generation */
     private Map<String, Object> rawModel;
 
+    /** Models of the input objects shared by all templates generated for them. Trigger -> input -> model */
+    private Map<Trigger, Map<Object, InputModel>> inputModels;
+
+    /** Lazily loaded properties of the target's {@link ConfigurationConstants#COBIGEN_PROPERTIES} */
+    private Properties targetCobiGenProperties;
+
     /** Report to be returned after generation processing */
     private GenerationReportTo generationReport;
 
-    /** Temporary target root path to resolve dependent templates' destination path with */
-    private Path tmpTargetRootPath;
+    /** {@link GenerationMetrics} measuring the phases of the generation */
+    private GenerationMetrics metrics;
+
+    /** {@link StagingArea} keeping the generated contents until the generation succeeded */
+    private StagingArea stagingArea;
 
     /** Target root path to resolve dependent templates' destination path with */
     private Path targetRootPath;
@@ -86,6 +113,24 @@ public class GenerationProcessorImpl implements GenerationProcessor {
     /** {@link InputResolver} instance */
     private InputResolver inputResolver;
 
+    /** Options tuning the generation process */
+    private GenerationOptionsTo generationOptions;
+
+    /** {@link GenerationEventListener} to be notified about the progress of the generation or {@code null} */
+    private GenerationEventListener eventListener;
+
+    /** Number of (template, input object) pairs processed so far */
+    private final AtomicInteger finishedTemplates = new AtomicInteger();
+
+    /** Total number of (template, input object) pairs to be processed */
+    private int totalTemplates;
+
+    /** States, whether the generation has been cancelled */
+    private volatile boolean cancelled;
+
+    /** States, whether all templates have been processed, i.e. the generation cannot be cancelled anymore */
+    private boolean processingFinished;
+
     /**
      * Creates a new generation processor. This instance should be used once per generate call as of the
      * internal state cannot be reused.
@@ -95,8 +140,61 @@ public class GenerationProcessorImpl implements GenerationProcessor {
      *            {@link InputResolver} instance
      */
     public GenerationProcessorImpl(ConfigurationHolder configurationHolder, InputResolver inputResolver) {
+        this(configurationHolder, inputResolver, new GenerationOptionsTo());
+    }
+
+    /**
+     * Creates a new generation processor. This instance should be used once per generate call as of the
+     * internal state cannot be reused.
+     * @param configurationHolder
+     *            {@link ConfigurationHolder} instance
+     * @param inputResolver
+     *            {@link InputResolver} instance
+     * @param generationOptions
+     *            options tuning the generation process
+     */
+    public GenerationProcessorImpl(ConfigurationHolder configurationHolder, InputResolver inputResolver,
+        GenerationOptionsTo generationOptions) {
         this.configurationHolder = configurationHolder;
         this.inputResolver = inputResolver;
+        this.generationOptions = generationOptions;
+    }
+
+    /**
+     * Sets the {@link GenerationEventListener} to be notified about the progress of the generation.
+     * @param eventListener
+     *            {@link GenerationEventListener} to be notified or {@code null}
+     */
+    public void setEventListener(GenerationEventListener eventListener) {
+        this.eventListener = eventListener;
+    }
+
+    /**
+     * Cancels the generation. The processing of the templates stops as soon as possible and all staged
+     * contents are discarded without touching any target file. Once all templates have been processed, the
+     * generation cannot be cancelled anymore.
+     * @return {@code true} if the generation has been cancelled, {@code false} if it is already committing or
+     *         has been finished
+     */
+    public synchronized boolean cancel() {
+        if (processingFinished) {
+            return false;
+        }
+        cancelled = true;
+        return true;
+    }
+
+    /**
+     * Marks the processing of all templates as finished, so that the generation cannot be cancelled anymore.
+     * @return {@code true} if the processing has been finished, {@code false} if the generation has been
+     *         cancelled before
+     */
+    private synchronized boolean finishProcessing() {
+        if (cancelled) {
+            return false;
+        }
+        processingFinished = true;
+        return true;
     }
 
     /**
@@ -126,88 +224,249 @@ public class GenerationProcessorImpl implements GenerationProcessor {
     public GenerationReportTo generate(Object input, List<? extends GenerableArtifact> generableArtifacts,
         Path targetRootPath, boolean forceOverride, List<Class<?>> logicClasses, Map<String, Object> rawModel) {
         InputValidator.validateInputsUnequalNull(input, generableArtifacts);
+        return generate(Collections.singletonMap(input, generableArtifacts), targetRootPath, forceOverride,
+            logicClasses, rawModel);
+    }
+
+    @Override
+    public GenerationReportTo generate(Map<?, ? extends List<? extends GenerableArtifact>> generableArtifactsByInput,
+        Path targetRootPath, boolean forceOverride, List<Class<?>> logicClasses) {
+        for (Entry<?, ? extends List<? extends GenerableArtifact>> entry : generableArtifactsByInput.entrySet()) {
+            InputValidator.validateInputsUnequalNull(entry.getKey(), entry.getValue());
+        }
+        return generate(generableArtifactsByInput, targetRootPath, forceOverride, logicClasses, null);
+    }
+
+    /**
+     * Generates code for all given inputs by processing the {@link GenerableArtifact}s mapped to each input.
+     * All (template, input) pairs are processed together and their contents are committed once.
+     * @param generableArtifactsByInput
+     *            the {@link List} of artifacts to be generated mapped by the generator input object
+     * @param targetRootPath
+     *            target root path to generate to (to be used to resolve the dependent template destination
+     *            paths)
+     * @param forceOverride
+     *            if <code>true</code> and the destination path is already existent, the contents will be
+     *            overwritten by the generated ones iff there is no merge strategy defined by the templates
+     *            configuration.
+     * @param logicClasses
+     *            a {@link List} of java class files, which will be included as accessible beans in the
+     *            template model or {@code null}
+     * @param rawModel
+     *            externally adapted model to be used for generation or {@code null}
+     * @return the {@link GenerationReportTo GenerationReport} of all inputs
+     * @throws CancellationException
+     *             if the generation has been {@link #cancel() cancelled}
+     */
+    private GenerationReportTo generate(Map<?, ? extends List<? extends GenerableArtifact>> generableArtifactsByInput,
+        Path targetRootPath, boolean forceOverride, List<Class<?>> logicClasses, Map<String, Object> rawModel) {
 
         // initialize
         this.forceOverride = forceOverride;
-        this.input = input;
         if (logicClasses != null) {
             loadLogicClasses(logicClasses);
         }
         this.rawModel = rawModel;
-        try {
-            tmpTargetRootPath = Files.createTempDirectory("cobigen-");
-            LOG.info("Temporary working directory: {}", tmpTargetRootPath);
-        } catch (IOException e) {
-            throw new CobiGenRuntimeException("Could not create temporary folder.", e);
-        }
+        inputModels = Maps.newHashMap();
+        stagingArea = StagingArea.create(generationOptions);
         this.targetRootPath = targetRootPath;
         generationReport = new GenerationReportTo();
+        metrics = new GenerationMetrics(generationReport, generationOptions.getListeners());
+
+        try {
+            // resolve the (template, input) pairs to be processed
+            List<GenerationUnit> generationUnits = Lists.newArrayList();
+            for (Entry<?, ? extends List<? extends GenerableArtifact>> entry : generableArtifactsByInput.entrySet()) {
+                Object input = entry.getKey();
+                Collection<TemplateTo> templatesToBeGenerated = flatten(entry.getValue());
+                for (TemplateTo template : templatesToBeGenerated) {
+                    if (cancelled) {
+                        break;
+                    }
+                    try {
+                        Trigger trigger =
+                            configurationHolder.readContextConfiguration().getTrigger(template.getTriggerId());
+                        TriggerInterpreter triggerInterpreter = PluginRegistry.getTriggerInterpreter(trigger.getType());
+                        InputValidator.validateTriggerInterpreter(triggerInterpreter, trigger);
+                        generationUnits.addAll(collectGenerationUnits(input, template, triggerInterpreter));
+                    } catch (Throwable e) {
+                        reportError(e);
+                    }
+                }
+            }
 
-        Collection<TemplateTo> templatesToBeGenerated = flatten(generableArtifacts);
+            totalTemplates = generationUnits.size();
 
-        // generate
-        Map<File, File> tmpToOrigFileTrace = Maps.newHashMap();
-        for (TemplateTo template : templatesToBeGenerated) {
+            // generate
+            ExecutorService executor = null;
+            if (generationOptions.getParallelism() > 1 && generationUnits.size() > 1) {
+                executor = Executors.newFixedThreadPool(generationOptions.getParallelism());
+                LOG.info("Processing {} templates with {} worker threads", generationUnits.size(),
+                    generationOptions.getParallelism());
+            }
             try {
-                Trigger trigger = configurationHolder.readContextConfiguration().getTrigger(template.getTriggerId());
-                TriggerInterpreter triggerInterpreter = PluginRegistry.getTriggerInterpreter(trigger.getType());
-                InputValidator.validateTriggerInterpreter(triggerInterpreter, trigger);
-                tmpToOrigFileTrace.putAll(generate(template, triggerInterpreter));
-            } catch (CobiGenRuntimeException e) {
-                generationReport.setTemporaryWorkingDirectory(tmpTargetRootPath);
-                generationReport.addError(e);
-                LOG.error("An internal error occurred during generation.", e);
-            } catch (Throwable e) {
-                generationReport.setTemporaryWorkingDirectory(tmpTargetRootPath);
-                generationReport.addError(new CobiGenRuntimeException(
-                    "Something unexpected happened" + ((e.getMessage() != null) ? ": " + e.getMessage() : "!"), e));
-                LOG.error("An unknown exception occurred during generation.", e);
+                processTemplates(generationUnits, executor);
+                writeFiles(generationUnits, executor);
+            } finally {
+                if (executor != null) {
+                    executor.shutdownNow();
+                }
+            }
+            if (!finishProcessing()) {
+                stagingArea.discard();
+                fireEvent(GenerationEventType.GENERATION_CANCELLED, null, -1);
+                LOG.info("Generation has been cancelled. No target file has been touched.");
+                throw new CancellationException("Generation has been cancelled.");
+            }
+            // report in the order of processing to keep the report independent of thread scheduling
+            for (GenerationUnit unit : generationUnits) {
+                if (unit.error != null) {
+                    reportError(unit.error);
+                }
             }
-        }
 
-        if (generationReport.isSuccessful()) {
-            try {
-                for (Entry<File, File> tmpToOrigFile : tmpToOrigFileTrace.entrySet()) {
-                    Files.createDirectories(tmpToOrigFile.getValue().toPath().getParent());
-                    Files.copy(tmpToOrigFile.getKey().toPath(), tmpToOrigFile.getValue().toPath(),
-                        StandardCopyOption.REPLACE_EXISTING);
-                    generationReport.addGeneratedFile(tmpToOrigFile.getValue().toPath());
+            if (generationReport.isSuccessful()) {
+                try {
+                    Measurement measurement = metrics.start();
+                    stagingArea.commit(generationReport);
+                    metrics.record(GenerationPhase.COMMIT, null, measurement);
+                } catch (IOException e) {
+                    generationReport.setTemporaryWorkingDirectory(stagingArea.retain());
+                    throw new CobiGenRuntimeException("Could not copy generated files to target location!", e);
                 }
-                deleteTemporaryFiles();
-            } catch (IOException e) {
-                generationReport.setTemporaryWorkingDirectory(tmpTargetRootPath);
-                throw new CobiGenRuntimeException("Could not copy generated files to target location!", e);
+            } else {
+                Path workingDirectory = stagingArea.retain();
+                generationReport.setTemporaryWorkingDirectory(workingDirectory);
+                LOG.warn("Generation finished non-successful. Generated contents can be reviewed in "
+                    + workingDirectory.toUri());
             }
-        } else {
-            generationReport.setTemporaryWorkingDirectory(tmpTargetRootPath);
-            LOG.warn("Generation finished non-successful. Generated contents can be reviewed in "
-                + tmpTargetRootPath.toUri());
+
+            return generationReport;
+        } finally {
+            // also notify about cancelled or failed generations
+            metrics.finished();
         }
+    }
 
-        return generationReport;
+    /**
+     * Adds the given error to the {@link #generationReport}.
+     * @param e
+     *            error occurred during generation
+     */
+    private void reportError(Throwable e) {
+        if (e instanceof CobiGenRuntimeException) {
+            generationReport.addError(e);
+            LOG.error("An internal error occurred during generation.", e);
+        } else {
+            generationReport.addError(new CobiGenRuntimeException(
+                "Something unexpected happened" + ((e.getMessage() != null) ? ": " + e.getMessage() : "!"), e));
+            LOG.error("An unknown exception occurred during generation.", e);
+        }
     }
 
     /**
-     * Delete the temporary files in {@link #tmpTargetRootPath}.
+     * Executes the given tasks either sequentially in the calling thread or by the given executor. In both
+     * cases, this method returns after all tasks have been finished.
+     * @param tasks
+     *            to be executed. The tasks are expected to not throw any exception.
+     * @param executor
+     *            {@link ExecutorService} to execute the tasks with or {@code null} to execute them
+     *            sequentially
      */
-    private void deleteTemporaryFiles() {
+    private void execute(List<Runnable> tasks, ExecutorService executor) {
+        if (executor == null) {
+            for (Runnable task : tasks) {
+                task.run();
+            }
+            return;
+        }
+
+        List<Future<?>> futures = Lists.newArrayListWithCapacity(tasks.size());
+        for (Runnable task : tasks) {
+            futures.add(executor.submit(task));
+        }
         try {
-            Files.walkFileTree(tmpTargetRootPath, new SimpleFileVisitor<Path>() {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CobiGenRuntimeException("Generation has been interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new CobiGenRuntimeException("Something unexpected happened during generation.", e.getCause());
+        }
+    }
+
+    /**
+     * Processes the templates of all given {@link GenerationUnit}s. Each template is processed with the
+     * template folder of its unit, such that units of different template folders as well as concurrent
+     * generations do not interfere.
+     * @param generationUnits
+     *            {@link GenerationUnit}s to be processed
+     * @param executor
+     *            {@link ExecutorService} to process the templates with or {@code null} to process them
+     *            sequentially
+     */
+    private void processTemplates(List<GenerationUnit> generationUnits, ExecutorService executor) {
+
+        List<Runnable> tasks = Lists.newArrayList();
+        for (final GenerationUnit unit : generationUnits) {
+            tasks.add(new Runnable() {
                 @Override
-                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                    Files.delete(file);
-                    return FileVisitResult.CONTINUE;
+                public void run() {
+                    processTemplate(unit);
                 }
+            });
+        }
+        execute(tasks, executor);
+    }
+
+    /**
+     * Writes the processed contents of all given {@link GenerationUnit}s to the {@link #stagingArea}.
+     * Different target files are written concurrently if an executor is given, whereas all units targeting
+     * the same file are applied sequentially in their original order to assure deterministic results.
+     * @param generationUnits
+     *            processed {@link GenerationUnit}s
+     * @param executor
+     *            {@link ExecutorService} to write the files with or {@code null} to write them sequentially
+     */
+    private void writeFiles(List<GenerationUnit> generationUnits, ExecutorService executor) {
+
+        Map<StagedFile, List<GenerationUnit>> unitsByTargetFile = Maps.newLinkedHashMap();
+        for (GenerationUnit unit : generationUnits) {
+            if (unit.stagingPath == null) {
+                // target path could not be resolved
+                continue;
+            }
+            // stage the file to later on commit the generated resources to its target destinations
+            unit.stagedFile = stagingArea.getStagedFile(unit.stagingPath, unit.originalFile);
+            if (!unitsByTargetFile.containsKey(unit.stagedFile)) {
+                unitsByTargetFile.put(unit.stagedFile, Lists.<GenerationUnit> newArrayList());
+            }
+            unitsByTargetFile.get(unit.stagedFile).add(unit);
+        }
 
+        List<Runnable> tasks = Lists.newArrayList();
+        for (final List<GenerationUnit> unitsOfTargetFile : unitsByTargetFile.values()) {
+            tasks.add(new Runnable() {
                 @Override
-                public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
-                    Files.delete(dir);
-                    return FileVisitResult.CONTINUE;
+                public void run() {
+                    for (GenerationUnit unit : unitsOfTargetFile) {
+                        if (cancelled) {
+                            return;
+                        }
+                        if (unit.error == null) {
+                            try {
+                                writeFile(unit);
+                            } catch (Throwable e) {
+                                unit.error = e;
+                            }
+                        }
+                    }
                 }
             });
-        } catch (IOException e) {
-            LOG.warn("Temporary files could not be deleted in path " + tmpTargetRootPath, e);
         }
+        execute(tasks, executor);
     }
 
     /**
@@ -260,19 +519,21 @@ public class GenerationProcessorImpl implements GenerationProcessor {
     }
 
     /**
-     * Generates code for the given input with the given template and the given {@link TriggerInterpreter} to
-     * the destination specified by the templates configuration.
+     * Collects the {@link GenerationUnit}s to be processed for the given template and the given
+     * {@link TriggerInterpreter}, i.e. one unit for each input object resolved from the input.
      *
+     * @param input
+     *            generator input object
      * @param template
      *            to be processed for generation
      * @param triggerInterpreter
      *            {@link TriggerInterpreter} to be used for reading the input and creating the model
      * @throws InvalidConfigurationException
      *             if the inputs do not fit to the configuration or there are some configuration failures
-     * @return the mapping of temporary generated files to their original target destination to eventually
-     *         finalizing the generation process
+     * @return the {@link GenerationUnit}s to be processed
      */
-    private Map<File, File> generate(TemplateTo template, TriggerInterpreter triggerInterpreter) {
+    private List<GenerationUnit> collectGenerationUnits(Object input, TemplateTo template,
+        TriggerInterpreter triggerInterpreter) {
 
         Trigger trigger = configurationHolder.readContextConfiguration().getTrigger(template.getTriggerId());
 
@@ -282,109 +543,226 @@ public class GenerationProcessorImpl implements GenerationProcessor {
                 + inputReader.getClass() + " (derived from trigger '" + trigger.getId() + "')");
         }
 
+        Measurement measurement = metrics.start();
         List<Object> inputObjects = inputResolver.resolveContainerElements(input, trigger);
+        metrics.record(GenerationPhase.INPUT_READING, template.getId(), measurement);
         TemplatesConfiguration tConfig = configurationHolder.readTemplatesConfiguration(trigger);
         String templateEngineName = tConfig.getTemplateEngine();
         TextTemplateEngine templateEngine = TemplateEngineRegistry.getEngine(templateEngineName);
-
-        templateEngine.setTemplateFolder(
-            configurationHolder.readContextConfiguration().getConfigurationPath().resolve(trigger.getTemplateFolder()));
+        Path templateFolder =
+            configurationHolder.readContextConfiguration().getConfigurationPath().resolve(trigger.getTemplateFolder());
 
         Template templateEty = tConfig.getTemplate(template.getId());
         if (templateEty == null) {
             throw new UnknownTemplateException(template.getId());
         }
 
-        Map<File, File> tmpToOrigFileTrace = Maps.newHashMap();
-        for (Object generatorInput : inputObjects) {
+        // share the model of an input object by all templates generated for it
+        Map<Object, InputModel> inputModelsOfTrigger = inputModels.get(trigger);
+        if (inputModelsOfTrigger == null) {
+            inputModelsOfTrigger = Maps.newIdentityHashMap();
+            inputModels.put(trigger, inputModelsOfTrigger);
+        }
 
-            Map<String, Object> model = buildModel(triggerInterpreter, trigger, generatorInput, templateEty);
+        List<GenerationUnit> generationUnits = Lists.newArrayListWithCapacity(inputObjects.size());
+        for (Object generatorInput : inputObjects) {
+            InputModel inputModel = inputModelsOfTrigger.get(generatorInput);
+            if (inputModel == null) {
+                inputModel =
+                    new InputModel(new ModelBuilderImpl(generatorInput, trigger), triggerInterpreter, rawModel);
+                inputModelsOfTrigger.put(generatorInput, inputModel);
+            }
+            generationUnits.add(new GenerationUnit(template, templateEty, trigger, triggerInterpreter, templateEngine,
+                templateFolder, generatorInput, inputModel));
+        }
+        return generationUnits;
+    }
 
-            String targetCharset = templateEty.getTargetCharset();
+    /**
+     * Builds the model of the given {@link GenerationUnit}, resolves its destination paths and processes its
+     * template. Does not throw any exception but stores it in the {@link GenerationUnit}.
+     * @param unit
+     *            {@link GenerationUnit} to be processed
+     */
+    private void processTemplate(GenerationUnit unit) {
+        if (cancelled) {
+            return;
+        }
+        fireEvent(GenerationEventType.TEMPLATE_STARTED, unit, -1);
+        try {
+            Template templateEty = unit.templateEty;
+            Measurement measurement = metrics.start();
+            Map<String, Object> model = buildModel(unit.inputModel, templateEty);
+            metrics.record(GenerationPhase.MODEL_BUILDING, unit.template.getId(), measurement);
 
-            // resolve temporary file paths
+            // resolve target and staging paths
             @SuppressWarnings("unchecked")
             PathExpressionResolver pathExpressionResolver = new PathExpressionResolver(
                 Variables.fromMap((Map<String, String>) model.get(ModelBuilderImpl.NS_VARIABLES)));
-            String resolvedTargetDestinationPath =
-                pathExpressionResolver.evaluateExpressions(templateEty.getUnresolvedTargetPath());
+            unit.resolvedTargetDestinationPath =
+                pathExpressionResolver.evaluateExpressions(templateEty.getTargetPathExpression());
             String resolvedTmpDestinationPath =
-                pathExpressionResolver.evaluateExpressions(templateEty.getUnresolvedTemplatePath());
+                pathExpressionResolver.evaluateExpressions(templateEty.getTemplatePathExpression());
 
-            File originalFile = targetRootPath.resolve(resolvedTargetDestinationPath).toFile();
-            File tmpOriginalFile = tmpTargetRootPath.resolve(resolvedTmpDestinationPath).toFile();
-            // remember mapping to later on copy the generated resources to its target destinations
-            tmpToOrigFileTrace.put(tmpOriginalFile, originalFile);
+            unit.originalFile = targetRootPath.resolve(unit.resolvedTargetDestinationPath).toFile();
+            unit.stagingPath = resolvedTmpDestinationPath;
 
-            if (originalFile.exists() || tmpOriginalFile.exists()) {
-                if (!tmpOriginalFile.exists()) {
-                    try {
-                        FileUtils.copyFile(originalFile, tmpOriginalFile);
-                    } catch (IOException e) {
-                        throw new CobiGenRuntimeException("Could not copy file " + originalFile.getPath()
-                            + " to tmp generation directory! Generation skipped.", e);
-                    }
-                }
+            // existing files will neither be overridden nor merged
+            if (unit.originalFile.exists() && !isOverride(unit) && templateEty.getMergeStrategy() == null) {
+                return;
+            }
 
-                if ((forceOverride || template.isForceOverride()) && templateEty.getMergeStrategy() == null
-                    || ConfigurationConstants.MERGE_STRATEGY_OVERRIDE.equals(templateEty.getMergeStrategy())) {
-                    if (LOG.isInfoEnabled()) {
-                        try (Formatter formatter = new Formatter()) {
-                            formatter.format("Overriding %1$-40s FROM %2$-50s TO %3$s ...", originalFile.getName(),
-                                templateEty.getName(), resolvedTargetDestinationPath);
-                            LOG.info(formatter.out().toString());
-                        }
-                    }
-                    generateTemplateAndWriteFile(tmpOriginalFile, templateEty, templateEngine, model, targetCharset);
-                } else if (templateEty.getMergeStrategy() != null) {
-                    if (LOG.isInfoEnabled()) {
-                        try (Formatter formatter = new Formatter()) {
-                            formatter.format("Merging    %1$-40s FROM %2$-50s TO %3$s ...", originalFile.getName(),
-                                templateEty.getName(), resolvedTargetDestinationPath);
-                            LOG.info(formatter.out().toString());
-                        }
-                    }
-                    String patch = null;
-                    try (Writer out = new StringWriter()) {
-                        templateEngine.process(templateEty, model, out, targetCharset);
-                        patch = out.toString();
-                        String mergeResult = null;
-                        Merger merger = PluginRegistry.getMerger(templateEty.getMergeStrategy());
-                        if (merger != null) {
-                            mergeResult = merger.merge(tmpOriginalFile, patch, targetCharset);
-                        } else {
-                            throw new PluginNotAvailableException(
-                                "merge strategy '" + templateEty.getMergeStrategy() + "'", null);
-                        }
+            try (Writer out = new StringWriter()) {
+                measurement = metrics.start();
+                unit.templateEngine.process(unit.templateFolder, templateEty, model, out,
+                    templateEty.getTargetCharset());
+                unit.content = out.toString();
+                metrics.record(GenerationPhase.TEMPLATE_PROCESSING, unit.template.getId(), measurement);
+            } catch (Throwable e) {
+                // just report if the contents will be written at all
+                unit.processingError = e;
+            }
+        } catch (Throwable e) {
+            unit.error = e;
+        } finally {
+            finishedTemplates.incrementAndGet();
+            fireEvent(GenerationEventType.TEMPLATE_FINISHED, unit, -1);
+        }
+    }
 
-                        if (mergeResult != null) {
-                            LOG.debug("Merge {} with char set {}.", tmpOriginalFile.getName(), targetCharset);
-                            FileUtils.writeStringToFile(tmpOriginalFile, mergeResult, targetCharset);
-                        } else {
-                            throw new PluginProcessingException(
-                                "Merger " + merger.getType() + " returned null on merge(...), which is not allowed.");
-                        }
-                    } catch (MergeException e) {
-                        writeBrokenPatchFile(targetCharset, tmpOriginalFile, patch);
-                        // enrich merge exception to provide template ID
-                        throw new MergeException(e, templateEty.getAbsoluteTemplatePath());
-                    } catch (IOException e) {
-                        throw new CobiGenRuntimeException(
-                            "Could not write file " + tmpOriginalFile.toPath() + " after merge.", e);
+    /**
+     * Notifies the {@link #eventListener} about an event of the given {@link GenerationUnit}. Exceptions
+     * thrown by the listener will be logged and ignored.
+     * @param type
+     *            {@link GenerationEventType} of the event
+     * @param unit
+     *            {@link GenerationUnit} the event relates to or {@code null}
+     * @param bytes
+     *            number of bytes written or {@code -1} if nothing has been written
+     */
+    private void fireEvent(GenerationEventType type, GenerationUnit unit, long bytes) {
+        if (eventListener == null) {
+            return;
+        }
+        GenerationEventTo event = new GenerationEventTo(type, unit == null ? null : unit.template.getId(),
+            unit == null || unit.originalFile == null ? null : unit.originalFile.toPath(), bytes,
+            finishedTemplates.get(), totalTemplates);
+        try {
+            eventListener.eventOccurred(event);
+        } catch (RuntimeException e) {
+            LOG.warn("Generation event listener {} failed. Ignoring it.", eventListener, e);
+        }
+    }
+
+    /**
+     * Writes the processed contents of the given {@link GenerationUnit} to its {@link StagedFile} by either
+     * creating, overriding, or merging it.
+     * @param unit
+     *            processed {@link GenerationUnit}
+     * @throws Throwable
+     *             if the unit's template could not be processed or the result could not be written
+     */
+    private void writeFile(GenerationUnit unit) throws Throwable {
+
+        Template templateEty = unit.templateEty;
+        String targetCharset = templateEty.getTargetCharset();
+        File originalFile = unit.originalFile;
+        StagedFile stagedFile = unit.stagedFile;
+        String resolvedTargetDestinationPath = unit.resolvedTargetDestinationPath;
+
+        if (stagedFile.exists()) {
+            boolean override = isOverride(unit) && templateEty.getMergeStrategy() == null
+                || ConfigurationConstants.MERGE_STRATEGY_OVERRIDE.equals(templateEty.getMergeStrategy());
+            if (!override && templateEty.getMergeStrategy() == null) {
+                // existing contents will neither be overridden nor merged, thus do not stage them at all
+                return;
+            }
+
+            try {
+                Measurement measurement = metrics.start();
+                stagedFile.prepareUpdate();
+                metrics.record(GenerationPhase.WRITING, unit.template.getId(), measurement);
+            } catch (IOException e) {
+                throw new CobiGenRuntimeException("Could not copy file " + originalFile.getPath()
+                    + " to tmp generation directory! Generation skipped.", e);
+            }
+
+            if (override) {
+                if (LOG.isInfoEnabled()) {
+                    try (Formatter formatter = new Formatter()) {
+                        formatter.format("Overriding %1$-40s FROM %2$-50s TO %3$s ...", originalFile.getName(),
+                            templateEty.getName(), resolvedTargetDestinationPath);
+                        LOG.info(formatter.out().toString());
                     }
                 }
+                writeFile(stagedFile, unit, targetCharset);
             } else {
                 if (LOG.isInfoEnabled()) {
                     try (Formatter formatter = new Formatter()) {
-                        formatter.format("Generating %1$-40s FROM %2$-50s TO %3$s ...", originalFile.getName(),
+                        formatter.format("Merging    %1$-40s FROM %2$-50s TO %3$s ...", originalFile.getName(),
                             templateEty.getName(), resolvedTargetDestinationPath);
                         LOG.info(formatter.out().toString());
                     }
                 }
-                generateTemplateAndWriteFile(tmpOriginalFile, templateEty, templateEngine, model, targetCharset);
+                if (unit.processingError != null) {
+                    throw unit.processingError;
+                }
+                String patch = unit.content;
+                try {
+                    String mergeResult = null;
+                    Merger merger = PluginRegistry.getMerger(templateEty.getMergeStrategy());
+                    if (merger != null) {
+                        Measurement measurement = metrics.start();
+                        mergeResult = merger.merge(stagedFile.getMergeBase(), patch, targetCharset);
+                        metrics.record(GenerationPhase.MERGING, unit.template.getId(), measurement);
+                    } else {
+                        throw new PluginNotAvailableException(
+                            "merge strategy '" + templateEty.getMergeStrategy() + "'", null);
+                    }
+
+                    if (mergeResult != null) {
+                        LOG.debug("Merge {} with char set {}.", originalFile.getName(), targetCharset);
+                        Measurement measurement = metrics.start();
+                        stagedFile.write(mergeResult, targetCharset);
+                        metrics.record(GenerationPhase.WRITING, unit.template.getId(), measurement);
+                        if (eventListener != null) {
+                            long bytes = mergeResult.getBytes(targetCharset).length;
+                            fireEvent(GenerationEventType.FILE_MERGED, unit, -1);
+                            fireEvent(GenerationEventType.FILE_WRITTEN, unit, bytes);
+                        }
+                    } else {
+                        throw new PluginProcessingException(
+                            "Merger " + merger.getType() + " returned null on merge(...), which is not allowed.");
+                    }
+                } catch (MergeException e) {
+                    writeBrokenPatchFile(targetCharset, stagedFile.getReviewFile(), patch);
+                    // enrich merge exception to provide template ID
+                    throw new MergeException(e, templateEty.getAbsoluteTemplatePath());
+                } catch (IOException e) {
+                    throw new CobiGenRuntimeException(
+                        "Could not write file " + originalFile.toPath() + " after merge.", e);
+                }
             }
+        } else {
+            if (LOG.isInfoEnabled()) {
+                try (Formatter formatter = new Formatter()) {
+                    formatter.format("Generating %1$-40s FROM %2$-50s TO %3$s ...", originalFile.getName(),
+                        templateEty.getName(), resolvedTargetDestinationPath);
+                    LOG.info(formatter.out().toString());
+                }
+            }
+            writeFile(stagedFile, unit, targetCharset);
         }
-        return tmpToOrigFileTrace;
+    }
+
+    /**
+     * Checks whether the given {@link GenerationUnit} should override existing contents.
+     * @param unit
+     *            {@link GenerationUnit} to check
+     * @return {@code true} if overriding has been forced either globally or by the template
+     */
+    private boolean isOverride(GenerationUnit unit) {
+        return forceOverride || unit.template.isForceOverride();
     }
 
     /**
@@ -423,31 +801,31 @@ public class GenerationProcessorImpl implements GenerationProcessor {
     }
 
     /**
-     * Builds the model for he given input.
-     * @param triggerInterpreter
-     *            {@link TriggerInterpreter} to be used
-     * @param trigger
-     *            activated {@link Trigger}
-     * @param generatorInput
-     *            input for generation to retrieve information from.
+     * Builds the model of the given template for the given input. The model just overlays the shared model of
+     * the input object, the variables of the template, and the logic classes instead of copying them.
+     * @param inputModel
+     *            shared {@link InputModel} of the input for generation
      * @param template
      *            the internal {@link Template} representation
      * @return the object model for generation.
      */
-    private Map<String, Object> buildModel(TriggerInterpreter triggerInterpreter, Trigger trigger,
-        Object generatorInput, Template template) {
-        ModelBuilderImpl modelBuilderImpl = new ModelBuilderImpl(generatorInput, trigger);
-        Map<String, Object> model;
-        if (rawModel != null) {
-            model = rawModel;
-        } else {
-            model = modelBuilderImpl.createModel(triggerInterpreter);
-        }
-        modelBuilderImpl.enrichByContextVariables(model, triggerInterpreter, template, targetRootPath);
-        if (logicClassesModel != null) {
-            model.putAll(logicClassesModel);
+    private Map<String, Object> buildModel(InputModel inputModel, Template template) {
+        Map<String, String> variables = ModelBuilderImpl.mergeVariables(inputModel.getContextVariables(), template,
+            getTargetCobiGenProperties());
+        return new OverlayModel(inputModel.getModel(),
+            Collections.<String, Object> singletonMap(ModelBuilderImpl.NS_VARIABLES, variables), logicClassesModel);
+    }
+
+    /**
+     * Returns the properties of the target's {@link ConfigurationConstants#COBIGEN_PROPERTIES}, which are just
+     * loaded once per generation.
+     * @return the target's properties
+     */
+    private synchronized Properties getTargetCobiGenProperties() {
+        if (targetCobiGenProperties == null) {
+            targetCobiGenProperties = CobiGenPropertiesReader.load(targetRootPath);
         }
-        return model;
+        return targetCobiGenProperties;
     }
 
     // /**
@@ -501,29 +879,182 @@ public class GenerationProcessorImpl implements GenerationProcessor {
     // }
 
     /**
-     * Generates the given template contents using the given model and writes the contents into the given
-     * {@link File}
+     * Writes the processed template contents of the given {@link GenerationUnit} into the given
+     * {@link StagedFile}
      *
      * @param output
-     *            {@link File} to be written
-     * @param template
-     *            FreeMarker template which will generate the contents
-     * @param templateEngine
-     *            template engine to be used
-     * @param model
-     *            to generate with
+     *            {@link StagedFile} to be written
+     * @param unit
+     *            processed {@link GenerationUnit} providing the contents
      * @param outputCharset
      *            charset the target file should be written with
+     * @throws Throwable
+     *             if the unit's template could not be processed
      */
-    private void generateTemplateAndWriteFile(File output, Template template, TextTemplateEngine templateEngine,
-        Map<String, Object> model, String outputCharset) {
+    private void writeFile(StagedFile output, GenerationUnit unit, String outputCharset) throws Throwable {
 
-        try (Writer out = new StringWriter()) {
-            templateEngine.process(template, model, out, outputCharset);
-            FileUtils.writeStringToFile(output, out.toString(), outputCharset);
+        if (unit.processingError != null) {
+            throw unit.processingError;
+        }
+        try {
+            Measurement measurement = metrics.start();
+            output.write(unit.content, outputCharset);
+            metrics.record(GenerationPhase.WRITING, unit.template.getId(), measurement);
+            if (eventListener != null) {
+                fireEvent(GenerationEventType.FILE_WRITTEN, unit, unit.content.getBytes(outputCharset).length);
+            }
         } catch (IOException e) {
             throw new CobiGenRuntimeException(
-                "Could not write file while processing template " + template.getAbsoluteTemplatePath(), e);
+                "Could not write file while processing template " + unit.templateEty.getAbsoluteTemplatePath(), e);
+        }
+    }
+
+    /**
+     * A single (template, input object) pair to be generated. Besides the resolved configuration, it carries
+     * the intermediate results of the generation, which are written by at most one thread at a time.
+     */
+    private static class GenerationUnit {
+
+        /** Template to be generated */
+        private final TemplateTo template;
+
+        /** Internal representation of the {@link #template} */
+        private final Template templateEty;
+
+        /** Trigger, the template has been resolved from */
+        private final Trigger trigger;
+
+        /** {@link TriggerInterpreter} of the {@link #trigger} */
+        private final TriggerInterpreter triggerInterpreter;
+
+        /** Template engine to process the template with */
+        private final TextTemplateEngine templateEngine;
+
+        /** Template folder the template engine should resolve the template from */
+        private final Path templateFolder;
+
+        /** Input object to generate the template for */
+        private final Object generatorInput;
+
+        /** Shared model of the {@link #generatorInput} */
+        private final InputModel inputModel;
+
+        /** Resolved path of the target file relative to the target root path */
+        private String resolvedTargetDestinationPath;
+
+        /** Target file */
+        private File originalFile;
+
+        /** Path of the target file relative to the staging area's root */
+        private String stagingPath;
+
+        /** Staged target file */
+        private StagedFile stagedFile;
+
+        /** Processed template contents */
+        private String content;
+
+        /** Error occurred while processing the template, just relevant if the contents will be written */
+        private Throwable processingError;
+
+        /** Error to be reported */
+        private Throwable error;
+
+        /**
+         * Creates a new {@link GenerationUnit} with the given properties
+         * @param template
+         *            template to be generated
+         * @param templateEty
+         *            internal representation of the template
+         * @param trigger
+         *            trigger, the template has been resolved from
+         * @param triggerInterpreter
+         *            {@link TriggerInterpreter} of the trigger
+         * @param templateEngine
+         *            template engine to process the template with
+         * @param templateFolder
+         *            template folder the template engine should resolve the template from
+         * @param generatorInput
+         *            input object to generate the template for
+         * @param inputModel
+         *            shared model of the input object
+         */
+        GenerationUnit(TemplateTo template, Template templateEty, Trigger trigger,
+            TriggerInterpreter triggerInterpreter, TextTemplateEngine templateEngine, Path templateFolder,
+            Object generatorInput, InputModel inputModel) {
+            this.template = template;
+            this.templateEty = templateEty;
+            this.trigger = trigger;
+            this.triggerInterpreter = triggerInterpreter;
+            this.templateEngine = templateEngine;
+            this.templateFolder = templateFolder;
+            this.generatorInput = generatorInput;
+            this.inputModel = inputModel;
+        }
+    }
+
+    /**
+     * Model and context variables of an input object, which are shared by all templates generated for it.
+     * Both are created once by the first template being processed for the input object.
+     */
+    private static class InputModel {
+
+        /** {@link ModelBuilderImpl} of the input object */
+        private final ModelBuilderImpl modelBuilder;
+
+        /** {@link TriggerInterpreter} to create the model and resolve the context variables with */
+        private final TriggerInterpreter triggerInterpreter;
+
+        /** Externally provided model to be used instead of creating one or {@code null} */
+        private final Map<String, Object> rawModel;
+
+        /** Lazily created model */
+        private Map<String, Object> model;
+
+        /** Lazily resolved context variables */
+        private Map<String, String> contextVariables;
+
+        /**
+         * Creates a new {@link InputModel} with the given properties
+         * @param modelBuilder
+         *            {@link ModelBuilderImpl} of the input object
+         * @param triggerInterpreter
+         *            {@link TriggerInterpreter} to create the model and resolve the context variables with
+         * @param rawModel
+         *            externally provided model to be used instead of creating one or {@code null}
+         */
+        InputModel(ModelBuilderImpl modelBuilder, TriggerInterpreter triggerInterpreter,
+            Map<String, Object> rawModel) {
+            this.modelBuilder = modelBuilder;
+            this.triggerInterpreter = triggerInterpreter;
+            this.rawModel = rawModel;
+        }
+
+        /**
+         * Returns the model of the input object, which must not be modified as it is shared
+         * @return the model
+         */
+        synchronized Map<String, Object> getModel() {
+            if (model == null) {
+                if (rawModel != null) {
+                    model = Collections.unmodifiableMap(rawModel);
+                } else {
+                    model = Collections.unmodifiableMap(modelBuilder.createModel(triggerInterpreter));
+                }
+            }
+            return model;
+        }
+
+        /**
+         * Returns the context variables of the input object, which must not be modified as they are shared
+         * @return the context variables
+         */
+        synchronized Map<String, String> getContextVariables() {
+            if (contextVariables == null) {
+                contextVariables =
+                    Collections.unmodifiableMap(modelBuilder.resolveContextVariables(triggerInterpreter));
+            }
+            return contextVariables;
         }
     }
 }
@@ -33,4 +33,25 @@ public interface GenerationProcessor {
      */
     public GenerationReportTo generate(Object input, List<? extends GenerableArtifact> generableArtifacts,
         Path targetRootPath, boolean forceOverride, List<Class<?>> logicClasses, Map<String, Object> rawModel);
+
+    /**
+     * Generates code for multiple inputs at once by processing the {@link List} of {@link GenerableArtifact}s
+     * mapped to each input. The generated contents of all inputs are staged and committed together. This
+     * method/class is NOT thread-safe.
+     * @param generableArtifactsByInput
+     *            the {@link List} of artifacts to be generated mapped by the generator input object
+     * @param targetRootPath
+     *            target root path to generate to (to be used to resolve the dependent template destination
+     *            paths)
+     * @param forceOverride
+     *            if <code>true</code> and the destination path is already existent, the contents will be
+     *            overwritten by the generated ones iff there is no merge strategy defined by the templates
+     *            configuration. (default: {@code false})
+     * @param logicClasses
+     *            a {@link List} of java class files, which will be included as accessible beans in the
+     *            template model. Such classes can be used to implement more complex template logic.
+     * @return the aggregated {@link GenerationReportTo GenerationReport} of all inputs
+     */
+    public GenerationReportTo generate(Map<?, ? extends List<? extends GenerableArtifact>> generableArtifactsByInput,
+        Path targetRootPath, boolean forceOverride, List<Class<?>> logicClasses);
 }
@@ -0,0 +1,133 @@
+package com.devonfw.cobigen.impl.generator.staging;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.devonfw.cobigen.api.to.GenerationReportTo;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * Common functionality of all {@link StagingArea}s.
+ */
+public abstract class AbstractStagingArea implements StagingArea {
+
+    /** Logger instance. */
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractStagingArea.class);
+
+    /** Hash function to compare staged contents with their target destinations */
+    private static final HashFunction CONTENT_HASH = Hashing.sha256();
+
+    /** States, whether target destinations should just be written if their contents changed */
+    private final boolean writeOnlyIfChanged;
+
+    /**
+     * Creates a new {@link AbstractStagingArea}
+     * @param writeOnlyIfChanged
+     *            states, whether target destinations should just be written if their contents changed
+     */
+    protected AbstractStagingArea(boolean writeOnlyIfChanged) {
+        this.writeOnlyIfChanged = writeOnlyIfChanged;
+    }
+
+    /**
+     * Checks whether the given target destination should be skipped on commit as it already contains the
+     * given contents. Skipped files will be reported as such.
+     * @param target
+     *            target destination
+     * @param content
+     *            staged contents
+     * @param report
+     *            {@link GenerationReportTo} to report the skipped file to
+     * @return {@code true} if the target destination should not be written, {@code false} otherwise
+     * @throws IOException
+     *             if the target destination could not be read
+     */
+    protected boolean skipUnchanged(Path target, byte[] content, GenerationReportTo report) throws IOException {
+        if (writeOnlyIfChanged && Files.isRegularFile(target) && Files.size(target) == content.length
+            && hash(target).equals(CONTENT_HASH.hashBytes(content))) {
+            return reportSkipped(target, report);
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the given target destination should be skipped on commit as it already contains the
+     * contents of the given staged file. Skipped files will be reported as such.
+     * @param target
+     *            target destination
+     * @param stagedFile
+     *            file containing the staged contents
+     * @param report
+     *            {@link GenerationReportTo} to report the skipped file to
+     * @return {@code true} if the target destination should not be written, {@code false} otherwise
+     * @throws IOException
+     *             if any of both files could not be read
+     */
+    protected boolean skipUnchanged(Path target, Path stagedFile, GenerationReportTo report) throws IOException {
+        if (writeOnlyIfChanged && Files.isRegularFile(target) && Files.size(target) == Files.size(stagedFile)
+            && hash(target).equals(hash(stagedFile))) {
+            return reportSkipped(target, report);
+        }
+        return false;
+    }
+
+    /**
+     * Reports the given target destination as skipped.
+     * @param target
+     *            target destination
+     * @param report
+     *            {@link GenerationReportTo} to report the skipped file to
+     * @return always {@code true}
+     */
+    private boolean reportSkipped(Path target, GenerationReportTo report) {
+        LOG.debug("Skip writing {} as its contents did not change.", target);
+        report.addSkippedFile(target);
+        return true;
+    }
+
+    /**
+     * Calculates the hash of the given file's contents.
+     * @param file
+     *            to be hashed
+     * @return the hash of the file's contents
+     * @throws IOException
+     *             if the file could not be read
+     */
+    private static HashCode hash(Path file) throws IOException {
+        return com.google.common.io.Files.asByteSource(file.toFile()).hash(CONTENT_HASH);
+    }
+
+    /**
+     * Deletes the given directory including all its contents.
+     * @param directory
+     *            to be deleted
+     */
+    protected static void deleteDirectory(Path directory) {
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.delete(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                    Files.delete(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            LOG.warn("Temporary files could not be deleted in path " + directory, e);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.devonfw.cobigen.impl.generator.staging;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.devonfw.cobigen.api.constants.StagingMode;
+import com.devonfw.cobigen.api.exception.CobiGenRuntimeException;
+import com.devonfw.cobigen.api.to.GenerationReportTo;
+
+/**
+ * {@link StagingArea} of {@link StagingMode#IN_MEMORY}. Generated and merged contents are kept in memory and
+ * written just once to a temporary file next to their target destination, which is atomically moved to the
+ * target destination on commit. Target files are neither copied nor read unless they have to be merged. As
+ * soon as the staged contents exceed the spill threshold, further contents are spilled to a temporary
+ * directory, which is just created on demand.
+ */
+public class InMemoryStagingArea extends AbstractStagingArea {
+
+    /** Logger instance. */
+    private static final Logger LOG = LoggerFactory.getLogger(InMemoryStagingArea.class);
+
+    /** Maximum number of characters to be kept in memory */
+    private final long spillThreshold;
+
+    /** Number of characters currently kept in memory */
+    private final AtomicLong inMemoryChars = new AtomicLong();
+
+    /** Mapping of staging path to staged file */
+    private final ConcurrentMap<String, InMemoryFile> stagedFiles = new ConcurrentHashMap<>();
+
+    /** Temporary root directory of all spilled files, created on demand */
+    private Path spillRootPath;
+
+    /**
+     * Creates a new {@link InMemoryStagingArea}
+     * @param spillThreshold
+     *            maximum number of characters to be kept in memory
+     * @param writeOnlyIfChanged
+     *            states, whether target destinations should just be written if their contents changed
+     */
+    public InMemoryStagingArea(long spillThreshold, boolean writeOnlyIfChanged) {
+        super(writeOnlyIfChanged);
+        this.spillThreshold = spillThreshold;
+    }
+
+    @Override
+    public StagedFile getStagedFile(String stagingPath, File originalFile) {
+        InMemoryFile stagedFile = new InMemoryFile(stagingPath, originalFile);
+        InMemoryFile existing = stagedFiles.putIfAbsent(stagingPath, stagedFile);
+        if (existing != null) {
+            existing.originalFile = originalFile;
+            return existing;
+        }
+        return stagedFile;
+    }
+
+    @Override
+    public void commit(GenerationReportTo report) throws IOException {
+        for (InMemoryFile stagedFile : stagedFiles.values()) {
+            Path originalPath = stagedFile.originalFile.toPath();
+            if (stagedFile.content != null) {
+                byte[] content = stagedFile.content.getBytes(stagedFile.charset);
+                if (skipUnchanged(originalPath, content, report)) {
+                    continue;
+                }
+                Files.createDirectories(originalPath.getParent());
+                writeAtomically(content, originalPath);
+            } else if (stagedFile.spilled) {
+                Path spilledFile = stagedFile.getReviewFile().toPath();
+                if (skipUnchanged(originalPath, spilledFile, report)) {
+                    continue;
+                }
+                Files.createDirectories(originalPath.getParent());
+                copyAtomically(spilledFile, originalPath);
+            } else {
+                // nothing has been staged
+                continue;
+            }
+            report.addGeneratedFile(originalPath);
+        }
+        deleteSpilledFiles();
+    }
+
+    @Override
+    public Path retain() {
+        try {
+            for (InMemoryFile stagedFile : stagedFiles.values()) {
+                if (stagedFile.content != null) {
+                    stagedFile.spill();
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Staged files could not be completely written to " + spillRootPath, e);
+        }
+        return getSpillRootPath();
+    }
+
+    @Override
+    public void discard() {
+        for (InMemoryFile stagedFile : stagedFiles.values()) {
+            stagedFile.release();
+        }
+        deleteSpilledFiles();
+    }
+
+    /**
+     * Returns the temporary root directory of all spilled files and creates it if not yet existent.
+     * @return the temporary root directory of all spilled files
+     */
+    private synchronized Path getSpillRootPath() {
+        if (spillRootPath == null) {
+            try {
+                spillRootPath = Files.createTempDirectory("cobigen-");
+                LOG.info("Temporary working directory: {}", spillRootPath);
+            } catch (IOException e) {
+                throw new CobiGenRuntimeException("Could not create temporary folder.", e);
+            }
+        }
+        return spillRootPath;
+    }
+
+    /**
+     * Writes the given contents to a temporary file next to the target destination and moves it atomically
+     * to the target destination. Thus, the target destination is never visible half-written.
+     * @param content
+     *            to be written
+     * @param target
+     *            target destination
+     * @throws IOException
+     *             if the target destination could not be written
+     */
+    private void writeAtomically(byte[] content, Path target) throws IOException {
+        Path tmpFile = getSiblingTempFile(target);
+        try {
+            Files.write(tmpFile, content, StandardOpenOption.CREATE_NEW);
+            replaceAtomically(tmpFile, target);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    /**
+     * Copies the given source to a temporary file next to the target destination and moves it atomically to
+     * the target destination. As the temporary file is located on the same file system as the target
+     * destination, this also works for sources located on another file system, e.g. spilled files.
+     * @param source
+     *            file to be copied
+     * @param target
+     *            target destination
+     * @throws IOException
+     *             if the target destination could not be written
+     */
+    private void copyAtomically(Path source, Path target) throws IOException {
+        Path tmpFile = getSiblingTempFile(target);
+        try {
+            Files.copy(source, tmpFile);
+            replaceAtomically(tmpFile, target);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    /**
+     * Returns a unique path of a temporary file located next to the given target destination.
+     * @param target
+     *            target destination
+     * @return the path of the temporary file, which does not exist yet
+     */
+    private Path getSiblingTempFile(Path target) {
+        return target.resolveSibling("." + target.getFileName() + "." + Long.toHexString(System.nanoTime()) + ".tmp");
+    }
+
+    /**
+     * Atomically replaces the target destination by the given temporary file located next to it. Permissions
+     * of an existing target destination will be preserved.
+     * @param tmpFile
+     *            temporary file located in the same directory as the target destination
+     * @param target
+     *            target destination, which will be replaced if existent
+     * @throws IOException
+     *             if the file could not be moved
+     */
+    private void replaceAtomically(Path tmpFile, Path target) throws IOException {
+        if (Files.exists(target)) {
+            // preserve permissions of the file to be replaced
+            PosixFileAttributeView attributes = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+            if (attributes != null) {
+                Files.setPosixFilePermissions(tmpFile, attributes.readAttributes().permissions());
+            }
+        }
+        Files.move(tmpFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Delete the spilled files if any.
+     */
+    private synchronized void deleteSpilledFiles() {
+        if (spillRootPath != null) {
+            deleteDirectory(spillRootPath);
+        }
+    }
+
+    /**
+     * {@link StagedFile} keeping its contents in memory unless being spilled to the temporary directory.
+     */
+    private class InMemoryFile implements StagedFile {
+
+        /** Path relative to the temporary directory to spill the contents to */
+        private final String stagingPath;
+
+        /** Target destination */
+        private volatile File originalFile;
+
+        /** Staged contents if kept in memory */
+        private volatile String content;
+
+        /** Charset the staged contents should be written with */
+        private volatile String charset;
+
+        /** States, whether the staged contents have been spilled to the temporary directory */
+        private volatile boolean spilled;
+
+        /**
+         * Creates a new {@link InMemoryFile}
+         * @param stagingPath
+         *            path relative to the temporary directory to spill the contents to
+         * @param originalFile
+         *            target destination
+         */
+        InMemoryFile(String stagingPath, File originalFile) {
+            this.stagingPath = stagingPath;
+            this.originalFile = originalFile;
+        }
+
+        @Override
+        public File getOriginalFile() {
+            return originalFile;
+        }
+
+        @Override
+        public boolean exists() {
+            return content != null || spilled || originalFile.exists();
+        }
+
+        @Override
+        public void prepareUpdate() {
+            // the target destination will just be read if needed for merging
+        }
+
+        @Override
+        public File getMergeBase() throws IOException {
+            if (content != null) {
+                spill();
+            }
+            return spilled ? getReviewFile() : originalFile;
+        }
+
+        @Override
+        public void write(String content, String charset) throws IOException {
+            release();
+            if (inMemoryChars.addAndGet(content.length()) > spillThreshold) {
+                inMemoryChars.addAndGet(-content.length());
+                LOG.debug("Spill threshold exceeded. Spilling {} to disk.", stagingPath);
+                FileUtils.writeStringToFile(getReviewFile(), content, charset);
+                spilled = true;
+            } else {
+                this.content = content;
+                this.charset = charset;
+                spilled = false;
+            }
+        }
+
+        @Override
+        public File getReviewFile() {
+            return getSpillRootPath().resolve(stagingPath).toFile();
+        }
+
+        /**
+         * Writes the contents kept in memory to the temporary directory and releases the memory.
+         * @throws IOException
+         *             if the contents could not be written
+         */
+        private void spill() throws IOException {
+            FileUtils.writeStringToFile(getReviewFile(), content, charset);
+            release();
+            spilled = true;
+        }
+
+        /**
+         * Releases the contents kept in memory if any.
+         */
+        private void release() {
+            if (content != null) {
+                inMemoryChars.addAndGet(-content.length());
+                content = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.devonfw.cobigen.impl.generator.staging;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A single file staged within a {@link StagingArea}. A staged file is not thread-safe and thus has to be
+ * accessed by at most one thread at a time.
+ */
+public interface StagedFile {
+
+    /**
+     * Returns the target destination the staged contents will be committed to.
+     * @return the target destination
+     */
+    public File getOriginalFile();
+
+    /**
+     * Checks whether there are any contents, i.e. whether the target destination exists or contents have
+     * already been staged.
+     * @return {@code true} if there are any staged or original contents, {@code false} otherwise
+     */
+    public boolean exists();
+
+    /**
+     * Prepares the staged file for being updated based on the contents of the target destination.
+     * @throws IOException
+     *             if the original contents could not be staged
+     */
+    public void prepareUpdate() throws IOException;
+
+    /**
+     * Returns a file containing the current contents, i.e. the staged contents or the contents of the target
+     * destination if nothing has been staged yet. The returned file must not be modified.
+     * @return the file to be read for merging
+     * @throws IOException
+     *             if the staged contents could not be written to a file
+     */
+    public File getMergeBase() throws IOException;
+
+    /**
+     * Stages the given contents replacing all previously staged contents.
+     * @param content
+     *            to be staged
+     * @param charset
+     *            the contents should be written with
+     * @throws IOException
+     *             if the contents could not be staged
+     */
+    public void write(String content, String charset) throws IOException;
+
+    /**
+     * Returns the location of the staged file within the staging area's root directory. Files next to this
+     * location will be retained for manual review, e.g. broken patches.
+     * @return the location within the staging area's root directory
+     */
+    public File getReviewFile();
+}
@@ -0,0 +1,67 @@
+package com.devonfw.cobigen.impl.generator.staging;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.devonfw.cobigen.api.constants.StagingMode;
+import com.devonfw.cobigen.api.to.GenerationOptionsTo;
+import com.devonfw.cobigen.api.to.GenerationReportTo;
+
+/**
+ * A staging area keeps all generated and merged contents of one generation until the generation has been
+ * finished. Just if the generation succeeded, the staged contents will be committed to their target
+ * destinations. Staging areas are thread-safe as long as each {@link StagedFile} is accessed by at most one
+ * thread at a time.
+ */
+public interface StagingArea {
+
+    /**
+     * Returns the {@link StagedFile} for the given staging path. Multiple requests for the same staging path
+     * result in the same {@link StagedFile}.
+     * @param stagingPath
+     *            path relative to the staging area's root identifying the staged file
+     * @param originalFile
+     *            target destination the staged contents should be committed to
+     * @return the {@link StagedFile}
+     */
+    public StagedFile getStagedFile(String stagingPath, File originalFile);
+
+    /**
+     * Commits all staged contents to their target destinations and releases all resources of the staging
+     * area. All target destinations will be reported as generated or skipped.
+     * @param report
+     *            {@link GenerationReportTo} to report the generated and skipped files to
+     * @throws IOException
+     *             if any target destination could not be written
+     */
+    public void commit(GenerationReportTo report) throws IOException;
+
+    /**
+     * Makes all staged contents available on the file system for manual review, e.g. after a non-successful
+     * generation. The staged contents will not be committed.
+     * @return the root directory containing the staged contents
+     */
+    public Path retain();
+
+    /**
+     * Releases all resources of the staging area without committing the staged contents, e.g. after a
+     * cancelled generation.
+     */
+    public void discard();
+
+    /**
+     * Creates a new {@link StagingArea} as configured by the given {@link GenerationOptionsTo}.
+     * @param generationOptions
+     *            options tuning the generation process
+     * @return the new {@link StagingArea}
+     */
+    public static StagingArea create(GenerationOptionsTo generationOptions) {
+        if (generationOptions.getStagingMode() == StagingMode.IN_MEMORY) {
+            return new InMemoryStagingArea(generationOptions.getSpillThreshold(),
+                generationOptions.isWriteOnlyIfChanged());
+        } else {
+            return new TemporaryDirectoryStagingArea(generationOptions.isWriteOnlyIfChanged());
+        }
+    }
+}
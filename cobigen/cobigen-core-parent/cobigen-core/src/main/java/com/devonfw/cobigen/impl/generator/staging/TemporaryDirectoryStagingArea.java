@@ -0,0 +1,143 @@
+package com.devonfw.cobigen.impl.generator.staging;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.devonfw.cobigen.api.constants.StagingMode;
+import com.devonfw.cobigen.api.exception.CobiGenRuntimeException;
+import com.devonfw.cobigen.api.to.GenerationReportTo;
+
+/**
+ * {@link StagingArea} of {@link StagingMode#TEMPORARY_DIRECTORY}. All target files to be updated are copied to
+ * a temporary directory, processed there and copied back to their target destinations on commit.
+ */
+public class TemporaryDirectoryStagingArea extends AbstractStagingArea {
+
+    /** Logger instance. */
+    private static final Logger LOG = LoggerFactory.getLogger(TemporaryDirectoryStagingArea.class);
+
+    /** Temporary root directory of all staged files */
+    private final Path tmpTargetRootPath;
+
+    /** Mapping of staging path to staged file */
+    private final ConcurrentMap<String, TemporaryFile> stagedFiles = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new {@link TemporaryDirectoryStagingArea} based on a new temporary directory.
+     * @param writeOnlyIfChanged
+     *            states, whether target destinations should just be written if their contents changed
+     */
+    public TemporaryDirectoryStagingArea(boolean writeOnlyIfChanged) {
+        super(writeOnlyIfChanged);
+        try {
+            tmpTargetRootPath = Files.createTempDirectory("cobigen-");
+            LOG.info("Temporary working directory: {}", tmpTargetRootPath);
+        } catch (IOException e) {
+            throw new CobiGenRuntimeException("Could not create temporary folder.", e);
+        }
+    }
+
+    @Override
+    public StagedFile getStagedFile(String stagingPath, File originalFile) {
+        TemporaryFile stagedFile = new TemporaryFile(tmpTargetRootPath.resolve(stagingPath).toFile(), originalFile);
+        TemporaryFile existing = stagedFiles.putIfAbsent(stagingPath, stagedFile);
+        if (existing != null) {
+            existing.originalFile = originalFile;
+            return existing;
+        }
+        return stagedFile;
+    }
+
+    @Override
+    public void commit(GenerationReportTo report) throws IOException {
+        for (TemporaryFile stagedFile : stagedFiles.values()) {
+            if (!stagedFile.tmpFile.exists()) {
+                // nothing has been staged
+                continue;
+            }
+            Path originalPath = stagedFile.originalFile.toPath();
+            if (skipUnchanged(originalPath, stagedFile.tmpFile.toPath(), report)) {
+                continue;
+            }
+            Files.createDirectories(originalPath.getParent());
+            Files.copy(stagedFile.tmpFile.toPath(), originalPath, StandardCopyOption.REPLACE_EXISTING);
+            report.addGeneratedFile(originalPath);
+        }
+        deleteDirectory(tmpTargetRootPath);
+    }
+
+    @Override
+    public Path retain() {
+        return tmpTargetRootPath;
+    }
+
+    @Override
+    public void discard() {
+        deleteDirectory(tmpTargetRootPath);
+    }
+
+    /**
+     * {@link StagedFile} being a copy of the target destination within the temporary directory.
+     */
+    private static class TemporaryFile implements StagedFile {
+
+        /** Temporary file */
+        private final File tmpFile;
+
+        /** Target destination */
+        private volatile File originalFile;
+
+        /**
+         * Creates a new {@link TemporaryFile}
+         * @param tmpFile
+         *            temporary file
+         * @param originalFile
+         *            target destination
+         */
+        TemporaryFile(File tmpFile, File originalFile) {
+            this.tmpFile = tmpFile;
+            this.originalFile = originalFile;
+        }
+
+        @Override
+        public File getOriginalFile() {
+            return originalFile;
+        }
+
+        @Override
+        public boolean exists() {
+            return originalFile.exists() || tmpFile.exists();
+        }
+
+        @Override
+        public void prepareUpdate() throws IOException {
+            if (!tmpFile.exists()) {
+                FileUtils.copyFile(originalFile, tmpFile);
+            }
+        }
+
+        @Override
+        public File getMergeBase() {
+            return tmpFile;
+        }
+
+        @Override
+        public void write(String content, String charset) throws IOException {
+            FileUtils.writeStringToFile(tmpFile, content, charset);
+        }
+
+        @Override
+        public File getReviewFile() {
+            return tmpFile;
+        }
+    }
+}
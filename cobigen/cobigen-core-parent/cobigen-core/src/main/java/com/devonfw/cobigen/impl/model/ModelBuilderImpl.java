@@ -99,11 +99,38 @@ public class ModelBuilderImpl implements ModelBuilder {
      */
     public Map<String, Object> enrichByContextVariables(Map<String, Object> model,
         TriggerInterpreter triggerInterpreter, Template template, Path targetRootPath) {
+        model.put(NS_VARIABLES, mergeVariables(resolveContextVariables(triggerInterpreter), template,
+            CobiGenPropertiesReader.load(targetRootPath)));
+        return model;
+    }
+
+    /**
+     * Resolves the context variables of the trigger for the input. The context variables do not depend on the
+     * template and thus can be shared by all templates generated for the same input.
+     * @param triggerInterpreter
+     *            {@link TriggerInterpreter} to resolve the variables
+     * @return the mapping of context variable to value
+     */
+    public Map<String, String> resolveContextVariables(TriggerInterpreter triggerInterpreter) {
+        return new ContextVariableResolver(generatorInput, trigger).resolveVariables(triggerInterpreter).asMap();
+    }
+
+    /**
+     * Merges the context variables with the variables of the template and the target's
+     * {@link ConfigurationConstants#COBIGEN_PROPERTIES} to the variables to be served by the model of the
+     * template in the {@link #NS_VARIABLES} namespace.
+     * @param contextVariables
+     *            {@link #resolveContextVariables(TriggerInterpreter) resolved context variables}
+     * @param template
+     *            the internal {@link Template} representation
+     * @param targetCobiGenProperties
+     *            properties of the target's {@link ConfigurationConstants#COBIGEN_PROPERTIES}
+     * @return the merged variables
+     */
+    public static Map<String, String> mergeVariables(Map<String, String> contextVariables, Template template,
+        Properties targetCobiGenProperties) {
         Map<String, String> variables = Maps.newHashMap();
-        Map<String, String> contextVariables =
-            new ContextVariableResolver(generatorInput, trigger).resolveVariables(triggerInterpreter).asMap();
         Map<String, String> templateProperties = template.getVariables().asMap();
-        Properties targetCobiGenProperties = CobiGenPropertiesReader.load(targetRootPath);
         // if there are properties overriding each other, throw an exception for better usability.
         // This is most probably a not intended mechanism such that we simply will not support it.
         Set<String> intersection = new HashSet<>(contextVariables.keySet());
@@ -120,8 +147,7 @@ public class ModelBuilderImpl implements ModelBuilder {
         variables.putAll(contextVariables);
         variables.putAll(templateProperties);
         variables.putAll(new Variables(targetCobiGenProperties).asMap());
-        model.put(NS_VARIABLES, variables);
-        return model;
+        return variables;
     }
 
 }
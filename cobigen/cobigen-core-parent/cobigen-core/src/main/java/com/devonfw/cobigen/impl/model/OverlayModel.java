@@ -0,0 +1,191 @@
+package com.devonfw.cobigen.impl.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * Model of a single template processing composed of shared model layers, e.g. the model of the input, the
+ * context variables, and the logic classes. Instead of copying the layers, each lookup is delegated to them,
+ * whereas later layers take precedence over earlier ones. The shared layers will never be modified. Any
+ * modification of this model, e.g. by a template engine, is just kept in a private top layer.
+ */
+public class OverlayModel extends AbstractMap<String, Object> {
+
+    /** Marks a key of a shared layer, which has been removed from this model */
+    private static final Object REMOVED = new Object();
+
+    /** Shared layers, the last one taking precedence */
+    private final List<Map<String, Object>> layers;
+
+    /** Private top layer keeping all modifications of this model */
+    private final Map<String, Object> modifications = Maps.newHashMap();
+
+    /** Entry set view of this model */
+    private Set<Entry<String, Object>> entrySet;
+
+    /**
+     * Creates a new {@link OverlayModel} of the given shared layers
+     * @param layers
+     *            shared layers, whereas later layers take precedence over earlier ones. {@code null} layers
+     *            will be ignored.
+     */
+    @SafeVarargs
+    public OverlayModel(Map<String, Object>... layers) {
+        this.layers = Lists.newArrayListWithCapacity(layers.length);
+        for (Map<String, Object> layer : layers) {
+            if (layer != null) {
+                this.layers.add(layer);
+            }
+        }
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (modifications.containsKey(key)) {
+            Object value = modifications.get(key);
+            return value == REMOVED ? null : value;
+        }
+        for (int i = layers.size() - 1; i >= 0; i--) {
+            Map<String, Object> layer = layers.get(i);
+            Object value = layer.get(key);
+            if (value != null || layer.containsKey(key)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (modifications.containsKey(key)) {
+            return modifications.get(key) != REMOVED;
+        }
+        return containedInLayers(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Object previous = get(key);
+        modifications.put(key, value);
+        return previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        Object previous = get(key);
+        if (containedInLayers(key)) {
+            modifications.put((String) key, REMOVED);
+        } else {
+            modifications.remove(key);
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        modifications.clear();
+        for (Map<String, Object> layer : layers) {
+            for (String key : layer.keySet()) {
+                modifications.put(key, REMOVED);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return flatten().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    final Iterator<Entry<String, Object>> it = flatten().entrySet().iterator();
+                    return new Iterator<Entry<String, Object>>() {
+
+                        /** Key of the last returned entry */
+                        private String lastKey;
+
+                        @Override
+                        public boolean hasNext() {
+                            return it.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            Entry<String, Object> entry = it.next();
+                            lastKey = entry.getKey();
+                            return new SimpleImmutableEntry<>(entry);
+                        }
+
+                        @Override
+                        public void remove() {
+                            if (lastKey == null) {
+                                throw new IllegalStateException();
+                            }
+                            OverlayModel.this.remove(lastKey);
+                            lastKey = null;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return OverlayModel.this.size();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    /**
+     * Checks whether any of the shared layers contains the given key
+     * @param key
+     *            the key to be checked
+     * @return {@code true} if the key is contained in a shared layer, {@code false} otherwise
+     */
+    private boolean containedInLayers(Object key) {
+        for (Map<String, Object> layer : layers) {
+            if (layer.containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates a snapshot of all entries of this model
+     * @return a new map containing all entries of this model
+     */
+    private Map<String, Object> flatten() {
+        Map<String, Object> flattened = Maps.newHashMap();
+        for (Map<String, Object> layer : layers) {
+            flattened.putAll(layer);
+        }
+        for (Entry<String, Object> modification : modifications.entrySet()) {
+            if (modification.getValue() == REMOVED) {
+                flattened.remove(modification.getKey());
+            } else {
+                flattened.put(modification.getKey(), modification.getValue());
+            }
+        }
+        return flattened;
+    }
+}
@@ -0,0 +1,102 @@
+package com.devonfw.cobigen.impl.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.XMLConstants;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXException;
+
+/**
+ * Process-wide registry of {@link JAXBContext}s and compiled {@link Schema}s. Creating a {@link JAXBContext}
+ * as well as compiling a {@link Schema} is expensive, whereas both are thread-safe and thus can be shared
+ * across all configuration readers. {@link Unmarshaller}s are not thread-safe and therefore have to be
+ * created for each read via {@link #createUnmarshaller(Class)}.
+ */
+public class JaxbUtil {
+
+    /** Logger instance. */
+    private static final Logger LOG = LoggerFactory.getLogger(JaxbUtil.class);
+
+    /** Mapping of JAXB root class to the corresponding {@link JAXBContext} */
+    private static final ConcurrentMap<Class<?>, JAXBContext> jaxbContexts = new ConcurrentHashMap<>();
+
+    /** Mapping of class path resource of the schema to the compiled {@link Schema} */
+    private static final ConcurrentMap<String, Schema> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the shared {@link JAXBContext} for the given JAXB root class. The context will be created on
+     * first request.
+     * @param jaxbRootClass
+     *            JAXB root class, e.g. the generated class of a configuration's root node
+     * @return the shared {@link JAXBContext}
+     * @throws JAXBException
+     *             if the {@link JAXBContext} could not be created
+     */
+    public static JAXBContext getJaxbContext(Class<?> jaxbRootClass) throws JAXBException {
+        JAXBContext context = jaxbContexts.get(jaxbRootClass);
+        if (context == null) {
+            long start = System.nanoTime();
+            context = JAXBContext.newInstance(jaxbRootClass);
+            LOG.debug("Created JAXBContext for {} in {}ms", jaxbRootClass.getName(),
+                (System.nanoTime() - start) / 1000000);
+            JAXBContext existing = jaxbContexts.putIfAbsent(jaxbRootClass, context);
+            if (existing != null) {
+                context = existing;
+            }
+        }
+        return context;
+    }
+
+    /**
+     * Creates a new {@link Unmarshaller} based on the shared {@link JAXBContext} of the given JAXB root class.
+     * @param jaxbRootClass
+     *            JAXB root class, e.g. the generated class of a configuration's root node
+     * @return a new {@link Unmarshaller}, which must not be shared across threads
+     * @throws JAXBException
+     *             if the {@link JAXBContext} or the {@link Unmarshaller} could not be created
+     */
+    public static Unmarshaller createUnmarshaller(Class<?> jaxbRootClass) throws JAXBException {
+        return getJaxbContext(jaxbRootClass).createUnmarshaller();
+    }
+
+    /**
+     * Returns the shared compiled {@link Schema} of the given class path resource. The schema will be compiled
+     * on first request.
+     * @param schemaResource
+     *            absolute class path resource of the XSD, e.g.
+     *            <code>/schema/v2.1/templatesConfiguration.xsd</code>
+     * @return the compiled {@link Schema}
+     * @throws SAXException
+     *             if the schema could not be parsed
+     * @throws IOException
+     *             if the schema could not be read
+     */
+    public static Schema getSchema(String schemaResource) throws SAXException, IOException {
+        Schema schema = schemas.get(schemaResource);
+        if (schema == null) {
+            long start = System.nanoTime();
+            // SchemaFactory is not thread-safe, thus create a new one for each compilation
+            SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+            try (InputStream schemaStream = JaxbUtil.class.getResourceAsStream(schemaResource)) {
+                schema = schemaFactory.newSchema(new StreamSource(schemaStream));
+            }
+            LOG.debug("Compiled schema {} in {}ms", schemaResource, (System.nanoTime() - start) / 1000000);
+            Schema existing = schemas.putIfAbsent(schemaResource, schema);
+            if (existing != null) {
+                schema = existing;
+            }
+        }
+        return schema;
+    }
+}
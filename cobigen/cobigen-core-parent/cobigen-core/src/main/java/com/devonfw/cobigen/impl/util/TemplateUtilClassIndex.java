@@ -0,0 +1,222 @@
+package com.devonfw.cobigen.impl.util;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
+
+/**
+ * Index of the template util classes contained in a templates jar. The fully qualified names of all classes of
+ * a jar are determined once by reading the jar's entries and persisted keyed by the jar's normalized path,
+ * last modification time, and size, such that subsequent invocations, even of other processes, can load the
+ * known classes directly without walking the jar. The jar will just be read again if any of these changed.<br>
+ * <br>
+ * The persisted index will be stored in the directory configured by the system property
+ * {@value #INDEX_DIRECTORY_PROPERTY}, which defaults to a folder in the temporary directory. An empty
+ * property value disables the persisted index.
+ */
+public class TemplateUtilClassIndex {
+
+    /** Logger instance */
+    private static final Logger LOG = LoggerFactory.getLogger(TemplateUtilClassIndex.class);
+
+    /** System property to configure the directory of all persisted indexes */
+    public static final String INDEX_DIRECTORY_PROPERTY = "cobigen.utilClassIndexDirectory";
+
+    /** File extension of class files */
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    /** Mapping of normalized jar path to the class names indexed in this process */
+    private static final ConcurrentMap<Path, IndexedJar> indexedJars = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the fully qualified names of all classes contained in the given templates jar. The jar will just
+     * be read if it has not been indexed yet, neither in this process nor persistently.
+     * @param templatesJar
+     *            the templates jar
+     * @return the unmodifiable list of fully qualified class names in order of the jar's entries
+     * @throws IOException
+     *             if the jar could not be read
+     */
+    public static List<String> getClassNames(File templatesJar) throws IOException {
+        Path jar = templatesJar.toPath().toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(jar, BasicFileAttributes.class);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+
+        IndexedJar indexedJar = indexedJars.get(jar);
+        if (indexedJar != null && indexedJar.isUpToDate(lastModified, size)) {
+            return indexedJar.classNames;
+        }
+
+        Path indexFile = getIndexFile(jar, lastModified, size);
+        List<String> classNames = null;
+        if (indexFile != null && Files.isRegularFile(indexFile)) {
+            classNames = load(indexFile);
+        }
+        if (classNames == null) {
+            LOG.debug("Indexing util classes of templates jar {}", jar);
+            classNames = readClassNames(jar);
+            if (indexFile != null) {
+                save(indexFile, classNames);
+            }
+        }
+
+        indexedJar = new IndexedJar(lastModified, size, Collections.unmodifiableList(classNames));
+        indexedJars.put(jar, indexedJar);
+        return indexedJar.classNames;
+    }
+
+    /**
+     * Determines the persisted index file of a jar.
+     * @param jar
+     *            normalized absolute path of the jar
+     * @param lastModified
+     *            last modification time of the jar
+     * @param size
+     *            size of the jar
+     * @return the index file or {@code null} if the index should not be persisted
+     */
+    private static Path getIndexFile(Path jar, long lastModified, long size) {
+        String indexDirectory = System.getProperty(INDEX_DIRECTORY_PROPERTY,
+            Paths.get(System.getProperty("java.io.tmpdir"), "cobigen-util-class-index").toString());
+        if (indexDirectory.trim().isEmpty()) {
+            return null;
+        }
+        String key = Hashing.sha1()
+            .hashString(jar.toString() + "|" + lastModified + "|" + size, StandardCharsets.UTF_8).toString();
+        return Paths.get(indexDirectory).resolve(key + ".idx");
+    }
+
+    /**
+     * Reads the fully qualified names of all classes from the entries of the given jar.
+     * @param jar
+     *            the jar to read
+     * @return the class names in order of the jar's entries
+     * @throws IOException
+     *             if the jar could not be read
+     */
+    private static List<String> readClassNames(Path jar) throws IOException {
+        List<String> classNames = Lists.newArrayList();
+        try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                String name = entry.getName();
+                if (!entry.isDirectory() && name.endsWith(CLASS_FILE_EXTENSION)) {
+                    LOG.debug("    * Found class file {}", name);
+                    // remove the trailing '.class' and replace the path separator '/' with package separator '.'
+                    classNames.add(name.substring(0, name.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.'));
+                }
+            }
+        }
+        return classNames;
+    }
+
+    /**
+     * Loads a persisted index. Invalid indexes will be ignored.
+     * @param indexFile
+     *            the persisted index
+     * @return the indexed class names or {@code null} if the index could not be read
+     */
+    private static List<String> load(Path indexFile) {
+        try {
+            List<String> classNames = Lists.newArrayList();
+            for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+                if (!line.isEmpty()) {
+                    classNames.add(line);
+                }
+            }
+            LOG.debug("Loaded util class index {} with {} classes", indexFile, classNames.size());
+            return classNames;
+        } catch (IOException e) {
+            // the index is just an optimization
+            LOG.warn("Could not load util class index {}. Ignoring it.", indexFile, e);
+            return null;
+        }
+    }
+
+    /**
+     * Persists the index of a jar.
+     * @param indexFile
+     *            the file to persist the index to
+     * @param classNames
+     *            the class names of the jar
+     */
+    private static void save(Path indexFile, List<String> classNames) {
+        try {
+            Files.createDirectories(indexFile.getParent());
+            Path tmpFile = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+                for (String className : classNames) {
+                    writer.write(className);
+                    writer.newLine();
+                }
+            }
+            Files.move(tmpFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            // the index is just an optimization
+            LOG.warn("Could not persist util class index {}", indexFile, e);
+        }
+    }
+
+    /**
+     * Class names of a jar indexed in this process together with the jar's attributes at indexing time.
+     */
+    private static class IndexedJar {
+
+        /** Last modification time of the jar */
+        private final long lastModified;
+
+        /** Size of the jar */
+        private final long size;
+
+        /** Fully qualified names of all classes of the jar */
+        private final List<String> classNames;
+
+        /**
+         * Creates a new {@link IndexedJar}
+         * @param lastModified
+         *            last modification time of the jar
+         * @param size
+         *            size of the jar
+         * @param classNames
+         *            fully qualified names of all classes of the jar
+         */
+        IndexedJar(long lastModified, long size, List<String> classNames) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.classNames = classNames;
+        }
+
+        /**
+         * Checks whether the index is still up to date with the jar.
+         * @param currentLastModified
+         *            current last modification time of the jar
+         * @param currentSize
+         *            current size of the jar
+         * @return {@code true} if the jar has not changed since indexing, {@code false} otherwise
+         */
+        boolean isUpToDate(long currentLastModified, long currentSize) {
+            return lastModified == currentLastModified && size == currentSize;
+        }
+    }
+}
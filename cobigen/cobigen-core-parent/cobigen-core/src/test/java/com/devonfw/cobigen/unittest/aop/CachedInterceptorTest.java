@@ -0,0 +1,151 @@
+package com.devonfw.cobigen.unittest.aop;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.devonfw.cobigen.api.annotation.Cached;
+import com.devonfw.cobigen.api.to.CacheStatisticsTo;
+import com.devonfw.cobigen.impl.aop.CachedInterceptor;
+import com.devonfw.cobigen.impl.aop.ProxyFactory;
+
+/**
+ * Test suite for {@link CachedInterceptor}.
+ */
+public class CachedInterceptorTest {
+
+    /**
+     * Tests that equal calls on the same input are served by the cache, whereas calls differing in further
+     * arguments are not.
+     */
+    @Test
+    public void testCachingByFullKey() {
+
+        CountingService service = ProxyFactory.getProxy((CountingService) new CountingServiceImpl());
+        Object input = new Object();
+
+        String first = service.compute(input, "a");
+        String second = service.compute(input, "a");
+        String third = service.compute(input, "b");
+
+        assertThat(second).isSameAs(first);
+        assertThat(third).isNotEqualTo(first);
+        assertThat(service.getCalls()).isEqualTo(2);
+
+        CacheStatisticsTo stats = getInterceptor(service).getStatistics();
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(2);
+        assertThat(stats.getEvictionCount()).isEqualTo(0);
+    }
+
+    /**
+     * Tests that the input object is compared by identity and that the statistics are kept per interceptor.
+     */
+    @Test
+    public void testInputsComparedByIdentity() {
+
+        CountingService service = ProxyFactory.getProxy((CountingService) new CountingServiceImpl());
+        CountingService otherService = ProxyFactory.getProxy((CountingService) new CountingServiceImpl());
+        Path input = Paths.get("input");
+
+        service.compute(input, "a");
+        service.compute(input, "a");
+        service.compute(Paths.get("input"), "a");
+        otherService.compute(input, "a");
+
+        assertThat(service.getCalls()).isEqualTo(2);
+        assertThat(getInterceptor(service).getStatistics().getHitCount()).isEqualTo(1);
+        assertThat(getInterceptor(otherService).getStatistics().getHitCount()).isEqualTo(0);
+        assertThat(getInterceptor(otherService).getStatistics().getMissCount()).isEqualTo(1);
+    }
+
+    /**
+     * Tests that the cache does not keep the input object alive.
+     * @throws InterruptedException
+     *             if the test thread has been interrupted while waiting for the GC
+     */
+    @Test
+    public void testInputNotPinnedByCache() throws InterruptedException {
+
+        CountingService service = ProxyFactory.getProxy((CountingService) new CountingServiceImpl());
+        Object input = new Object();
+        WeakReference<Object> inputReference = new WeakReference<>(input);
+
+        service.compute(input, "a");
+        input = null;
+        for (int i = 0; i < 50 && inputReference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertThat(inputReference.get()).isNull();
+    }
+
+    /**
+     * Tests that invalidated results are computed again.
+     */
+    @Test
+    public void testInvalidateAll() {
+
+        CountingService service = ProxyFactory.getProxy((CountingService) new CountingServiceImpl());
+
+        service.compute("input", "a");
+        getInterceptor(service).invalidateAll();
+        service.compute("input", "a");
+
+        assertThat(service.getCalls()).isEqualTo(2);
+    }
+
+    /**
+     * Returns the {@link CachedInterceptor} of the given proxy.
+     * @param proxy
+     *            proxy created by the {@link ProxyFactory}
+     * @return the {@link CachedInterceptor} handling the proxy's calls
+     */
+    private CachedInterceptor getInterceptor(Object proxy) {
+        return (CachedInterceptor) Proxy.getInvocationHandler(proxy);
+    }
+
+    /** Service to be proxied. */
+    public interface CountingService {
+
+        /**
+         * Creates a new result for each actual invocation.
+         * @param input
+         *            input object
+         * @param argument
+         *            further argument
+         * @return a new result
+         */
+        String compute(Object input, String argument);
+
+        /**
+         * @return the number of actual invocations of {@link #compute(Object, String)}
+         */
+        int getCalls();
+    }
+
+    /** Implementation of the {@link CountingService} with a cached method. */
+    public static class CountingServiceImpl implements CountingService {
+
+        /** Number of actual invocations */
+        private AtomicInteger calls = new AtomicInteger();
+
+        @Cached
+        @Override
+        public String compute(Object input, String argument) {
+            return argument + calls.incrementAndGet();
+        }
+
+        @Override
+        public int getCalls() {
+            return calls.get();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.devonfw.cobigen.unittest.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.devonfw.cobigen.api.extension.TextTemplate;
+import com.devonfw.cobigen.api.extension.TextTemplateEngine;
+import com.devonfw.cobigen.impl.config.ConfigurationHolder;
+import com.devonfw.cobigen.impl.config.ContextConfiguration;
+import com.devonfw.cobigen.impl.config.TemplatesConfiguration;
+import com.devonfw.cobigen.impl.config.entity.Trigger;
+import com.devonfw.cobigen.impl.extension.TemplateEngineRegistry;
+import com.devonfw.cobigen.unittest.config.common.AbstractUnitTest;
+
+/**
+ * Test suite for {@link ConfigurationHolder} class.
+ */
+public class ConfigurationHolderTest extends AbstractUnitTest {
+
+    /** Root path to all resources used in this test case */
+    private static String testFileRootPath = "src/test/resources/testdata/unittest/config/ConfigurationHolderTest/";
+
+    /** Maximum time in milliseconds to wait for the watcher to evict a configuration */
+    private static final long EVICTION_TIMEOUT = 30000;
+
+    /** Temporary folder for the modifiable configuration */
+    @Rule
+    public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+    /** Modifiable copy of the configuration */
+    private Path configFolder;
+
+    /** {@link ConfigurationHolder} under test */
+    private ConfigurationHolder configurationHolder;
+
+    /**
+     * Registers the {@link InvalidationRecordingTemplateEngine}
+     */
+    @BeforeClass
+    public static void registerTemplateEngine() {
+        TemplateEngineRegistry.register(InvalidationRecordingTemplateEngine.class);
+    }
+
+    /**
+     * Copies the configuration to a temporary folder and creates a watching {@link ConfigurationHolder}
+     * @throws Exception
+     *             if the configuration could not be copied
+     */
+    @Before
+    public void setUp() throws Exception {
+        File folder = tmpFolder.newFolder("config");
+        FileUtils.copyDirectory(new File(testFileRootPath), folder);
+        configFolder = folder.toPath();
+        configurationHolder = new ConfigurationHolder(configFolder);
+        configurationHolder.startWatching();
+    }
+
+    /**
+     * Stops watching the configuration
+     */
+    @After
+    public void tearDown() {
+        configurationHolder.stopWatching();
+    }
+
+    /**
+     * Tests that a change of a templates configuration just evicts the templates configuration of the
+     * affected trigger.
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testChangedTemplatesConfigurationIsEvicted() throws Exception {
+        ContextConfiguration contextConfiguration = configurationHolder.readContextConfiguration();
+        Trigger one = contextConfiguration.getTrigger("one");
+        Trigger two = contextConfiguration.getTrigger("two");
+        TemplatesConfiguration configOne = configurationHolder.readTemplatesConfiguration(one);
+        TemplatesConfiguration configTwo = configurationHolder.readTemplatesConfiguration(two);
+        assertThat(configurationHolder.readTemplatesConfiguration(one)).isSameAs(configOne);
+
+        Path templatesXml = configFolder.resolve("TempOne/templates.xml");
+        String content = new String(Files.readAllBytes(templatesXml), StandardCharsets.UTF_8);
+        replace(templatesXml, content.replace("src/main/java/foo/FooOne.java", "src/main/java/bar/FooOne.java"));
+
+        TemplatesConfiguration reloadedConfigOne = awaitEviction(one, configOne);
+        assertThat(reloadedConfigOne.getTemplate("FooOne.java").getUnresolvedTargetPath())
+            .isEqualTo("src/main/java/bar/FooOne.java");
+        assertThat(configurationHolder.readTemplatesConfiguration(two)).isSameAs(configTwo);
+        assertThat(configurationHolder.readContextConfiguration()).isSameAs(contextConfiguration);
+    }
+
+    /**
+     * Tests that a change of the context configuration evicts all configurations.
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testChangedContextConfigurationEvictsAll() throws Exception {
+        ContextConfiguration contextConfiguration = configurationHolder.readContextConfiguration();
+        Trigger two = contextConfiguration.getTrigger("two");
+        TemplatesConfiguration configTwo = configurationHolder.readTemplatesConfiguration(two);
+
+        Path contextXml = configFolder.resolve("context.xml");
+        replace(contextXml, new String(Files.readAllBytes(contextXml), StandardCharsets.UTF_8));
+
+        awaitEviction(two, configTwo);
+        assertThat(configurationHolder.readContextConfiguration()).isNotSameAs(contextConfiguration);
+    }
+
+    /**
+     * Tests that a change of a template invalidates the templates cached by the template engines for the
+     * affected template folder.
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testChangedTemplateInvalidatesTemplateEngineCaches() throws Exception {
+        ContextConfiguration contextConfiguration = configurationHolder.readContextConfiguration();
+        Trigger one = contextConfiguration.getTrigger("one");
+        TemplatesConfiguration configOne = configurationHolder.readTemplatesConfiguration(one);
+        Path templateFolder = contextConfiguration.getConfigurationPath().resolve(one.getTemplateFolder());
+        InvalidationRecordingTemplateEngine.INVALIDATED_FOLDERS.clear();
+
+        replace(configFolder.resolve("TempOne/FooOne.java.ftl"), "class FooOneChanged {}");
+
+        awaitEviction(one, configOne);
+        assertThat(InvalidationRecordingTemplateEngine.INVALIDATED_FOLDERS).contains(templateFolder)
+            .doesNotContain(contextConfiguration.getConfigurationPath().resolve("TempTwo"));
+    }
+
+    /**
+     * Atomically replaces the given file to not read it partially written
+     * @param file
+     *            the file to be replaced
+     * @param content
+     *            the new content of the file
+     * @throws Exception
+     *             if the file could not be replaced
+     */
+    private void replace(Path file, String content) throws Exception {
+        Path tmpFile = tmpFolder.newFile().toPath();
+        Files.write(tmpFile, content.getBytes(StandardCharsets.UTF_8));
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Waits until the cached templates configuration of the given trigger has been evicted.
+     * @param trigger
+     *            the {@link Trigger} of the templates configuration
+     * @param cachedConfig
+     *            the templates configuration cached before the change
+     * @return the templates configuration read again after the eviction
+     * @throws InterruptedException
+     *             if interrupted while waiting
+     */
+    private TemplatesConfiguration awaitEviction(Trigger trigger, TemplatesConfiguration cachedConfig)
+        throws InterruptedException {
+        long deadline = System.currentTimeMillis() + EVICTION_TIMEOUT;
+        TemplatesConfiguration config = configurationHolder.readTemplatesConfiguration(trigger);
+        while (config == cachedConfig && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            config = configurationHolder.readTemplatesConfiguration(trigger);
+        }
+        assertThat(config).isNotSameAs(cachedConfig);
+        return config;
+    }
+
+    /** Template engine recording the template folders of invalidated caches. */
+    public static class InvalidationRecordingTemplateEngine implements TextTemplateEngine {
+
+        /** Template folders of invalidated caches */
+        static final List<Path> INVALIDATED_FOLDERS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String getName() {
+            return "InvalidationRecording";
+        }
+
+        @Override
+        public String getTemplateFileEnding() {
+            return null;
+        }
+
+        @Override
+        public void process(TextTemplate template, Map<String, Object> model, Writer out, String outputEncoding) {
+            // nothing to process
+        }
+
+        @Override
+        public void setTemplateFolder(Path templateFolderPath) {
+            // nothing to resolve
+        }
+
+        @Override
+        public void invalidateCache(Path templateFolderPath) {
+            INVALIDATED_FOLDERS.add(templateFolderPath);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import net.sf.mmm.util.lang.api.CaseSyntax;
 
 import org.junit.Test;
 
+import com.devonfw.cobigen.impl.config.entity.VariableExpression;
 import com.devonfw.cobigen.impl.config.entity.Variables;
 import com.devonfw.cobigen.impl.config.resolver.PathExpressionResolver;
 
@@ -130,4 +131,27 @@ public class PathExpressionResolverTest {
             .isEqualTo("foo-PrefixValueSuffix-bar-prefixValueSuffix-some");
         assertThat(target.evaluateExpressions("foo$_VariableName_$bar")).isEqualTo("fooPrefixValueSuffixbar");
     }
+
+    /**
+     * Tests that a compiled expression resolves to the same path as the expression itself and can be
+     * evaluated repeatedly with different variables.
+     */
+    @Test
+    public void testEvaluateCompiledExpression() {
+        for (String expression : new String[] { "asdf asdf",
+            "asdf${variables.v1?lower_case?removePrefix('praefix')} asdf",
+            "foo-$_VariableName_$-bar-$_variableName_$-some", "src//${variables.PackageName}//${v2?uncap_first}/",
+            "${variables.v1?replace('x', 'XXX')}/$_variable_key_$" }) {
+            assertThat(target.evaluateExpressions(VariableExpression.compile(expression)))
+                .isEqualTo(target.evaluateExpressions(expression));
+        }
+
+        VariableExpression expression = VariableExpression.compile("src/${variables.PackageName}/${variablename}");
+        Variables otherVariables = new Variables();
+        otherVariables.put("PackageName", "other.pkg");
+        otherVariables.put("variablename", "Other");
+        assertThat(target.evaluateExpressions(expression)).isEqualTo("src/my/pkg/name/PrefixValueSuffix");
+        assertThat(new PathExpressionResolver(otherVariables).evaluateExpressions(expression))
+            .isEqualTo("src/other/pkg/Other");
+    }
 }
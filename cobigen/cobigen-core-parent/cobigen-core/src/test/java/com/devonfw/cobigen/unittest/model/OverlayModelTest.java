@@ -0,0 +1,61 @@
+package com.devonfw.cobigen.unittest.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.devonfw.cobigen.impl.model.OverlayModel;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Test suite for {@link OverlayModel} class.
+ */
+public class OverlayModelTest {
+
+    /**
+     * Tests that later layers take precedence over earlier ones and that the model equals its flattened
+     * representation.
+     */
+    @Test
+    public void testLayerPrecedence() {
+        Map<String, Object> base = ImmutableMap.<String, Object> of("a", "base", "b", "base");
+        Map<String, Object> top = ImmutableMap.<String, Object> of("b", "top", "c", "top");
+
+        Map<String, Object> model = new OverlayModel(base, null, top);
+
+        assertThat(model.get("a")).isEqualTo("base");
+        assertThat(model.get("b")).isEqualTo("top");
+        assertThat(model.get("c")).isEqualTo("top");
+        assertThat(model.containsKey("d")).isFalse();
+        assertThat(model).hasSize(3)
+            .isEqualTo(ImmutableMap.<String, Object> of("a", "base", "b", "top", "c", "top"));
+    }
+
+    /**
+     * Tests that modifications of the model are kept in the model without modifying the shared layers.
+     */
+    @Test
+    public void testModificationsDoNotAffectLayers() {
+        Map<String, Object> base = Collections.unmodifiableMap(ImmutableMap.<String, Object> of("a", "base"));
+        Map<String, Object> top = Collections.<String, Object> singletonMap("b", "top");
+
+        Map<String, Object> model = new OverlayModel(base, top);
+        assertThat(model.put("a", "changed")).isEqualTo("base");
+        assertThat(model.remove("b")).isEqualTo("top");
+        model.put("c", "added");
+
+        assertThat(model).isEqualTo(ImmutableMap.<String, Object> of("a", "changed", "c", "added"));
+        assertThat(model.containsKey("b")).isFalse();
+        assertThat(base).containsOnlyKeys("a").containsEntry("a", "base");
+        assertThat(top).containsOnlyKeys("b");
+
+        // a second overlay of the same layers is not affected
+        assertThat(new OverlayModel(base, top)).isEqualTo(ImmutableMap.<String, Object> of("a", "base", "b", "top"));
+
+        model.clear();
+        assertThat(model).isEmpty();
+    }
+}
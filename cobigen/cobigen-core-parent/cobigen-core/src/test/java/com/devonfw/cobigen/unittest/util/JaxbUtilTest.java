@@ -0,0 +1,41 @@
+package com.devonfw.cobigen.unittest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.devonfw.cobigen.impl.config.entity.io.TemplatesConfiguration;
+import com.devonfw.cobigen.impl.util.JaxbUtil;
+
+/**
+ * Test suite for {@link JaxbUtil} class.
+ */
+public class JaxbUtilTest {
+
+    /**
+     * Tests that the {@link javax.xml.bind.JAXBContext} of a JAXB root class is created only once, whereas
+     * each request for an {@link javax.xml.bind.Unmarshaller} results in a new one.
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testJaxbContextIsShared() throws Exception {
+        assertThat(JaxbUtil.getJaxbContext(TemplatesConfiguration.class))
+            .isSameAs(JaxbUtil.getJaxbContext(TemplatesConfiguration.class));
+        assertThat(JaxbUtil.createUnmarshaller(TemplatesConfiguration.class))
+            .isNotSameAs(JaxbUtil.createUnmarshaller(TemplatesConfiguration.class));
+    }
+
+    /**
+     * Tests that a schema is compiled only once per schema resource.
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testSchemaIsShared() throws Exception {
+        String schemaResource = "/schema/v4.0/templatesConfiguration.xsd";
+        assertThat(JaxbUtil.getSchema(schemaResource)).isNotNull().isSameAs(JaxbUtil.getSchema(schemaResource));
+        assertThat(JaxbUtil.getSchema("/schema/v2.1/templatesConfiguration.xsd"))
+            .isNotSameAs(JaxbUtil.getSchema(schemaResource));
+    }
+}
@@ -0,0 +1,132 @@
+package com.devonfw.cobigen.unittest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.devonfw.cobigen.impl.util.TemplateUtilClassIndex;
+import com.google.common.collect.Lists;
+
+/**
+ * Test suite for {@link TemplateUtilClassIndex} class.
+ */
+public class TemplateUtilClassIndexTest {
+
+    /** Temporary folder for the jars and the persisted indexes */
+    @Rule
+    public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+    /** Index directory configured before the test */
+    private String oldIndexDirectory;
+
+    /** Folder of the persisted indexes */
+    private File indexFolder;
+
+    /**
+     * Configures a temporary index directory
+     * @throws Exception
+     *             if the folder could not be created
+     */
+    @Before
+    public void setIndexDirectory() throws Exception {
+        indexFolder = tmpFolder.newFolder("index");
+        oldIndexDirectory =
+            System.setProperty(TemplateUtilClassIndex.INDEX_DIRECTORY_PROPERTY, indexFolder.getAbsolutePath());
+    }
+
+    /**
+     * Restores the index directory configured before the test
+     */
+    @After
+    public void resetIndexDirectory() {
+        if (oldIndexDirectory == null) {
+            System.clearProperty(TemplateUtilClassIndex.INDEX_DIRECTORY_PROPERTY);
+        } else {
+            System.setProperty(TemplateUtilClassIndex.INDEX_DIRECTORY_PROPERTY, oldIndexDirectory);
+        }
+    }
+
+    /**
+     * Tests that all classes of a jar are indexed and the jar is just read again if it changed.
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testClassNamesAreIndexedPerJar() throws Exception {
+        File jar = createJar(tmpFolder.newFile("templates.jar"), "utils/IDGenerator.class",
+            "utils/sub/JavaUtil.class");
+
+        List<String> classNames = TemplateUtilClassIndex.getClassNames(jar);
+        assertThat(classNames).containsExactly("utils.IDGenerator", "utils.sub.JavaUtil");
+        assertThat(TemplateUtilClassIndex.getClassNames(jar)).isSameAs(classNames);
+
+        createJar(jar, "utils/IDGenerator.class", "utils/sub/JavaUtil.class", "utils/Added.class");
+        assertThat(TemplateUtilClassIndex.getClassNames(jar)).containsExactly("utils.IDGenerator",
+            "utils.sub.JavaUtil", "utils.Added");
+    }
+
+    /**
+     * Tests that the persisted index of a jar is reused as long as the jar's path, last modification time, and
+     * size did not change, without reading the jar again.
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testPersistedIndexIsReused() throws Exception {
+        File jar = createJar(tmpFolder.newFile("persisted.jar"), "utils/IDGenerator.class");
+        long lastModified = jar.lastModified();
+
+        assertThat(TemplateUtilClassIndex.getClassNames(jar)).containsExactly("utils.IDGenerator");
+        File[] indexFiles = indexFolder.listFiles();
+        assertThat(indexFiles).hasSize(1);
+
+        // manipulate the persisted index to prove that the jar is not read again
+        Files.write(indexFiles[0].toPath(), Arrays.asList("utils.Indexed"), StandardCharsets.UTF_8);
+        // index the jar with another modification time to replace the index kept in memory
+        assertThat(jar.setLastModified(lastModified + 10000)).isTrue();
+        assertThat(TemplateUtilClassIndex.getClassNames(jar)).containsExactly("utils.IDGenerator");
+        assertThat(indexFolder.listFiles()).hasSize(2);
+
+        assertThat(jar.setLastModified(lastModified)).isTrue();
+        assertThat(TemplateUtilClassIndex.getClassNames(jar)).containsExactly("utils.Indexed");
+    }
+
+    /**
+     * Creates a templates jar with the given classes and some other resources
+     * @param jar
+     *            file to write the jar to
+     * @param classFiles
+     *            paths of the class files to be contained
+     * @return the jar
+     * @throws Exception
+     *             if the jar could not be written
+     */
+    private File createJar(File jar, String... classFiles) throws Exception {
+        List<String> entries = Lists.newArrayList("context.xml", "utils/");
+        entries.addAll(Arrays.asList(classFiles));
+        entries.add("templates/Sample.txt.ftl");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+            for (String entry : entries) {
+                out.putNextEntry(new ZipEntry(entry));
+                if (!entry.endsWith("/")) {
+                    out.write(entry.getBytes(StandardCharsets.UTF_8));
+                }
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
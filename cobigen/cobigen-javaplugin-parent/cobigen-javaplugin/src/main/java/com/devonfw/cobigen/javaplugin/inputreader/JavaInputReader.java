@@ -2,20 +2,24 @@ package com.devonfw.cobigen.javaplugin.inputreader;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.RandomAccess;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,14 +27,10 @@ import org.slf4j.LoggerFactory;
 import com.devonfw.cobigen.api.exception.InputReaderException;
 import com.devonfw.cobigen.api.extension.InputReader;
 import com.devonfw.cobigen.javaplugin.inputreader.to.PackageFolder;
-import com.devonfw.cobigen.javaplugin.merger.libextension.ModifyableClassLibraryBuilder;
 import com.devonfw.cobigen.javaplugin.model.ModelConstant;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
-import com.thoughtworks.qdox.library.ClassLibraryBuilder;
 import com.thoughtworks.qdox.model.JavaClass;
-import com.thoughtworks.qdox.model.JavaSource;
 import com.thoughtworks.qdox.parser.ParseException;
 
 /**
@@ -42,6 +42,18 @@ public class JavaInputReader implements InputReader {
     /** Logger instance */
     private static final Logger LOG = LoggerFactory.getLogger(JavaInputReader.class);
 
+    /**
+     * System property to configure the number of threads scanning package folders and parsing their sources.
+     * Defaults to the number of available processors. A value of {@code 1} disables parallel scanning.
+     */
+    public static final String PARALLELISM_PROPERTY = "cobigen.javaplugin.parallelism";
+
+    /** Minimal number of java sources to be parsed in parallel */
+    private static final int MIN_PARALLEL_FILES = 16;
+
+    /** Pool of daemon threads shared by all scans, lazily created */
+    private static ForkJoinPool sharedPool;
+
     @Override
     public boolean isValidInput(Object input) {
 
@@ -75,32 +87,45 @@ public class JavaInputReader implements InputReader {
         return false;
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * {@inheritDoc}<br>
+     * The models are cached process-wide and shared by all generations of the same input. Thus, the returned
+     * model as well as all of its nested maps and lists are unmodifiable.
+     */
     @Override
     public Map<String, Object> createModel(Object o) {
 
         if (o instanceof Class<?>) {
-            return new ReflectedJavaModelBuilder().createModel((Class<?>) o);
+            return JavaModelCache.getReflectedModel((Class<?>) o);
         }
         if (o instanceof JavaClass) {
-            return new ParsedJavaModelBuilder().createModel((JavaClass) o);
+            return JavaModelCache.getParsedModel((JavaClass) o);
         }
         if (o instanceof Object[] && isValidInput(o)) {
             Object[] inputArr = (Object[]) o;
-            Object parsedModel;
-            Object reflectionModel;
             if (inputArr[0] instanceof JavaClass) {
-                parsedModel = new ParsedJavaModelBuilder().createModel((JavaClass) inputArr[0]);
-                reflectionModel = new ReflectedJavaModelBuilder().createModel((Class<?>) inputArr[1]);
+                return JavaModelCache.getMergedModel((JavaClass) inputArr[0], (Class<?>) inputArr[1], this);
             } else {
-                parsedModel = new ParsedJavaModelBuilder().createModel((JavaClass) inputArr[1]);
-                reflectionModel = new ReflectedJavaModelBuilder().createModel((Class<?>) inputArr[0]);
+                return JavaModelCache.getMergedModel((JavaClass) inputArr[1], (Class<?>) inputArr[0], this);
             }
-            return (Map<String, Object>) mergeModelsRecursively(parsedModel, reflectionModel);
         }
         return null;
     }
 
+    /**
+     * Merges the model created by parsing with the model created by reflection of the same type.
+     * @param parsedModel
+     *            model created by parsing to be merged and preferred in case of conflicts
+     * @param reflectionModel
+     *            model created by reflection to be merged
+     * @return the merged model
+     * @see #mergeModelsRecursively(Object, Object)
+     */
+    @SuppressWarnings("unchecked")
+    Map<String, Object> mergeModels(Map<String, Object> parsedModel, Map<String, Object> reflectionModel) {
+        return (Map<String, Object>) mergeModelsRecursively(parsedModel, reflectionModel);
+    }
+
     @Override
     public List<Object> getInputObjects(Object input, Charset inputCharset) {
         return getInputObjects(input, inputCharset, false);
@@ -112,7 +137,10 @@ public class JavaInputReader implements InputReader {
     }
 
     /**
-     * Returns all input objects for the given container input.
+     * Returns all input objects for the given container input. Depending on the configured
+     * {@link #PARALLELISM_PROPERTY parallelism}, the package folder is scanned and its sources are parsed by
+     * multiple threads. Anyhow, the input objects are returned in a deterministic order, i.e. the sources of a
+     * folder ordered as listed by the file system followed by the sources of its sub folders.
      * @param input
      *            container input (only {@link PackageFolder} instances will be supported)
      * @param inputCharset
@@ -123,56 +151,144 @@ public class JavaInputReader implements InputReader {
      */
     public List<Object> getInputObjects(Object input, Charset inputCharset, boolean recursively) {
         LOG.debug("Retrieve input object for input {} {}", input, recursively ? "recursively" : "");
-        List<Object> javaClasses = new LinkedList<>();
+        List<Object> javaClasses = new ArrayList<>();
         if (input instanceof PackageFolder) {
-            File packageFolder = new File(((PackageFolder) input).getLocation());
-            List<File> files = retrieveAllJavaSourceFiles(packageFolder, recursively);
-            for (File f : files) {
-
-                ClassLibraryBuilder classLibraryBuilder = new ModifyableClassLibraryBuilder();
-                classLibraryBuilder.appendDefaultClassLoaders();
-                ClassLoader containerClassloader = ((PackageFolder) input).getClassLoader();
-                if (containerClassloader != null) {
-                    classLibraryBuilder.appendClassLoader(containerClassloader);
+            final File packageFolder = new File(((PackageFolder) input).getLocation());
+            final JavaSourceIndex sourceIndex = new JavaSourceIndex(packageFolder);
+            final ClassLoader containerClassloader = ((PackageFolder) input).getClassLoader();
+            int parallelism = getParallelism();
+            ForkJoinPool pool = parallelism > 1 ? getPool(parallelism) : null;
+            try {
+                List<File> files;
+                if (pool != null) {
+                    files = pool.invoke(new JavaSourceFileScan(packageFolder, recursively));
+                } else {
+                    files = retrieveAllJavaSourceFiles(packageFolder, recursively);
                 }
-                try {
-                    classLibraryBuilder.addSource(new InputStreamReader(new FileInputStream(f), inputCharset));
-                    JavaSource source = null;
-                    for (JavaSource s : classLibraryBuilder.getClassLibrary().getJavaSources()) {
-                        source = s;
-                        // only consider one class per file
-                        break;
-                    }
-                    if (source != null) {
-                        // save cast as given by the customized builder
-                        if (source.getClasses().size() > 0) {
-                            JavaClass javaClass = source.getClasses().get(0);
-
-                            // try loading class
-                            if (containerClassloader != null) {
-                                try {
-                                    Class<?> loadedClass = containerClassloader.loadClass(javaClass.getCanonicalName());
-                                    javaClasses.add(new Object[] { javaClass, loadedClass });
-                                } catch (ClassNotFoundException e) {
-                                    LOG.info("Could not load Java type '{}' with the containers class loader. "
-                                        + "Just returning the parsed Java model.", javaClass.getCanonicalName());
-                                    javaClasses.add(javaClass);
-                                }
-                            } else {
-                                javaClasses.add(javaClass);
+
+                if (pool != null && files.size() >= MIN_PARALLEL_FILES) {
+                    LOG.debug("Parsing {} java sources with {} threads", files.size(), parallelism);
+                    List<Callable<Object>> tasks = new ArrayList<>(files.size());
+                    for (final File f : files) {
+                        tasks.add(new Callable<Object>() {
+                            @Override
+                            public Object call() {
+                                return readInputObject(f, inputCharset, containerClassloader, sourceIndex);
                             }
-                        }
+                        });
+                    }
+                    // futures are returned in the order of the tasks
+                    for (Future<Object> future : pool.invokeAll(tasks)) {
+                        addIfPresent(javaClasses, future.get());
+                    }
+                } else {
+                    for (File f : files) {
+                        addIfPresent(javaClasses, readInputObject(f, inputCharset, containerClassloader, sourceIndex));
                     }
-                } catch (IOException e) {
-                    LOG.error("The file {} could not be parsed as a java class", f.getAbsolutePath().toString(), e);
                 }
-
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InputReaderException("Interrupted while reading java sources of " + packageFolder, e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new InputReaderException("Could not read java sources of " + packageFolder, e.getCause());
             }
+            sourceIndex.save();
         }
         LOG.debug("{} java classes found!", javaClasses.size());
         return javaClasses;
     }
 
+    /**
+     * Returns the number of threads to scan package folders with as configured by the
+     * {@link #PARALLELISM_PROPERTY}.
+     * @return the number of threads, at least {@code 1}
+     */
+    private static int getParallelism() {
+        String parallelism = System.getProperty(PARALLELISM_PROPERTY);
+        if (parallelism == null) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try {
+            return Math.max(1, Integer.parseInt(parallelism.trim()));
+        } catch (NumberFormatException e) {
+            LOG.warn("Invalid value '{}' of system property {}. Scanning sequentially.", parallelism,
+                PARALLELISM_PROPERTY);
+            return 1;
+        }
+    }
+
+    /**
+     * Returns the pool shared by all scans and creates it if not yet existent or if the configured parallelism
+     * changed. A replaced pool will be shut down, whereas the tasks already submitted to it are still
+     * completed.
+     * @param parallelism
+     *            number of threads to scan package folders with
+     * @return the shared {@link ForkJoinPool}, whose worker threads are daemon threads
+     */
+    private static synchronized ForkJoinPool getPool(int parallelism) {
+        if (sharedPool == null || sharedPool.getParallelism() != parallelism) {
+            if (sharedPool != null) {
+                sharedPool.shutdown();
+            }
+            sharedPool = new ForkJoinPool(parallelism);
+        }
+        return sharedPool;
+    }
+
+    /**
+     * Adds the given input object to the given list if not {@code null}.
+     * @param inputObjects
+     *            list of input objects
+     * @param inputObject
+     *            to be added, might be {@code null}
+     */
+    private static void addIfPresent(List<Object> inputObjects, Object inputObject) {
+        if (inputObject != null) {
+            inputObjects.add(inputObject);
+        }
+    }
+
+    /**
+     * Reads the input object of the given Java source file, i.e. its first {@link JavaClass} combined with
+     * the loaded {@link Class} if available.
+     * @param file
+     *            Java source file
+     * @param inputCharset
+     *            {@link Charset} to be used to read the file
+     * @param containerClassloader
+     *            {@link ClassLoader} of the container, might be {@code null}
+     * @param sourceIndex
+     *            {@link JavaSourceIndex} to retrieve the parsed sources from
+     * @return the input object or {@code null} if the file could not be read or does not declare any type
+     */
+    private Object readInputObject(File file, Charset inputCharset, ClassLoader containerClassloader,
+        JavaSourceIndex sourceIndex) {
+        try {
+            JavaClass javaClass = sourceIndex.getJavaClass(file, inputCharset, containerClassloader);
+            if (javaClass != null) {
+                // try loading class
+                if (containerClassloader != null) {
+                    try {
+                        Class<?> loadedClass = containerClassloader.loadClass(javaClass.getCanonicalName());
+                        return new Object[] { javaClass, loadedClass };
+                    } catch (ClassNotFoundException e) {
+                        LOG.info("Could not load Java type '{}' with the containers class loader. "
+                            + "Just returning the parsed Java model.", javaClass.getCanonicalName());
+                        return javaClass;
+                    }
+                } else {
+                    return javaClass;
+                }
+            }
+        } catch (IOException e) {
+            LOG.error("The file {} could not be parsed as a java class", file.getAbsolutePath().toString(), e);
+        }
+        return null;
+    }
+
     /**
      * Retrieves all java source files (with ending *.java) under the package's folder non-recursively
      *
@@ -183,12 +299,33 @@ public class JavaInputReader implements InputReader {
      * @return the list of files contained in the package's folder
      * @author mbrunnli (03.06.2014)
      */
-    private List<File> retrieveAllJavaSourceFiles(File packageFolder, boolean recursively) {
+    private static List<File> retrieveAllJavaSourceFiles(File packageFolder, boolean recursively) {
+
+        List<File> files = new ArrayList<>();
+        List<File> directories = new ArrayList<>();
+        listJavaSourceFiles(packageFolder, files, directories);
+        if (recursively) {
+            for (File dir : directories) {
+                files.addAll(retrieveAllJavaSourceFiles(dir, recursively));
+            }
+        }
+        return files;
 
-        List<File> files = new LinkedList<>();
-        List<File> directories = new LinkedList<>();
-        if (packageFolder.isDirectory()) {
-            for (File f : packageFolder.listFiles()) {
+    }
+
+    /**
+     * Lists all java source files (with ending *.java) and sub folders of the given folder.
+     * @param folder
+     *            the folder to be listed
+     * @param files
+     *            list to add the java source files to
+     * @param directories
+     *            list to add the sub folders to
+     */
+    private static void listJavaSourceFiles(File folder, List<File> files, List<File> directories) {
+        File[] children = folder.listFiles();
+        if (children != null) {
+            for (File f : children) {
                 if (f.isFile() && f.getName().endsWith(".java")) {
                     files.add(f);
                     LOG.debug("Found java source {}", f.getAbsolutePath());
@@ -196,14 +333,53 @@ public class JavaInputReader implements InputReader {
                     directories.add(f);
                 }
             }
-            if (recursively) {
+        }
+    }
+
+    /**
+     * Parallel variant of {@link JavaInputReader#retrieveAllJavaSourceFiles(File, boolean)} scanning sub
+     * folders concurrently while preserving the order of the sequential scan.
+     */
+    private static class JavaSourceFileScan extends RecursiveTask<List<File>> {
+
+        /** Default serial version UID */
+        private static final long serialVersionUID = 1L;
+
+        /** The folder to be scanned */
+        private final File folder;
+
+        /** States whether the java source files should be retrieved recursively */
+        private final boolean recursively;
+
+        /**
+         * Creates a new {@link JavaSourceFileScan}
+         * @param folder
+         *            the folder to be scanned
+         * @param recursively
+         *            states whether the java source files should be retrieved recursively
+         */
+        JavaSourceFileScan(File folder, boolean recursively) {
+            this.folder = folder;
+            this.recursively = recursively;
+        }
+
+        @Override
+        protected List<File> compute() {
+            List<File> files = new ArrayList<>();
+            List<File> directories = new ArrayList<>();
+            listJavaSourceFiles(folder, files, directories);
+            if (recursively && !directories.isEmpty()) {
+                List<JavaSourceFileScan> subScans = new ArrayList<>(directories.size());
                 for (File dir : directories) {
-                    files.addAll(retrieveAllJavaSourceFiles(dir, recursively));
+                    subScans.add(new JavaSourceFileScan(dir, recursively));
+                }
+                invokeAll(subScans);
+                for (JavaSourceFileScan subScan : subScans) {
+                    files.addAll(subScan.join());
                 }
             }
+            return files;
         }
-        return files;
-
     }
 
     @Override
@@ -283,68 +459,14 @@ public class JavaInputReader implements InputReader {
 
         if (parsedModel.getClass().equals(reflectionModel.getClass())) {
             if (parsedModel instanceof Map && reflectionModel instanceof Map) {
-                Map<String, Object> mergedModel = Maps.newHashMap();
-                Map<String, Object> model1Map = (Map<String, Object>) parsedModel;
-                Map<String, Object> model2Map = (Map<String, Object>) reflectionModel;
-
-                Set<String> union = Sets.newHashSet(model1Map.keySet());
-                union.addAll(model2Map.keySet());
-                for (String unionKey : union) {
-                    if (model1Map.containsKey(unionKey) && model2Map.containsKey(unionKey)) {
-                        // Recursively merge equal keys
-                        mergedModel.put(unionKey,
-                            mergeModelsRecursively(model1Map.get(unionKey), model2Map.get(unionKey)));
-                    } else if (model1Map.containsKey(unionKey)) {
-                        mergedModel.put(unionKey, model1Map.get(unionKey));
-                    } else {
-                        mergedModel.put(unionKey, model2Map.get(unionKey));
-                    }
-                }
-                return mergedModel;
+                return mergeMaps((Map<String, Object>) parsedModel, (Map<String, Object>) reflectionModel);
             }
             // Case: List<Map<String, Object>> available in fields and methods
             else if (parsedModel instanceof List && reflectionModel instanceof List) {
                 if (!((List<?>) parsedModel).isEmpty() && ((List<?>) parsedModel).get(0) instanceof Map
                     || !((List<?>) reflectionModel).isEmpty() && ((List<?>) reflectionModel).get(0) instanceof Map) {
-                    List<Map<String, Object>> model1List = Lists.newLinkedList((List<Map<String, Object>>) parsedModel);
-                    List<Map<String, Object>> model2List =
-                        Lists.newLinkedList((List<Map<String, Object>>) reflectionModel);
-                    List<Object> mergedModel = Lists.newLinkedList();
-
-                    // recursively merge list entries. Match them by name attribute. This is currently valid
-                    // and might be adapted if there are greater model changes in future
-                    Iterator<Map<String, Object>> model1ListIt = model1List.iterator();
-                    while (model1ListIt.hasNext()) {
-                        Map<String, Object> model1Entry = model1ListIt.next();
-                        Iterator<Map<String, Object>> model2ListIt = model2List.iterator();
-                        while (model2ListIt.hasNext()) {
-                            Map<String, Object> model2Entry = model2ListIt.next();
-                            // valid merging for fields and methods
-                            if (model1Entry.get(ModelConstant.NAME) != null) {
-                                if (model1Entry.get(ModelConstant.NAME).equals(model2Entry.get(ModelConstant.NAME))) {
-                                    mergedModel.add(mergeModelsRecursively(model1Entry, model2Entry));
-
-                                    // remove both entries as they have been matched and recursively merged
-                                    model1ListIt.remove();
-                                    model2ListIt.remove();
-                                    break;
-                                }
-                            } else
-                            // this is the case for merging recursive annotation arrays
-                            if (model1Entry.size() == 1 && model2Entry.size() == 1) {
-                                mergeModelsRecursively(model1Entry.get(model1Entry.keySet().iterator().next()),
-                                    model2Entry.get(model2Entry.keySet().iterator().next()));
-                            } else {
-                                throw new IllegalStateException(
-                                    "Anything unintended happened. Please state an issue at GitHub or mail one of the developers");
-                            }
-                        }
-                    }
-
-                    // append not matched entries from list1 and list2
-                    mergedModel.addAll(model1List);
-                    mergedModel.addAll(model2List);
-                    return mergedModel;
+                    return mergeMapLists((List<Map<String, Object>>) parsedModel,
+                        (List<Map<String, Object>>) reflectionModel);
                 }
                 // we will prefer parsed model if the values of the parsed result list are of type String.
                 // This is the case for annotation values. QDox will always return the expression,
@@ -373,6 +495,120 @@ public class JavaInputReader implements InputReader {
         }
     }
 
+    /**
+     * Merges two maps by recursively merging the values of equal keys.
+     * @param parsedMap
+     *            map created by parsing to be merged and preferred in case of conflicts
+     * @param reflectionMap
+     *            map created by reflection to be merged
+     * @return a new map containing the merged entries
+     */
+    private Map<String, Object> mergeMaps(Map<String, Object> parsedMap, Map<String, Object> reflectionMap) {
+
+        Map<String, Object> mergedModel = Maps.newHashMapWithExpectedSize(parsedMap.size() + reflectionMap.size());
+        for (Map.Entry<String, Object> parsedEntry : parsedMap.entrySet()) {
+            Object mergedValue = parsedEntry.getValue();
+            if (reflectionMap.containsKey(parsedEntry.getKey())) {
+                // Recursively merge equal keys
+                mergedValue = mergeModelsRecursively(mergedValue, reflectionMap.get(parsedEntry.getKey()));
+            }
+            mergedModel.put(parsedEntry.getKey(), mergedValue);
+        }
+        for (Map.Entry<String, Object> reflectionEntry : reflectionMap.entrySet()) {
+            if (!parsedMap.containsKey(reflectionEntry.getKey())) {
+                mergedModel.put(reflectionEntry.getKey(), reflectionEntry.getValue());
+            }
+        }
+        return mergedModel;
+    }
+
+    /**
+     * Merges two lists of maps by recursively merging the maps with the same {@link ModelConstant#NAME} value.
+     * The reflected maps are indexed by name, such that each parsed map is matched in constant time with the
+     * first not yet matched reflected map of the same name. The resulting list contains the merged maps in
+     * order of the parsed list followed by all parsed and all reflected maps not matched.
+     * @param parsedList
+     *            list created by parsing to be merged and preferred in case of conflicts
+     * @param reflectionList
+     *            list created by reflection to be merged
+     * @return the merged list
+     */
+    private List<Object> mergeMapLists(List<Map<String, Object>> parsedList,
+        List<Map<String, Object>> reflectionList) {
+
+        List<Map<String, Object>> reflectionEntries =
+            reflectionList instanceof RandomAccess ? reflectionList : Lists.newArrayList(reflectionList);
+        boolean[] matchedReflectionEntries = new boolean[reflectionEntries.size()];
+        int unmatchedReflectionEntries = reflectionEntries.size();
+
+        // index the reflected entries by name keeping the order of entries with the same name
+        Map<Object, Deque<Integer>> reflectionEntriesByName = Maps.newHashMapWithExpectedSize(reflectionEntries.size());
+        for (int i = 0; i < reflectionEntries.size(); i++) {
+            Map<String, Object> reflectionEntry = reflectionEntries.get(i);
+            Object name = reflectionEntry == null ? null : reflectionEntry.get(ModelConstant.NAME);
+            if (name != null) {
+                Deque<Integer> indexes = reflectionEntriesByName.get(name);
+                if (indexes == null) {
+                    indexes = new ArrayDeque<>(1);
+                    reflectionEntriesByName.put(name, indexes);
+                }
+                indexes.add(i);
+            }
+        }
+
+        List<Object> mergedModel = Lists.newArrayListWithCapacity(parsedList.size() + reflectionEntries.size());
+        List<Map<String, Object>> unmatchedParsedEntries = Lists.newArrayList();
+
+        // recursively merge list entries. Match them by name attribute. This is currently valid
+        // and might be adapted if there are greater model changes in future
+        for (Map<String, Object> parsedEntry : parsedList) {
+            if (unmatchedReflectionEntries == 0) {
+                unmatchedParsedEntries.add(parsedEntry);
+                continue;
+            }
+            Object name = parsedEntry.get(ModelConstant.NAME);
+            // valid merging for fields and methods
+            if (name != null) {
+                Deque<Integer> indexes = reflectionEntriesByName.get(name);
+                if (indexes != null && !indexes.isEmpty()) {
+                    int i = indexes.poll();
+                    mergedModel.add(mergeModelsRecursively(parsedEntry, reflectionEntries.get(i)));
+
+                    // mark both entries as matched and recursively merged
+                    matchedReflectionEntries[i] = true;
+                    unmatchedReflectionEntries--;
+                } else {
+                    unmatchedParsedEntries.add(parsedEntry);
+                }
+            } else {
+                // this is the case for merging recursive annotation arrays
+                for (int i = 0; i < reflectionEntries.size(); i++) {
+                    if (matchedReflectionEntries[i]) {
+                        continue;
+                    }
+                    Map<String, Object> reflectionEntry = reflectionEntries.get(i);
+                    if (parsedEntry.size() == 1 && reflectionEntry.size() == 1) {
+                        mergeModelsRecursively(parsedEntry.get(parsedEntry.keySet().iterator().next()),
+                            reflectionEntry.get(reflectionEntry.keySet().iterator().next()));
+                    } else {
+                        throw new IllegalStateException(
+                            "Anything unintended happened. Please state an issue at GitHub or mail one of the developers");
+                    }
+                }
+                unmatchedParsedEntries.add(parsedEntry);
+            }
+        }
+
+        // append not matched entries from list1 and list2
+        mergedModel.addAll(unmatchedParsedEntries);
+        for (int i = 0; i < reflectionEntries.size(); i++) {
+            if (!matchedReflectionEntries[i]) {
+                mergedModel.add(reflectionEntries.get(i));
+            }
+        }
+        return mergedModel;
+    }
+
     /**
      * Reads the data at the specified path.
      * @param path
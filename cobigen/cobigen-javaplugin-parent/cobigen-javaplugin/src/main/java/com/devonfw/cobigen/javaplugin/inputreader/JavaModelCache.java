@@ -0,0 +1,199 @@
+package com.devonfw.cobigen.javaplugin.inputreader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.thoughtworks.qdox.model.JavaClass;
+
+/**
+ * Process-wide cache of the immutable models created for {@link Class} and {@link JavaClass} inputs. The
+ * inputs are compared by identity, so that classes of different class loaders as well as different parses of
+ * a source file result in different models. As the {@link JavaSourceIndex} reuses the {@link JavaClass}
+ * instances of unchanged source files, the identity of a {@link JavaClass} reflects its source contents.
+ * Inputs are referenced weakly to not prevent unloading class loaders or collecting outdated parses.
+ */
+final class JavaModelCache {
+
+    /**
+     * Cached models of reflected classes. The values are referenced softly as the models reference their
+     * class, which would otherwise prevent collecting the weak keys.
+     */
+    private static final Cache<Class<?>, Map<String, Object>> REFLECTED_MODELS =
+        CacheBuilder.newBuilder().weakKeys().softValues().build();
+
+    /** Cached models of parsed classes */
+    private static final Cache<JavaClass, Map<String, Object>> PARSED_MODELS =
+        CacheBuilder.newBuilder().weakKeys().build();
+
+    /**
+     * Cached merged models of parsed classes and their reflected counterpart. The values are referenced
+     * softly as the models reference the reflected class.
+     */
+    private static final Cache<JavaClass, MergedModel> MERGED_MODELS =
+        CacheBuilder.newBuilder().weakKeys().softValues().build();
+
+    /**
+     * Not intended to be instantiated.
+     */
+    private JavaModelCache() {
+    }
+
+    /**
+     * Returns the model of the given reflected class, creating and caching it if not yet present.
+     * @param pojo
+     *            {@link Class} to retrieve the model for
+     * @return the immutable model
+     */
+    static Map<String, Object> getReflectedModel(final Class<?> pojo) {
+        return get(REFLECTED_MODELS, pojo, new Callable<Map<String, Object>>() {
+            @Override
+            public Map<String, Object> call() {
+                return freeze(new ReflectedJavaModelBuilder().createModel(pojo));
+            }
+        });
+    }
+
+    /**
+     * Returns the model of the given parsed class, creating and caching it if not yet present.
+     * @param javaClass
+     *            {@link JavaClass} to retrieve the model for
+     * @return the immutable model
+     */
+    static Map<String, Object> getParsedModel(final JavaClass javaClass) {
+        return get(PARSED_MODELS, javaClass, new Callable<Map<String, Object>>() {
+            @Override
+            public Map<String, Object> call() {
+                return freeze(new ParsedJavaModelBuilder().createModel(javaClass));
+            }
+        });
+    }
+
+    /**
+     * Returns the merged model of the given parsed class and its reflected counterpart, creating and caching it
+     * if not yet present.
+     * @param javaClass
+     *            {@link JavaClass} to retrieve the model for
+     * @param pojo
+     *            {@link Class} representing the same type as the {@link JavaClass}
+     * @param reader
+     *            {@link JavaInputReader} to merge the models with
+     * @return the immutable model
+     */
+    static Map<String, Object> getMergedModel(JavaClass javaClass, Class<?> pojo, JavaInputReader reader) {
+        MergedModel merged = MERGED_MODELS.getIfPresent(javaClass);
+        if (merged != null && merged.pojo == pojo) {
+            return merged.model;
+        }
+        // merging is idempotent, so concurrent merges of the same input just waste some effort
+        Map<String, Object> model = freeze(reader.mergeModels(getParsedModel(javaClass), getReflectedModel(pojo)));
+        MERGED_MODELS.put(javaClass, new MergedModel(pojo, model));
+        return model;
+    }
+
+    /**
+     * Returns the cached value of the given key, loading it if not yet present.
+     * @param cache
+     *            cache to be accessed
+     * @param key
+     *            key of the value
+     * @param loader
+     *            creates the value if not yet present
+     * @return the cached value
+     */
+    private static <K> Map<String, Object> get(Cache<K, Map<String, Object>> cache, K key,
+        Callable<Map<String, Object>> loader) {
+        try {
+            return cache.get(key, loader);
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            // cannot happen as the loaders do not throw any checked exception
+            throw new IllegalStateException("Could not access the cache of Java models.", e);
+        }
+    }
+
+    /**
+     * Recursively wraps all maps and lists of the given model by unmodifiable views. Maps and lists referenced
+     * multiple times remain shared by a single view.
+     * @param model
+     *            the model to be frozen
+     * @return the immutable model
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> freeze(Map<String, Object> model) {
+        return (Map<String, Object>) freeze(model, new IdentityHashMap<Object, Object>());
+    }
+
+    /**
+     * Recursively wraps all maps and lists of the given value by unmodifiable views.
+     * @param value
+     *            the value to be frozen
+     * @param frozen
+     *            already frozen maps and lists mapped to their unmodifiable view
+     * @return the unmodifiable view of maps and lists or the value itself otherwise
+     */
+    private static Object freeze(Object value, Map<Object, Object> frozen) {
+        if (!(value instanceof Map) && !(value instanceof List)) {
+            return value;
+        }
+        Object view = frozen.get(value);
+        if (view != null) {
+            return view;
+        }
+
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            Map<Object, Object> copy = new HashMap<>(map.size() * 4 / 3 + 1);
+            view = Collections.unmodifiableMap(copy);
+            frozen.put(value, view);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                copy.put(entry.getKey(), freeze(entry.getValue(), frozen));
+            }
+        } else {
+            List<?> list = (List<?>) value;
+            List<Object> copy = new ArrayList<>(list.size());
+            view = Collections.unmodifiableList(copy);
+            frozen.put(value, view);
+            for (Object element : list) {
+                copy.add(freeze(element, frozen));
+            }
+        }
+        return view;
+    }
+
+    /**
+     * Merged model together with the reflected class it has been merged with.
+     */
+    private static final class MergedModel {
+
+        /** Reflected class the model has been merged with */
+        private final Class<?> pojo;
+
+        /** The merged model */
+        private final Map<String, Object> model;
+
+        /**
+         * Creates a new {@link MergedModel}
+         * @param pojo
+         *            reflected class the model has been merged with
+         * @param model
+         *            the merged model
+         */
+        MergedModel(Class<?> pojo, Map<String, Object> model) {
+            this.pojo = pojo;
+            this.model = model;
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.devonfw.cobigen.javaplugin.inputreader;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.devonfw.cobigen.javaplugin.merger.libextension.ModifyableClassLibraryBuilder;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.thoughtworks.qdox.library.ClassLibraryBuilder;
+import com.thoughtworks.qdox.model.JavaClass;
+import com.thoughtworks.qdox.model.JavaSource;
+
+/**
+ * Index of the Java sources of a package folder. Each source file is identified by its path, last
+ * modification time, and size, such that just changed files have to be parsed again. The parsed
+ * {@link JavaClass}es are cached in memory for the whole process per class loader used for type resolution.
+ * As the parsed QDox models reference their class loader, they are just held softly, such that a discarded
+ * class loader can still be collected as soon as memory gets short. As the parsed QDox models reference their
+ * class library and thus cannot be reasonably persisted, the index persisted on disk just keeps the fully
+ * qualified names of the sources' first types. Sources known to not declare any type are thus not parsed at
+ * all.<br>
+ * <br>
+ * The index will only be persisted if the system property {@value #INDEX_DIRECTORY_PROPERTY} configures a
+ * directory to store it in.
+ */
+public class JavaSourceIndex {
+
+    /** Logger instance */
+    private static final Logger LOG = LoggerFactory.getLogger(JavaSourceIndex.class);
+
+    /** System property to configure the directory of all persisted indexes, not persisted if not set */
+    public static final String INDEX_DIRECTORY_PROPERTY = "cobigen.javaplugin.indexDirectory";
+
+    /** Maximum number of parsed sources cached per class loader */
+    public static final long MAX_CACHED_SOURCES = 10000;
+
+    /** Cache key for parsing without any container class loader */
+    private static final Object NO_CLASSLOADER = new Object();
+
+    /** Separator of the columns of the persisted index */
+    private static final String SEPARATOR = "\t";
+
+    /**
+     * Mapping of class loader to source path to parsed source. The parsed sources are held softly as they
+     * strongly reference the class loader, which would otherwise never be collected.
+     */
+    private static final Cache<Object, Cache<Path, ParsedSource>> parsedSources =
+        CacheBuilder.newBuilder().weakKeys().build();
+
+    /** Persisted index file or {@code null} if the index should not be persisted */
+    private final Path indexFile;
+
+    /** Mapping of source path to indexed information */
+    private final ConcurrentMap<Path, IndexEntry> entries = new ConcurrentHashMap<>();
+
+    /** States, whether the index has been changed since loading */
+    private volatile boolean dirty;
+
+    /**
+     * Creates a new {@link JavaSourceIndex} for the given package folder and loads its persisted index if
+     * available.
+     * @param packageFolder
+     *            root folder of all sources to be indexed
+     */
+    public JavaSourceIndex(File packageFolder) {
+        indexFile = getIndexFile(packageFolder);
+        if (indexFile != null && Files.isRegularFile(indexFile)) {
+            load();
+        }
+    }
+
+    /**
+     * Determines the persisted index file of the given package folder.
+     * @param packageFolder
+     *            root folder of all sources to be indexed
+     * @return the index file or {@code null} if the index should not be persisted
+     */
+    private static Path getIndexFile(File packageFolder) {
+        String indexDirectory = System.getProperty(INDEX_DIRECTORY_PROPERTY);
+        if (indexDirectory == null || indexDirectory.trim().isEmpty()) {
+            return null;
+        }
+        String key = Hashing.sha1().hashString(packageFolder.getAbsolutePath(), StandardCharsets.UTF_8).toString();
+        return Paths.get(indexDirectory).resolve(key + ".idx");
+    }
+
+    /**
+     * Returns the first {@link JavaClass} declared in the given source file. The file will just be parsed if
+     * it changed since it has been parsed last time.
+     * @param file
+     *            Java source file
+     * @param inputCharset
+     *            {@link Charset} to read the file with
+     * @param containerClassloader
+     *            {@link ClassLoader} to resolve types with or {@code null} to just use the default class
+     *            loaders
+     * @return the first {@link JavaClass} of the source or {@code null} if the source does not declare any
+     *         type
+     * @throws IOException
+     *             if the file could not be read
+     */
+    public JavaClass getJavaClass(File file, Charset inputCharset, ClassLoader containerClassloader)
+        throws IOException {
+        Path path = file.toPath().toAbsolutePath();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+
+        IndexEntry entry = entries.get(path);
+        if (entry != null && entry.isUpToDate(lastModified, size) && entry.fqn == null) {
+            LOG.debug("Skip parsing {} as it does not declare any type.", path);
+            return null;
+        }
+
+        Cache<Path, ParsedSource> sources = getParsedSources(containerClassloader);
+        ParsedSource source = sources.getIfPresent(path);
+        if (source == null || !source.isUpToDate(lastModified, size, inputCharset)) {
+            LOG.debug("Parse {}", path);
+            JavaClass javaClass = parse(file, inputCharset, containerClassloader);
+            source = new ParsedSource(lastModified, size, inputCharset, javaClass);
+            sources.put(path, source);
+        }
+
+        if (entry == null || !entry.isUpToDate(lastModified, size)) {
+            entries.put(path, source);
+            dirty = true;
+        }
+        return source.javaClass;
+    }
+
+    /**
+     * Persists the index if it has been changed. Entries of deleted sources will be removed.
+     */
+    public void save() {
+        if (indexFile == null || !dirty) {
+            return;
+        }
+        try {
+            Files.createDirectories(indexFile.getParent());
+            Path tmpFile = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+                for (Entry<Path, IndexEntry> entry : entries.entrySet()) {
+                    if (Files.exists(entry.getKey())) {
+                        IndexEntry value = entry.getValue();
+                        writer.write(value.lastModified + SEPARATOR + value.size + SEPARATOR
+                            + (value.fqn != null ? value.fqn : "") + SEPARATOR + entry.getKey());
+                        writer.newLine();
+                    }
+                }
+            }
+            Files.move(tmpFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+            dirty = false;
+        } catch (IOException e) {
+            // the index is just an optimization
+            LOG.warn("Could not persist java source index {}", indexFile, e);
+        }
+    }
+
+    /**
+     * Loads the persisted index. Invalid indexes will be ignored.
+     */
+    private void load() {
+        try (BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split(SEPARATOR, 4);
+                if (columns.length == 4) {
+                    entries.put(Paths.get(columns[3]), new IndexEntry(Long.parseLong(columns[0]),
+                        Long.parseLong(columns[1]), columns[2].isEmpty() ? null : columns[2]));
+                }
+            }
+            LOG.debug("Loaded java source index {} with {} entries", indexFile, entries.size());
+        } catch (IOException | RuntimeException e) {
+            // all sources will just be parsed again
+            LOG.warn("Could not load java source index {}. Ignoring it.", indexFile, e);
+            entries.clear();
+        }
+    }
+
+    /**
+     * Returns the cache of parsed sources for the given class loader.
+     * @param containerClassloader
+     *            {@link ClassLoader} used for type resolution, might be {@code null}
+     * @return the cache of parsed sources
+     */
+    private static Cache<Path, ParsedSource> getParsedSources(ClassLoader containerClassloader) {
+        try {
+            return parsedSources.get(containerClassloader != null ? containerClassloader : NO_CLASSLOADER,
+                new Callable<Cache<Path, ParsedSource>>() {
+                    @Override
+                    public Cache<Path, ParsedSource> call() {
+                        return CacheBuilder.newBuilder().softValues().maximumSize(MAX_CACHED_SOURCES)
+                            .<Path, ParsedSource> build();
+                    }
+                });
+        } catch (ExecutionException e) {
+            // cannot happen as the loader does not throw any checked exception
+            throw new IllegalStateException("Could not access the cache of parsed sources.", e);
+        }
+    }
+
+    /**
+     * Parses the given Java source file.
+     * @param file
+     *            Java source file
+     * @param inputCharset
+     *            {@link Charset} to read the file with
+     * @param containerClassloader
+     *            {@link ClassLoader} to resolve types with, might be {@code null}
+     * @return the first {@link JavaClass} of the source or {@code null} if the source does not declare any
+     *         type
+     * @throws IOException
+     *             if the file could not be read
+     */
+    private static JavaClass parse(File file, Charset inputCharset, ClassLoader containerClassloader)
+        throws IOException {
+        ClassLibraryBuilder classLibraryBuilder = new ModifyableClassLibraryBuilder();
+        classLibraryBuilder.appendDefaultClassLoaders();
+        if (containerClassloader != null) {
+            classLibraryBuilder.appendClassLoader(containerClassloader);
+        }
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file.toPath()), inputCharset)) {
+            classLibraryBuilder.addSource(reader);
+        }
+        for (JavaSource source : classLibraryBuilder.getClassLibrary().getJavaSources()) {
+            // only consider one class per file
+            return source.getClasses().size() > 0 ? source.getClasses().get(0) : null;
+        }
+        return null;
+    }
+
+    /**
+     * Persisted information about a source file.
+     */
+    private static class IndexEntry {
+
+        /** Last modification time of the source file in milliseconds */
+        private final long lastModified;
+
+        /** Size of the source file in bytes */
+        private final long size;
+
+        /** Fully qualified name of the first type declared or {@code null} if there is none */
+        private final String fqn;
+
+        /**
+         * Creates a new {@link IndexEntry}
+         * @param lastModified
+         *            last modification time of the source file in milliseconds
+         * @param size
+         *            size of the source file in bytes
+         * @param fqn
+         *            fully qualified name of the first type declared or {@code null} if there is none
+         */
+        IndexEntry(long lastModified, long size, String fqn) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.fqn = fqn;
+        }
+
+        /**
+         * Checks whether this entry is up to date with the source file.
+         * @param currentLastModified
+         *            current last modification time of the source file
+         * @param currentSize
+         *            current size of the source file
+         * @return {@code true} if this entry still describes the source file, {@code false} otherwise
+         */
+        boolean isUpToDate(long currentLastModified, long currentSize) {
+            return lastModified == currentLastModified && size == currentSize;
+        }
+    }
+
+    /**
+     * Source file parsed and cached in memory together with its first {@link JavaClass}.
+     */
+    private static class ParsedSource extends IndexEntry {
+
+        /** {@link Charset} the source file has been read with */
+        private final Charset charset;
+
+        /** First {@link JavaClass} declared or {@code null} if there is none */
+        private final JavaClass javaClass;
+
+        /**
+         * Creates a new {@link ParsedSource}
+         * @param lastModified
+         *            last modification time of the source file in milliseconds
+         * @param size
+         *            size of the source file in bytes
+         * @param charset
+         *            {@link Charset} the source file has been read with
+         * @param javaClass
+         *            first {@link JavaClass} declared or {@code null} if there is none
+         */
+        ParsedSource(long lastModified, long size, Charset charset, JavaClass javaClass) {
+            super(lastModified, size, javaClass != null ? javaClass.getFullyQualifiedName() : null);
+            this.charset = charset;
+            this.javaClass = javaClass;
+        }
+
+        /**
+         * Checks whether this parsed source is up to date with the source file.
+         * @param currentLastModified
+         *            current last modification time of the source file
+         * @param currentSize
+         *            current size of the source file
+         * @param currentCharset
+         *            {@link Charset} the source file should be read with
+         * @return {@code true} if this parsed source still reflects the source file, {@code false} otherwise
+         */
+        boolean isUpToDate(long currentLastModified, long currentSize, Charset currentCharset) {
+            return isUpToDate(currentLastModified, currentSize) && charset.equals(currentCharset);
+        }
+    }
+}
@@ -26,12 +26,6 @@ import com.thoughtworks.qdox.model.JavaType;
 /** The {@link ParsedJavaModelBuilder} builds a model using QDox as a Java parser */
 public class ParsedJavaModelBuilder {
 
-    /** Cached input pojo class in order to avoid unnecessary efforts */
-    private JavaClass cachedPojo;
-
-    /** Cached model related to the cached input pojo */
-    private Map<String, Object> cachedModel;
-
     /**
      * Creates the object model for the template instantiation.
      *
@@ -43,12 +37,7 @@ public class ParsedJavaModelBuilder {
      */
     Map<String, Object> createModel(final JavaClass javaClass) {
 
-        if (cachedPojo != null && cachedPojo.equals(javaClass)) {
-            return new HashMap<>(cachedModel);
-        }
-        cachedPojo = javaClass;
-
-        cachedModel = new HashMap<>();
+        Map<String, Object> model = new HashMap<>();
         Map<String, Object> pojoModel = new HashMap<>();
         pojoModel.put(ModelConstant.NAME, javaClass.getName());
         if (javaClass.getPackage() != null) {
@@ -85,9 +74,9 @@ public class ParsedJavaModelBuilder {
         pojoModel.put(ModelConstant.IMPLEMENTED_TYPES, interfaces);
 
         pojoModel.put(ModelConstant.METHODS, extractMethods(javaClass));
-        cachedModel.put(ModelConstant.MODEL_ROOT, pojoModel);
+        model.put(ModelConstant.MODEL_ROOT, pojoModel);
 
-        return new HashMap<>(cachedModel);
+        return model;
     }
 
     /**
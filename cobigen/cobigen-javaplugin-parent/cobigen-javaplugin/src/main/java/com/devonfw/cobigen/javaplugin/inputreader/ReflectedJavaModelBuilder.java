@@ -39,12 +39,6 @@ public class ReflectedJavaModelBuilder {
     /** Assigning logger to JavaModelBuilder */
     private static final Logger LOG = LoggerFactory.getLogger(ReflectedJavaModelBuilder.class);
 
-    /** Cached input pojo class in order to avoid unnecessary efforts */
-    private Class<?> cachedPojo;
-
-    /** Cached model related to the cached input pojo */
-    private Map<String, Object> cachedModel;
-
     /**
      * Creates the object model for the template instantiation.
      *
@@ -56,12 +50,7 @@ public class ReflectedJavaModelBuilder {
      */
     Map<String, Object> createModel(final Class<?> pojo) {
 
-        if (cachedPojo != null && cachedPojo.equals(pojo)) {
-            return new HashMap<>(cachedModel);
-        }
-        cachedPojo = pojo;
-
-        cachedModel = new HashMap<>();
+        Map<String, Object> model = new HashMap<>();
         Map<String, Object> pojoModel = new HashMap<>();
         pojoModel.put(ModelConstant.NAME, pojo.getSimpleName());
         if (pojo.getPackage() != null) {
@@ -93,10 +82,10 @@ public class ReflectedJavaModelBuilder {
         pojoModel.put(ModelConstant.IMPLEMENTED_TYPES, interfaces);
 
         pojoModel.put(ModelConstant.METHODS, extractMethods(pojo));
-        cachedModel.put(ModelConstant.MODEL_ROOT, pojoModel);
-        cachedModel.put(ModelConstant.CLASS_OBJECT, pojo);
+        model.put(ModelConstant.MODEL_ROOT, pojoModel);
+        model.put(ModelConstant.CLASS_OBJECT, pojo);
 
-        return new HashMap<>(cachedModel);
+        return model;
     }
 
     /**
@@ -1,18 +1,29 @@
 package com.devonfw.cobigen.javaplugin.unittest.inputreader;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.FileReader;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.io.Charsets;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.devonfw.cobigen.javaplugin.inputreader.JavaInputReader;
 import com.devonfw.cobigen.javaplugin.inputreader.JavaParserUtil;
+import com.devonfw.cobigen.javaplugin.inputreader.JavaSourceIndex;
 import com.devonfw.cobigen.javaplugin.inputreader.to.PackageFolder;
 import com.devonfw.cobigen.javaplugin.unittest.inputreader.testdata.TestClass;
 import com.devonfw.cobigen.javaplugin.unittest.inputreader.testdata.TestClassWithAnnotations;
@@ -29,6 +40,10 @@ import com.thoughtworks.qdox.model.JavaClass;
  */
 public class JavaInputReaderTest {
 
+    /** Temporary folder for test files */
+    @Rule
+    public TemporaryFolder tmpFolder = new TemporaryFolder();
+
     /**
      * Root path to all resources used in this test case
      */
@@ -58,6 +73,82 @@ public class JavaInputReaderTest {
             .isEqualTo("List<String>");
     }
 
+    /**
+     * Tests that the fields of the parsed and the reflected model are matched by name, such that each field is
+     * contained once in order of the parsed model and provides the properties of both models.
+     *
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void provideParsingAndReflectionModelFeatures_fieldsMatchedByName() throws Exception {
+
+        File javaSourceFile = new File(testFileRootPath + "TestClass.java");
+        Class<?> javaClass = TestClass.class;
+
+        JavaInputReader javaInputReader = new JavaInputReader();
+        JavaClass parsedClass = JavaParserUtil.getFirstJavaClass(new FileReader(javaSourceFile));
+        Map<String, Object> parsedModel = javaInputReader.createModel(parsedClass);
+        Map<String, Object> reflectedModel = javaInputReader.createModel(javaClass);
+        Map<String, Object> model = javaInputReader.createModel(new Object[] { parsedClass, javaClass });
+
+        List<String> parsedFieldNames = Lists.newArrayList();
+        for (Map<String, Object> field : JavaModelUtil.getFields(parsedModel)) {
+            parsedFieldNames.add((String) field.get(ModelConstant.NAME));
+        }
+        List<String> mergedFieldNames = Lists.newArrayList();
+        for (Map<String, Object> field : JavaModelUtil.getFields(model)) {
+            String fieldName = (String) field.get(ModelConstant.NAME);
+            mergedFieldNames.add(fieldName);
+            Map<String, Object> parsedField = JavaModelUtil.getField(parsedModel, fieldName);
+            Map<String, Object> reflectedField = JavaModelUtil.getField(reflectedModel, fieldName);
+            assertThat(field).containsKeys(parsedField.keySet().toArray(new String[0]))
+                .containsKeys(reflectedField.keySet().toArray(new String[0]));
+        }
+        assertThat(mergedFieldNames).isEqualTo(parsedFieldNames);
+    }
+
+    /**
+     * Tests that the models of the same inputs are shared by all readers and cannot be modified
+     *
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testCreateModel_sharedImmutableModels() throws Exception {
+
+        File javaSourceFile = new File(testFileRootPath + "TestClass.java");
+        Class<?> javaClass = TestClass.class;
+        JavaClass parsedClass = JavaParserUtil.getFirstJavaClass(new FileReader(javaSourceFile));
+        Object[] input = new Object[] { parsedClass, javaClass };
+
+        Map<String, Object> model = new JavaInputReader().createModel(input);
+        assertThat(new JavaInputReader().createModel(input)).isSameAs(model);
+        assertThat(new JavaInputReader().createModel(new Object[] { javaClass, parsedClass })).isSameAs(model);
+        assertThat(new JavaInputReader().createModel(javaClass))
+            .isSameAs(new JavaInputReader().createModel(javaClass));
+
+        // a new parse of the same source results in a new model
+        JavaClass reparsedClass = JavaParserUtil.getFirstJavaClass(new FileReader(javaSourceFile));
+        Map<String, Object> reparsedModel =
+            new JavaInputReader().createModel(new Object[] { reparsedClass, javaClass });
+        assertThat(reparsedModel).isNotSameAs(model).isEqualTo(model);
+
+        List<Map<String, Object>> fields = JavaModelUtil.getFields(model);
+        try {
+            fields.remove(0);
+            fail("Fields of the model could be modified.");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        try {
+            fields.get(0).put(ModelConstant.NAME, "changed");
+            fail("Field of the model could be modified.");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
     /**
      * Tests whether both features can be used when providing parsed and reflected inputs for one java class,
      * whereas one model does not provide any fields and/or methods
@@ -277,4 +368,131 @@ public class JavaInputReaderTest {
         assertThat(simpleNames).containsExactly("RootClass", "SuperClass1", "SuperClass2");
     }
 
+    /**
+     * Tests that unchanged sources are not parsed again and that the index is persisted.
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testGetInputObjects_reusesUnchangedSources() throws Exception {
+        File packageFolder = tmpFolder.newFolder("pkg");
+        File indexFolder = tmpFolder.newFolder("index");
+        Path source = packageFolder.toPath().resolve("A.java");
+        Files.write(source, "package pkg; public class A {}".getBytes(StandardCharsets.UTF_8));
+        Files.write(packageFolder.toPath().resolve("package-info.java"),
+            "package pkg;".getBytes(StandardCharsets.UTF_8));
+        PackageFolder pkg = new PackageFolder(packageFolder.toURI(), "pkg");
+
+        String oldIndexDirectory =
+            System.setProperty(JavaSourceIndex.INDEX_DIRECTORY_PROPERTY, indexFolder.getAbsolutePath());
+        try {
+            JavaInputReader inputReader = new JavaInputReader();
+            List<Object> first = inputReader.getInputObjects(pkg, Charsets.UTF_8);
+            List<Object> second = inputReader.getInputObjects(pkg, Charsets.UTF_8);
+            assertThat(first).hasSize(1);
+            assertThat(second).hasSize(1);
+            assertThat(second.get(0)).isSameAs(first.get(0));
+            assertThat(indexFolder.list()).hasSize(1);
+
+            Files.write(source, "package pkg; public class A { int changed; }".getBytes(StandardCharsets.UTF_8));
+            List<Object> third = inputReader.getInputObjects(pkg, Charsets.UTF_8);
+            assertThat(third).hasSize(1);
+            assertThat(third.get(0)).isNotSameAs(first.get(0));
+            assertThat(((JavaClass) third.get(0)).getFieldByName("changed")).isNotNull();
+        } finally {
+            if (oldIndexDirectory == null) {
+                System.clearProperty(JavaSourceIndex.INDEX_DIRECTORY_PROPERTY);
+            } else {
+                System.setProperty(JavaSourceIndex.INDEX_DIRECTORY_PROPERTY, oldIndexDirectory);
+            }
+        }
+    }
+
+    /**
+     * Tests that the sources parsed by the {@link JavaSourceIndex} do not prevent a discarded class loader
+     * from being collected.
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testJavaSourceIndex_discardedClassLoaderCollectable() throws Exception {
+        File packageFolder = tmpFolder.newFolder("pkg");
+        File source = new File(packageFolder, "A.java");
+        Files.write(source.toPath(), "package pkg; public class A {}".getBytes(StandardCharsets.UTF_8));
+
+        ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        WeakReference<ClassLoader> classLoaderReference = new WeakReference<>(classLoader);
+        JavaClass javaClass = new JavaSourceIndex(packageFolder).getJavaClass(source, Charsets.UTF_8, classLoader);
+        assertThat(javaClass.getFullyQualifiedName()).isEqualTo("pkg.A");
+
+        javaClass = null;
+        classLoader = null;
+        // the parsed sources are held softly, which are just guaranteed to be cleared if memory gets short
+        List<byte[]> memory = new ArrayList<>();
+        try {
+            while (classLoaderReference.get() != null) {
+                memory.add(new byte[16 * 1024 * 1024]);
+            }
+        } catch (OutOfMemoryError e) {
+            // expected as soon as the soft references have been cleared
+        }
+        memory.clear();
+        for (int i = 0; i < 50 && classLoaderReference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertThat(classLoaderReference.get()).isNull();
+    }
+
+    /**
+     * Tests that scanning a package folder in parallel returns the input objects in the same order as the
+     * sequential scan.
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testGetInputObjectsRecursively_parallelResultOrder() throws Exception {
+        File packageFolder = tmpFolder.newFolder("root");
+        for (int i = 0; i < 5; i++) {
+            Path subPackage = Files.createDirectories(packageFolder.toPath().resolve("sub" + i));
+            for (int j = 0; j < 10; j++) {
+                Files.write(subPackage.resolve("C" + j + ".java"),
+                    ("package sub" + i + "; public class C" + j + " {}").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        PackageFolder pkg = new PackageFolder(packageFolder.toURI(), "root");
+
+        String oldParallelism = System.setProperty(JavaInputReader.PARALLELISM_PROPERTY, "1");
+        try {
+            List<String> sequential = getFullyQualifiedNames(new JavaInputReader().getInputObjectsRecursively(pkg,
+                Charsets.UTF_8));
+            System.setProperty(JavaInputReader.PARALLELISM_PROPERTY, "4");
+            List<String> parallel = getFullyQualifiedNames(new JavaInputReader().getInputObjectsRecursively(pkg,
+                Charsets.UTF_8));
+
+            assertThat(sequential).hasSize(50);
+            assertThat(parallel).containsExactlyElementsOf(sequential);
+        } finally {
+            if (oldParallelism == null) {
+                System.clearProperty(JavaInputReader.PARALLELISM_PROPERTY);
+            } else {
+                System.setProperty(JavaInputReader.PARALLELISM_PROPERTY, oldParallelism);
+            }
+        }
+    }
+
+    /**
+     * Returns the fully qualified names of the given parsed input objects.
+     * @param inputObjects
+     *            list of {@link JavaClass}es
+     * @return the list of fully qualified names in the same order
+     */
+    private List<String> getFullyQualifiedNames(List<Object> inputObjects) {
+        List<String> names = Lists.newArrayList();
+        for (Object o : inputObjects) {
+            names.add(((JavaClass) o).getFullyQualifiedName());
+        }
+        return names;
+    }
 }
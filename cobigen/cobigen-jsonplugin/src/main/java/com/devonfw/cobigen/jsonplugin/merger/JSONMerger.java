@@ -1,17 +1,24 @@
 package com.devonfw.cobigen.jsonplugin.merger;
 
+import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.StringWriter;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.devonfw.cobigen.api.exception.MergeException;
 import com.devonfw.cobigen.api.extension.Merger;
 import com.devonfw.cobigen.jsonplugin.merger.general.constants.Constants;
 import com.devonfw.cobigen.jsonplugin.merger.generic.GenericJSONMerger;
+import com.devonfw.cobigen.jsonplugin.merger.generic.StreamingJSONMerger;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
@@ -20,13 +27,32 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 
 /**
  * The {@link JSONMerger} merges a patch and the base file of the same JSON file. The merger is a recursive
- * method that goes through all children of each {@link JsonElement} merging them if necessary
+ * method that goes through all children of each {@link JsonElement} merging them if necessary. Large base files
+ * are streamed instead of being loaded into memory, see {@value #STREAMING_THRESHOLD_PROPERTY}.
  */
 public class JSONMerger implements Merger {
 
+    /** Logger instance. */
+    private static final Logger LOG = LoggerFactory.getLogger(JSONMerger.class);
+
+    /**
+     * System property to configure the size in bytes from which on base files are merged in streaming mode, see
+     * {@link StreamingJSONMerger}
+     */
+    public static final String STREAMING_THRESHOLD_PROPERTY = "cobigen.jsonplugin.streamingThreshold";
+
+    /** Default size in bytes from which on base files are merged in streaming mode */
+    private static final long DEFAULT_STREAMING_THRESHOLD = 1024 * 1024;
+
+    /** Pretty printing {@link Gson} instance to serialize the merge results */
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
     /** Merger Type to be registered */
     private String type;
 
@@ -54,16 +80,24 @@ public class JSONMerger implements Merger {
 
     @Override
     public String merge(File base, String patch, String targetCharset) throws MergeException {
+        if (type.contains(Constants.GENERIC_MERGE) && base.length() >= getStreamingThreshold()) {
+            String result = mergeStreaming(base, parsePatch(base, patch), targetCharset);
+            if (result != null) {
+                return result;
+            }
+            LOG.debug("{} cannot be merged in streaming mode. Merging in memory.", base);
+        }
+
         String file = base.getAbsolutePath();
         JsonObject objBase = null;
         JsonObject objPatch = null;
 
         try (InputStream in = Files.newInputStream(base.toPath());
-            InputStreamReader inSR = new InputStreamReader(in, Charset.forName(targetCharset));
-            JsonReader reader = new JsonReader(inSR);) {
+            InputStreamReader inSR = new InputStreamReader(in, Charset.forName(targetCharset))) {
 
             JsonParser parser = new JsonParser();
-            JsonElement jsonBase = parser.parse(reader);
+            // also checks that the entire document has been consumed
+            JsonElement jsonBase = parser.parse(inSR);
             objBase = jsonBase.getAsJsonObject();
         } catch (JsonIOException e) {
             throw new MergeException(base, "Not JSON file", e);
@@ -75,15 +109,7 @@ public class JSONMerger implements Merger {
             throw new MergeException(base, "Could not read " + file, e);
         }
 
-        try {
-            JsonParser parser = new JsonParser();
-            JsonElement jsonPatch = parser.parse(patch);
-            objPatch = jsonPatch.getAsJsonObject();
-        } catch (JsonIOException e) {
-            throw new MergeException(base, "Not JSON patch code", e);
-        } catch (JsonSyntaxException e) {
-            throw new MergeException(base, "JSON Patch syntax error. ", e);
-        }
+        objPatch = parsePatch(base, patch);
 
         JsonObject result = null;
 
@@ -95,8 +121,91 @@ public class JSONMerger implements Merger {
             throw new MergeException(base, "Merge strategy not yet supported!");
         }
 
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        return gson.toJson(result);
+        return GSON.toJson(result);
+    }
+
+    /**
+     * Merges the given patch into the given base file by streaming the base file, see
+     * {@link StreamingJSONMerger}.
+     * @param base
+     *            the base file
+     * @param objPatch
+     *            the parsed patch
+     * @param targetCharset
+     *            charset of the base file
+     * @return the merged contents or <code>null</code> if the base file cannot be merged in streaming mode
+     * @throws MergeException
+     *             if the base file could not be read or is not valid JSON
+     */
+    private String mergeStreaming(File base, JsonObject objPatch, String targetCharset) throws MergeException {
+        StringWriter out = new StringWriter();
+        try (InputStream in = Files.newInputStream(base.toPath());
+            InputStreamReader inSR = new InputStreamReader(in, Charset.forName(targetCharset));
+            JsonReader reader = new JsonReader(new BufferedReader(inSR))) {
+            // same settings as applied by the JsonParser and Gson#toJson(JsonElement)
+            reader.setLenient(true);
+            JsonWriter writer = GSON.newJsonWriter(out);
+            writer.setLenient(true);
+            writer.setHtmlSafe(true);
+            if (!new StreamingJSONMerger(reader, objPatch).merge(patchOverrides, writer)) {
+                return null;
+            }
+            // same check as applied by JsonParser#parse(Reader)
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new MergeException(base, "JSON syntax error. ",
+                    new JsonSyntaxException("Did not consume the entire document."));
+            }
+            writer.flush();
+        } catch (EOFException e) {
+            // empty base file, will be reported by the in-memory merge
+            return null;
+        } catch (MalformedJsonException e) {
+            throw new MergeException(base, "JSON syntax error. ", e);
+        } catch (IOException | IllegalStateException e) {
+            throw new MergeException(base, "Could not read " + base.getAbsolutePath(), e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Parses the given patch.
+     * @param base
+     *            the base file just for error reporting
+     * @param patch
+     *            the patch contents
+     * @return the patch as {@link JsonObject}
+     * @throws MergeException
+     *             if the patch is not a valid JSON object
+     */
+    private JsonObject parsePatch(File base, String patch) throws MergeException {
+        try {
+            JsonParser parser = new JsonParser();
+            JsonElement jsonPatch = parser.parse(patch);
+            return jsonPatch.getAsJsonObject();
+        } catch (JsonIOException e) {
+            throw new MergeException(base, "Not JSON patch code", e);
+        } catch (JsonSyntaxException e) {
+            throw new MergeException(base, "JSON Patch syntax error. ", e);
+        }
+    }
+
+    /**
+     * Determines the size in bytes from which on base files are merged in streaming mode as configured by
+     * {@value #STREAMING_THRESHOLD_PROPERTY}.
+     * @return the streaming threshold in bytes
+     */
+    private static long getStreamingThreshold() {
+        String configuredThreshold = System.getProperty(STREAMING_THRESHOLD_PROPERTY);
+        if (configuredThreshold == null) {
+            return DEFAULT_STREAMING_THRESHOLD;
+        }
+        try {
+            return Long.parseLong(configuredThreshold.trim());
+        } catch (NumberFormatException e) {
+            LOG.warn("Invalid value '{}' of {}. Using default threshold of {} bytes.", configuredThreshold,
+                STREAMING_THRESHOLD_PROPERTY, DEFAULT_STREAMING_THRESHOLD);
+            return DEFAULT_STREAMING_THRESHOLD;
+        }
     }
 
 }
@@ -0,0 +1,269 @@
+package com.devonfw.cobigen.jsonplugin.merger.generic;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * JSON Merger for generic purposes, which streams the base from a {@link JsonReader} to a {@link JsonWriter}
+ * instead of loading it into memory. Only the patch is kept as a tree, such that just the base's subtrees
+ * touched by the patch are merged, whereas all others are copied token by token. The result is the same as of
+ * the {@link GenericJSONMerger}.
+ */
+public class StreamingJSONMerger {
+
+    /**
+     * Adapter to write patch subtrees
+     */
+    private static final TypeAdapter<JsonElement> ELEMENT_ADAPTER = new Gson().getAdapter(JsonElement.class);
+
+    /**
+     * Existent JSON file
+     */
+    private JsonReader base;
+
+    /**
+     * JSON file to patch
+     */
+    private JsonObject patch;
+
+    /**
+     * Keys of all base objects currently read, to detect duplicate keys
+     */
+    private Deque<Set<String>> baseKeys = new ArrayDeque<>();
+
+    /**
+     * Constructor
+     * @param base
+     *            existent file
+     * @param patch
+     *            file to patch
+     */
+    public StreamingJSONMerger(JsonReader base, JsonObject patch) {
+        this.base = base;
+        this.patch = patch;
+    }
+
+    /**
+     * Merges the patch into the base and writes the result. Streaming is not possible if the base is no JSON
+     * object or contains duplicate keys, as the {@link GenericJSONMerger} takes the position of the first and
+     * the value of the last duplicate key. In this case, the written output is incomplete and should be
+     * discarded.
+     *
+     * @param patchOverrides
+     *            states if the merge must override the base or not
+     * @param out
+     *            writer to write the JSON resulting from the merge to
+     * @return <code>true</code> if the merge result has been written completely, <code>false</code> if the base
+     *         could not be merged in streaming mode
+     * @throws IOException
+     *             if the base could not be read or is not valid JSON or the result could not be written
+     */
+    public boolean merge(boolean patchOverrides, JsonWriter out) throws IOException {
+        if (base.peek() != JsonToken.BEGIN_OBJECT) {
+            return false;
+        }
+        try {
+            mergeObject(patch, patchOverrides, out);
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Merges the base object at the current position of the base reader with the given patch object. All keys
+     * of the base not contained in the patch are copied in place. Objects and arrays of both are merged in place
+     * unless the patch overrides. All other keys of the patch are written at the end of the object in order of
+     * the patch, as done by the {@link GenericJSONMerger}.
+     *
+     * @param patchObj
+     *            the patch object
+     * @param patchOverrides
+     *            merge strategy
+     * @param out
+     *            writer to write the merged object to
+     * @throws IOException
+     *             if the base could not be read or the result could not be written
+     */
+    private void mergeObject(JsonObject patchObj, boolean patchOverrides, JsonWriter out) throws IOException {
+        Set<String> mergedInPlace = new HashSet<>();
+        beginObject(out);
+        while (base.hasNext()) {
+            String key = nextName();
+            JsonElement patchVal = patchObj.get(key);
+            if (patchVal == null) {
+                out.name(key);
+                copyValue(out);
+            } else if (patchOverrides) {
+                base.skipValue();
+            } else {
+                JsonToken baseToken = base.peek();
+                if (baseToken == JsonToken.BEGIN_ARRAY && patchVal.isJsonArray()) {
+                    out.name(key);
+                    copyValue(out, patchVal.getAsJsonArray());
+                    mergedInPlace.add(key);
+                } else if (baseToken == JsonToken.BEGIN_OBJECT && patchVal.isJsonObject()) {
+                    out.name(key);
+                    mergeObject(patchVal.getAsJsonObject(), patchOverrides, out);
+                    mergedInPlace.add(key);
+                } else {// not both arrays or objects, the patch value will be written at the end
+                    base.skipValue();
+                }
+            }
+        }
+        endObject(out, false);
+
+        for (Map.Entry<String, JsonElement> patchEntry : patchObj.entrySet()) {
+            if (!mergedInPlace.contains(patchEntry.getKey())) {
+                out.name(patchEntry.getKey());
+                ELEMENT_ADAPTER.write(out, patchEntry.getValue());
+            }
+        }
+        out.endObject();
+    }
+
+    /**
+     * Copies the value at the current position of the base reader.
+     *
+     * @param out
+     *            writer to copy the value to
+     * @throws IOException
+     *             if the base could not be read or the value could not be written
+     */
+    private void copyValue(JsonWriter out) throws IOException {
+        copyValue(out, null);
+    }
+
+    /**
+     * Copies the value at the current position of the base reader token by token.
+     *
+     * @param out
+     *            writer to copy the value to
+     * @param appendix
+     *            elements to be appended to the value, if it is an array. Might be <code>null</code>
+     * @throws IOException
+     *             if the base could not be read or the value could not be written
+     */
+    private void copyValue(JsonWriter out, JsonArray appendix) throws IOException {
+        int depth = 0;
+        do {
+            switch (base.peek()) {
+            case BEGIN_ARRAY:
+                base.beginArray();
+                out.beginArray();
+                depth++;
+                break;
+            case END_ARRAY:
+                base.endArray();
+                depth--;
+                if (depth == 0 && appendix != null) {
+                    for (JsonElement element : appendix) {
+                        ELEMENT_ADAPTER.write(out, element);
+                    }
+                }
+                out.endArray();
+                break;
+            case BEGIN_OBJECT:
+                beginObject(out);
+                depth++;
+                break;
+            case END_OBJECT:
+                endObject(out, true);
+                depth--;
+                break;
+            case NAME:
+                out.name(nextName());
+                break;
+            case STRING:
+                out.value(base.nextString());
+                break;
+            case NUMBER:
+                // keep the number's literal as done by the tree model
+                out.jsonValue(base.nextString());
+                break;
+            case BOOLEAN:
+                out.value(base.nextBoolean());
+                break;
+            case NULL:
+                base.nextNull();
+                out.nullValue();
+                break;
+            default:
+                throw new IllegalStateException("Unexpected end of document.");
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * Begins an object in the base and the result.
+     *
+     * @param out
+     *            writer to begin the object in
+     * @throws IOException
+     *             if the base could not be read or the object could not be written
+     */
+    private void beginObject(JsonWriter out) throws IOException {
+        base.beginObject();
+        out.beginObject();
+        baseKeys.push(new HashSet<String>());
+    }
+
+    /**
+     * Ends an object in the base and optionally in the result.
+     *
+     * @param out
+     *            writer to end the object in
+     * @param endOut
+     *            states if the object should also be ended in the result
+     * @throws IOException
+     *             if the base could not be read or the object could not be written
+     */
+    private void endObject(JsonWriter out, boolean endOut) throws IOException {
+        base.endObject();
+        baseKeys.pop();
+        if (endOut) {
+            out.endObject();
+        }
+    }
+
+    /**
+     * Reads the next key of the current base object.
+     *
+     * @return the key
+     * @throws IOException
+     *             if the base could not be read
+     * @throws DuplicateKeyException
+     *             if the key has already been read in the current base object
+     */
+    private String nextName() throws IOException {
+        String key = base.nextName();
+        if (!baseKeys.peek().add(key)) {
+            throw new DuplicateKeyException();
+        }
+        return key;
+    }
+
+    /**
+     * Signals a duplicate key in a base object, which cannot be merged in streaming mode.
+     */
+    private static class DuplicateKeyException extends RuntimeException {
+
+        /**
+         * Default serial version UID
+         */
+        private static final long serialVersionUID = 1L;
+    }
+}
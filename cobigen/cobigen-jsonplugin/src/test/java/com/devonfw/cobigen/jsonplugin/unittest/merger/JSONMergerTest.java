@@ -1,6 +1,8 @@
 package com.devonfw.cobigen.jsonplugin.unittest.merger;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -8,8 +10,11 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.devonfw.cobigen.api.exception.MergeException;
 import com.devonfw.cobigen.jsonplugin.merger.JSONMerger;
@@ -27,6 +32,12 @@ public class JSONMergerTest {
      */
     private static String testFileRootPath = "src/test/resources/testdata/unittest/merger/";
 
+    /**
+     * Temporary folder for generated base files
+     */
+    @Rule
+    public TemporaryFolder tmpFolder = new TemporaryFolder();
+
     /**
      * Checks merge for Generic JSON files for OVERRIDE cases
      */
@@ -66,6 +77,94 @@ public class JSONMergerTest {
         assertTrue(jsonResult.has("newdatagrid"));
     }
 
+    /**
+     * Checks that merging in streaming mode results in the same contents as merging in memory
+     */
+    @Test
+    public void jsonGenericMergeTest_Streaming() {
+        String[][] basesAndPatches =
+            { { "en_json", "en_patch_json" }, { "Base_json", "Patch_json" }, { "BaseArray_json", "PatchArray_json" } };
+        for (String[] baseAndPatch : basesAndPatches) {
+            File jsonBaseFile = new File(testFileRootPath + baseAndPatch[0]);
+            String patch = readJsonFile(baseAndPatch[1]);
+            for (boolean patchOverrides : new boolean[] { false, true }) {
+                String inMemory = new JSONMerger("jsonmerge", patchOverrides).merge(jsonBaseFile, patch, "UTF-8");
+                String streamed = mergeStreaming(jsonBaseFile, patch, patchOverrides);
+                assertEquals(baseAndPatch[0] + ", patchOverrides=" + patchOverrides, inMemory, streamed);
+            }
+        }
+    }
+
+    /**
+     * Checks that bases with duplicate keys, which cannot be streamed, are merged in memory
+     * @throws IOException
+     *             test fails
+     */
+    @Test
+    public void jsonGenericMergeTest_StreamingDuplicateKeys() throws IOException {
+        File jsonBaseFile = tmpFolder.newFile("duplicate_json");
+        FileUtils.write(jsonBaseFile, "{ \"a\": { \"b\": 1, \"b\": 2 }, \"c\": [1] }", "UTF-8");
+        String patch = "{ \"a\": { \"d\": 3 }, \"c\": [2] }";
+
+        String inMemory = new JSONMerger("jsonmerge", false).merge(jsonBaseFile, patch, "UTF-8");
+        String streamed = mergeStreaming(jsonBaseFile, patch, false);
+
+        assertEquals(inMemory, streamed);
+        JsonObject jsonResult = new JsonParser().parse(streamed).getAsJsonObject();
+        assertEquals(2, jsonResult.getAsJsonObject("a").get("b").getAsInt());
+        assertEquals(2, jsonResult.getAsJsonArray("c").size());
+    }
+
+    /**
+     * Tests that base files with trailing content after the root object are rejected in streaming as well as in
+     * in-memory mode
+     * @throws IOException
+     *             test fails
+     */
+    @Test
+    public void jsonGenericMergeTest_TrailingContent() throws IOException {
+        File jsonBaseFile = tmpFolder.newFile("trailing_json");
+        FileUtils.write(jsonBaseFile, "{ \"a\": 1 } { \"b\": 2 }", "UTF-8");
+        String patch = "{ \"c\": 3 }";
+
+        try {
+            new JSONMerger("jsonmerge", false).merge(jsonBaseFile, patch, "UTF-8");
+            fail("MergeException expected");
+        } catch (MergeException e) {
+            assertTrue(e.getMessage().contains("JSON syntax error"));
+        }
+        try {
+            mergeStreaming(jsonBaseFile, patch, false);
+            fail("MergeException expected");
+        } catch (MergeException e) {
+            assertTrue(e.getMessage().contains("JSON syntax error"));
+        }
+    }
+
+    /**
+     * Merges in streaming mode regardless of the base file's size
+     * @param jsonBaseFile
+     *            the base file
+     * @param patch
+     *            the patch contents
+     * @param patchOverrides
+     *            states if the merge must override the base or not
+     * @return the merged contents
+     */
+    private String mergeStreaming(File jsonBaseFile, String patch, boolean patchOverrides) {
+        String threshold = System.getProperty(JSONMerger.STREAMING_THRESHOLD_PROPERTY);
+        System.setProperty(JSONMerger.STREAMING_THRESHOLD_PROPERTY, "0");
+        try {
+            return new JSONMerger("jsonmerge", patchOverrides).merge(jsonBaseFile, patch, "UTF-8");
+        } finally {
+            if (threshold == null) {
+                System.clearProperty(JSONMerger.STREAMING_THRESHOLD_PROPERTY);
+            } else {
+                System.setProperty(JSONMerger.STREAMING_THRESHOLD_PROPERTY, threshold);
+            }
+        }
+    }
+
     /**
      * Reads the JSON file given by parameter
      * @param fileName
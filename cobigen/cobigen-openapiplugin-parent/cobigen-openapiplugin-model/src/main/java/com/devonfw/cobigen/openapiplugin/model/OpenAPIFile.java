@@ -9,10 +9,10 @@ import com.reprezen.kaizen.oasparser.model3.OpenApi3;
 public class OpenAPIFile {
 
     /** {@link Path} to the Swagger file */
-    private Path location;
+    private final Path location;
 
     /** Open API AST */
-    private OpenApi3 ast;
+    private final OpenApi3 ast;
 
     /**
      * Creates a new transfer object for a file
@@ -48,7 +48,8 @@ public class OpenAPIFile {
     }
 
     /**
-     * The swagger AST of the file
+     * The swagger AST of the file. The AST of an unchanged file is shared by all readers of the file and thus
+     * has to be treated as read-only.
      * @return the swagger AST
      */
     public OpenApi3 getAST() {
@@ -0,0 +1,102 @@
+package com.devonfw.cobigen.openapiplugin.inputreader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.reprezen.kaizen.oasparser.OpenApiParser;
+import com.reprezen.kaizen.oasparser.model3.OpenApi3;
+
+/**
+ * Process-wide cache of parsed OpenAPI documents, such that an unchanged file read multiple times, e.g. for
+ * matching and each generation, is parsed only once. Entries are keyed by the file's path and invalidated as
+ * soon as the file's last modification time or size changes. As all readers of an unchanged file get the very
+ * same {@link OpenApi3} instance, the documents must never be modified.
+ */
+class OpenAPIDocumentCache {
+
+    /** Maximum number of cached documents */
+    private static final int MAX_ENTRIES = 32;
+
+    /** Cached documents mapped by normalized absolute file path in order of last access */
+    private final Map<Path, CachedDocument> documents = new LinkedHashMap<Path, CachedDocument>(16, 0.75f, true) {
+
+        /** Default serial version UID */
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, CachedDocument> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Returns the parsed document of the given file. The file is parsed only if it has not been cached yet or
+     * has changed since. The returned document is shared and thus must be treated as read-only.
+     * @param path
+     *            {@link Path} of the OpenAPI file
+     * @return the parsed {@link OpenApi3} document or <code>null</code> if the file is no OpenAPI 3 file
+     * @throws IOException
+     *             if the file's attributes could not be read
+     */
+    OpenApi3 getOrParse(Path path) throws IOException {
+        Path key = path.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        synchronized (documents) {
+            CachedDocument cached = documents.get(key);
+            if (cached != null && cached.isUpToDate(attributes)) {
+                return cached.openApi;
+            }
+        }
+
+        OpenApi3 openApi = (OpenApi3) new OpenApiParser().parse(path.toUri());
+        if (openApi != null) {
+            synchronized (documents) {
+                documents.put(key, new CachedDocument(attributes, openApi));
+            }
+        }
+        return openApi;
+    }
+
+    /**
+     * Parsed document together with the file attributes it has been parsed from.
+     */
+    private static class CachedDocument {
+
+        /** Last modification time of the parsed file */
+        private final FileTime lastModified;
+
+        /** Size of the parsed file */
+        private final long size;
+
+        /** Parsed document */
+        private final OpenApi3 openApi;
+
+        /**
+         * Creates a new {@link CachedDocument}
+         * @param attributes
+         *            attributes of the parsed file
+         * @param openApi
+         *            parsed document
+         */
+        CachedDocument(BasicFileAttributes attributes, OpenApi3 openApi) {
+            lastModified = attributes.lastModifiedTime();
+            size = attributes.size();
+            this.openApi = openApi;
+        }
+
+        /**
+         * Checks whether the document is still up to date with the file.
+         * @param attributes
+         *            current attributes of the file
+         * @return <code>true</code> if the file has not changed since parsing, <code>false</code> otherwise
+         */
+        boolean isUpToDate(BasicFileAttributes attributes) {
+            return lastModified.equals(attributes.lastModifiedTime()) && size == attributes.size();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.devonfw.cobigen.openapiplugin.inputreader;
 
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.util.ArrayList;
@@ -28,11 +29,9 @@ import com.devonfw.cobigen.openapiplugin.model.PropertyDef;
 import com.devonfw.cobigen.openapiplugin.model.ResponseDef;
 import com.devonfw.cobigen.openapiplugin.model.ServerDef;
 import com.devonfw.cobigen.openapiplugin.util.constants.Constants;
-import com.jayway.jsonpath.Configuration;
 import com.reprezen.jsonoverlay.JsonOverlay;
 import com.reprezen.jsonoverlay.Overlay;
 import com.reprezen.jsonoverlay.Reference;
-import com.reprezen.kaizen.oasparser.OpenApiParser;
 import com.reprezen.kaizen.oasparser.OpenApiParser.SwaggerParserException;
 import com.reprezen.kaizen.oasparser.model3.Info;
 import com.reprezen.kaizen.oasparser.model3.MediaType;
@@ -50,12 +49,22 @@ import com.reprezen.kaizen.oasparser.model3.Server;
  */
 public class OpenAPIInputReader implements InputReader {
 
+    /**
+     * Parsed OpenAPI documents shared by all readers. The reader only ever reads the documents' ASTs.
+     */
+    private static final OpenAPIDocumentCache documentCache = new OpenAPIDocumentCache();
+
     /**
      * Components retrieved from an EntityDef. Used for not executing multiple times the retrieval of
      * components
      */
     private List<ComponentDef> components;
 
+    /**
+     * First component of each name in {@link #components}, to look up components by name in constant time
+     */
+    private Map<String, ComponentDef> componentsByName;
+
     @Override
     public boolean isValidInput(Object input) {
         if (input != null && input.getClass().getPackage() != null
@@ -164,6 +173,7 @@ public class OpenAPIInputReader implements InputReader {
                         setExtensionsToComponent(astOpenApi, componentDef);
 
                         components.add(componentDef);
+                        componentsByName.put(componentName, componentDef);
                     } else {
                         setExtensionsToComponent(astOpenApi, componentDef);
                     }
@@ -194,10 +204,9 @@ public class OpenAPIInputReader implements InputReader {
      * @return the component if it was found on the list or otherwise a new ComponentDef
      */
     private ComponentDef getComponent(String componentName) {
-        for (ComponentDef componentDef : components) {
-            if (componentDef.getName().equals(componentName)) {
-                return componentDef;
-            }
+        ComponentDef componentDef = componentsByName.get(componentName);
+        if (componentDef != null) {
+            return componentDef;
         }
         return new ComponentDef();
     }
@@ -210,19 +219,19 @@ public class OpenAPIInputReader implements InputReader {
      * @return list of entities
      */
     private List<EntityDef> extractComponents(OpenApi3 openApi) {
-        Object document = Configuration.defaultConfiguration().jsonProvider().parse(Overlay.toJson(openApi).toString());
         HeaderDef header = new HeaderDef();
         header.setServers(extractServers(openApi));
         header.setInfo(extractInfo(openApi));
         List<EntityDef> objects = new LinkedList<>();
         components = new LinkedList<>();
+        componentsByName = new HashMap<>();
 
         for (String key : openApi.getSchemas().keySet()) {
             EntityDef entityDef = new EntityDef();
             entityDef.setName(key);
             entityDef.setDescription(openApi.getSchema(key).getDescription());
             ComponentDef componentDef = new ComponentDef();
-            entityDef.setProperties(extractProperties(openApi, document, key));
+            entityDef.setProperties(extractProperties(openApi, key));
 
             // If no x-component tag was found on the input file, throw invalid configuration
             if (openApi.getSchema(key).getExtensions().get(Constants.COMPONENT_EXT) == null) {
@@ -258,6 +267,9 @@ public class OpenAPIInputReader implements InputReader {
             componentDef.setPaths(extractPaths(openApi.getPaths(), componentName));
             componentDef.setName(componentName);
             components.add(componentDef);
+            if (!componentsByName.containsKey(componentName)) {
+                componentsByName.put(componentName, componentDef);
+            }
             entityDef.setComponent(componentDef);
 
             entityDef.setHeader(header);
@@ -343,13 +355,11 @@ public class OpenAPIInputReader implements InputReader {
      *
      * @param openApi
      *            the OpenApi3 model
-     * @param jsonDocument
-     *            parsed JSON document
      * @param componentName
      *            entity name
      * @return List of {@link PropertyDef}'s
      */
-    private List<PropertyDef> extractProperties(OpenApi3 openApi, Object jsonDocument, String componentName) {
+    private List<PropertyDef> extractProperties(OpenApi3 openApi, String componentName) {
         Schema componentSchema = openApi.getSchema(componentName);
         Map<String, ? extends Schema> properties = componentSchema.getProperties();
         List<PropertyDef> objects = new LinkedList<>();
@@ -644,7 +654,7 @@ public class OpenAPIInputReader implements InputReader {
             throw new InputReaderException("Path " + path.toAbsolutePath().toUri().toString() + " is not a file!");
         }
         try {
-            OpenApi3 openApi = (OpenApi3) new OpenApiParser().parse(path.toUri());
+            OpenApi3 openApi = documentCache.getOrParse(path);
             if (openApi == null) {
                 throw new InputReaderException(path + " is not a valid OpenAPI file");
             }
@@ -652,6 +662,8 @@ public class OpenAPIInputReader implements InputReader {
         } catch (SwaggerParserException e) {
             // SwaggerParserException indicates a wrong input file.
             throw new InputReaderException("Reader does not support input type or input is faulty", e);
+        } catch (IOException e) {
+            throw new InputReaderException("Could not read " + path.toAbsolutePath().toUri().toString(), e);
         }
     }
 }
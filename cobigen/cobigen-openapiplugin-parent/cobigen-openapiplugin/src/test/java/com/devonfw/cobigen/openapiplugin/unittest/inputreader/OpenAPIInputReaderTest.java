@@ -3,13 +3,19 @@ package com.devonfw.cobigen.openapiplugin.unittest.inputreader;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.devonfw.cobigen.api.exception.InvalidConfigurationException;
 import com.devonfw.cobigen.api.extension.InputReader;
@@ -18,6 +24,7 @@ import com.devonfw.cobigen.openapiplugin.model.ComponentDef;
 import com.devonfw.cobigen.openapiplugin.model.EntityDef;
 import com.devonfw.cobigen.openapiplugin.model.HeaderDef;
 import com.devonfw.cobigen.openapiplugin.model.InfoDef;
+import com.devonfw.cobigen.openapiplugin.model.OpenAPIFile;
 import com.devonfw.cobigen.openapiplugin.model.OperationDef;
 import com.devonfw.cobigen.openapiplugin.model.ParameterDef;
 import com.devonfw.cobigen.openapiplugin.model.PathDef;
@@ -32,6 +39,10 @@ public class OpenAPIInputReaderTest {
     /** Testdata root path */
     private static final String testdataRoot = "src/test/resources/testdata/unittest/OpenAPIInputReaderTest";
 
+    /** Temporary folder for modified test data */
+    @Rule
+    public TemporaryFolder tmpFolder = new TemporaryFolder();
+
     /**
      * Test {@link InputReader#getInputObjects(Object, Charset)} extracting two components
      * @throws Exception
@@ -363,6 +374,32 @@ public class OpenAPIInputReaderTest {
         Object inputObject = inputReader.read(Paths.get(testdataRoot, "CyclicalDependency.yaml"), TestConstants.UTF_8);
     }
 
+    /**
+     * Tests that an unchanged file is parsed only once, whereas a changed file is parsed again
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testReadCachesParsedDocumentUntilFileChanges() throws Exception {
+        Path file = tmpFolder.newFile("two-components.yaml").toPath();
+        Files.copy(Paths.get(testdataRoot, "two-components.yaml"), file, StandardCopyOption.REPLACE_EXISTING);
+
+        OpenAPIFile first = (OpenAPIFile) new OpenAPIInputReader().read(file, TestConstants.UTF_8);
+        OpenAPIFile second = (OpenAPIFile) new OpenAPIInputReader().read(file, TestConstants.UTF_8);
+        assertThat(second.getAST()).isSameAs(first.getAST());
+        // reading the shared AST must not change it for other readers
+        assertThat(new OpenAPIInputReader().getInputObjects(first, TestConstants.UTF_8)).extracting("name")
+            .containsExactly("Table", "Sale", "tablemanagement", "salemanagement");
+        assertThat(new OpenAPIInputReader().getInputObjects(second, TestConstants.UTF_8)).extracting("name")
+            .containsExactly("Table", "Sale", "tablemanagement", "salemanagement");
+
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 10000));
+        OpenAPIFile changed = (OpenAPIFile) new OpenAPIInputReader().read(file, TestConstants.UTF_8);
+        assertThat(changed.getAST()).isNotSameAs(first.getAST());
+        assertThat(new OpenAPIInputReader().getInputObjects(changed, TestConstants.UTF_8)).extracting("name")
+            .containsExactly("Table", "Sale", "tablemanagement", "salemanagement");
+    }
+
     private List<Object> getInputs(String testInputFilename) throws Exception {
         OpenAPIInputReader inputReader = new OpenAPIInputReader();
         Object inputObject = inputReader.read(Paths.get(testdataRoot, testInputFilename), TestConstants.UTF_8);
@@ -2,6 +2,8 @@ package com.devonfw.cobigen.tempeng.freemarker;
 
 import java.io.Writer;
 import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import com.devonfw.cobigen.api.exception.CobiGenRuntimeException;
@@ -9,6 +11,8 @@ import com.devonfw.cobigen.api.extension.TextTemplate;
 import com.devonfw.cobigen.api.extension.TextTemplateEngine;
 import com.devonfw.cobigen.tempeng.freemarker.constant.FreemarkerMetadata;
 
+import freemarker.cache.CacheStorage;
+import freemarker.cache.MruCacheStorage;
 import freemarker.cache.NullCacheStorage;
 import freemarker.core.Environment;
 import freemarker.core.ParseException;
@@ -28,20 +32,66 @@ public class FreeMarkerTemplateEngine implements TextTemplateEngine {
     /** The file extension of the template files. */
     private static final String TEMPLATE_EXTENSION = ".ftl";
 
-    /** The commonly used FreeMarker engine configuration */
-    private Configuration freeMarkerConfig;
+    /** Default number of parsed templates strongly cached per template folder */
+    public static final int DEFAULT_TEMPLATE_CACHE_SIZE = 250;
+
+    /** Maximum number of template folders, for which the FreeMarker configurations are kept */
+    public static final int MAX_CACHED_TEMPLATE_FOLDERS = 16;
+
+    /**
+     * FreeMarker engine configurations per template folder in access order. Each configuration caches the
+     * parsed templates of its folder, which will be reloaded as soon as the last modified date of the template
+     * file changes. The configurations of the least recently used template folders are dropped as soon as more
+     * than {@value #MAX_CACHED_TEMPLATE_FOLDERS} template folders have been used.
+     */
+    private Map<Path, Configuration> freeMarkerConfigs = new LinkedHashMap<Path, Configuration>(16, 0.75f, true) {
+
+        /** Default serial version UID */
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, Configuration> eldest) {
+            return size() > MAX_CACHED_TEMPLATE_FOLDERS;
+        }
+    };
+
+    /** The FreeMarker engine configuration of the current template folder */
+    private volatile Configuration freeMarkerConfig;
+
+    /** Number of parsed templates strongly cached per template folder */
+    private int templateCacheSize = DEFAULT_TEMPLATE_CACHE_SIZE;
+
+    /**
+     * Creates a new FreeMarker configuration for the given template folder.
+     * @param templateFolderPath
+     *            the root folder of all templates.
+     * @return the FreeMarker configuration
+     */
+    private Configuration createConfiguration(Path templateFolderPath) {
+        Configuration config = new Configuration(Configuration.VERSION_2_3_23);
+        config.setObjectWrapper(new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_23).build());
+        config.clearEncodingMap();
+        config.setDefaultEncoding("UTF-8");
+        config.setLocalizedLookup(false);
+        NioFileSystemTemplateLoader templateLoader = new NioFileSystemTemplateLoader();
+        templateLoader.setTemplateRoot(templateFolderPath);
+        config.setTemplateLoader(templateLoader);
+        // check the last modified date of the template files on each access
+        config.setTemplateUpdateDelayMilliseconds(0);
+        config.setCacheStorage(createCacheStorage());
+        return config;
+    }
 
     /**
-     * Constructor, which initializes the commonly used FreeMarker configuration.
+     * Creates the storage of parsed templates. Besides the strongly cached templates, the same number of
+     * templates will be cached softly, i.e. until the garbage collector needs the memory.
+     * @return the {@link CacheStorage}
      */
-    public FreeMarkerTemplateEngine() {
-        freeMarkerConfig = new Configuration(Configuration.VERSION_2_3_23);
-        freeMarkerConfig.setObjectWrapper(new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_23).build());
-        freeMarkerConfig.clearEncodingMap();
-        freeMarkerConfig.setDefaultEncoding("UTF-8");
-        freeMarkerConfig.setLocalizedLookup(false);
-        freeMarkerConfig.setTemplateLoader(new NioFileSystemTemplateLoader());
-        freeMarkerConfig.setCacheStorage(new NullCacheStorage());
+    private CacheStorage createCacheStorage() {
+        if (templateCacheSize == 0) {
+            return new NullCacheStorage();
+        }
+        return new MruCacheStorage(templateCacheSize, templateCacheSize);
     }
 
     @Override
@@ -56,9 +106,42 @@ public class FreeMarkerTemplateEngine implements TextTemplateEngine {
 
     @Override
     public void process(TextTemplate template, Map<String, Object> model, Writer out, String outputEncoding) {
+        Configuration config = freeMarkerConfig;
+        if (config == null) {
+            throw new CobiGenRuntimeException(
+                "No template root has been defined. This is a bug. (FreeMarker v" + FreemarkerMetadata.VERSION + ")");
+        }
+        process(config, template, model, out, outputEncoding);
+    }
+
+    /**
+     * Processes the passed template with the configuration of the given template folder. As the configuration
+     * is looked up per call, templates of different template folders can be processed concurrently.
+     */
+    @Override
+    public void process(Path templateFolderPath, TextTemplate template, Map<String, Object> model, Writer out,
+        String outputEncoding) {
+        process(getConfiguration(templateFolderPath), template, model, out, outputEncoding);
+    }
+
+    /**
+     * Processes the passed template with the given FreeMarker configuration.
+     * @param config
+     *            the FreeMarker configuration of the template folder
+     * @param template
+     *            to be processed
+     * @param model
+     *            input for template processing
+     * @param out
+     *            output writer
+     * @param outputEncoding
+     *            output encoding
+     */
+    private void process(Configuration config, TextTemplate template, Map<String, Object> model, Writer out,
+        String outputEncoding) {
         Template fmTemplate = null;
         try {
-            fmTemplate = freeMarkerConfig.getTemplate(template.getRelativeTemplatePath());
+            fmTemplate = config.getTemplate(template.getRelativeTemplatePath());
         } catch (ParseException e) {
             throw new CobiGenRuntimeException(
                 "Could not parse FreeMarker template: " + template.getAbsoluteTemplatePath() + ". (FreeMarker v"
@@ -90,7 +173,60 @@ public class FreeMarkerTemplateEngine implements TextTemplateEngine {
 
     @Override
     public void setTemplateFolder(Path templateFolderPath) {
-        ((NioFileSystemTemplateLoader) freeMarkerConfig.getTemplateLoader()).setTemplateRoot(templateFolderPath);
+        freeMarkerConfig = getConfiguration(templateFolderPath);
+    }
+
+    /**
+     * Returns the FreeMarker configuration of the given template folder or creates a new one if not yet
+     * present.
+     * @param templateFolderPath
+     *            the root folder of all templates.
+     * @return the FreeMarker configuration
+     */
+    private synchronized Configuration getConfiguration(Path templateFolderPath) {
+        Configuration config = freeMarkerConfigs.get(templateFolderPath);
+        if (config == null) {
+            config = createConfiguration(templateFolderPath);
+            freeMarkerConfigs.put(templateFolderPath, config);
+        }
+        return config;
+    }
+
+    /**
+     * Invalidates all parsed templates cached for the given template folder. Has to be called whenever the
+     * contents of a template folder have been changed without changing the last modified date of the template
+     * files, e.g. by replacing the folder by another one. The configurations of the affected template folders
+     * are dropped as well.
+     * @param templateFolderPath
+     *            the root folder of the changed templates or {@code null} to invalidate all parsed templates
+     */
+    @Override
+    public synchronized void invalidateCache(Path templateFolderPath) {
+        Iterator<Map.Entry<Path, Configuration>> it = freeMarkerConfigs.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Path, Configuration> entry = it.next();
+            if (templateFolderPath == null || entry.getKey().equals(templateFolderPath)) {
+                entry.getValue().clearTemplateCache();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Sets the number of parsed templates to be cached per template folder. A size of {@code 0} disables
+     * caching, such that each template will be parsed on each processing.
+     * @param templateCacheSize
+     *            number of parsed templates strongly cached per template folder (default:
+     *            {@value #DEFAULT_TEMPLATE_CACHE_SIZE})
+     */
+    public synchronized void setTemplateCacheSize(int templateCacheSize) {
+        if (templateCacheSize < 0) {
+            throw new IllegalArgumentException("The template cache size must not be negative.");
+        }
+        this.templateCacheSize = templateCacheSize;
+        for (Configuration config : freeMarkerConfigs.values()) {
+            config.setCacheStorage(createCacheStorage());
+        }
     }
 
 }
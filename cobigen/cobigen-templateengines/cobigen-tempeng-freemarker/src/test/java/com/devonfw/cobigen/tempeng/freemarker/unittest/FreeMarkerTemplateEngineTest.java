@@ -4,12 +4,16 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.File;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.devonfw.cobigen.api.extension.TextTemplate;
 import com.devonfw.cobigen.tempeng.freemarker.FreeMarkerTemplateEngine;
@@ -17,6 +21,10 @@ import com.devonfw.cobigen.tempeng.freemarker.FreeMarkerTemplateEngine;
 /** Test suite for {@link FreeMarkerTemplateEngine} */
 public class FreeMarkerTemplateEngineTest {
 
+    /** JUnit Rule to create and automatically cleanup temporarily files/folders */
+    @Rule
+    public TemporaryFolder tmpFolder = new TemporaryFolder();
+
     /** Root path of the test resources for this test suite */
     private static final String testFileRootPath = "src/test/resources/unittest/FreeMarkerTemplateEngineTest/";
 
@@ -62,4 +70,124 @@ public class FreeMarkerTemplateEngineTest {
         // assert
         assertThat(out).hasToString("A,B,C,");
     }
+
+    /**
+     * Tests that parsed templates are cached until the template file changes or the cache is invalidated.
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testTemplateCaching() throws Exception {
+        // arrange
+        final File templateFolder = tmpFolder.newFolder();
+        final File templateFile = new File(templateFolder, "template.ftl");
+        Files.write(templateFile.toPath(), "first".getBytes(StandardCharsets.UTF_8));
+        long lastModified = templateFile.lastModified();
+        TextTemplate template = new TextTemplate() {
+            @Override
+            public String getRelativeTemplatePath() {
+                return "template.ftl";
+            }
+
+            @Override
+            public Path getAbsoluteTemplatePath() {
+                return templateFile.toPath();
+            }
+        };
+        FreeMarkerTemplateEngine templateEngine = new FreeMarkerTemplateEngine();
+        templateEngine.setTemplateFolder(templateFolder.toPath());
+        StringWriter out = new StringWriter();
+        templateEngine.process(template, new HashMap<String, Object>(), out, "UTF-8");
+        assertThat(out).hasToString("first");
+
+        // act: change contents without changing the last modified date
+        Files.write(templateFile.toPath(), "second".getBytes(StandardCharsets.UTF_8));
+        templateFile.setLastModified(lastModified);
+        out = new StringWriter();
+        templateEngine.process(template, new HashMap<String, Object>(), out, "UTF-8");
+
+        // assert: cached template
+        assertThat(out).hasToString("first");
+
+        // act: change last modified date
+        templateFile.setLastModified(lastModified + 10000);
+        out = new StringWriter();
+        templateEngine.process(template, new HashMap<String, Object>(), out, "UTF-8");
+
+        // assert: reloaded template
+        assertThat(out).hasToString("second");
+
+        // act: invalidate cache explicitly
+        Files.write(templateFile.toPath(), "third".getBytes(StandardCharsets.UTF_8));
+        templateFile.setLastModified(lastModified + 10000);
+        templateEngine.invalidateCache(templateFolder.toPath());
+        out = new StringWriter();
+        templateEngine.process(template, new HashMap<String, Object>(), out, "UTF-8");
+
+        // assert: reloaded template
+        assertThat(out).hasToString("third");
+
+        // act: invalidate all caches
+        Files.write(templateFile.toPath(), "fourth".getBytes(StandardCharsets.UTF_8));
+        templateFile.setLastModified(lastModified + 10000);
+        templateEngine.invalidateCache(null);
+        templateEngine.setTemplateFolder(templateFolder.toPath());
+        out = new StringWriter();
+        templateEngine.process(template, new HashMap<String, Object>(), out, "UTF-8");
+
+        // assert: reloaded template
+        assertThat(out).hasToString("fourth");
+    }
+
+    /**
+     * Tests that templates of different template folders can be processed alternately by passing the template
+     * folder with each call without affecting the template folder set before.
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testProcessWithTemplateFolder() throws Exception {
+        // arrange
+        File templateFolderA = tmpFolder.newFolder();
+        File templateFolderB = tmpFolder.newFolder();
+        Files.write(new File(templateFolderA, "template.ftl").toPath(), "A".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(templateFolderB, "template.ftl").toPath(), "B".getBytes(StandardCharsets.UTF_8));
+        TextTemplate templateA = createTemplate(templateFolderA);
+        TextTemplate templateB = createTemplate(templateFolderB);
+        FreeMarkerTemplateEngine templateEngine = new FreeMarkerTemplateEngine();
+        templateEngine.setTemplateFolder(templateFolderA.toPath());
+
+        // act
+        StringWriter outB = new StringWriter();
+        templateEngine.process(templateFolderB.toPath(), templateB, new HashMap<String, Object>(), outB, "UTF-8");
+        StringWriter outA = new StringWriter();
+        templateEngine.process(templateFolderA.toPath(), templateA, new HashMap<String, Object>(), outA, "UTF-8");
+        StringWriter out = new StringWriter();
+        templateEngine.process(templateA, new HashMap<String, Object>(), out, "UTF-8");
+
+        // assert
+        assertThat(outB).hasToString("B");
+        assertThat(outA).hasToString("A");
+        assertThat(out).hasToString("A");
+    }
+
+    /**
+     * Creates a {@link TextTemplate} for the file {@code template.ftl} of the given template folder.
+     * @param templateFolder
+     *            the template folder
+     * @return the {@link TextTemplate}
+     */
+    private TextTemplate createTemplate(final File templateFolder) {
+        return new TextTemplate() {
+            @Override
+            public String getRelativeTemplatePath() {
+                return "template.ftl";
+            }
+
+            @Override
+            public Path getAbsoluteTemplatePath() {
+                return templateFolder.toPath().resolve("template.ftl");
+            }
+        };
+    }
 }
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -92,8 +93,8 @@ public class TextAppender implements Merger {
      *             When there is some problem about anchors
      */
     public String merge(String base, String patch) throws Exception {
-        String mergedString = "";
         if (MergeUtil.hasAnchors(patch)) {
+            StringBuilder mergedString = new StringBuilder();
             LinkedHashMap<Anchor, String> splitBase = MergeUtil.splitByAnchors(base, defaultStrat);
             LinkedHashMap<Anchor, String> splitPatch = MergeUtil.splitByAnchors(patch, defaultStrat);
 
@@ -103,11 +104,11 @@ public class TextAppender implements Merger {
 
             if (MergeUtil.hasKeyMatchingDocumentPart(header, splitBase)) {
                 toAppend = MergeUtil.appendText(toAppend, header, splitBase, true, true);
-                mergedString = MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend, splitPatch, splitBase,
+                MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend, splitPatch, splitBase,
                     MergeUtil.getKeyMatchingDocumentPart(header, splitBase));
             } else if (MergeUtil.hasKeyMatchingDocumentPart(header, splitPatch)) {
                 toAppend = MergeUtil.appendText(toAppend, header, splitPatch, true, true);
-                mergedString = MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend, splitPatch, splitBase,
+                MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend, splitPatch, splitBase,
                     MergeUtil.getKeyMatchingDocumentPart(header, splitPatch));
             }
 
@@ -115,13 +116,14 @@ public class TextAppender implements Merger {
             MergeStrategy mergeStrat;
             Anchor tmpAnchor;
             ArrayList<Anchor> joinedKeySet = MergeUtil.joinKeySetsRetainOrder(splitBase, splitPatch);
+            Map<String, Anchor> secondAnchorsByDocPart = MergeUtil.getSecondAnchorsByDocPart(joinedKeySet);
             for (Iterator<Anchor> iterator = joinedKeySet.iterator(); iterator.hasNext();) {
                 tmpAnchor = iterator.next();
                 toAppend = "";
                 if (!tmpAnchor.getDocPart().matches(footer)) {
                     docPart = tmpAnchor.getDocPart();
                     mergeStrat = tmpAnchor.getMergeStrat();
-                    if (!MergeUtil.canBeSkipped(joinedKeySet, tmpAnchor)) {
+                    if (!MergeUtil.canBeSkipped(secondAnchorsByDocPart, tmpAnchor)) {
                         if (MergeUtil.hasKeyMatchingDocumentPart(docPart, splitBase)) {
                             if (MergeUtil.hasKeyMatchingDocumentPart(docPart, splitPatch)) {
                                 if (tmpAnchor.getNewlineName().matches("(newline_).+")) {
@@ -129,7 +131,7 @@ public class TextAppender implements Merger {
                                     case "newline_appendbefore":
                                         toAppend += MergeUtil.appendText(toAppend, docPart, splitBase, false, false);
                                         toAppend = MergeUtil.appendText(toAppend, docPart, splitPatch, true, true);
-                                        mergedString = MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend,
+                                        MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend,
                                             splitPatch, splitBase, tmpAnchor);
                                         break;
                                     case "newline_appendafter":
@@ -137,7 +139,7 @@ public class TextAppender implements Merger {
                                         toAppend = MergeUtil.appendText(toAppend, docPart, splitBase, false, false);
                                         toAppend += System.lineSeparator();
                                         toAppend = MergeUtil.appendText(toAppend, docPart, splitPatch, false, true);
-                                        mergedString = MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend,
+                                        MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend,
                                             splitPatch, splitBase, tmpAnchor);
                                         break;
                                     default:
@@ -150,7 +152,7 @@ public class TextAppender implements Merger {
                                         toAppend += System.lineSeparator();
                                         toAppend = MergeUtil.appendText(toAppend, docPart, splitBase, false, false);
                                         toAppend = MergeUtil.appendText(toAppend, docPart, splitPatch, true, true);
-                                        mergedString = MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend,
+                                        MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend,
                                             splitPatch, splitBase, tmpAnchor);
                                         break;
                                     case "newline":
@@ -159,7 +161,7 @@ public class TextAppender implements Merger {
                                         toAppend = MergeUtil.appendText(toAppend, docPart, splitBase, false, false);
                                         toAppend = MergeUtil.appendText(toAppend, docPart, splitPatch, false, true);
                                         toAppend += System.lineSeparator();
-                                        mergedString = MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend,
+                                        MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend,
                                             splitPatch, splitBase, tmpAnchor);
                                         break;
                                     default:
@@ -171,24 +173,24 @@ public class TextAppender implements Merger {
                                     case APPENDBEFORE:
                                         toAppend = MergeUtil.appendText(toAppend, docPart, splitBase, false, false);
                                         toAppend = MergeUtil.appendText(toAppend, docPart, splitPatch, true, true);
-                                        mergedString = MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend,
+                                        MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend,
                                             splitPatch, splitBase, tmpAnchor);
                                         break;
                                     case APPENDAFTER:
                                     case APPEND:
                                         toAppend = MergeUtil.appendText(toAppend, docPart, splitBase, false, false);
                                         toAppend = MergeUtil.appendText(toAppend, docPart, splitPatch, false, true);
-                                        mergedString = MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend,
+                                        MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend,
                                             splitPatch, splitBase, tmpAnchor);
                                         break;
                                     case OVERRIDE:
                                         toAppend = MergeUtil.appendText(toAppend, docPart, splitPatch, false, true);
-                                        mergedString = MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend,
+                                        MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend,
                                             splitPatch, splitBase, tmpAnchor);
                                         break;
                                     case NOMERGE:
                                         toAppend = MergeUtil.appendText(toAppend, docPart, splitBase, false, true);
-                                        mergedString = MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend,
+                                        MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend,
                                             splitPatch, splitBase, tmpAnchor);
                                         break;
                                     case ERROR:
@@ -204,28 +206,29 @@ public class TextAppender implements Merger {
 
                             } else {
                                 toAppend = MergeUtil.appendText(toAppend, docPart, splitBase, false, true);
-                                mergedString = MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend,
+                                MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend,
                                     splitPatch, splitBase, tmpAnchor);
                             }
                         } else if (MergeUtil.hasKeyMatchingDocumentPart(docPart, splitPatch)) {
                             toAppend = MergeUtil.appendText(toAppend, docPart, splitPatch, false, true);
-                            mergedString = MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend, splitPatch,
+                            MergeUtil.addTextAndDeleteCurrentAnchor(mergedString, toAppend, splitPatch,
                                 splitBase, tmpAnchor);
                         }
                     }
                 } else {
                     if (MergeUtil.hasKeyMatchingDocumentPart(footer, splitBase)) {
                         toAppend = MergeUtil.appendText(toAppend, footer, splitBase, false, true);
-                        mergedString += toAppend;
+                        mergedString.append(toAppend);
                     } else if (MergeUtil.hasKeyMatchingDocumentPart(footer, splitPatch)) {
                         toAppend = MergeUtil.appendText(toAppend, footer, splitPatch, false, true);
-                        mergedString += toAppend;
+                        mergedString.append(toAppend);
                     }
                     break;
                 }
             }
+            return mergedString.toString().trim();
         } else {
-            mergedString = base;
+            String mergedString = base;
             if (StringUtils.isNotEmpty(patch)) {
                 if (type.equalsIgnoreCase("textmerge_override")) {
                     mergedString = patch;
@@ -235,8 +238,8 @@ public class TextAppender implements Merger {
                 }
                 mergedString += patch;
             }
+            return mergedString.trim();
         }
-        return mergedString.trim();
     }
 
 }
@@ -0,0 +1,88 @@
+package com.devonfw.cobigen.textmerger.anchorextension;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link LinkedHashMap} of anchors and their following text, which additionally indexes the anchors by their
+ * documentpart. This allows looking up the first anchor of a documentpart in constant time instead of scanning
+ * all anchors of a document.
+ */
+public class IndexedAnchorMap extends LinkedHashMap<Anchor, String> {
+
+    /**
+     * Default serial version UID
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Anchors of each documentpart in insertion order
+     */
+    private final Map<String, Deque<Anchor>> anchorsByDocPart = new HashMap<>();
+
+    @Override
+    public String put(Anchor key, String value) {
+        if (!containsKey(key)) {
+            Deque<Anchor> anchors = anchorsByDocPart.get(key.getDocPart());
+            if (anchors == null) {
+                anchors = new ArrayDeque<>();
+                anchorsByDocPart.put(key.getDocPart(), anchors);
+            }
+            anchors.addLast(key);
+        }
+        return super.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends Anchor, ? extends String> m) {
+        for (Map.Entry<? extends Anchor, ? extends String> entry : m.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public String putIfAbsent(Anchor key, String value) {
+        if (containsKey(key)) {
+            return get(key);
+        }
+        return put(key, value);
+    }
+
+    @Override
+    public String remove(Object key) {
+        if (key instanceof Anchor && containsKey(key)) {
+            Deque<Anchor> anchors = anchorsByDocPart.get(((Anchor) key).getDocPart());
+            if (anchors != null) {
+                anchors.remove(key);
+            }
+        }
+        return super.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        anchorsByDocPart.clear();
+        super.clear();
+    }
+
+    /**
+     * Returns the first anchor of the given documentpart still contained in this map. Anchors removed by other
+     * means than {@link #remove(Object)}, e.g. by an iterator, will be skipped.
+     * @param docPart
+     *            The documentpart to search for
+     * @return the first anchor of the documentpart in insertion order or null if there is none
+     */
+    public Anchor getFirstAnchor(String docPart) {
+        Deque<Anchor> anchors = anchorsByDocPart.get(docPart);
+        if (anchors == null) {
+            return null;
+        }
+        while (!anchors.isEmpty() && !containsKey(anchors.peekFirst())) {
+            anchors.pollFirst();
+        }
+        return anchors.peekFirst();
+    }
+}
@@ -1,11 +1,15 @@
 package com.devonfw.cobigen.textmerger.anchorextension;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -39,6 +43,21 @@ public class MergeUtil {
      */
     private static final String anchorRegexTrimmed = "(.*)anchor:([^:]*)(:([^:]*))?:anchorend";
 
+    /**
+     * Compiled {@link #anchorRegex}.
+     */
+    private static final Pattern anchorPattern = Pattern.compile(anchorRegex);
+
+    /**
+     * Compiled {@link #anchorRegexTrimmed}.
+     */
+    private static final Pattern anchorPatternTrimmed = Pattern.compile(anchorRegexTrimmed);
+
+    /**
+     * Compiled {@link #correctAnchorRegexTrimmed}.
+     */
+    private static final Pattern correctAnchorPatternTrimmed = Pattern.compile(correctAnchorRegexTrimmed);
+
     /**
      * Length of the systems line separator.
      */
@@ -46,20 +65,23 @@ public class MergeUtil {
 
     /**
      * Helper method that takes a String and fills a LinkedHashMap, with the keys being the anchor definitions
-     * and the values being the text that come afterwards. This method exists to trim the code of
-     * merge(File,String,String)
+     * and the values being the text that come afterwards. The anchors are tokenized in a single pass and the
+     * resulting map indexes them by documentpart, see {@link IndexedAnchorMap}. This method exists to trim the
+     * code of merge(File,String,String)
      * @param toSplit
      *            The string that is to be split by anchors
+     * @param defaultMergeStrategy
+     *            The merge strategy of anchors not defining any
      * @return a LinkedHashMap which contains anchors as keys and the following text as values
      * @throws Exception
      *             when an anchor contains a wrong definition
      */
     public static LinkedHashMap<Anchor, String> splitByAnchors(String toSplit, MergeStrategy defaultMergeStrategy)
         throws Exception {
-        LinkedHashMap<Anchor, String> result = new LinkedHashMap<>();
-        toSplit.trim();
-        if (!StringUtils.substring(toSplit, 0, StringUtils.ordinalIndexOf(toSplit, "\n", 1) - lineSepLength).trim()
-            .matches(anchorRegexTrimmed)) {
+        IndexedAnchorMap result = new IndexedAnchorMap();
+        if (!anchorPatternTrimmed.matcher(
+            StringUtils.substring(toSplit, 0, StringUtils.ordinalIndexOf(toSplit, "\n", 1) - lineSepLength).trim())
+            .matches()) {
             throw new Exception(
                 "Incorrect document structure. Anchors are defined but there is no anchor at the start of the document.\n"
                     + "See https://github.com/devonfw/tools-cobigen/wiki/cobigen-textmerger#general and "
@@ -68,48 +90,59 @@ public class MergeUtil {
         }
 
         toSplit = toSplit + System.lineSeparator() + "anchor:::anchorend" + System.lineSeparator();
-        Anchor anchor;
-        int anchorCount = 0;
-        Pattern regex = Pattern.compile(anchorRegex);
-        Matcher m = regex.matcher(toSplit);
-        Matcher tmp = regex.matcher(toSplit);
-        while (tmp.find()) {
-            anchorCount++;
-        }
-        tmp = regex.matcher(toSplit);
-        tmp.find();
-        for (int i = 1; i < anchorCount; i++) {
-            if (m.find()) {
-                tmp.find();
-                if (m.group(4) == null || m.group(4).equals("")) {
-                    anchor = new Anchor(m.group(1), m.group(2), defaultMergeStrategy, false, false);
-                } else {
-                    MergeStrategy strat = getMergeStrategyOfName(m.group(4));
-                    if (m.group(4).contains("newline_")) {
-                        anchor = new Anchor(m.group(1), m.group(2), strat, true, true);
-                    } else if (m.group(4).contains("_newline")) {
-                        anchor = new Anchor(m.group(1), m.group(2), strat, true, false);
-                    } else {
-                        anchor = new Anchor(m.group(1), m.group(2), strat, false, false);
-                    }
-                }
-                String value = StringUtils.substring(toSplit, m.end(), tmp.start());
-                if (anchor.getMergeStrat().equals(MergeStrategy.ERROR)) {
-                    throw new Exception("Error at anchor for documentpart: " + anchor.getAnchor()
-                        + ". Incorrect anchor definition, no proper mergestrategy defined.\nSee "
-                        + "https://github.com/devonfw/tools-cobigen/wiki/cobigen-textmerger#mergestrategies "
-                        + "for additional info");
-                } else if (anchor.getAnchor().matches(correctAnchorRegexTrimmed)) {
-                    result.put(anchor, value.trim());
-                }
+        Matcher m = anchorPattern.matcher(toSplit);
+        MatchResult previous = null;
+        while (m.find()) {
+            if (previous != null) {
+                putAnchor(result, previous, StringUtils.substring(toSplit, previous.end(), m.start()),
+                    defaultMergeStrategy);
             }
+            previous = m.toMatchResult();
         }
         return result;
     }
 
     /**
-     * Helper method to check if a given map contains a key that fits the given regular expression. This
-     * method exists to avoid code redundancy.
+     * Creates the anchor of the given match and puts it with its following text into the given map.
+     * @param result
+     *            The map to put the anchor into
+     * @param match
+     *            The match of the {@link #anchorRegex}
+     * @param value
+     *            The text following the anchor
+     * @param defaultMergeStrategy
+     *            The merge strategy if the anchor does not define any
+     * @throws Exception
+     *             when the anchor contains a wrong definition
+     */
+    private static void putAnchor(Map<Anchor, String> result, MatchResult match, String value,
+        MergeStrategy defaultMergeStrategy) throws Exception {
+        Anchor anchor;
+        if (match.group(4) == null || match.group(4).equals("")) {
+            anchor = new Anchor(match.group(1), match.group(2), defaultMergeStrategy, false, false);
+        } else {
+            MergeStrategy strat = getMergeStrategyOfName(match.group(4));
+            if (match.group(4).contains("newline_")) {
+                anchor = new Anchor(match.group(1), match.group(2), strat, true, true);
+            } else if (match.group(4).contains("_newline")) {
+                anchor = new Anchor(match.group(1), match.group(2), strat, true, false);
+            } else {
+                anchor = new Anchor(match.group(1), match.group(2), strat, false, false);
+            }
+        }
+        if (anchor.getMergeStrat().equals(MergeStrategy.ERROR)) {
+            throw new Exception("Error at anchor for documentpart: " + anchor.getAnchor()
+                + ". Incorrect anchor definition, no proper mergestrategy defined.\nSee "
+                + "https://github.com/devonfw/tools-cobigen/wiki/cobigen-textmerger#mergestrategies "
+                + "for additional info");
+        } else if (correctAnchorPatternTrimmed.matcher(anchor.getAnchor()).matches()) {
+            result.put(anchor, value.trim());
+        }
+    }
+
+    /**
+     * Helper method to check if a given map contains a key of the given documentpart. This method exists to
+     * avoid code redundancy.
      * @param docPart
      *            The documentpart to search for
      * @param m
@@ -117,29 +150,26 @@ public class MergeUtil {
      * @return true if a key matches the regular expression, false if there is none.
      */
     public static boolean hasKeyMatchingDocumentPart(String docPart, Map<Anchor, String> m) {
-        for (Anchor a : m.keySet()) {
-            if (a.getDocPart().equals(docPart)) {
-                return true;
-            }
-        }
-        return false;
+        return getKeyMatchingDocumentPart(docPart, m) != null;
     }
 
     /**
-     * Helper method to get a key matching the given regular expression out of a given map. This method exists
-     * to avoid code redundancy.
+     * Helper method to get a key matching the given documentpart out of a given map. Maps created by
+     * {@link #splitByAnchors(String, MergeStrategy)} are looked up by their index. This method exists to avoid
+     * code redundancy.
      * @param docPart
      *            The documentpart that the key should match.
      * @param m
      *            The map that is to be checked.
-     * @return null if the key does not exist, otherwise the full entry of the key matching the regex.
+     * @return null if the key does not exist, otherwise the first key matching the documentpart.
      */
     public static Anchor getKeyMatchingDocumentPart(String docPart, Map<Anchor, String> m) {
-        if (hasKeyMatchingDocumentPart(docPart, m)) {
-            for (Anchor a : m.keySet()) {
-                if (a.getDocPart().matches(docPart)) {
-                    return a;
-                }
+        if (m instanceof IndexedAnchorMap) {
+            return ((IndexedAnchorMap) m).getFirstAnchor(docPart);
+        }
+        for (Anchor a : m.keySet()) {
+            if (a.getDocPart().equals(docPart)) {
+                return a;
             }
         }
         return null;
@@ -191,9 +221,7 @@ public class MergeUtil {
      * @return true if the text contains anchors, false if not
      */
     public static boolean hasAnchors(String patch) {
-        Pattern regex = Pattern.compile(anchorRegexTrimmed);
-        Matcher m = regex.matcher(patch);
-        return m.find();
+        return anchorPatternTrimmed.matcher(patch).find();
     }
 
     /**
@@ -213,7 +241,9 @@ public class MergeUtil {
 
     /**
      * Helper method that merges two keysets of maps while retaining the order of their entries. For example,
-     * {1,2,3} and {1,4,3} get merged into {1,2,4,3}; {1,2,4} and {1,4,5} get merged into {1,2,4,5}
+     * {1,2,3} and {1,4,3} get merged into {1,2,4,3}; {1,2,4} and {1,4,5} get merged into {1,2,4,5}. For each key
+     * of the base also contained in the patch, the not yet joined keys of the patch preceding it will be joined
+     * first. Runs in linear time of the number of keys.
      * @param base
      *            the first map
      * @param patch
@@ -222,50 +252,46 @@ public class MergeUtil {
      */
     public static ArrayList<Anchor> joinKeySetsRetainOrder(Map<Anchor, String> base, Map<Anchor, String> patch) {
         ArrayList<Anchor> joinedList = new ArrayList<>();
-        Set<Anchor> checkSame = new HashSet<>();
-        checkSame.addAll(base.keySet());
-        if (checkSame.retainAll(patch.keySet())) {
-            int i = 0;
-            int x = 0;
-            String tmp = "";
+        Set<Anchor> joined = new HashSet<>();
+        if (patch.keySet().containsAll(base.keySet())) {
+            joinedList.addAll(base.keySet());
+            return joinedList;
+        }
+
+        Map<Anchor, Integer> patchPositions = new HashMap<>();
+        for (Anchor t : patch.keySet()) {
+            patchPositions.put(t, patchPositions.size() + 1);
+        }
+        Set<Anchor> notJoinedPatch = new LinkedHashSet<>(patch.keySet());
 
-            for (Anchor s : base.keySet()) {
-                i++;
-                if (patch.containsKey(s)) {
-                    for (Anchor t : patch.keySet()) {
-                        x++;
-                        if (s.getAnchor().equals(t.getAnchor()) && x == i) {
-                            if (!joinedList.contains(s)) {
-                                joinedList.add(s);
-                            }
-                            break;
-                        } else if (!joinedList.contains(t)) {
-                            joinedList.add(t);
-                            if (base.containsKey(t)) {
-                                break;
-                            }
-                        }
+        int i = 0;
+        for (Anchor s : base.keySet()) {
+            i++;
+            Integer position = patchPositions.get(s);
+            if (position != null) {
+                // join the keys of the patch up to s, or all of them if s has been joined out of order before,
+                // stopping at the first key also contained in the base
+                int limit = !joined.contains(s) || position == i ? position : Integer.MAX_VALUE;
+                for (Iterator<Anchor> it = notJoinedPatch.iterator(); it.hasNext();) {
+                    Anchor t = it.next();
+                    if (patchPositions.get(t) > limit) {
+                        break;
                     }
-                }
-                if (!joinedList.contains(s)) {
-                    joinedList.add(s);
-                }
-                x = 0;
-            }
-            for (Anchor t : patch.keySet()) {
-                if (!joinedList.contains(t)) {
+                    it.remove();
+                    joined.add(t);
                     joinedList.add(t);
+                    if (base.containsKey(t)) {
+                        break;
+                    }
                 }
             }
-            return joinedList;
-        } else {
-            for (Anchor s : base.keySet()) {
-                if (!joinedList.contains(s)) {
-                    joinedList.add(s);
-                }
+            if (joined.add(s)) {
+                notJoinedPatch.remove(s);
+                joinedList.add(s);
             }
-            return joinedList;
         }
+        joinedList.addAll(notJoinedPatch);
+        return joinedList;
     }
 
     /**
@@ -280,23 +306,41 @@ public class MergeUtil {
      *         documentpart
      */
     public static boolean canBeSkipped(List<Anchor> toCheck, Anchor anchor) {
-        int docPartCount = 0;
-        String docPart = anchor.getDocPart();
-        Anchor[] anchorsWithDocPart = new Anchor[toCheck.size()];
-        for (Anchor s : toCheck) {
-            if (docPart.equals(s.getDocPart())) {
-                anchorsWithDocPart[docPartCount] = s;
-                docPartCount++;
+        return canBeSkipped(getSecondAnchorsByDocPart(toCheck), anchor);
+    }
+
+    /**
+     * Helper method that checks if the current anchor should be skipped or not, based on the index created by
+     * {@link #getSecondAnchorsByDocPart(List)}. Needed to make sure the latest mergestrategy of a documentpart is
+     * in the resulting document
+     * @param secondAnchorsByDocPart
+     *            The second anchor of each documentpart having multiple anchors
+     * @param anchor
+     *            The anchor that will be checked
+     * @return false if it's the only anchor of its documentpart or the second anchor(thus from the patch) of its
+     *         documentpart, true if it's the first of multiple or the third an later of its documentpart
+     */
+    public static boolean canBeSkipped(Map<String, Anchor> secondAnchorsByDocPart, Anchor anchor) {
+        Anchor secondAnchor = secondAnchorsByDocPart.get(anchor.getDocPart());
+        return secondAnchor != null && !secondAnchor.equals(anchor);
+    }
+
+    /**
+     * Helper method that indexes the second anchor of each documentpart having multiple anchors, to check
+     * anchors by {@link #canBeSkipped(Map, Anchor)} in constant time.
+     * @param anchors
+     *            List of anchors to count documentparts
+     * @return the second anchor of each documentpart having multiple anchors mapped by documentpart
+     */
+    public static Map<String, Anchor> getSecondAnchorsByDocPart(List<Anchor> anchors) {
+        Set<String> docParts = new HashSet<>();
+        Map<String, Anchor> secondAnchors = new HashMap<>();
+        for (Anchor a : anchors) {
+            if (!docParts.add(a.getDocPart()) && !secondAnchors.containsKey(a.getDocPart())) {
+                secondAnchors.put(a.getDocPart(), a);
             }
         }
-        if (docPartCount < 2) {
-            return false;
-        }
-        if (anchorsWithDocPart[1].equals(anchor)) {
-            return false;
-        } else {
-            return true;
-        }
+        return secondAnchors;
     }
 
     /**
@@ -321,6 +365,27 @@ public class MergeUtil {
         return mergedString;
     }
 
+    /**
+     * Method that appends the current anchor/document part to the resulting document, and deletes it from
+     * both maps. In contrast to {@link #addTextAndDeleteCurrentAnchor(String, String, Map, Map, Anchor)}, the
+     * resulting document is not copied on each call.
+     * @param mergedString
+     *            The builder of the new document
+     * @param toAppend
+     *            The text of the current anchor
+     * @param splitBase
+     *            The map containing the anchors of the base document
+     * @param splitPatch
+     *            The map containing the anchors of the patch
+     * @param curAnchor
+     *            The current anchor that should be deleted from the maps
+     */
+    public static void addTextAndDeleteCurrentAnchor(StringBuilder mergedString, String toAppend,
+        Map<Anchor, String> splitBase, Map<Anchor, String> splitPatch, Anchor curAnchor) {
+        mergedString.append(toAppend);
+        MergeUtil.removeKeyFromMaps(splitBase, splitPatch, curAnchor);
+    }
+
     /**
      * @param name
      *            The name of the merge strategy you want a MergeStrategy object of
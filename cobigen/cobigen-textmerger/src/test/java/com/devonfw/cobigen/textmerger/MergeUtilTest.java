@@ -166,6 +166,33 @@ public class MergeUtilTest {
         assertThat(MergeUtil.getKeyMatchingDocumentPart("table", toBe)).isEqualTo(null);
     }
 
+    /**
+     * Tests if anchors of split documents are looked up by documentpart in insertion order, also after
+     * removing anchors
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testGetAnchorFittingDocPartOfSplitDocument() throws Exception {
+        String testString = "// anchor:test:append:anchorend" + System.lineSeparator() + "line1"
+            + System.lineSeparator() + "// anchor:other:append:anchorend" + System.lineSeparator() + "line2"
+            + System.lineSeparator() + "// anchor:test:override:anchorend" + System.lineSeparator() + "line3";
+        Map<Anchor, String> split = MergeUtil.splitByAnchors(testString, testStrat);
+
+        Anchor first = MergeUtil.getKeyMatchingDocumentPart("test", split);
+        assertThat(first.getAnchor()).isEqualTo("// anchor:test:append:anchorend");
+        assertThat(split.get(first)).isEqualTo("line1");
+
+        split.remove(first);
+        Anchor second = MergeUtil.getKeyMatchingDocumentPart("test", split);
+        assertThat(second.getAnchor()).isEqualTo("// anchor:test:override:anchorend");
+        assertThat(split.get(second)).isEqualTo("line3");
+
+        split.remove(second);
+        assertThat(MergeUtil.hasKeyMatchingDocumentPart("test", split)).isFalse();
+        assertThat(MergeUtil.hasKeyMatchingDocumentPart("other", split)).isTrue();
+    }
+
     /**
      * Tests if the text is appended in the way that is wanted in the MergeUtil.appendText method. Tests
      * appending before and after.
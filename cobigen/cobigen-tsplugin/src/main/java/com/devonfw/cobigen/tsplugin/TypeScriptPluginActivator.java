@@ -16,6 +16,7 @@ public class TypeScriptPluginActivator implements GeneratorPluginActivator {
     @Override
     public List<Merger> bindMerger() {
         List<Merger> merger = Lists.newLinkedList();
+        // creating the mergers starts warming up the shared script engine pools in background
         merger.add(new TypeScriptMerger("tsmerge", false));
         merger.add(new TypeScriptMerger("tsmerge_override", true));
         return merger;
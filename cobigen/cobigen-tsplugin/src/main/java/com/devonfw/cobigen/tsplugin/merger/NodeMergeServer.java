@@ -0,0 +1,450 @@
+package com.devonfw.cobigen.tsplugin.merger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.devonfw.cobigen.api.exception.CobiGenRuntimeException;
+import com.devonfw.cobigen.tsplugin.merger.constants.Constants;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Merge backend running the bundled merger and beautifier scripts in a long-lived local Node process instead
+ * of the embedded engine. Requests of concurrent callers are batched and sent to the process via stdin, whereas
+ * the responses are read from stdout. Protocol messages are framed as JSON text sequences, i.e. prefixed by a
+ * record separator, such that any other output of the process is just logged. The backend has to be selected
+ * explicitly by the system property {@value #BACKEND_PROPERTY} and the Node executable can be configured by
+ * {@value #NODE_PROPERTY}. The process will not be started before the first merge.
+ */
+public class NodeMergeServer {
+
+    /** Logger instance. */
+    private static final Logger LOG = LoggerFactory.getLogger(NodeMergeServer.class);
+
+    /**
+     * System property to select the merge backend, either {@value #BACKEND_NODE} or {@value #BACKEND_NASHORN},
+     * which is the default
+     */
+    public static final String BACKEND_PROPERTY = "cobigen.tsplugin.backend";
+
+    /** Backend running the scripts in Node, falling back to the embedded engine if Node is not available */
+    public static final String BACKEND_NODE = "node";
+
+    /** Backend running the scripts in the embedded engine */
+    public static final String BACKEND_NASHORN = "nashorn";
+
+    /** System property to configure the Node executable */
+    public static final String NODE_PROPERTY = "cobigen.tsplugin.node";
+
+    /** Time in seconds to wait for the server to evaluate all scripts */
+    private static final long STARTUP_TIMEOUT = 30;
+
+    /** Time in seconds to wait for the response of a single request */
+    private static final long REQUEST_TIMEOUT = 120;
+
+    /** Maximum number of requests sent in one batch */
+    private static final int MAX_BATCH_SIZE = 64;
+
+    /** Record separator prefixing each protocol message, see RFC 7464 */
+    private static final char RECORD_SEPARATOR = '\u001e';
+
+    /** Message announcing the readiness of the server */
+    private static final String READY = "ready";
+
+    /** JSON (de-)serializer */
+    private static final Gson GSON = new Gson();
+
+    /** Shared server instance, if started */
+    private static NodeMergeServer instance;
+
+    /** States, whether the shared server has already been tried to be started */
+    private static boolean startAttempted;
+
+    /** Node process */
+    private final Process process;
+
+    /** Requests not yet sent to the process */
+    private final BlockingQueue<Request> outgoing = new LinkedBlockingQueue<>();
+
+    /** Responses not yet received, mapped by request id */
+    private final ConcurrentMap<Long, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+
+    /** Id generator of requests */
+    private final AtomicLong nextId = new AtomicLong();
+
+    /** States, whether the process is still able to serve requests */
+    private volatile boolean alive = true;
+
+    /**
+     * Checks whether the Node backend has been selected by {@value #BACKEND_PROPERTY}.
+     * @return {@code true} if merges should be executed by Node, {@code false} if the embedded engine should
+     *         be used
+     */
+    public static boolean isSelected() {
+        String backend = System.getProperty(BACKEND_PROPERTY, BACKEND_NASHORN);
+        if (BACKEND_NODE.equalsIgnoreCase(backend)) {
+            return true;
+        } else if (!BACKEND_NASHORN.equalsIgnoreCase(backend)) {
+            LOG.warn("Unknown TypeScript merge backend '{}'. Using the embedded JavaScript engine.", backend);
+        }
+        return false;
+    }
+
+    /**
+     * Returns the shared server and starts it on first request. Returns {@code null} if the Node backend has
+     * not been {@link #isSelected() selected} or Node is not available, such that callers should fall back to
+     * the embedded engine.
+     * @return the shared {@link NodeMergeServer} or {@code null} if not available
+     */
+    public static synchronized NodeMergeServer getInstance() {
+        if (!isSelected()) {
+            return null;
+        }
+        if (!startAttempted) {
+            startAttempted = true;
+            String node = System.getProperty(NODE_PROPERTY, "node");
+            try {
+                instance = new NodeMergeServer(node);
+            } catch (IOException | CobiGenRuntimeException e) {
+                LOG.info("Node ({}) is not available. Falling back to the embedded JavaScript engine.", node);
+                LOG.debug("Node merge server could not be started.", e);
+            }
+        }
+        return instance != null && instance.isAlive() ? instance : null;
+    }
+
+    /**
+     * Starts a new Node process evaluating the bundled scripts and waits for it to become ready.
+     * @param node
+     *            Node executable
+     * @throws IOException
+     *             if the process could not be started
+     */
+    NodeMergeServer(String node) throws IOException {
+        long start = System.nanoTime();
+        Path scriptFolder = Files.createTempDirectory("cobigen-tsmerger-");
+        Path serverScript = extract(Constants.NODE_SERVER_JS, scriptFolder);
+        Path mergerScript = extract(Constants.TSMERGER_JS, scriptFolder);
+        Path beautifierScript = extract(Constants.BEAUTIFY_JS, scriptFolder);
+
+        process = new ProcessBuilder(node, serverScript.toString(), mergerScript.toString(),
+            beautifierScript.toString()).start();
+        Runtime.getRuntime().addShutdownHook(new Thread(process::destroy, "cobigen-tsplugin-node-shutdown"));
+
+        BufferedReader stdout =
+            new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        Writer stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        startDaemon("stderr", () -> logErrors(process.getErrorStream()));
+
+        CompletableFuture<String> ready = CompletableFuture.supplyAsync(() -> {
+            try {
+                return readMessage(stdout);
+            } catch (IOException e) {
+                throw new CobiGenRuntimeException("Could not read from Node process.", e);
+            }
+        });
+        try {
+            String line = ready.get(STARTUP_TIMEOUT, TimeUnit.SECONDS);
+            if (!READY.equals(line)) {
+                throw new CobiGenRuntimeException("Node merge server did not start properly.");
+            }
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            process.destroy();
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new CobiGenRuntimeException("Node merge server did not become ready.", e);
+        } catch (CobiGenRuntimeException e) {
+            process.destroy();
+            throw e;
+        }
+
+        startDaemon("writer", () -> writeRequests(stdin));
+        startDaemon("reader", () -> readResponses(stdout));
+        LOG.info("Node merge server started in {} ms.", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Merges the given patch into the given base contents.
+     * @param base
+     *            base contents
+     * @param patch
+     *            patch contents
+     * @param patchOverrides
+     *            if <code>true</code>, conflicts will be resolved by using the patch contents
+     * @return the merged contents
+     * @throws CobiGenRuntimeException
+     *             if the merge failed or the server is not alive anymore, see {@link #isAlive()}
+     */
+    public String merge(String base, String patch, boolean patchOverrides) {
+        Request request = new Request("merge");
+        request.base = base;
+        request.patch = patch;
+        request.patchOverrides = patchOverrides;
+        return execute(request);
+    }
+
+    /**
+     * Beautifies the given contents.
+     * @param source
+     *            contents to be beautified
+     * @return the beautified contents
+     * @throws CobiGenRuntimeException
+     *             if the beautification failed or the server is not alive anymore, see {@link #isAlive()}
+     */
+    public String beautify(String source) {
+        Request request = new Request("beautify");
+        request.source = source;
+        return execute(request);
+    }
+
+    /**
+     * Returns whether the server is still able to serve requests.
+     * @return {@code true} if the Node process is still running, {@code false} otherwise
+     */
+    public boolean isAlive() {
+        return alive;
+    }
+
+    /**
+     * Enqueues the given request and waits for its response.
+     * @param request
+     *            to be executed
+     * @return the result of the request
+     */
+    private String execute(Request request) {
+        request.id = nextId.incrementAndGet();
+        CompletableFuture<String> response = new CompletableFuture<>();
+        pending.put(request.id, response);
+        if (!alive) {
+            pending.remove(request.id);
+            throw new CobiGenRuntimeException("Node merge server is not running anymore.");
+        }
+        outgoing.add(request);
+        try {
+            return response.get(REQUEST_TIMEOUT, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CobiGenRuntimeException("Interrupted while waiting for the Node merge server.", e);
+        } catch (ExecutionException e) {
+            throw new CobiGenRuntimeException(e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new CobiGenRuntimeException("Node merge server did not respond in time.", e);
+        } finally {
+            pending.remove(request.id);
+        }
+    }
+
+    /**
+     * Sends all enqueued requests in batches until the process terminates.
+     * @param stdin
+     *            stdin of the process
+     */
+    private void writeRequests(Writer stdin) {
+        List<Request> batch = new ArrayList<>();
+        try {
+            while (alive) {
+                batch.add(outgoing.take());
+                outgoing.drainTo(batch, MAX_BATCH_SIZE - 1);
+                stdin.write(GSON.toJson(batch));
+                stdin.write('\n');
+                stdin.flush();
+                batch.clear();
+            }
+        } catch (IOException e) {
+            shutdown("Could not send requests to the Node merge server.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            shutdown("Node merge server has been interrupted.", e);
+        }
+    }
+
+    /**
+     * Reads all responses and completes the pending requests until the process terminates.
+     * @param stdout
+     *            stdout of the process
+     */
+    private void readResponses(BufferedReader stdout) {
+        try {
+            String message;
+            while ((message = readMessage(stdout)) != null) {
+                for (Response response : GSON.fromJson(message, Response[].class)) {
+                    CompletableFuture<String> future = pending.get(response.id);
+                    if (future == null) {
+                        continue;
+                    } else if (response.error != null) {
+                        future.completeExceptionally(new CobiGenRuntimeException(response.error));
+                    } else {
+                        future.complete(response.result);
+                    }
+                }
+            }
+            shutdown("Node merge server terminated unexpectedly.", null);
+        } catch (IOException | JsonParseException e) {
+            shutdown("Could not read responses of the Node merge server.", e);
+        }
+    }
+
+    /**
+     * Reads the next protocol message from stdout. All other output of the process will be logged.
+     * @param stdout
+     *            stdout of the process
+     * @return the message without its record separator or {@code null} if the process terminated
+     * @throws IOException
+     *             if stdout could not be read
+     */
+    private static String readMessage(BufferedReader stdout) throws IOException {
+        String line;
+        while ((line = stdout.readLine()) != null) {
+            int start = line.indexOf(RECORD_SEPARATOR);
+            if (start > 0) {
+                // output of the scripts not terminated by a line break
+                LOG.debug("Node merge server: {}", line.substring(0, start));
+            }
+            if (start >= 0) {
+                return line.substring(start + 1);
+            }
+            LOG.debug("Node merge server: {}", line);
+        }
+        return null;
+    }
+
+    /**
+     * Marks the server as not alive, fails all pending requests and terminates the process.
+     * @param message
+     *            reason of the shutdown
+     * @param cause
+     *            cause of the shutdown if any
+     */
+    private void shutdown(String message, Throwable cause) {
+        if (!alive) {
+            return;
+        }
+        alive = false;
+        LOG.warn(message, cause);
+        CobiGenRuntimeException failure = new CobiGenRuntimeException(message, cause);
+        for (CompletableFuture<String> future : pending.values()) {
+            future.completeExceptionally(failure);
+        }
+        process.destroy();
+    }
+
+    /**
+     * Logs all lines written by the process to stderr.
+     * @param stderr
+     *            stderr of the process
+     */
+    private void logErrors(InputStream stderr) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stderr, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                LOG.warn("Node merge server: {}", line);
+            }
+        } catch (IOException e) {
+            LOG.debug("Could not read stderr of the Node merge server.", e);
+        }
+    }
+
+    /**
+     * Extracts the given script from the class path into the given folder.
+     * @param scriptName
+     *            name of the script. Should exist in the root of the build path
+     * @param folder
+     *            to extract the script to
+     * @return the extracted script
+     * @throws IOException
+     *             if the script could not be extracted
+     */
+    private static Path extract(String scriptName, Path folder) throws IOException {
+        Path target = folder.resolve(scriptName);
+        try (InputStream script = NodeMergeServer.class.getResourceAsStream("/" + scriptName)) {
+            if (script == null) {
+                throw new IOException("Could not find " + scriptName + " on the class path.");
+            }
+            Files.copy(script, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        target.toFile().deleteOnExit();
+        folder.toFile().deleteOnExit();
+        return target;
+    }
+
+    /**
+     * Starts a daemon thread.
+     * @param name
+     *            name suffix of the thread
+     * @param runnable
+     *            to be run
+     */
+    private static void startDaemon(String name, Runnable runnable) {
+        Thread thread = new Thread(runnable, "cobigen-tsplugin-node-" + name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Request sent to the Node process */
+    private static class Request {
+
+        /** Request id */
+        private long id;
+
+        /** Operation to be executed */
+        private final String op;
+
+        /** Base contents to merge into */
+        private String base;
+
+        /** Patch contents to be merged */
+        private String patch;
+
+        /** Conflict resolving mode of merges */
+        private Boolean patchOverrides;
+
+        /** Contents to be beautified */
+        private String source;
+
+        /**
+         * Creates a new {@link Request}
+         * @param op
+         *            operation to be executed
+         */
+        Request(String op) {
+            this.op = op;
+        }
+    }
+
+    /** Response received from the Node process */
+    private static class Response {
+
+        /** Id of the request */
+        private long id;
+
+        /** Result of the request if successful */
+        private String result;
+
+        /** Error message if the request failed */
+        private String error;
+    }
+}
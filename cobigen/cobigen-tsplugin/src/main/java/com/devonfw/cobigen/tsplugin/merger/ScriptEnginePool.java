@@ -0,0 +1,315 @@
+package com.devonfw.cobigen.tsplugin.merger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.devonfw.cobigen.api.exception.CobiGenRuntimeException;
+import com.devonfw.cobigen.tsplugin.merger.constants.Constants;
+
+/**
+ * Pool of pre-warmed JavaScript engines, which all have evaluated the same script. Script engines are not
+ * thread-safe, thus each engine is lent to at most one caller at a time. All engines are warmed up eagerly in
+ * background on pool creation, such that callers just have to wait for the first engine becoming available.
+ * The pool size can be configured by the system property {@value #POOL_SIZE_PROPERTY}.
+ */
+public class ScriptEnginePool {
+
+    /** Logger instance. */
+    private static final Logger LOG = LoggerFactory.getLogger(ScriptEnginePool.class);
+
+    /** System property to configure the number of engines per script */
+    public static final String POOL_SIZE_PROPERTY = "cobigen.tsplugin.enginePoolSize";
+
+    /** Default maximum number of engines per script, as each engine holds its own copy of the script */
+    private static final int MAX_DEFAULT_POOL_SIZE = 4;
+
+    /** Time in milliseconds to wait for an engine before checking for warm-up failures again */
+    private static final long POLL_INTERVAL = 100;
+
+    /** Shared pools mapped by script name */
+    private static final ConcurrentMap<String, ScriptEnginePool> pools = new ConcurrentHashMap<>();
+
+    /** Name of the script evaluated by all engines */
+    private final String scriptName;
+
+    /** Number of engines of this pool */
+    private final int size;
+
+    /** Engines currently not in use */
+    private final BlockingQueue<ScriptEngine> idleEngines = new LinkedBlockingQueue<>();
+
+    /** Number of engines already warmed up */
+    private final AtomicInteger warmedUpEngines = new AtomicInteger();
+
+    /** Accumulated warm-up time of all engines in milliseconds */
+    private final AtomicLong totalWarmUpMillis = new AtomicLong();
+
+    /** Time in milliseconds until the first engine became available */
+    private volatile long firstEngineMillis = -1;
+
+    /** Time in milliseconds until all engines became available */
+    private volatile long allEnginesMillis = -1;
+
+    /** Failure of the warm-up if any. Once set, no further engine will become available. */
+    private volatile Throwable warmUpFailure;
+
+    /**
+     * Returns the shared pool for the given script and creates it if not yet existent.
+     * @param scriptName
+     *            name of the script to be evaluated by all engines. Should exist in the root of the build path
+     * @return the shared {@link ScriptEnginePool}
+     */
+    public static ScriptEnginePool getInstance(String scriptName) {
+        ScriptEnginePool pool = pools.get(scriptName);
+        if (pool == null) {
+            ScriptEnginePool newPool = new ScriptEnginePool(scriptName, getConfiguredPoolSize());
+            pool = pools.putIfAbsent(scriptName, newPool);
+            if (pool == null) {
+                pool = newPool;
+                pool.warmUp();
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Creates a new {@link ScriptEnginePool}. The engines will not be created before {@link #warmUp()}.
+     * @param scriptName
+     *            name of the script to be evaluated by all engines. Should exist in the root of the build path
+     * @param size
+     *            number of engines
+     */
+    ScriptEnginePool(String scriptName, int size) {
+        this.scriptName = scriptName;
+        this.size = size;
+    }
+
+    /**
+     * Starts creating all engines in background. If the engines cannot be created, the failure will be thrown
+     * on {@link #borrow()} and the pool will be discarded, such that later merges will try again.
+     */
+    void warmUp() {
+        final long start = System.nanoTime();
+        ScriptEngine prototype = new ScriptEngineManager().getEngineByName(Constants.ENGINE_JS);
+        if (prototype == null) {
+            failWarmUp(new CobiGenRuntimeException("No JavaScript engine '" + Constants.ENGINE_JS
+                + "' available to execute " + scriptName + ". Please run CobiGen with a Java version providing"
+                + " Nashorn or select the Node backend."));
+            return;
+        }
+        final ScriptEngineFactory engineFactory = prototype.getFactory();
+        ExecutorService executor = Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "cobigen-tsplugin-warmup-" + scriptName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < size; i++) {
+            executor.execute(() -> {
+                if (warmUpFailure != null) {
+                    return;
+                }
+                long engineStart = System.nanoTime();
+                try {
+                    ScriptEngine engine = createEngine(engineFactory);
+                    totalWarmUpMillis.addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - engineStart));
+                    idleEngines.add(engine);
+                    recordAvailability(start);
+                } catch (Throwable e) {
+                    failWarmUp(e);
+                }
+            });
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Records the failure of the warm-up and discards this pool, such that a new pool will be created on the
+     * next request.
+     * @param failure
+     *            cause of the failure
+     */
+    private void failWarmUp(Throwable failure) {
+        LOG.error("Could not warm up a JavaScript engine for {}.", scriptName, failure);
+        pools.remove(scriptName, this);
+        warmUpFailure = failure;
+    }
+
+    /**
+     * Records the warm-up metrics after one engine became available.
+     * @param start
+     *            start of the warm-up in nanoseconds
+     */
+    private void recordAvailability(long start) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int warmedUp = warmedUpEngines.incrementAndGet();
+        if (warmedUp == 1) {
+            firstEngineMillis = elapsedMillis;
+            LOG.debug("First JavaScript engine for {} available after {} ms.", scriptName, elapsedMillis);
+        }
+        if (warmedUp == size) {
+            allEnginesMillis = elapsedMillis;
+            LOG.info("Warmed up {} JavaScript engines for {} in {} ms (first available after {} ms, {} ms in total).",
+                size, scriptName, elapsedMillis, firstEngineMillis, totalWarmUpMillis.get());
+        }
+    }
+
+    /**
+     * Creates a new engine and evaluates the script.
+     * @param engineFactory
+     *            factory to create the engine with
+     * @return the created engine
+     */
+    private ScriptEngine createEngine(ScriptEngineFactory engineFactory) {
+        ScriptEngine jsEngine = engineFactory.getScriptEngine();
+
+        Compilable jsCompilable = (Compilable) jsEngine;
+        CompiledScript jsScript;
+        InputStream scriptStream = getClass().getResourceAsStream("/" + scriptName);
+        if (scriptStream == null) {
+            throw new CobiGenRuntimeException("Could not find " + scriptName
+                + " script on initialization. This is most properly a bug. Please report on GitHub.");
+        }
+        try (InputStreamReader reader = new InputStreamReader(scriptStream, StandardCharsets.UTF_8)) {
+            jsScript = jsCompilable.compile(reader);
+        } catch (ScriptException e) {
+            throw new CobiGenRuntimeException("Could not compile " + scriptName
+                + " script on initialization. This is most properly a bug. Please report on GitHub.", e);
+        } catch (IOException e) {
+            throw new CobiGenRuntimeException("Could not read " + scriptName
+                + " script on initialization. This is most properly a bug. Please report on Github.", e);
+        }
+
+        ScriptContext scriptCtxt = jsEngine.getContext();
+        Bindings engineScope = scriptCtxt.getBindings(ScriptContext.ENGINE_SCOPE);
+        try {
+            jsEngine.eval("global = {}"); // simulate global object
+            jsScript.eval(engineScope);
+        } catch (ScriptException e) {
+            throw new CobiGenRuntimeException("Could not evaluate " + scriptName
+                + " script on initialization. This is most properly a bug. Please report on Github.", e);
+        }
+        return jsEngine;
+    }
+
+    /**
+     * Borrows an engine from the pool and waits for one to become available if necessary. The engine has to
+     * be returned by {@link #release(ScriptEngine)} after use.
+     * @return an engine, which has evaluated the script
+     * @throws CobiGenRuntimeException
+     *             if the engines could not be warmed up or the waiting thread has been interrupted
+     */
+    public ScriptEngine borrow() {
+        try {
+            while (true) {
+                ScriptEngine engine = idleEngines.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                if (engine != null) {
+                    return engine;
+                }
+                Throwable failure = warmUpFailure;
+                if (failure != null && warmedUpEngines.get() == 0) {
+                    if (failure instanceof RuntimeException) {
+                        throw (RuntimeException) failure;
+                    } else if (failure instanceof Error) {
+                        throw (Error) failure;
+                    }
+                    throw new CobiGenRuntimeException("Could not warm up a JavaScript engine for " + scriptName,
+                        failure);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CobiGenRuntimeException("Interrupted while waiting for a JavaScript engine.", e);
+        }
+    }
+
+    /**
+     * Returns a borrowed engine to the pool.
+     * @param engine
+     *            engine borrowed by {@link #borrow()}
+     */
+    public void release(ScriptEngine engine) {
+        idleEngines.add(engine);
+    }
+
+    /**
+     * Returns the number of engines of this pool.
+     * @return the number of engines
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of engines already warmed up.
+     * @return the number of warmed up engines
+     */
+    public int getWarmedUpEngines() {
+        return warmedUpEngines.get();
+    }
+
+    /**
+     * Returns the time until the first engine became available.
+     * @return the time in milliseconds or {@code -1} if no engine is available yet
+     */
+    public long getFirstEngineMillis() {
+        return firstEngineMillis;
+    }
+
+    /**
+     * Returns the time until all engines became available.
+     * @return the time in milliseconds or {@code -1} if not all engines are available yet
+     */
+    public long getAllEnginesMillis() {
+        return allEnginesMillis;
+    }
+
+    /**
+     * Returns the accumulated warm-up time of all engines warmed up so far.
+     * @return the time in milliseconds
+     */
+    public long getTotalWarmUpMillis() {
+        return totalWarmUpMillis.get();
+    }
+
+    /**
+     * Determines the number of engines per script as configured by {@value #POOL_SIZE_PROPERTY}.
+     * @return the number of engines per script
+     */
+    private static int getConfiguredPoolSize() {
+        int defaultSize = Math.min(Runtime.getRuntime().availableProcessors(), MAX_DEFAULT_POOL_SIZE);
+        String configuredSize = System.getProperty(POOL_SIZE_PROPERTY);
+        if (configuredSize == null) {
+            return defaultSize;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(configuredSize.trim()));
+        } catch (NumberFormatException e) {
+            LOG.warn("Invalid value '{}' of {}. Using default pool size {}.", configuredSize, POOL_SIZE_PROPERTY,
+                defaultSize);
+            return defaultSize;
+        }
+    }
+}
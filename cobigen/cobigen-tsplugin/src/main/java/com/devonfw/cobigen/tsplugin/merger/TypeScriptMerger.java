@@ -3,24 +3,21 @@ package com.devonfw.cobigen.tsplugin.merger;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import javax.script.Bindings;
-import javax.script.Compilable;
-import javax.script.CompiledScript;
 import javax.script.Invocable;
-import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
-import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.devonfw.cobigen.api.exception.CobiGenRuntimeException;
 import com.devonfw.cobigen.api.exception.MergeException;
 import com.devonfw.cobigen.api.extension.Merger;
 import com.devonfw.cobigen.tsplugin.merger.constants.Constants;
@@ -30,6 +27,12 @@ import com.devonfw.cobigen.tsplugin.merger.constants.Constants;
  */
 public class TypeScriptMerger implements Merger {
 
+    /** Logger instance. */
+    private static final Logger LOG = LoggerFactory.getLogger(TypeScriptMerger.class);
+
+    /** States, whether the fallback to the embedded engine after a Node merge server failure has been logged */
+    private static volatile boolean fallbackLogged;
+
     /** OS specific line separator */
     private static final String LINE_SEP = System.getProperty("line.separator");
 
@@ -39,11 +42,13 @@ public class TypeScriptMerger implements Merger {
     /** The conflict resolving mode */
     private boolean patchOverrides;
 
-    /** Cached script engines to not evaluate dependent scripts again and again */
-    private Map<String, ScriptEngine> scriptEngines = new HashMap<>(2);
+    /** States, whether the scripts should be run by the shared {@link NodeMergeServer} if available */
+    private final boolean nodeSelected;
 
     /**
-     * Creates a new {@link TypeScriptMerger}
+     * Creates a new {@link TypeScriptMerger}. Merges will be executed by the shared {@link NodeMergeServer} if
+     * {@link NodeMergeServer#isSelected() selected}, which will be started on the first merge. Otherwise, the
+     * shared script engine pools will be created and warmed up in background if not yet existent.
      *
      * @param type
      *            merger type
@@ -54,6 +59,11 @@ public class TypeScriptMerger implements Merger {
     public TypeScriptMerger(String type, boolean patchOverrides) {
         this.type = type;
         this.patchOverrides = patchOverrides;
+        nodeSelected = NodeMergeServer.isSelected();
+        if (!nodeSelected) {
+            ScriptEnginePool.getInstance(Constants.TSMERGER_JS);
+            ScriptEnginePool.getInstance(Constants.BEAUTIFY_JS);
+        }
     }
 
     @Override
@@ -71,16 +81,49 @@ public class TypeScriptMerger implements Merger {
             throw new MergeException(base, "Could not read base file!", e);
         }
 
-        String mergedContents =
-            executeJS(base, invocable -> invocable.invokeFunction("merge", baseFileContents, patch, patchOverrides),
-                Constants.TSMERGER_JS);
+        String mergedContents = execute(base, nodeServer -> nodeServer.merge(baseFileContents, patch, patchOverrides),
+            invocable -> invocable.invokeFunction("merge", baseFileContents, patch, patchOverrides),
+            Constants.TSMERGER_JS);
 
         return runBeautifierExcludingImports(base, mergedContents);
     }
 
+    /**
+     * Executes the script given by {@code scriptName} on the {@link NodeMergeServer} if selected and available.
+     * Otherwise or if the server died meanwhile, the script is executed with the embedded javascript engine.
+     * @param base
+     *            the existent base file just for error reporting
+     * @param nodeCall
+     *            call to the {@link NodeMergeServer}
+     * @param executable
+     *            {@link ScriptExecutable} running the script call itself on the embedded engine
+     * @param scriptName
+     *            name of the script to be executed. Should exist in the root of the build path
+     * @return return value of the script
+     */
+    private String execute(File base, Function<NodeMergeServer, String> nodeCall, ScriptExecutable executable,
+        String scriptName) {
+        NodeMergeServer nodeServer = nodeSelected ? NodeMergeServer.getInstance() : null;
+        if (nodeServer != null) {
+            try {
+                return nodeCall.apply(nodeServer);
+            } catch (CobiGenRuntimeException e) {
+                if (nodeServer.isAlive()) {
+                    throw new MergeException(base, "Execution of the script " + scriptName + " raised an error.", e);
+                }
+            }
+            if (!fallbackLogged) {
+                fallbackLogged = true;
+                LOG.warn("Node merge server is not running anymore. Falling back to the embedded JavaScript engine.");
+            }
+        }
+        return executeJS(base, executable, scriptName);
+    }
+
     /**
      * Executes the call specified by {@code executable} parameter on the script given by {@code scriptName}
-     * with the javascript engine Nashorn.
+     * with the javascript engine Nashorn. The call is executed on an engine exclusively borrowed from the
+     * script's {@link ScriptEnginePool}, such that concurrent merges do not interfere.
      * @param base
      *            the existent base file just for error reporting
      * @param scriptName
@@ -91,44 +134,24 @@ public class TypeScriptMerger implements Merger {
      */
     private String executeJS(File base, ScriptExecutable executable, String scriptName) {
 
-        if (!scriptEngines.containsKey(scriptName)) {
-
-            ScriptEngine jsEngine = new ScriptEngineManager().getEngineByName(Constants.ENGINE_JS);
-
-            Compilable jsCompilable = (Compilable) jsEngine;
-            CompiledScript jsScript;
-            try (InputStreamReader reader = new InputStreamReader(getClass().getResourceAsStream("/" + scriptName))) {
-                jsScript = jsCompilable.compile(reader);
-            } catch (ScriptException e) {
-                throw new MergeException(base, "Could not compile " + scriptName
-                    + " script on initialization. This is most properly a bug. Please report on GitHub.", e);
-            } catch (IOException e) {
-                throw new MergeException(base, "Could not read " + scriptName
-                    + " script on initialization. This is most properly a bug. Please report on Github.", e);
-            }
-
-            ScriptContext scriptCtxt = jsEngine.getContext();
-            Bindings engineScope = scriptCtxt.getBindings(ScriptContext.ENGINE_SCOPE);
-            try {
-                jsEngine.eval("global = {}"); // simulate global object
-                jsScript.eval(engineScope);
-            } catch (ScriptException e) {
-                throw new MergeException(base, "Could not evaluate " + scriptName
-                    + " script on initialization. This is most properly a bug. Please report on Github.", e);
-            }
-
-            scriptEngines.put(scriptName, jsEngine);
+        ScriptEnginePool enginePool = ScriptEnginePool.getInstance(scriptName);
+        ScriptEngine jsEngine;
+        try {
+            jsEngine = enginePool.borrow();
+        } catch (CobiGenRuntimeException e) {
+            throw new MergeException(base, e.getMessage(), e.getCause());
         }
 
-        Invocable jsInvocable = (Invocable) scriptEngines.get(scriptName);
         try {
-            return (String) executable.exec(jsInvocable);
+            return (String) executable.exec((Invocable) jsEngine);
         } catch (NoSuchMethodException e) {
             throw new MergeException(base,
                 "Invalid API of " + scriptName + " script used. This is most properly a bug. Please report on Github.",
                 e);
         } catch (ScriptException e) {
             throw new MergeException(base, "Execution of the script " + scriptName + " raised an error.", e);
+        } finally {
+            enginePool.release(jsEngine);
         }
     }
 
@@ -159,9 +182,10 @@ public class TypeScriptMerger implements Merger {
             throw new MergeException(base, "Could not process merged contents for formatting.", e);
         }
 
-        String formattedBody =
-            executeJS(base, invocable -> invocable.invokeMethod(((ScriptEngine) invocable).eval("global"),
-                "js_beautify", body.toString()), Constants.BEAUTIFY_JS);
+        String formattedBody = execute(base, nodeServer -> nodeServer.beautify(body.toString()),
+            invocable -> invocable.invokeMethod(((ScriptEngine) invocable).eval("global"), "js_beautify",
+                body.toString()),
+            Constants.BEAUTIFY_JS);
 
         return importsAndExports + LINE_SEP + LINE_SEP + formattedBody;
     }
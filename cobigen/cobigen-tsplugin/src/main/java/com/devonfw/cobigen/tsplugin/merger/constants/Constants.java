@@ -15,6 +15,9 @@ public class Constants {
     /** Bundled TS Merger script */
     public static final String TSMERGER_JS = "ts-merger.js";
 
+    /** Bundled merge server script run by Node */
+    public static final String NODE_SERVER_JS = "ts-merge-server.js";
+
     /** Needed engine name for executing JS */
     public static final String ENGINE_JS = "nashorn";
 
@@ -0,0 +1,63 @@
+/*
+ * Long-lived merge server of the CobiGen TypeScript plug-in. Evaluates the bundled merger and beautifier
+ * scripts the same way as the embedded engine does and serves merge requests on stdin/stdout.
+ *
+ * Protocol: each line on stdin is a JSON array of requests {id, op, ...}. For each line, one message containing
+ * the JSON array of responses {id, result} or {id, error} is written to stdout in the same order. The server
+ * announces its readiness by writing the message "ready" after all scripts have been evaluated. Messages are
+ * written as JSON text sequences (RFC 7464), i.e. each message is prefixed by a record separator and terminated
+ * by a line feed, such that any other output written to stdout cannot be mistaken for a message. Console output
+ * of the scripts is written to stderr.
+ *
+ * Usage: node ts-merge-server.js <merger script> <beautifier script>
+ */
+'use strict';
+
+var fs = require('fs');
+var readline = require('readline');
+var vm = require('vm');
+
+/** Record separator prefixing each message */
+var RS = '\u001e';
+
+/** Console of the scripts keeping stdout free for the protocol */
+var scriptConsole = new console.Console(process.stderr, process.stderr);
+
+/** Evaluates the given script in a new context simulating the global object as done by the embedded engine */
+function load(scriptFile) {
+    var context = vm.createContext({ console: scriptConsole });
+    vm.runInContext('global = {}', context);
+    vm.runInContext(fs.readFileSync(scriptFile, 'utf8'), context, { filename: scriptFile });
+    return context;
+}
+
+var merger = load(process.argv[2]);
+var beautifier = load(process.argv[3]);
+
+function handle(request) {
+    try {
+        var result;
+        if (request.op === 'merge') {
+            result = merger.merge(request.base, request.patch, request.patchOverrides);
+        } else if (request.op === 'beautify') {
+            result = beautifier.global.js_beautify(request.source);
+        } else {
+            throw new Error('Unknown operation ' + request.op);
+        }
+        return { id: request.id, result: result };
+    } catch (e) {
+        return { id: request.id, error: String(e && e.stack ? e.stack : e) };
+    }
+}
+
+var input = readline.createInterface({ input: process.stdin, terminal: false });
+input.on('line', function (line) {
+    if (line.length > 0) {
+        process.stdout.write(RS + JSON.stringify(JSON.parse(line).map(handle)) + '\n');
+    }
+});
+input.on('close', function () {
+    process.exit(0);
+});
+
+process.stdout.write(RS + 'ready\n');
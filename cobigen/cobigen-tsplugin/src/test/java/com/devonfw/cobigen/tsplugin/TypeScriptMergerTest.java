@@ -1,19 +1,31 @@
 package com.devonfw.cobigen.tsplugin;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.junit.Assume;
 import org.junit.Test;
 
+import com.devonfw.cobigen.api.exception.CobiGenRuntimeException;
 import com.devonfw.cobigen.api.exception.MergeException;
+import com.devonfw.cobigen.tsplugin.merger.NodeMergeServer;
+import com.devonfw.cobigen.tsplugin.merger.ScriptEnginePool;
 import com.devonfw.cobigen.tsplugin.merger.TypeScriptMerger;
+import com.devonfw.cobigen.tsplugin.merger.constants.Constants;
 
 /**
  * Test methods for different TS mergers of the plugin
@@ -132,6 +144,130 @@ public class TypeScriptMergerTest {
         assertThat(mergedContents.contains("Ñ"));
     }
 
+    /**
+     * Tests that concurrent merges run on separate script engines and yield the same result as sequential ones
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testConcurrentMerging() throws Exception {
+        final File baseFile = new File(testFileRootPath + "baseFile.ts");
+        final String patch = readTSFile("patchFile.ts");
+        String oldBackend = selectBackend(NodeMergeServer.BACKEND_NASHORN);
+        final TypeScriptMerger merger;
+        try {
+            merger = new TypeScriptMerger("tsmerge", false);
+        } finally {
+            selectBackend(oldBackend);
+        }
+        String expected = merger.merge(baseFile, patch, "UTF-8");
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                results.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        return merger.merge(baseFile, patch, "UTF-8");
+                    }
+                }));
+            }
+            for (Future<String> result : results) {
+                assertThat(result.get()).isEqualTo(expected);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(ScriptEnginePool.getInstance(Constants.TSMERGER_JS).getWarmedUpEngines()).isPositive();
+    }
+
+    /**
+     * Tests that a failed warm-up is reported on borrowing an engine and that the failed pool is discarded,
+     * such that a later request tries again.
+     */
+    @Test
+    public void testFailedWarmUpIsRetried() {
+        ScriptEnginePool pool = ScriptEnginePool.getInstance("notExisting.js");
+        try {
+            pool.borrow();
+            fail("CobiGenRuntimeException expected");
+        } catch (CobiGenRuntimeException e) {
+            assertThat(e).hasMessageContaining("notExisting.js");
+        }
+        assertThat(ScriptEnginePool.getInstance("notExisting.js")).isNotSameAs(pool);
+    }
+
+    /**
+     * Tests whether merges are executed by the Node merge server if selected and Node is available
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testMergingWithNodeMergeServer() throws Exception {
+        String oldBackend = selectBackend(NodeMergeServer.BACKEND_NODE);
+        try {
+            NodeMergeServer nodeServer = NodeMergeServer.getInstance();
+            Assume.assumeNotNull(nodeServer);
+
+            File baseFile = new File(testFileRootPath + "baseFile.ts");
+            String patch = readTSFile("patchFile.ts");
+            String nodeMerged = new TypeScriptMerger("tsmerge", false).merge(baseFile, patch, "UTF-8");
+
+            assertThat(nodeMerged).contains("bProperty");
+            assertThat(nodeMerged).contains("aProperty: number = 2");
+            assertThat(nodeMerged).contains("bMethod");
+            assertThat(nodeMerged).contains("import { c, f } from 'd'");
+            assertThat(nodeServer.isAlive()).isTrue();
+        } finally {
+            selectBackend(oldBackend);
+        }
+    }
+
+    /**
+     * Tests that the Node merge server yields exactly the same results as the embedded engine for all merge
+     * test files
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testNodeMergeServerMatchesEmbeddedEngine() throws Exception {
+        String patch = readTSFile("patchFile.ts");
+        for (String baseFileName : new String[] { "baseFile.ts", "baseFile_encoding_UTF-8.ts" }) {
+            File baseFile = new File(testFileRootPath + baseFileName);
+            for (boolean patchOverrides : new boolean[] { false, true }) {
+                String oldBackend = selectBackend(NodeMergeServer.BACKEND_NASHORN);
+                try {
+                    String embeddedMerged = new TypeScriptMerger("tsmerge", patchOverrides).merge(baseFile, patch,
+                        "UTF-8");
+
+                    selectBackend(NodeMergeServer.BACKEND_NODE);
+                    Assume.assumeNotNull(NodeMergeServer.getInstance());
+                    String nodeMerged =
+                        new TypeScriptMerger("tsmerge", patchOverrides).merge(baseFile, patch, "UTF-8");
+
+                    assertThat(nodeMerged).as(baseFileName + ", patchOverrides=" + patchOverrides)
+                        .isEqualTo(embeddedMerged);
+                } finally {
+                    selectBackend(oldBackend);
+                }
+            }
+        }
+    }
+
+    /**
+     * Selects the merge backend
+     * @param backend
+     *            backend to be selected or {@code null} to select the default backend
+     * @return the backend selected before
+     */
+    private static String selectBackend(String backend) {
+        if (backend == null) {
+            return System.clearProperty(NodeMergeServer.BACKEND_PROPERTY);
+        }
+        return System.setProperty(NodeMergeServer.BACKEND_PROPERTY, backend);
+    }
+
     /**
      * Reads a TS file
      * @param fileName
@@ -0,0 +1,219 @@
+package com.devonfw.cobigen.xmlplugin.matcher;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Cache of compiled {@link XPathExpression}s. As the namespace prefixes of an expression are resolved on
+ * compilation, expressions are cached per expression and namespace declarations in scope of the node the
+ * namespaces are resolved against. Thus, all documents declaring the same namespaces share the same compiled
+ * expressions.<br>
+ * <br>
+ * Neither {@link XPath} nor {@link XPathExpression} objects are thread-safe. Therefore, each compiled
+ * expression is exclusively borrowed for evaluation and returned to the cache afterwards, such that concurrent
+ * evaluations of the same expression just compile additional instances. The cache is not bound to any thread
+ * and thus does not keep the plugin's class loader alive via the threads evaluating expressions.
+ */
+class XPathExpressionCache {
+
+    /** Maximum number of distinct expressions cached */
+    private static final int MAX_SIZE = 1000;
+
+    /** Factory to create new {@link XPath} objects with. Factories are not thread-safe. */
+    private static final XPathFactory FACTORY = XPathFactory.newInstance();
+
+    /** Idle compiled expressions mapped by expression and namespace declarations */
+    private static final Cache<List<Object>, Queue<XPathExpression>> EXPRESSIONS =
+        CacheBuilder.newBuilder().maximumSize(MAX_SIZE).build();
+
+    /**
+     * Evaluates the expression against the given item resolving its namespace prefixes against the namespace
+     * declarations in scope of the given node.
+     * @param expression
+     *            xpath expression to be evaluated
+     * @param namespaceNode
+     *            node, which namespace declarations should be used to resolve prefixes, or {@code null} if the
+     *            expression should be evaluated without any namespace context
+     * @param item
+     *            the expression should be evaluated on
+     * @param returnType
+     *            expected result type as defined by {@link XPathConstants}
+     * @return the result of the evaluation
+     * @throws XPathExpressionException
+     *             if the expression could not be compiled or evaluated
+     */
+    static Object evaluate(String expression, Node namespaceNode, Object item, QName returnType)
+        throws XPathExpressionException {
+        Map<String, String> namespaces = namespaceNode == null ? null : collectNamespaceDeclarations(namespaceNode);
+        Queue<XPathExpression> idle = getIdleExpressions(Arrays.<Object> asList(expression, namespaces));
+        XPathExpression compiled = idle.poll();
+        if (compiled == null) {
+            compiled = compile(expression, namespaces);
+        }
+        Object result = compiled.evaluate(item, returnType);
+        idle.offer(compiled);
+        return result;
+    }
+
+    /**
+     * Checks the syntax of the given expression by compiling it without any namespace context.
+     * @param expression
+     *            xpath expression to be checked
+     * @throws XPathExpressionException
+     *             if the expression could not be compiled
+     */
+    static void validate(String expression) throws XPathExpressionException {
+        compile(expression, null);
+    }
+
+    /**
+     * Returns the queue of idle compiled instances of the expression identified by the given key.
+     * @param key
+     *            expression and namespace declarations
+     * @return the queue of idle compiled expressions
+     */
+    private static Queue<XPathExpression> getIdleExpressions(List<Object> key) {
+        try {
+            return EXPRESSIONS.get(key, new Callable<Queue<XPathExpression>>() {
+                @Override
+                public Queue<XPathExpression> call() {
+                    return new ConcurrentLinkedQueue<>();
+                }
+            });
+        } catch (ExecutionException e) {
+            // cannot happen as the loader does not throw any checked exception
+            throw new IllegalStateException("Could not access the cache of compiled expressions.", e);
+        }
+    }
+
+    /**
+     * Compiles the given expression with a new {@link XPath} object.
+     * @param expression
+     *            xpath expression to be compiled
+     * @param namespaces
+     *            mapping of prefix to namespace URI to compile the expression with or {@code null} if the
+     *            expression should be compiled without any namespace context
+     * @return the compiled {@link XPathExpression}
+     * @throws XPathExpressionException
+     *             if the expression could not be compiled
+     */
+    private static XPathExpression compile(String expression, Map<String, String> namespaces)
+        throws XPathExpressionException {
+        XPath xPath;
+        synchronized (FACTORY) {
+            xPath = FACTORY.newXPath();
+        }
+        if (namespaces != null) {
+            xPath.setNamespaceContext(new NamespaceDeclarations(namespaces));
+        }
+        return xPath.compile(expression);
+    }
+
+    /**
+     * Collects all namespace declarations in scope of the given node as also considered by
+     * {@link Node#lookupNamespaceURI(String)}. Declarations of inner elements hide the ones of outer elements.
+     * @param node
+     *            the namespace declarations should be collected for
+     * @return the mapping of prefix to namespace URI, whereas the default namespace is mapped by
+     *         {@link XMLConstants#DEFAULT_NS_PREFIX}
+     */
+    private static Map<String, String> collectNamespaceDeclarations(Node node) {
+        Map<String, String> namespaces = new HashMap<>();
+        Node current = node instanceof Document ? ((Document) node).getDocumentElement() : node;
+        while (current != null && current.getNodeType() == Node.ELEMENT_NODE) {
+            Element element = (Element) current;
+            if (element.getNamespaceURI() != null) {
+                String prefix = element.getPrefix() == null ? XMLConstants.DEFAULT_NS_PREFIX : element.getPrefix();
+                putIfAbsent(namespaces, prefix, element.getNamespaceURI());
+            }
+            NamedNodeMap attributes = element.getAttributes();
+            for (int i = 0; i < attributes.getLength(); i++) {
+                Node attribute = attributes.item(i);
+                if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attribute.getNamespaceURI())) {
+                    String prefix = XMLConstants.XMLNS_ATTRIBUTE.equals(attribute.getNodeName())
+                        ? XMLConstants.DEFAULT_NS_PREFIX : attribute.getLocalName();
+                    putIfAbsent(namespaces, prefix, attribute.getNodeValue());
+                }
+            }
+            current = current.getParentNode();
+        }
+        return namespaces;
+    }
+
+    /**
+     * Adds the given namespace declaration unless the prefix has already been declared.
+     * @param namespaces
+     *            mapping of prefix to namespace URI
+     * @param prefix
+     *            namespace prefix
+     * @param namespaceURI
+     *            namespace URI
+     */
+    private static void putIfAbsent(Map<String, String> namespaces, String prefix, String namespaceURI) {
+        if (!namespaces.containsKey(prefix)) {
+            // an empty namespace URI undeclares the namespace
+            namespaces.put(prefix, namespaceURI == null || namespaceURI.isEmpty() ? null : namespaceURI);
+        }
+    }
+
+    /** {@link NamespaceContext} backed by a snapshot of namespace declarations */
+    private static class NamespaceDeclarations implements NamespaceContext {
+
+        /** Mapping of prefix to namespace URI */
+        private final Map<String, String> namespaces;
+
+        /**
+         * Creates a new {@link NamespaceDeclarations} context
+         * @param namespaces
+         *            mapping of prefix to namespace URI
+         */
+        NamespaceDeclarations(Map<String, String> namespaces) {
+            this.namespaces = namespaces;
+        }
+
+        @Override
+        public String getNamespaceURI(String prefix) {
+            return namespaces.get(prefix);
+        }
+
+        @Override
+        public String getPrefix(String namespaceURI) {
+            for (Entry<String, String> namespace : namespaces.entrySet()) {
+                if (namespaceURI.equals(namespace.getValue())) {
+                    return namespace.getKey();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Iterator<String> getPrefixes(String namespaceURI) {
+            return null;
+        }
+    }
+}
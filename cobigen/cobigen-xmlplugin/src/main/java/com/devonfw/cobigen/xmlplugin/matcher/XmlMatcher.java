@@ -4,10 +4,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,9 +26,6 @@ public class XmlMatcher implements MatcherInterpreter {
     /** Assigning logger to XmlClassMatcher */
     private static final Logger LOG = LoggerFactory.getLogger(XmlMatcher.class);
 
-    /** XPath object to evaluate xpath expressions with */
-    private static final XPath XPathObj = XPathFactory.newInstance().newXPath();
-
     /** Currently supported matcher types */
     private enum MatcherType {
         /** Document's root name */
@@ -62,10 +57,10 @@ public class XmlMatcher implements MatcherInterpreter {
                 break;
             case XPATH:
                 Node targetNode = getDocElem(target, 1);
-                XPath xPath = createXpathObject(target);
                 String xpathExpression = matcher.getValue();
                 try {
-                    return (boolean) xPath.evaluate(xpathExpression, targetNode, XPathConstants.BOOLEAN);
+                    return (boolean) XPathExpressionCache.evaluate(xpathExpression, getDocElem(target, 0), targetNode,
+                        XPathConstants.BOOLEAN);
                 } catch (XPathExpressionException e) {
                     if (checkXPathSyntax(xpathExpression)) {
                         return false;
@@ -86,28 +81,14 @@ public class XmlMatcher implements MatcherInterpreter {
      * @return true if the syntax is correct
      */
     private boolean checkXPathSyntax(String xpathExpression) {
-        XPathFactory factory = XPathFactory.newInstance();
-        XPath xpath = factory.newXPath();
         try {
-            xpath.compile(xpathExpression);
+            XPathExpressionCache.validate(xpathExpression);
         } catch (XPathExpressionException e) {
             return false;
         }
         return true;
     }
 
-    /**
-     * Creates a new namespace aware XPath object for xpath evaluation
-     * @param target
-     *            the matcher target
-     * @return the created {@link XPath} object
-     */
-    private XPath createXpathObject(Object target) {
-        Node fullDoc = getDocElem(target, 0);
-        XPathObj.setNamespaceContext(new NamespaceResolver(fullDoc));
-        return XPathObj;
-    }
-
     /**
      * Returns the document provided in the input object. Either the object is an {@link Document}, or an
      * {@link Document} array. In the latter case, the document at the preferred index is returned. As of
@@ -190,10 +171,10 @@ public class XmlMatcher implements MatcherInterpreter {
      *         results in an empty list
      */
     private String resolveVariablesXPath(Node doc, String xpathExpression) {
-        XPath xPath = XPathFactory.newInstance().newXPath();
         LOG.debug("Evaluating xpath {}", xpathExpression);
         try {
-            NodeList list = (NodeList) xPath.evaluate(xpathExpression, doc, XPathConstants.NODESET);
+            NodeList list =
+                (NodeList) XPathExpressionCache.evaluate(xpathExpression, null, doc, XPathConstants.NODESET);
             if (list.getLength() > 0) {
                 // currently, we just allow strings as variable assignment values
                 LOG.debug("... found {} nodes.", list.getLength());
@@ -0,0 +1,107 @@
+package com.devonfw.cobigen.xmlplugin.unittest.matcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import com.devonfw.cobigen.api.exception.InvalidConfigurationException;
+import com.devonfw.cobigen.api.to.MatcherTo;
+import com.devonfw.cobigen.xmlplugin.matcher.XmlMatcher;
+
+/**
+ * Unit tests for {@link XmlMatcher}
+ */
+public class XmlMatcherTest {
+
+    /** Namespace aware xpath expression to be matched */
+    private static final String NAMESPACED_XPATH = "/p:root/p:entity";
+
+    /**
+     * Tests that compiled xpath expressions are not shared across documents binding the same prefix to
+     * different namespaces.
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testXPathMatching_namespacesResolvedPerDocument() throws Exception {
+        Document docA = parse("<p:root xmlns:p=\"urn:a\"><p:entity/></p:root>");
+        Document docB = parse("<p:root xmlns:p=\"urn:b\"><p:other/></p:root>");
+
+        XmlMatcher matcher = new XmlMatcher();
+        assertThat(matcher.matches(new MatcherTo("xpath", NAMESPACED_XPATH, docA))).isTrue();
+        assertThat(matcher.matches(new MatcherTo("xpath", NAMESPACED_XPATH, docB))).isFalse();
+        assertThat(matcher.matches(new MatcherTo("xpath", NAMESPACED_XPATH, docA))).isTrue();
+        assertThat(matcher.matches(new MatcherTo("xpath", "/p:root/p:other", docB))).isTrue();
+    }
+
+    /**
+     * Tests that invalid xpath expressions are still reported as invalid configuration.
+     * @throws Exception
+     *             test fails
+     */
+    @Test(expected = InvalidConfigurationException.class)
+    public void testXPathMatching_invalidExpression() throws Exception {
+        Document doc = parse("<root/>");
+        new XmlMatcher().matches(new MatcherTo("xpath", "/root[", doc));
+    }
+
+    /**
+     * Tests concurrent matching of documents with conflicting namespace declarations.
+     * @throws Exception
+     *             test fails
+     */
+    @Test
+    public void testXPathMatching_concurrently() throws Exception {
+        final Document docA = parse("<p:root xmlns:p=\"urn:a\"><p:entity/></p:root>");
+        final Document docB = parse("<p:root xmlns:p=\"urn:b\"><p:other/></p:root>");
+        final XmlMatcher matcher = new XmlMatcher();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                final Document doc = i % 2 == 0 ? docA : docB;
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        // DOM implementations are not thread-safe for reading, thus guard the document
+                        synchronized (doc) {
+                            return matcher.matches(new MatcherTo("xpath", NAMESPACED_XPATH, doc));
+                        }
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(results.get(i).get()).isEqualTo(i % 2 == 0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Parses the given XML namespace aware.
+     * @param xml
+     *            to be parsed
+     * @return the parsed {@link Document}
+     * @throws Exception
+     *             if the XML could not be parsed
+     */
+    private static Document parse(String xml) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+}